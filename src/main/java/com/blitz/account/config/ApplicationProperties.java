@@ -1,5 +1,6 @@
 package com.blitz.account.config;
 
+import java.time.Duration;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -13,12 +14,60 @@ public class ApplicationProperties {
 
     private final Liquibase liquibase = new Liquibase();
 
+    private final Ledger ledger = new Ledger();
+
+    private final RecurringTransaction recurringTransaction = new RecurringTransaction();
+
+    private final OptimisticLock optimisticLock = new OptimisticLock();
+
+    private final Invoice invoice = new Invoice();
+
+    private final Pagination pagination = new Pagination();
+
+    private final Quote quote = new Quote();
+
+    private final Bank bank = new Bank();
+
+    private final ExchangeRate exchangeRate = new ExchangeRate();
+
     // jhipster-needle-application-properties-property
 
     public Liquibase getLiquibase() {
         return liquibase;
     }
 
+    public Ledger getLedger() {
+        return ledger;
+    }
+
+    public RecurringTransaction getRecurringTransaction() {
+        return recurringTransaction;
+    }
+
+    public OptimisticLock getOptimisticLock() {
+        return optimisticLock;
+    }
+
+    public Invoice getInvoice() {
+        return invoice;
+    }
+
+    public Pagination getPagination() {
+        return pagination;
+    }
+
+    public Quote getQuote() {
+        return quote;
+    }
+
+    public Bank getBank() {
+        return bank;
+    }
+
+    public ExchangeRate getExchangeRate() {
+        return exchangeRate;
+    }
+
     // jhipster-needle-application-properties-property-getter
 
     public static class Liquibase {
@@ -33,5 +82,319 @@ public class ApplicationProperties {
             this.asyncStart = asyncStart;
         }
     }
+
+    public static class Ledger {
+
+        private String balanceReconciliationCron = "0 30 2 * * ?";
+
+        private Boolean repairBalanceDrift = false;
+
+        private String balanceSnapshotCron = "0 15 0 1 * ?";
+
+        private String cubeRebuildCron = "0 45 2 * * ?";
+
+        public String getBalanceReconciliationCron() {
+            return balanceReconciliationCron;
+        }
+
+        public void setBalanceReconciliationCron(String balanceReconciliationCron) {
+            this.balanceReconciliationCron = balanceReconciliationCron;
+        }
+
+        public Boolean getRepairBalanceDrift() {
+            return repairBalanceDrift;
+        }
+
+        public void setRepairBalanceDrift(Boolean repairBalanceDrift) {
+            this.repairBalanceDrift = repairBalanceDrift;
+        }
+
+        public String getBalanceSnapshotCron() {
+            return balanceSnapshotCron;
+        }
+
+        public void setBalanceSnapshotCron(String balanceSnapshotCron) {
+            this.balanceSnapshotCron = balanceSnapshotCron;
+        }
+
+        public String getCubeRebuildCron() {
+            return cubeRebuildCron;
+        }
+
+        public void setCubeRebuildCron(String cubeRebuildCron) {
+            this.cubeRebuildCron = cubeRebuildCron;
+        }
+    }
+
+    public static class RecurringTransaction {
+
+        private Long tickDelay = 30_000L;
+
+        private Duration horizon = Duration.ofMinutes(15);
+
+        private Integer chunkSize = 50;
+
+        public Long getTickDelay() {
+            return tickDelay;
+        }
+
+        public void setTickDelay(Long tickDelay) {
+            this.tickDelay = tickDelay;
+        }
+
+        public Duration getHorizon() {
+            return horizon;
+        }
+
+        public void setHorizon(Duration horizon) {
+            this.horizon = horizon;
+        }
+
+        public Integer getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(Integer chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+    }
+
+    public static class OptimisticLock {
+
+        private Integer maxAttempts = 10;
+
+        private Duration backoff = Duration.ofMillis(5);
+
+        public Integer getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(Integer maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public Duration getBackoff() {
+            return backoff;
+        }
+
+        public void setBackoff(Duration backoff) {
+            this.backoff = backoff;
+        }
+    }
+
+    public static class Invoice {
+
+        private String statsReconciliationCron = "0 50 2 * * ?";
+
+        private Duration agingCacheTtl = Duration.ofMinutes(5);
+
+        private Integer totalsChunkSize = 500;
+
+        private Integer totalsParallelism = 4;
+
+        private String overdueCron = "0 5 * * * ?";
+
+        private Integer overdueChunkSize = 200;
+
+        private Integer overdueParallelism = 4;
+
+        private String overdueReminderTo;
+
+        private String numberSeries = "INV";
+
+        private Integer numberBlockSize = 50;
+
+        public String getStatsReconciliationCron() {
+            return statsReconciliationCron;
+        }
+
+        public void setStatsReconciliationCron(String statsReconciliationCron) {
+            this.statsReconciliationCron = statsReconciliationCron;
+        }
+
+        public Duration getAgingCacheTtl() {
+            return agingCacheTtl;
+        }
+
+        public void setAgingCacheTtl(Duration agingCacheTtl) {
+            this.agingCacheTtl = agingCacheTtl;
+        }
+
+        public Integer getTotalsChunkSize() {
+            return totalsChunkSize;
+        }
+
+        public void setTotalsChunkSize(Integer totalsChunkSize) {
+            this.totalsChunkSize = totalsChunkSize;
+        }
+
+        public Integer getTotalsParallelism() {
+            return totalsParallelism;
+        }
+
+        public void setTotalsParallelism(Integer totalsParallelism) {
+            this.totalsParallelism = totalsParallelism;
+        }
+
+        public String getOverdueCron() {
+            return overdueCron;
+        }
+
+        public void setOverdueCron(String overdueCron) {
+            this.overdueCron = overdueCron;
+        }
+
+        public Integer getOverdueChunkSize() {
+            return overdueChunkSize;
+        }
+
+        public void setOverdueChunkSize(Integer overdueChunkSize) {
+            this.overdueChunkSize = overdueChunkSize;
+        }
+
+        public Integer getOverdueParallelism() {
+            return overdueParallelism;
+        }
+
+        public void setOverdueParallelism(Integer overdueParallelism) {
+            this.overdueParallelism = overdueParallelism;
+        }
+
+        public String getOverdueReminderTo() {
+            return overdueReminderTo;
+        }
+
+        public void setOverdueReminderTo(String overdueReminderTo) {
+            this.overdueReminderTo = overdueReminderTo;
+        }
+
+        public String getNumberSeries() {
+            return numberSeries;
+        }
+
+        public void setNumberSeries(String numberSeries) {
+            this.numberSeries = numberSeries;
+        }
+
+        public Integer getNumberBlockSize() {
+            return numberBlockSize;
+        }
+
+        public void setNumberBlockSize(Integer numberBlockSize) {
+            this.numberBlockSize = numberBlockSize;
+        }
+    }
+
+    public static class Pagination {
+
+        private Duration countCacheTtl = Duration.ofSeconds(30);
+
+        public Duration getCountCacheTtl() {
+            return countCacheTtl;
+        }
+
+        public void setCountCacheTtl(Duration countCacheTtl) {
+            this.countCacheTtl = countCacheTtl;
+        }
+    }
+
+    public static class Quote {
+
+        private Integer conversionChunkSize = 500;
+
+        private Duration paymentTerm = Duration.ofDays(30);
+
+        public Integer getConversionChunkSize() {
+            return conversionChunkSize;
+        }
+
+        public void setConversionChunkSize(Integer conversionChunkSize) {
+            this.conversionChunkSize = conversionChunkSize;
+        }
+
+        public Duration getPaymentTerm() {
+            return paymentTerm;
+        }
+
+        public void setPaymentTerm(Duration paymentTerm) {
+            this.paymentTerm = paymentTerm;
+        }
+    }
+
+    public static class Bank {
+
+        private Integer importChunkSize = 1000;
+
+        private String reconciliationCron = "0 20 3 * * ?";
+
+        private Integer reconciliationParallelism = 4;
+
+        private Duration reconciliationDateWindow = Duration.ofDays(5);
+
+        private Integer reconciliationMinScore = 50;
+
+        public Integer getImportChunkSize() {
+            return importChunkSize;
+        }
+
+        public void setImportChunkSize(Integer importChunkSize) {
+            this.importChunkSize = importChunkSize;
+        }
+
+        public String getReconciliationCron() {
+            return reconciliationCron;
+        }
+
+        public void setReconciliationCron(String reconciliationCron) {
+            this.reconciliationCron = reconciliationCron;
+        }
+
+        public Integer getReconciliationParallelism() {
+            return reconciliationParallelism;
+        }
+
+        public void setReconciliationParallelism(Integer reconciliationParallelism) {
+            this.reconciliationParallelism = reconciliationParallelism;
+        }
+
+        public Duration getReconciliationDateWindow() {
+            return reconciliationDateWindow;
+        }
+
+        public void setReconciliationDateWindow(Duration reconciliationDateWindow) {
+            this.reconciliationDateWindow = reconciliationDateWindow;
+        }
+
+        public Integer getReconciliationMinScore() {
+            return reconciliationMinScore;
+        }
+
+        public void setReconciliationMinScore(Integer reconciliationMinScore) {
+            this.reconciliationMinScore = reconciliationMinScore;
+        }
+    }
+
+    public static class ExchangeRate {
+
+        private String pivotCurrency = "USD";
+
+        private String indexRebuildCron = "0 55 2 * * ?";
+
+        public String getPivotCurrency() {
+            return pivotCurrency;
+        }
+
+        public void setPivotCurrency(String pivotCurrency) {
+            this.pivotCurrency = pivotCurrency;
+        }
+
+        public String getIndexRebuildCron() {
+            return indexRebuildCron;
+        }
+
+        public void setIndexRebuildCron(String indexRebuildCron) {
+            this.indexRebuildCron = indexRebuildCron;
+        }
+    }
     // jhipster-needle-application-properties-property-class
 }
@@ -22,8 +22,10 @@ public class CacheConfiguration {
     private GitProperties gitProperties;
     private BuildProperties buildProperties;
     private final javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration;
+    private final javax.cache.configuration.Configuration<Object, Object> agingCacheConfiguration;
+    private final javax.cache.configuration.Configuration<Object, Object> countCacheConfiguration;
 
-    public CacheConfiguration(JHipsterProperties jHipsterProperties) {
+    public CacheConfiguration(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
         JHipsterProperties.Cache.Ehcache ehcache = jHipsterProperties.getCache().getEhcache();
 
         jcacheConfiguration = Eh107Configuration.fromEhcacheCacheConfiguration(
@@ -35,6 +37,24 @@ public class CacheConfiguration {
                 .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ehcache.getTimeToLiveSeconds())))
                 .build()
         );
+        agingCacheConfiguration = Eh107Configuration.fromEhcacheCacheConfiguration(
+            CacheConfigurationBuilder.newCacheConfigurationBuilder(
+                Object.class,
+                Object.class,
+                ResourcePoolsBuilder.heap(ehcache.getMaxEntries())
+            )
+                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(applicationProperties.getInvoice().getAgingCacheTtl()))
+                .build()
+        );
+        countCacheConfiguration = Eh107Configuration.fromEhcacheCacheConfiguration(
+            CacheConfigurationBuilder.newCacheConfigurationBuilder(
+                Object.class,
+                Object.class,
+                ResourcePoolsBuilder.heap(ehcache.getMaxEntries())
+            )
+                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(applicationProperties.getPagination().getCountCacheTtl()))
+                .build()
+        );
     }
 
     @Bean
@@ -77,16 +97,30 @@ public class CacheConfiguration {
             createCache(cm, com.blitz.account.domain.Journal.class.getName());
             createCache(cm, com.blitz.account.domain.JournalLine.class.getName());
             createCache(cm, com.blitz.account.domain.FleetTripLocation.class.getName());
+            createCache(cm, com.blitz.account.domain.AccountBalanceSnapshot.class.getName());
+            createCache(cm, com.blitz.account.service.FinancialStatementService.NET_DEBIT_BY_ACCOUNT_CACHE);
+            createCache(cm, com.blitz.account.service.ReceivablesAgingService.RECEIVABLES_AGING_CACHE, agingCacheConfiguration);
+            for (Class<?> domainClass : com.blitz.account.service.PageCountCache.DOMAIN_CLASSES) {
+                createCache(cm, com.blitz.account.service.PageCountCache.cacheName(domainClass), countCacheConfiguration);
+            }
             // jhipster-needle-ehcache-add-entry
         };
     }
 
     private void createCache(javax.cache.CacheManager cm, String cacheName) {
+        createCache(cm, cacheName, jcacheConfiguration);
+    }
+
+    private void createCache(
+        javax.cache.CacheManager cm,
+        String cacheName,
+        javax.cache.configuration.Configuration<Object, Object> configuration
+    ) {
         javax.cache.Cache<Object, Object> cache = cm.getCache(cacheName);
         if (cache != null) {
             cache.clear();
         } else {
-            cm.createCache(cacheName, jcacheConfiguration);
+            cm.createCache(cacheName, configuration);
         }
     }
 
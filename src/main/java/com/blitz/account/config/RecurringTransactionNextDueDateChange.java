@@ -0,0 +1,104 @@
+package com.blitz.account.config;
+
+import com.blitz.account.service.RecurrenceSchedule;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Calendar;
+import java.util.TimeZone;
+import liquibase.change.custom.CustomTaskChange;
+import liquibase.database.Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.CustomChangeException;
+import liquibase.exception.ValidationErrors;
+import liquibase.resource.ResourceAccessor;
+
+/**
+ * Liquibase change seeding {@code recurring_transaction.next_due_date} for the schedules existing before it was added.
+ * <p>
+ * Their past occurrences were never generated, nor expected to be: each schedule resumes at its first occurrence on or
+ * after the migration, and is left unscheduled if its end date is before it. Their whole history is generated from
+ * their start date instead only with the {@code recurringTransactionBackfill} changelog parameter, set through
+ * {@code spring.liquibase.parameters.recurringTransactionBackfill=true}.
+ */
+public class RecurringTransactionNextDueDateChange implements CustomTaskChange {
+
+    private boolean backfill;
+
+    private int seeded;
+
+    public void setBackfill(String backfill) {
+        this.backfill = Boolean.parseBoolean(backfill);
+    }
+
+    @Override
+    public void execute(Database database) throws CustomChangeException {
+        Instant now = Instant.now();
+        Calendar utc = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+        Connection connection = ((JdbcConnection) database.getConnection()).getUnderlyingConnection();
+        try (
+            PreparedStatement select = connection.prepareStatement("SELECT id, frequency, start_date, end_date FROM recurring_transaction");
+            PreparedStatement update = connection.prepareStatement("UPDATE recurring_transaction SET next_due_date = ? WHERE id = ?");
+            ResultSet rows = select.executeQuery()
+        ) {
+            while (rows.next()) {
+                Timestamp endDate = rows.getTimestamp("end_date", utc);
+                Instant nextDueDate = nextDueDate(
+                    rows.getString("frequency"),
+                    rows.getTimestamp("start_date", utc).toInstant(),
+                    endDate != null ? endDate.toInstant() : null,
+                    now,
+                    backfill
+                );
+                update.setTimestamp(1, nextDueDate != null ? Timestamp.from(nextDueDate) : null, utc);
+                update.setLong(2, rows.getLong("id"));
+                update.addBatch();
+                seeded++;
+            }
+            update.executeBatch();
+        } catch (SQLException e) {
+            throw new CustomChangeException("Could not seed the next due dates of the recurring transactions", e);
+        }
+    }
+
+    /**
+     * @param frequency the frequency of the recurring transaction.
+     * @param startDate its start date.
+     * @param endDate its end date, {@code null} if none.
+     * @param now the date of the migration.
+     * @param backfill whether to generate its occurrences before the migration.
+     * @return its next due date, {@code null} if the schedule is exhausted.
+     */
+    static Instant nextDueDate(String frequency, Instant startDate, Instant endDate, Instant now, boolean backfill) {
+        Instant nextDueDate = backfill || !startDate.isBefore(now)
+            ? startDate
+            : RecurrenceSchedule.parse(frequency)
+                .map(schedule -> schedule.nextAfter(startDate, now.minusNanos(1)))
+                // left to the posting, which suspends it without generating anything
+                .orElse(startDate);
+        return endDate == null || !nextDueDate.isAfter(endDate) ? nextDueDate : null;
+    }
+
+    @Override
+    public String getConfirmationMessage() {
+        return "Seeded the next due date of " + seeded + " recurring transactions" + (backfill ? " from their start date" : "");
+    }
+
+    @Override
+    public void setUp() {
+        // nothing to set up
+    }
+
+    @Override
+    public void setFileOpener(ResourceAccessor resourceAccessor) {
+        // no resource used
+    }
+
+    @Override
+    public ValidationErrors validate(Database database) {
+        return new ValidationErrors();
+    }
+}
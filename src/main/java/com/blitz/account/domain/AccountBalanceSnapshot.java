@@ -0,0 +1,121 @@
+package com.blitz.account.domain;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+/**
+ * The cumulated net debit of a {@link ChartOfAccount} at the end of a closed period.
+ * <p>
+ * {@code netDebit} is the sum of debits minus credits of every {@link JournalLine} of the account whose
+ * {@link Journal#getJournalDate()} is strictly before {@code periodEnd}.
+ */
+@Entity
+@Table(name = "account_balance_snapshot")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class AccountBalanceSnapshot implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @NotNull
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @NotNull
+    @Column(name = "period_end", nullable = false)
+    private Instant periodEnd;
+
+    @NotNull
+    @Column(name = "net_debit", precision = 21, scale = 2, nullable = false)
+    private BigDecimal netDebit;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public AccountBalanceSnapshot id(Long id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getAccountId() {
+        return this.accountId;
+    }
+
+    public AccountBalanceSnapshot accountId(Long accountId) {
+        this.setAccountId(accountId);
+        return this;
+    }
+
+    public void setAccountId(Long accountId) {
+        this.accountId = accountId;
+    }
+
+    public Instant getPeriodEnd() {
+        return this.periodEnd;
+    }
+
+    public AccountBalanceSnapshot periodEnd(Instant periodEnd) {
+        this.setPeriodEnd(periodEnd);
+        return this;
+    }
+
+    public void setPeriodEnd(Instant periodEnd) {
+        this.periodEnd = periodEnd;
+    }
+
+    public BigDecimal getNetDebit() {
+        return this.netDebit;
+    }
+
+    public AccountBalanceSnapshot netDebit(BigDecimal netDebit) {
+        this.setNetDebit(netDebit);
+        return this;
+    }
+
+    public void setNetDebit(BigDecimal netDebit) {
+        this.netDebit = netDebit;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof AccountBalanceSnapshot)) {
+            return false;
+        }
+        return getId() != null && getId().equals(((AccountBalanceSnapshot) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "AccountBalanceSnapshot{" +
+            "id=" + getId() +
+            ", accountId=" + getAccountId() +
+            ", periodEnd='" + getPeriodEnd() + "'" +
+            ", netDebit=" + getNetDebit() +
+            "}";
+    }
+}
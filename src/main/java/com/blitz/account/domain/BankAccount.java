@@ -1,8 +1,10 @@
 package com.blitz.account.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import java.io.Serializable;
+import java.math.BigDecimal;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
 
@@ -33,6 +35,13 @@ public class BankAccount implements Serializable {
     @Column(name = "bank_name")
     private String bankName;
 
+    @Column(name = "current_balance", precision = 21, scale = 2, updatable = false)
+    private BigDecimal currentBalance;
+
+    @JsonIgnore
+    @Column(name = "transaction_changes", insertable = false, updatable = false)
+    private Long transactionChanges;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public Long getId() {
@@ -87,6 +96,27 @@ public class BankAccount implements Serializable {
         this.bankName = bankName;
     }
 
+    public BigDecimal getCurrentBalance() {
+        return this.currentBalance;
+    }
+
+    public BankAccount currentBalance(BigDecimal currentBalance) {
+        this.setCurrentBalance(currentBalance);
+        return this;
+    }
+
+    public void setCurrentBalance(BigDecimal currentBalance) {
+        this.currentBalance = currentBalance;
+    }
+
+    public Long getTransactionChanges() {
+        return this.transactionChanges;
+    }
+
+    public void setTransactionChanges(Long transactionChanges) {
+        this.transactionChanges = transactionChanges;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -114,6 +144,7 @@ public class BankAccount implements Serializable {
             ", name='" + getName() + "'" +
             ", accountNumber='" + getAccountNumber() + "'" +
             ", bankName='" + getBankName() + "'" +
+            ", currentBalance=" + getCurrentBalance() +
             "}";
     }
 }
@@ -21,7 +21,8 @@ public class BankTransaction implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bankTransactionSequenceGenerator")
+    @SequenceGenerator(name = "bankTransactionSequenceGenerator", sequenceName = "bank_transaction_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -45,12 +46,19 @@ public class BankTransaction implements Serializable {
     @Column(name = "direction", nullable = false)
     private TransactionDirection direction;
 
-    @Column(name = "related_payment_id")
+    @Column(name = "related_payment_id", unique = true)
     private Long relatedPaymentId;
 
     @Column(name = "description")
     private String description;
 
+    @Column(name = "running_balance", precision = 21, scale = 2)
+    private BigDecimal runningBalance;
+
+    @Version
+    @Column(name = "version")
+    private Long version;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public Long getId() {
@@ -157,6 +165,32 @@ public class BankTransaction implements Serializable {
         this.description = description;
     }
 
+    public BigDecimal getRunningBalance() {
+        return this.runningBalance;
+    }
+
+    public BankTransaction runningBalance(BigDecimal runningBalance) {
+        this.setRunningBalance(runningBalance);
+        return this;
+    }
+
+    public void setRunningBalance(BigDecimal runningBalance) {
+        this.runningBalance = runningBalance;
+    }
+
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public BankTransaction version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -188,6 +222,8 @@ public class BankTransaction implements Serializable {
             ", direction='" + getDirection() + "'" +
             ", relatedPaymentId=" + getRelatedPaymentId() +
             ", description='" + getDescription() + "'" +
+            ", runningBalance=" + getRunningBalance() +
+            ", version=" + getVersion() +
             "}";
     }
 }
@@ -43,6 +43,10 @@ public class ChartOfAccount implements Serializable {
     @Column(name = "current_balance", precision = 21, scale = 2)
     private BigDecimal currentBalance;
 
+    @Version
+    @Column(name = "version")
+    private Long version;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public Long getId() {
@@ -123,6 +127,19 @@ public class ChartOfAccount implements Serializable {
         this.currentBalance = currentBalance;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public ChartOfAccount version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -152,6 +169,7 @@ public class ChartOfAccount implements Serializable {
             ", code='" + getCode() + "'" +
             ", initialBalance=" + getInitialBalance() +
             ", currentBalance=" + getCurrentBalance() +
+            ", version=" + getVersion() +
             "}";
     }
 }
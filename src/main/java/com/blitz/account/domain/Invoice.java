@@ -22,7 +22,8 @@ public class Invoice implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "invoiceSequenceGenerator")
+    @SequenceGenerator(name = "invoiceSequenceGenerator", sequenceName = "invoice_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -59,6 +60,20 @@ public class Invoice implements Serializable {
     @Column(name = "payment_status", nullable = false)
     private PaymentStatus paymentStatus;
 
+    @Version
+    @Column(name = "version")
+    private Long version;
+
+    @Column(name = "overdue_since")
+    private Instant overdueSince;
+
+    @Column(name = "quote_id", unique = true)
+    private Long quoteId;
+
+    @Size(max = 40)
+    @Column(name = "invoice_number", length = 40, unique = true)
+    private String invoiceNumber;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public Long getId() {
@@ -191,6 +206,58 @@ public class Invoice implements Serializable {
         this.paymentStatus = paymentStatus;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public Invoice version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Instant getOverdueSince() {
+        return this.overdueSince;
+    }
+
+    public Invoice overdueSince(Instant overdueSince) {
+        this.setOverdueSince(overdueSince);
+        return this;
+    }
+
+    public void setOverdueSince(Instant overdueSince) {
+        this.overdueSince = overdueSince;
+    }
+
+    public Long getQuoteId() {
+        return this.quoteId;
+    }
+
+    public Invoice quoteId(Long quoteId) {
+        this.setQuoteId(quoteId);
+        return this;
+    }
+
+    public void setQuoteId(Long quoteId) {
+        this.quoteId = quoteId;
+    }
+
+    public String getInvoiceNumber() {
+        return this.invoiceNumber;
+    }
+
+    public Invoice invoiceNumber(String invoiceNumber) {
+        this.setInvoiceNumber(invoiceNumber);
+        return this;
+    }
+
+    public void setInvoiceNumber(String invoiceNumber) {
+        this.invoiceNumber = invoiceNumber;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -224,6 +291,10 @@ public class Invoice implements Serializable {
             ", totalAmount=" + getTotalAmount() +
             ", paidAmount=" + getPaidAmount() +
             ", paymentStatus='" + getPaymentStatus() + "'" +
+            ", version=" + getVersion() +
+            ", overdueSince='" + getOverdueSince() + "'" +
+            ", quoteId=" + getQuoteId() +
+            ", invoiceNumber='" + getInvoiceNumber() + "'" +
             "}";
     }
 }
@@ -19,7 +19,8 @@ public class InvoiceLine implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "invoiceLineSequenceGenerator")
+    @SequenceGenerator(name = "invoiceLineSequenceGenerator", sequenceName = "invoice_line_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
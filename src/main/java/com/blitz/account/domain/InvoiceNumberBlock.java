@@ -0,0 +1,134 @@
+package com.blitz.account.domain;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.io.Serializable;
+
+/**
+ * A block of reserved legal {@link Invoice} numbers that a node released unused, from {@code firstNumber} included to
+ * {@code endNumber} excluded. Released blocks are handed out again before the {@link InvoiceNumberSeries} is moved
+ * forward, so that the numbers of a series have no gaps.
+ */
+@Entity
+@Table(name = "invoice_number_block")
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class InvoiceNumberBlock implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @NotNull
+    @Size(max = 20)
+    @Column(name = "series", length = 20, nullable = false)
+    private String series;
+
+    @NotNull
+    @Column(name = "jhi_year", nullable = false)
+    private Integer year;
+
+    @NotNull
+    @Column(name = "first_number", nullable = false)
+    private Long firstNumber;
+
+    @NotNull
+    @Column(name = "end_number", nullable = false)
+    private Long endNumber;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public InvoiceNumberBlock id(Long id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getSeries() {
+        return this.series;
+    }
+
+    public InvoiceNumberBlock series(String series) {
+        this.setSeries(series);
+        return this;
+    }
+
+    public void setSeries(String series) {
+        this.series = series;
+    }
+
+    public Integer getYear() {
+        return this.year;
+    }
+
+    public InvoiceNumberBlock year(Integer year) {
+        this.setYear(year);
+        return this;
+    }
+
+    public void setYear(Integer year) {
+        this.year = year;
+    }
+
+    public Long getFirstNumber() {
+        return this.firstNumber;
+    }
+
+    public InvoiceNumberBlock firstNumber(Long firstNumber) {
+        this.setFirstNumber(firstNumber);
+        return this;
+    }
+
+    public void setFirstNumber(Long firstNumber) {
+        this.firstNumber = firstNumber;
+    }
+
+    public Long getEndNumber() {
+        return this.endNumber;
+    }
+
+    public InvoiceNumberBlock endNumber(Long endNumber) {
+        this.setEndNumber(endNumber);
+        return this;
+    }
+
+    public void setEndNumber(Long endNumber) {
+        this.endNumber = endNumber;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof InvoiceNumberBlock)) {
+            return false;
+        }
+        return getId() != null && getId().equals(((InvoiceNumberBlock) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "InvoiceNumberBlock{" +
+            "id=" + getId() +
+            ", series='" + getSeries() + "'" +
+            ", year=" + getYear() +
+            ", firstNumber=" + getFirstNumber() +
+            ", endNumber=" + getEndNumber() +
+            "}";
+    }
+}
@@ -0,0 +1,120 @@
+package com.blitz.account.domain;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.io.Serializable;
+
+/**
+ * The counter of the legal numbers of the {@link Invoice}s of a series and a year.
+ * <p>
+ * {@code nextNumber} is the first number not yet reserved: numbers are reserved in blocks by moving it forward, and handed
+ * out from memory by {@link com.blitz.account.service.InvoiceNumberAllocator}.
+ */
+@Entity
+@Table(
+    name = "invoice_number_series",
+    uniqueConstraints = @UniqueConstraint(name = "ux_invoice_number_series_series_year", columnNames = { "series", "jhi_year" })
+)
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class InvoiceNumberSeries implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @NotNull
+    @Size(max = 20)
+    @Column(name = "series", length = 20, nullable = false)
+    private String series;
+
+    @NotNull
+    @Column(name = "jhi_year", nullable = false)
+    private Integer year;
+
+    @NotNull
+    @Column(name = "next_number", nullable = false)
+    private Long nextNumber;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public InvoiceNumberSeries id(Long id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getSeries() {
+        return this.series;
+    }
+
+    public InvoiceNumberSeries series(String series) {
+        this.setSeries(series);
+        return this;
+    }
+
+    public void setSeries(String series) {
+        this.series = series;
+    }
+
+    public Integer getYear() {
+        return this.year;
+    }
+
+    public InvoiceNumberSeries year(Integer year) {
+        this.setYear(year);
+        return this;
+    }
+
+    public void setYear(Integer year) {
+        this.year = year;
+    }
+
+    public Long getNextNumber() {
+        return this.nextNumber;
+    }
+
+    public InvoiceNumberSeries nextNumber(Long nextNumber) {
+        this.setNextNumber(nextNumber);
+        return this;
+    }
+
+    public void setNextNumber(Long nextNumber) {
+        this.nextNumber = nextNumber;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof InvoiceNumberSeries)) {
+            return false;
+        }
+        return getId() != null && getId().equals(((InvoiceNumberSeries) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "InvoiceNumberSeries{" +
+            "id=" + getId() +
+            ", series='" + getSeries() + "'" +
+            ", year=" + getYear() +
+            ", nextNumber=" + getNextNumber() +
+            "}";
+    }
+}
@@ -19,7 +19,8 @@ public class Journal implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "journalSequenceGenerator")
+    @SequenceGenerator(name = "journalSequenceGenerator", sequenceName = "journal_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
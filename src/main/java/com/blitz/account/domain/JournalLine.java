@@ -19,7 +19,8 @@ public class JournalLine implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "journalLineSequenceGenerator")
+    @SequenceGenerator(name = "journalLineSequenceGenerator", sequenceName = "journal_line_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -21,7 +21,8 @@ public class Payment implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "paymentSequenceGenerator")
+    @SequenceGenerator(name = "paymentSequenceGenerator", sequenceName = "payment_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
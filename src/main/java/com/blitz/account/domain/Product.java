@@ -42,6 +42,10 @@ public class Product implements Serializable {
     @Column(name = "stock_qty")
     private Integer stockQty;
 
+    @Version
+    @Column(name = "version")
+    private Long version;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public Long getId() {
@@ -135,6 +139,19 @@ public class Product implements Serializable {
         this.stockQty = stockQty;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public Product version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -165,6 +182,7 @@ public class Product implements Serializable {
             ", unitCost=" + getUnitCost() +
             ", unitPrice=" + getUnitPrice() +
             ", stockQty=" + getStockQty() +
+            ", version=" + getVersion() +
             "}";
     }
 }
@@ -1,5 +1,6 @@
 package com.blitz.account.domain;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import java.io.Serializable;
@@ -52,6 +53,13 @@ public class RecurringTransaction implements Serializable {
     @Column(name = "vat_rate_id")
     private Long vatRateId;
 
+    /**
+     * Date of the next occurrence to materialise, {@code null} once the schedule is exhausted.
+     */
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "next_due_date")
+    private Instant nextDueDate;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public Long getId() {
@@ -171,6 +179,19 @@ public class RecurringTransaction implements Serializable {
         this.vatRateId = vatRateId;
     }
 
+    public Instant getNextDueDate() {
+        return this.nextDueDate;
+    }
+
+    public RecurringTransaction nextDueDate(Instant nextDueDate) {
+        this.setNextDueDate(nextDueDate);
+        return this;
+    }
+
+    public void setNextDueDate(Instant nextDueDate) {
+        this.nextDueDate = nextDueDate;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -203,6 +224,7 @@ public class RecurringTransaction implements Serializable {
             ", accountId=" + getAccountId() +
             ", currencyId=" + getCurrencyId() +
             ", vatRateId=" + getVatRateId() +
+            ", nextDueDate='" + getNextDueDate() + "'" +
             "}";
     }
 }
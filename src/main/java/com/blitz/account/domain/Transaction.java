@@ -21,7 +21,8 @@ public class Transaction implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactionSequenceGenerator")
+    @SequenceGenerator(name = "transactionSequenceGenerator", sequenceName = "transaction_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -47,6 +48,9 @@ public class Transaction implements Serializable {
     @Column(name = "currency_id")
     private Long currencyId;
 
+    @Column(name = "recurring_transaction_id")
+    private Long recurringTransactionId;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public Long getId() {
@@ -140,6 +144,19 @@ public class Transaction implements Serializable {
         this.currencyId = currencyId;
     }
 
+    public Long getRecurringTransactionId() {
+        return this.recurringTransactionId;
+    }
+
+    public Transaction recurringTransactionId(Long recurringTransactionId) {
+        this.setRecurringTransactionId(recurringTransactionId);
+        return this;
+    }
+
+    public void setRecurringTransactionId(Long recurringTransactionId) {
+        this.recurringTransactionId = recurringTransactionId;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -170,6 +187,7 @@ public class Transaction implements Serializable {
             ", accountId=" + getAccountId() +
             ", vatRateId=" + getVatRateId() +
             ", currencyId=" + getCurrencyId() +
+            ", recurringTransactionId=" + getRecurringTransactionId() +
             "}";
     }
 }
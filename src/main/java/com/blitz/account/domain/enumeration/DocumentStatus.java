@@ -9,4 +9,5 @@ public enum DocumentStatus {
     APPROVED,
     REJECTED,
     PAID,
+    INVOICED,
 }
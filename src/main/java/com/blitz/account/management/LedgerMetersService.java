@@ -0,0 +1,45 @@
+package com.blitz.account.management;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.springframework.stereotype.Service;
+
+@Service
+public class LedgerMetersService {
+
+    public static final String BALANCE_DRIFT_ACCOUNTS_METER_NAME = "ledger.balance.drift.accounts";
+    public static final String BALANCE_DRIFT_ACCOUNTS_METER_DESCRIPTION =
+        "Number of accounts whose current balance differs from the balance derived from journal lines.";
+    public static final String BALANCE_DRIFT_AMOUNT_METER_NAME = "ledger.balance.drift.amount";
+    public static final String BALANCE_DRIFT_AMOUNT_METER_DESCRIPTION =
+        "Sum of the absolute differences between current and derived account balances.";
+    public static final String BALANCE_RECONCILIATIONS_METER_NAME = "ledger.balance.reconciliations";
+    public static final String BALANCE_RECONCILIATIONS_METER_DESCRIPTION = "Number of account balance reconciliation runs.";
+
+    private final AtomicLong driftedAccounts = new AtomicLong();
+    private final AtomicReference<BigDecimal> driftAmount = new AtomicReference<>(BigDecimal.ZERO);
+    private final Counter reconciliationsCounter;
+
+    public LedgerMetersService(MeterRegistry registry) {
+        Gauge.builder(BALANCE_DRIFT_ACCOUNTS_METER_NAME, driftedAccounts, AtomicLong::doubleValue)
+            .baseUnit("accounts")
+            .description(BALANCE_DRIFT_ACCOUNTS_METER_DESCRIPTION)
+            .register(registry);
+        Gauge.builder(BALANCE_DRIFT_AMOUNT_METER_NAME, driftAmount, amount -> amount.get().doubleValue())
+            .description(BALANCE_DRIFT_AMOUNT_METER_DESCRIPTION)
+            .register(registry);
+        this.reconciliationsCounter = Counter.builder(BALANCE_RECONCILIATIONS_METER_NAME)
+            .description(BALANCE_RECONCILIATIONS_METER_DESCRIPTION)
+            .register(registry);
+    }
+
+    public void trackBalanceReconciliation(long accounts, BigDecimal amount) {
+        this.driftedAccounts.set(accounts);
+        this.driftAmount.set(amount);
+        this.reconciliationsCounter.increment();
+    }
+}
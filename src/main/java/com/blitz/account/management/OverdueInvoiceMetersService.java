@@ -0,0 +1,58 @@
+package com.blitz.account.management;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Service;
+
+@Service
+public class OverdueInvoiceMetersService {
+
+    public static final String BACKLOG_METER_NAME = "overdue.invoices.backlog";
+    public static final String BACKLOG_METER_DESCRIPTION = "Number of unpaid invoices past their due date not yet marked overdue.";
+    public static final String LAG_METER_NAME = "overdue.invoices.lag";
+    public static final String LAG_METER_DESCRIPTION = "Time elapsed since the due date of the oldest invoice not yet marked overdue.";
+    public static final String MARKED_METER_NAME = "overdue.invoices.marked";
+    public static final String MARKED_METER_DESCRIPTION = "Number of invoices marked overdue.";
+    public static final String FAILED_METER_NAME = "overdue.invoices.failed";
+    public static final String FAILED_METER_DESCRIPTION = "Number of invoices whose chunk could not be processed.";
+    public static final String CHUNK_METER_NAME = "overdue.invoices.chunk";
+    public static final String CHUNK_METER_DESCRIPTION = "Time taken to process a chunk of overdue invoices.";
+
+    private final AtomicLong backlog = new AtomicLong();
+    private final AtomicLong lagSeconds = new AtomicLong();
+    private final Counter markedCounter;
+    private final Counter failedCounter;
+    private final Timer chunkTimer;
+
+    public OverdueInvoiceMetersService(MeterRegistry registry) {
+        Gauge.builder(BACKLOG_METER_NAME, backlog, AtomicLong::doubleValue)
+            .baseUnit("invoices")
+            .description(BACKLOG_METER_DESCRIPTION)
+            .register(registry);
+        Gauge.builder(LAG_METER_NAME, lagSeconds, AtomicLong::doubleValue)
+            .baseUnit("seconds")
+            .description(LAG_METER_DESCRIPTION)
+            .register(registry);
+        this.markedCounter = Counter.builder(MARKED_METER_NAME).description(MARKED_METER_DESCRIPTION).register(registry);
+        this.failedCounter = Counter.builder(FAILED_METER_NAME).description(FAILED_METER_DESCRIPTION).register(registry);
+        this.chunkTimer = Timer.builder(CHUNK_METER_NAME).description(CHUNK_METER_DESCRIPTION).register(registry);
+    }
+
+    public void trackBacklog(long invoices, Duration lag) {
+        this.backlog.set(invoices);
+        this.lagSeconds.set(lag.toSeconds());
+    }
+
+    public void trackChunk(int marked, Duration duration) {
+        this.markedCounter.increment(marked);
+        this.chunkTimer.record(duration);
+    }
+
+    public void trackFailed(int invoices) {
+        this.failedCounter.increment(invoices);
+    }
+}
@@ -0,0 +1,55 @@
+package com.blitz.account.management;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Service;
+
+@Service
+public class RecurringTransactionMetersService {
+
+    public static final String BACKLOG_METER_NAME = "recurring.transactions.backlog";
+    public static final String BACKLOG_METER_DESCRIPTION = "Number of recurring transactions with an occurrence due but not yet generated.";
+    public static final String LAG_METER_NAME = "recurring.transactions.lag";
+    public static final String LAG_METER_DESCRIPTION = "Time elapsed since the oldest occurrence still waiting to be generated.";
+    public static final String GENERATED_METER_NAME = "recurring.transactions.generated";
+    public static final String GENERATED_METER_DESCRIPTION = "Number of transactions generated from recurring transactions.";
+    public static final String INVALID_FREQUENCY_METER_NAME = "recurring.transactions.invalid.frequency";
+    public static final String INVALID_FREQUENCY_METER_DESCRIPTION =
+        "Number of recurring transactions suspended because their frequency is not understood.";
+
+    private final AtomicLong backlog = new AtomicLong();
+    private final AtomicLong lagSeconds = new AtomicLong();
+    private final Counter generatedCounter;
+    private final Counter invalidFrequencyCounter;
+
+    public RecurringTransactionMetersService(MeterRegistry registry) {
+        Gauge.builder(BACKLOG_METER_NAME, backlog, AtomicLong::doubleValue)
+            .baseUnit("recurrences")
+            .description(BACKLOG_METER_DESCRIPTION)
+            .register(registry);
+        Gauge.builder(LAG_METER_NAME, lagSeconds, AtomicLong::doubleValue)
+            .baseUnit("seconds")
+            .description(LAG_METER_DESCRIPTION)
+            .register(registry);
+        this.generatedCounter = Counter.builder(GENERATED_METER_NAME).description(GENERATED_METER_DESCRIPTION).register(registry);
+        this.invalidFrequencyCounter = Counter.builder(INVALID_FREQUENCY_METER_NAME)
+            .description(INVALID_FREQUENCY_METER_DESCRIPTION)
+            .register(registry);
+    }
+
+    public void trackBacklog(long recurrences, Duration lag) {
+        this.backlog.set(recurrences);
+        this.lagSeconds.set(lag.toSeconds());
+    }
+
+    public void trackGenerated(int transactions) {
+        this.generatedCounter.increment(transactions);
+    }
+
+    public void trackInvalidFrequency() {
+        this.invalidFrequencyCounter.increment();
+    }
+}
@@ -0,0 +1,33 @@
+package com.blitz.account.repository;
+
+import com.blitz.account.domain.AccountBalanceSnapshot;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the AccountBalanceSnapshot entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface AccountBalanceSnapshotRepository extends JpaRepository<AccountBalanceSnapshot, Long> {
+    Optional<AccountBalanceSnapshot> findFirstByAccountIdAndPeriodEndLessThanEqualOrderByPeriodEndDesc(Long accountId, Instant asOf);
+
+    List<AccountBalanceSnapshot> findAllByPeriodEnd(Instant periodEnd);
+
+    @Query("SELECT MAX(s.periodEnd) FROM AccountBalanceSnapshot s")
+    Instant findLatestPeriodEnd();
+
+    @Query("SELECT MAX(s.periodEnd) FROM AccountBalanceSnapshot s WHERE s.periodEnd <= :asOf")
+    Instant findLatestPeriodEndUpTo(Instant asOf);
+
+    /**
+     * Shift every snapshot of an account taken after a journal date, when lines are posted into closed periods.
+     */
+    @Modifying
+    @Query("UPDATE AccountBalanceSnapshot s SET s.netDebit = s.netDebit + :netDebit WHERE s.accountId = :accountId AND s.periodEnd > :date")
+    int shiftNetDebitAfter(Long accountId, Instant date, BigDecimal netDebit);
+}
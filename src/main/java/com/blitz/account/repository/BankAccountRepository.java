@@ -1,6 +1,9 @@
 package com.blitz.account.repository;
 
 import com.blitz.account.domain.BankAccount;
+import jakarta.persistence.LockModeType;
+import java.math.BigDecimal;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
@@ -9,4 +12,30 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface BankAccountRepository extends JpaRepository<BankAccount, Long>, JpaSpecificationExecutor<BankAccount> {}
+public interface BankAccountRepository extends JpaRepository<BankAccount, Long>, JpaSpecificationExecutor<BankAccount> {
+    /**
+     * Add an amount to the current balance of an account and count a change of its transactions, which also locks it
+     * until the end of the transaction.
+     *
+     * @param id the id of the account.
+     * @param amount credits minus debits posted to the account.
+     * @return the number of updated rows, {@code 0} if the account does not exist.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(
+        "UPDATE BankAccount a SET a.currentBalance = COALESCE(a.currentBalance, 0) + :amount, " +
+        "a.transactionChanges = a.transactionChanges + 1 WHERE a.id = :id"
+    )
+    int addToCurrentBalance(Long id, BigDecimal amount);
+
+    /**
+     * Number of changes of the transactions of an account, read locked so that it is read as last committed and cannot
+     * change until the end of the transaction.
+     *
+     * @param id the id of the account.
+     * @return the number of changes, empty if the account does not exist.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a.transactionChanges FROM BankAccount a WHERE a.id = :id")
+    Optional<Long> findTransactionChangesForUpdate(Long id);
+}
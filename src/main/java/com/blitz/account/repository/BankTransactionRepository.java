@@ -1,6 +1,13 @@
 package com.blitz.account.repository;
 
 import com.blitz.account.domain.BankTransaction;
+import com.blitz.account.domain.enumeration.TransactionDirection;
+import jakarta.persistence.LockModeType;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
@@ -9,4 +16,120 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface BankTransactionRepository extends JpaRepository<BankTransaction, Long> {}
+public interface BankTransactionRepository extends JpaRepository<BankTransaction, Long> {
+    /**
+     * Credits of a bank account not linked to a payment yet.
+     */
+    @Query(
+        "SELECT t.id AS id, t.transactionDate AS transactionDate, t.amount AS amount, t.reference AS reference, " +
+        "t.description AS description FROM BankTransaction t " +
+        "WHERE t.bankAccountId = :bankAccountId AND t.relatedPaymentId IS NULL AND t.direction = 'CREDIT'"
+    )
+    List<UnmatchedTransaction> findUnmatchedCredits(Long bankAccountId);
+
+    /**
+     * Ids of the bank accounts with credits not linked to a payment yet.
+     */
+    @Query(
+        "SELECT DISTINCT t.bankAccountId FROM BankTransaction t WHERE t.relatedPaymentId IS NULL AND t.direction = 'CREDIT' " +
+        "ORDER BY t.bankAccountId"
+    )
+    List<Long> findBankAccountIdsWithUnmatchedCredits();
+
+    /**
+     * Running balances of the transactions of an account before a position in date then id order, latest first, read
+     * locked so that they are read as last committed rather than from the snapshot of the transaction.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(
+        "SELECT t.runningBalance FROM BankTransaction t WHERE t.bankAccountId = :bankAccountId " +
+        "AND (t.transactionDate < :transactionDate OR (t.transactionDate = :transactionDate AND t.id < :id)) " +
+        "ORDER BY t.transactionDate DESC, t.id DESC"
+    )
+    List<BigDecimal> findRunningBalancesBefore(Long bankAccountId, Instant transactionDate, Long id, Limit limit);
+
+    /**
+     * The last transaction of an account up to a date, in date then id order.
+     */
+    Optional<BankTransaction> findFirstByBankAccountIdAndTransactionDateLessThanEqualOrderByTransactionDateDescIdDesc(
+        Long bankAccountId,
+        Instant asOf
+    );
+
+    /**
+     * Transactions of an account after a position, in date then id order.
+     */
+    @Query(
+        "SELECT t FROM BankTransaction t WHERE t.bankAccountId = :bankAccountId " +
+        "AND (t.transactionDate > :transactionDate OR (t.transactionDate = :transactionDate AND t.id > :id)) " +
+        "ORDER BY t.transactionDate, t.id"
+    )
+    List<BankTransaction> findAllAfter(Long bankAccountId, Instant transactionDate, Long id, Limit limit);
+
+    /**
+     * Add an amount to the running balances of the transactions of an account after a position, in date then id order.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(
+        "UPDATE BankTransaction t SET t.runningBalance = t.runningBalance + :amount WHERE t.bankAccountId = :bankAccountId " +
+        "AND (t.transactionDate > :transactionDate OR (t.transactionDate = :transactionDate AND t.id > :id))"
+    )
+    int addToRunningBalancesAfter(Long bankAccountId, Instant transactionDate, Long id, BigDecimal amount);
+
+    /**
+     * Fingerprints of the transactions of an account after a position, in date then id order.
+     */
+    @Query(
+        "SELECT t.id AS id, t.transactionDate AS transactionDate, t.amount AS amount, t.direction AS direction, " +
+        "t.reference AS reference FROM BankTransaction t WHERE t.bankAccountId = :bankAccountId " +
+        "AND (t.transactionDate > :transactionDate OR (t.transactionDate = :transactionDate AND t.id > :id)) " +
+        "ORDER BY t.transactionDate, t.id"
+    )
+    List<TransactionFingerprint> findFingerprintsAfter(Long bankAccountId, Instant transactionDate, Long id, Limit limit);
+
+    /**
+     * Number of the transactions of an account with a fingerprint, a {@code null} reference matching missing ones.
+     */
+    @Query(
+        "SELECT COUNT(t) FROM BankTransaction t WHERE t.bankAccountId = :bankAccountId AND t.transactionDate = :transactionDate " +
+        "AND t.amount = :amount AND t.direction = :direction " +
+        "AND (t.reference = :reference OR (t.reference IS NULL AND :reference IS NULL))"
+    )
+    long countByFingerprint(
+        Long bankAccountId,
+        Instant transactionDate,
+        BigDecimal amount,
+        TransactionDirection direction,
+        String reference
+    );
+
+    /**
+     * A bank transaction waiting to be linked to a payment.
+     */
+    interface UnmatchedTransaction {
+        Long getId();
+
+        Instant getTransactionDate();
+
+        BigDecimal getAmount();
+
+        String getReference();
+
+        String getDescription();
+    }
+
+    /**
+     * The fields of a bank transaction telling whether a statement line was already imported.
+     */
+    interface TransactionFingerprint {
+        Long getId();
+
+        Instant getTransactionDate();
+
+        BigDecimal getAmount();
+
+        TransactionDirection getDirection();
+
+        String getReference();
+    }
+}
@@ -1,6 +1,10 @@
 package com.blitz.account.repository;
 
 import com.blitz.account.domain.Budget;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
@@ -9,4 +13,50 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface BudgetRepository extends JpaRepository<Budget, Long> {}
+public interface BudgetRepository extends JpaRepository<Budget, Long> {
+    /**
+     * @param asOf a date.
+     * @return the budgets whose period contains {@code asOf}.
+     */
+    @Query("SELECT b FROM Budget b WHERE b.startDate <= :asOf AND b.endDate >= :asOf ORDER BY b.startDate, b.id")
+    List<Budget> findActive(Instant asOf);
+
+    /**
+     * Sum, per budget, the journal lines posted to the budget account within the budget period, in the normal
+     * direction of the account: debits for asset and expense accounts, credits for the others.
+     *
+     * @param ids the ids of the budgets.
+     * @return the ledger actual of each budget with at least one line.
+     */
+    @Query(
+        "SELECT b.id AS budgetId, SUM(CASE WHEN c.accountType IN ('ASSET', 'EXPENSE') " +
+        "THEN COALESCE(l.debit, 0) - COALESCE(l.credit, 0) ELSE COALESCE(l.credit, 0) - COALESCE(l.debit, 0) END) AS actual " +
+        "FROM Budget b JOIN ChartOfAccount c ON c.id = b.accountId JOIN JournalLine l ON l.accountId = b.accountId " +
+        "JOIN Journal j ON j.id = l.journalId " +
+        "WHERE b.id IN :ids AND j.journalDate >= b.startDate AND j.journalDate <= b.endDate GROUP BY b.id"
+    )
+    List<BudgetActual> sumJournalActuals(Collection<Long> ids);
+
+    /**
+     * Sum, per budget, the transactions recorded on the budget account within the budget period, in the normal
+     * direction of the account like {@link #sumJournalActuals(Collection)}: expenses less incomes for asset and expense
+     * accounts, incomes less expenses for the others.
+     *
+     * @param ids the ids of the budgets.
+     * @return the transaction actual of each budget with at least one transaction.
+     */
+    @Query(
+        "SELECT b.id AS budgetId, SUM(CASE WHEN c.accountType IN ('ASSET', 'EXPENSE') " +
+        "THEN (CASE WHEN t.type = 'EXPENSE' THEN t.amount ELSE -t.amount END) " +
+        "ELSE (CASE WHEN t.type = 'INCOME' THEN t.amount ELSE -t.amount END) END) AS actual " +
+        "FROM Budget b JOIN ChartOfAccount c ON c.id = b.accountId JOIN Transaction t ON t.accountId = b.accountId " +
+        "WHERE b.id IN :ids AND t.transactionDate >= b.startDate AND t.transactionDate <= b.endDate GROUP BY b.id"
+    )
+    List<BudgetActual> sumTransactionActuals(Collection<Long> ids);
+
+    interface BudgetActual {
+        Long getBudgetId();
+
+        BigDecimal getActual();
+    }
+}
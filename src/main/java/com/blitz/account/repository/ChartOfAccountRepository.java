@@ -1,6 +1,9 @@
 package com.blitz.account.repository;
 
 import com.blitz.account.domain.ChartOfAccount;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
@@ -9,4 +12,55 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface ChartOfAccountRepository extends JpaRepository<ChartOfAccount, Long>, JpaSpecificationExecutor<ChartOfAccount> {}
+public interface ChartOfAccountRepository extends JpaRepository<ChartOfAccount, Long>, JpaSpecificationExecutor<ChartOfAccount> {
+    /**
+     * Atomically shift the current balance of an account by a net debit amount.
+     * Debit-normal accounts (assets, expenses) grow with debits, all other account types grow with credits.
+     * The version of the account is incremented, so that a client edit based on the previous balance is rejected.
+     *
+     * @param id the id of the account.
+     * @param netDebit debits minus credits posted to the account.
+     * @return the number of updated rows, {@code 0} if the account does not exist.
+     */
+    @Modifying
+    @Query(
+        "UPDATE ChartOfAccount c SET c.currentBalance = COALESCE(c.currentBalance, 0) + " +
+        "CASE WHEN c.accountType IN ('ASSET', 'EXPENSE') THEN :netDebit ELSE 0 - :netDebit END, c.version = c.version + 1 " +
+        "WHERE c.id = :id"
+    )
+    int applyNetDebit(Long id, BigDecimal netDebit);
+
+    /**
+     * Replace the current balance of an account, only if nobody posted to it since {@code expected} was read.
+     *
+     * @param id the id of the account.
+     * @param expected the balance observed by the caller.
+     * @param balance the new balance.
+     * @return the number of updated rows, {@code 0} if the balance moved in the meantime.
+     */
+    @Modifying
+    @Query(
+        "UPDATE ChartOfAccount c SET c.currentBalance = :balance, c.version = c.version + 1 " +
+        "WHERE c.id = :id AND COALESCE(c.currentBalance, 0) = :expected"
+    )
+    int compareAndSetBalance(Long id, BigDecimal expected, BigDecimal balance);
+
+    /**
+     * @param ids ids of accounts.
+     * @return the number of existing accounts among {@code ids}.
+     */
+    long countByIdIn(Collection<Long> ids);
+
+    /**
+     * @param ids ids of accounts.
+     * @return the id and version of the existing accounts among {@code ids}.
+     */
+    @Query("SELECT c.id AS id, c.version AS version FROM ChartOfAccount c WHERE c.id IN :ids")
+    List<AccountVersion> findVersionsByIdIn(Collection<Long> ids);
+
+    interface AccountVersion {
+        Long getId();
+
+        Long getVersion();
+    }
+}
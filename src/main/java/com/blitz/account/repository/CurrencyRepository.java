@@ -1,6 +1,7 @@
 package com.blitz.account.repository;
 
 import com.blitz.account.domain.Currency;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
@@ -9,4 +10,6 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface CurrencyRepository extends JpaRepository<Currency, Long> {}
+public interface CurrencyRepository extends JpaRepository<Currency, Long> {
+    Optional<Currency> findOneByCode(String code);
+}
@@ -1,6 +1,10 @@
 package com.blitz.account.repository;
 
 import com.blitz.account.domain.ExchangeRate;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
@@ -9,4 +13,28 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface ExchangeRateRepository extends JpaRepository<ExchangeRate, Long> {}
+public interface ExchangeRateRepository extends JpaRepository<ExchangeRate, Long> {
+    /**
+     * Exchange rates after an id, in id order.
+     */
+    @Query(
+        "SELECT r.id AS id, r.baseCurrencyId AS baseCurrencyId, r.targetCurrencyId AS targetCurrencyId, r.rate AS rate, " +
+        "r.rateDate AS rateDate FROM ExchangeRate r WHERE r.id > :id ORDER BY r.id"
+    )
+    List<ExchangeRatePoint> findPointsAfter(Long id, Limit limit);
+
+    /**
+     * The fields of an exchange rate needed to convert amounts.
+     */
+    interface ExchangeRatePoint {
+        Long getId();
+
+        Long getBaseCurrencyId();
+
+        Long getTargetCurrencyId();
+
+        BigDecimal getRate();
+
+        Instant getRateDate();
+    }
+}
@@ -1,6 +1,9 @@
 package com.blitz.account.repository;
 
 import com.blitz.account.domain.InvoiceLine;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
@@ -9,4 +12,30 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface InvoiceLineRepository extends JpaRepository<InvoiceLine, Long> {}
+public interface InvoiceLineRepository extends JpaRepository<InvoiceLine, Long> {
+    /**
+     * Lines of some invoices, by invoice then by line.
+     */
+    List<InvoiceLine> findByInvoiceIdInOrderByInvoiceIdAscIdAsc(Collection<Long> invoiceIds);
+
+    List<InvoiceLine> findByInvoiceId(Long invoiceId);
+
+    /**
+     * Next chunk of the ids of the invoices with lines in id order, seeking past the last invoice already read.
+     */
+    @Query("SELECT DISTINCT l.invoiceId FROM InvoiceLine l WHERE l.invoiceId > :afterId ORDER BY l.invoiceId")
+    List<Long> findInvoiceIdsAfter(Long afterId, Limit limit);
+
+    /**
+     * The ids of the invoices with lines priced with a VAT rate, theirs or that of their invoice.
+     */
+    @Query(
+        "SELECT DISTINCT l.invoiceId FROM InvoiceLine l WHERE l.vatRateId = :vatRateId " +
+        "OR (l.vatRateId IS NULL AND l.invoiceId IN (SELECT i.id FROM Invoice i WHERE i.vatRateId = :vatRateId)) " +
+        "ORDER BY l.invoiceId"
+    )
+    List<Long> findInvoiceIdsByVatRateId(Long vatRateId);
+
+    @Query("SELECT COUNT(DISTINCT l.invoiceId) FROM InvoiceLine l")
+    long countInvoices();
+}
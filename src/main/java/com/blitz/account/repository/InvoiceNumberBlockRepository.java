@@ -0,0 +1,22 @@
+package com.blitz.account.repository;
+
+import com.blitz.account.domain.InvoiceNumberBlock;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the InvoiceNumberBlock entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface InvoiceNumberBlockRepository extends JpaRepository<InvoiceNumberBlock, Long> {
+    Optional<InvoiceNumberBlock> findFirstBySeriesAndYearOrderByFirstNumberAsc(String series, Integer year);
+
+    /**
+     * Claim a released block, which only one node can do.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM InvoiceNumberBlock b WHERE b.id = :id")
+    int claim(Long id);
+}
@@ -0,0 +1,33 @@
+package com.blitz.account.repository;
+
+import com.blitz.account.domain.InvoiceNumberSeries;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the InvoiceNumberSeries entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface InvoiceNumberSeriesRepository extends JpaRepository<InvoiceNumberSeries, Long> {
+    /**
+     * Reserve the next {@code size} numbers of a series, locking its counter until the transaction ends.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE InvoiceNumberSeries s SET s.nextNumber = s.nextNumber + :size WHERE s.series = :series AND s.year = :year")
+    int reserve(String series, Integer year, long size);
+
+    @Query("SELECT s.nextNumber FROM InvoiceNumberSeries s WHERE s.series = :series AND s.year = :year")
+    Optional<Long> findNextNumber(String series, Integer year);
+
+    /**
+     * Give back the numbers from {@code firstNumber} reserved last, unless other numbers were reserved since.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(
+        "UPDATE InvoiceNumberSeries s SET s.nextNumber = :firstNumber " +
+        "WHERE s.series = :series AND s.year = :year AND s.nextNumber = :endNumber"
+    )
+    int release(String series, Integer year, long firstNumber, long endNumber);
+}
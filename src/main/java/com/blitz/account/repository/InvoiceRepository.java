@@ -1,9 +1,13 @@
 package com.blitz.account.repository;
 
 import com.blitz.account.domain.Invoice;
-import com.blitz.account.domain.enumeration.PaymentStatus;
+import jakarta.persistence.LockModeType;
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
@@ -13,16 +17,210 @@ import org.springframework.stereotype.Repository;
 @SuppressWarnings("unused")
 @Repository
 public interface InvoiceRepository extends JpaRepository<Invoice, Long>, JpaSpecificationExecutor<Invoice> {
-    long countByPaymentStatusIn(PaymentStatus[] statuses);
+    /**
+     * Outstanding and overdue invoices with the total amount of all invoices, in a single scan.
+     */
+    @Query(
+        "SELECT COALESCE(SUM(CASE WHEN i.paymentStatus IN ('UNPAID', 'PARTIALLY_PAID') THEN 1 ELSE 0 END), 0) AS outstanding, " +
+        "COALESCE(SUM(CASE WHEN i.dueDate < :now AND i.paymentStatus <> 'PAID' THEN 1 ELSE 0 END), 0) AS overdue, " +
+        "COALESCE(SUM(i.totalAmount), 0) AS totalAmount, " +
+        "COALESCE(SUM(CASE WHEN i.dueDate < :now AND i.paymentStatus <> 'PAID' THEN i.totalAmount - COALESCE(i.paidAmount, 0) ELSE 0 END), 0) " +
+        "AS overdueAmount FROM Invoice i"
+    )
+    InvoiceTotals summarize(Instant now);
+
+    /**
+     * Invoices not paid yet and not overdue at a date, by due date.
+     */
+    @Query(
+        "SELECT i.dueDate AS dueDate, COUNT(i) AS invoices, COALESCE(SUM(i.totalAmount - COALESCE(i.paidAmount, 0)), 0) AS amount " +
+        "FROM Invoice i WHERE i.paymentStatus <> 'PAID' AND i.dueDate >= :now GROUP BY i.dueDate"
+    )
+    List<AmountDue> sumUpcomingByDueDate(Instant now);
+
+    /**
+     * Next clients with invoices not paid yet in name order, seeking past the last client already read.
+     */
+    @Query(
+        "SELECT DISTINCT i.clientName FROM Invoice i WHERE i.paymentStatus <> 'PAID' " +
+        "AND (:afterClientName IS NULL OR i.clientName > :afterClientName) ORDER BY i.clientName"
+    )
+    List<String> findOpenClientNamesAfter(String afterClientName, Limit limit);
+
+    /**
+     * Amounts left to pay on the invoices of some clients by currency, bucketed by the days past their due date.
+     */
+    @Query(
+        "SELECT i.clientName AS clientName, i.currencyId AS currencyId, COUNT(i) AS invoices, " +
+        "SUM(CASE WHEN i.dueDate IS NULL OR i.dueDate >= :today THEN i.totalAmount - COALESCE(i.paidAmount, 0) ELSE 0 END) AS notDue, " +
+        "SUM(CASE WHEN i.dueDate < :today AND i.dueDate >= :days30 THEN i.totalAmount - COALESCE(i.paidAmount, 0) ELSE 0 END) " +
+        "AS days1To30, " +
+        "SUM(CASE WHEN i.dueDate < :days30 AND i.dueDate >= :days60 THEN i.totalAmount - COALESCE(i.paidAmount, 0) ELSE 0 END) " +
+        "AS days31To60, " +
+        "SUM(CASE WHEN i.dueDate < :days60 AND i.dueDate >= :days90 THEN i.totalAmount - COALESCE(i.paidAmount, 0) ELSE 0 END) " +
+        "AS days61To90, " +
+        "SUM(CASE WHEN i.dueDate < :days90 THEN i.totalAmount - COALESCE(i.paidAmount, 0) ELSE 0 END) AS over90 " +
+        "FROM Invoice i WHERE i.paymentStatus <> 'PAID' AND i.clientName IN :clientNames " +
+        "GROUP BY i.clientName, i.currencyId ORDER BY i.clientName, i.currencyId"
+    )
+    List<ClientAging> sumAgingByClientAndCurrency(
+        Collection<String> clientNames,
+        Instant today,
+        Instant days30,
+        Instant days60,
+        Instant days90
+    );
+
+    /**
+     * Add an amount to the total of an invoice, without reading it first.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Invoice i SET i.totalAmount = i.totalAmount + :delta, i.version = i.version + 1 WHERE i.id = :id")
+    int addToTotalAmount(Long id, BigDecimal delta);
+
+    /**
+     * Add a payment to the paid amount of an invoice and derive its payment status from the new paid amount, without
+     * reading it first. The row lock taken by the update serializes concurrent payments to the same invoice.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(
+        "UPDATE Invoice i SET i.paidAmount = COALESCE(i.paidAmount, 0) + :amount, " +
+        "i.paymentStatus = CASE WHEN COALESCE(i.paidAmount, 0) + :amount >= i.totalAmount THEN 'PAID' " +
+        "WHEN COALESCE(i.paidAmount, 0) + :amount > 0 THEN 'PARTIALLY_PAID' ELSE 'UNPAID' END, " +
+        "i.version = i.version + 1 WHERE i.id = :id"
+    )
+    int applyPayment(Long id, BigDecimal amount);
+
+    /**
+     * Invoices by id in id order, locked until the end of the transaction so that their state cannot change before they
+     * are updated.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Invoice i WHERE i.id IN :ids ORDER BY i.id")
+    List<Invoice> findAllByIdForUpdate(Collection<Long> ids);
+
+    /**
+     * Ids and versions of the existing invoices among some ids.
+     */
+    @Query("SELECT i.id AS id, i.version AS version FROM Invoice i WHERE i.id IN :ids")
+    List<InvoiceVersion> findVersionsByIdIn(Collection<Long> ids);
+
+    /**
+     * Ids of the existing invoices among some ids.
+     */
+    @Query("SELECT i.id FROM Invoice i WHERE i.id IN :ids")
+    List<Long> findExistingIds(Collection<Long> ids);
+
+    /**
+     * A page of the invoices of a client not paid yet, by due date, without counting them.
+     */
+    @Query("SELECT i FROM Invoice i WHERE i.clientName = :clientName AND i.paymentStatus <> 'PAID' ORDER BY i.dueDate, i.id")
+    List<Invoice> findOpenByClientName(String clientName, Pageable pageable);
+
+    /**
+     * Ids of the unpaid invoices past their due date not yet found overdue, after an id and in id order.
+     */
+    @Query(
+        "SELECT i.id FROM Invoice i WHERE i.overdueSince IS NULL AND i.paymentStatus <> 'PAID' AND i.dueDate < :now " +
+        "AND i.id > :afterId ORDER BY i.id"
+    )
+    List<Long> findOverdueIdsAfter(Instant now, Long afterId, Limit limit);
+
+    /**
+     * Backlog of the unpaid invoices past their due date not yet found overdue.
+     */
+    @Query(
+        "SELECT COUNT(i) AS invoices, MIN(i.dueDate) AS oldestDueDate FROM Invoice i " +
+        "WHERE i.overdueSince IS NULL AND i.paymentStatus <> 'PAID' AND i.dueDate < :now"
+    )
+    OverdueBacklog findOverdueBacklog(Instant now);
 
-    @Query("SELECT COALESCE(SUM(i.totalAmount), 0) FROM Invoice i")
-    BigDecimal findTotalAmount();
+    /**
+     * Mark the given invoices overdue, unless they were paid, moved to a later due date or already marked meanwhile.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(
+        "UPDATE Invoice i SET i.overdueSince = :now, i.version = i.version + 1 WHERE i.id IN :ids AND i.overdueSince IS NULL " +
+        "AND i.paymentStatus <> 'PAID' AND i.dueDate < :now"
+    )
+    int markOverdue(Collection<Long> ids, Instant now);
 
-    @Query("SELECT COUNT(i) FROM Invoice i WHERE i.dueDate < :today AND i.paymentStatus <> 'PAID'")
-    long countOverdue(Instant today);
+    /**
+     * Invoices among some ids marked overdue at a date.
+     */
+    @Query("SELECT i FROM Invoice i WHERE i.id IN :ids AND i.overdueSince = :overdueSince ORDER BY i.id")
+    List<Invoice> findByIdInAndOverdueSince(Collection<Long> ids, Instant overdueSince);
 
+    /**
+     * Unmark the invoices marked overdue that were paid or moved to a later due date since.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
     @Query(
-        "SELECT COALESCE(SUM(i.totalAmount - COALESCE(i.paidAmount, 0)), 0) FROM Invoice i WHERE i.dueDate < :today AND i.paymentStatus <> 'PAID'"
+        "UPDATE Invoice i SET i.overdueSince = NULL, i.version = i.version + 1 WHERE i.overdueSince IS NOT NULL " +
+        "AND (i.paymentStatus = 'PAID' OR i.dueDate IS NULL OR i.dueDate >= :now)"
     )
-    BigDecimal sumOverdueAmount(Instant today);
+    int clearOverdue(Instant now);
+
+    /**
+     * Counts and sums over all the invoices.
+     */
+    interface InvoiceTotals {
+        long getOutstanding();
+
+        long getOverdue();
+
+        BigDecimal getTotalAmount();
+
+        BigDecimal getOverdueAmount();
+    }
+
+    /**
+     * The version of an invoice.
+     */
+    interface InvoiceVersion {
+        Long getId();
+
+        Long getVersion();
+    }
+
+    /**
+     * The invoices past their due date not yet found overdue.
+     */
+    interface OverdueBacklog {
+        long getInvoices();
+
+        Instant getOldestDueDate();
+    }
+
+    /**
+     * The invoices due at one date.
+     */
+    interface AmountDue {
+        Instant getDueDate();
+
+        long getInvoices();
+
+        BigDecimal getAmount();
+    }
+
+    /**
+     * The amounts a client owes in one currency, by age.
+     */
+    interface ClientAging {
+        String getClientName();
+
+        Long getCurrencyId();
+
+        long getInvoices();
+
+        BigDecimal getNotDue();
+
+        BigDecimal getDays1To30();
+
+        BigDecimal getDays31To60();
+
+        BigDecimal getDays61To90();
+
+        BigDecimal getOver90();
+    }
 }
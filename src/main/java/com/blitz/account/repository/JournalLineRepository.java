@@ -1,6 +1,10 @@
 package com.blitz.account.repository;
 
 import com.blitz.account.domain.JournalLine;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
@@ -9,4 +13,149 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface JournalLineRepository extends JpaRepository<JournalLine, Long> {}
+public interface JournalLineRepository extends JpaRepository<JournalLine, Long> {
+    @Query(
+        "SELECT l.accountId AS accountId, SUM(COALESCE(l.debit, 0) - COALESCE(l.credit, 0)) AS netDebit " +
+        "FROM JournalLine l GROUP BY l.accountId"
+    )
+    List<AccountNetDebit> sumNetDebitByAccount();
+
+    @Query(
+        "SELECT l.accountId AS accountId, SUM(COALESCE(l.debit, 0) - COALESCE(l.credit, 0)) AS netDebit " +
+        "FROM JournalLine l JOIN Journal j ON j.id = l.journalId " +
+        "WHERE j.journalDate < :to GROUP BY l.accountId"
+    )
+    List<AccountNetDebit> sumNetDebitByAccountBefore(Instant to);
+
+    @Query(
+        "SELECT l.accountId AS accountId, SUM(COALESCE(l.debit, 0) - COALESCE(l.credit, 0)) AS netDebit " +
+        "FROM JournalLine l JOIN Journal j ON j.id = l.journalId " +
+        "WHERE j.journalDate >= :from AND j.journalDate < :to GROUP BY l.accountId"
+    )
+    List<AccountNetDebit> sumNetDebitByAccountBetween(Instant from, Instant to);
+
+    @Query(
+        "SELECT l.accountId AS accountId, SUM(COALESCE(l.debit, 0) - COALESCE(l.credit, 0)) AS netDebit " +
+        "FROM JournalLine l JOIN Journal j ON j.id = l.journalId " +
+        "WHERE j.journalDate <= :asOf GROUP BY l.accountId"
+    )
+    List<AccountNetDebit> sumNetDebitByAccountUpTo(Instant asOf);
+
+    @Query(
+        "SELECT l.accountId AS accountId, SUM(COALESCE(l.debit, 0) - COALESCE(l.credit, 0)) AS netDebit " +
+        "FROM JournalLine l JOIN Journal j ON j.id = l.journalId " +
+        "WHERE j.journalDate >= :from AND j.journalDate <= :asOf GROUP BY l.accountId"
+    )
+    List<AccountNetDebit> sumNetDebitByAccountSince(Instant from, Instant asOf);
+
+    @Query(
+        "SELECT COALESCE(SUM(COALESCE(l.debit, 0) - COALESCE(l.credit, 0)), 0) " +
+        "FROM JournalLine l JOIN Journal j ON j.id = l.journalId " +
+        "WHERE l.accountId = :accountId AND j.journalDate <= :asOf"
+    )
+    BigDecimal sumNetDebitUpTo(Long accountId, Instant asOf);
+
+    @Query(
+        "SELECT COALESCE(SUM(COALESCE(l.debit, 0) - COALESCE(l.credit, 0)), 0) " +
+        "FROM JournalLine l JOIN Journal j ON j.id = l.journalId " +
+        "WHERE l.accountId = :accountId AND j.journalDate >= :from AND j.journalDate <= :asOf"
+    )
+    BigDecimal sumNetDebitBetween(Long accountId, Instant from, Instant asOf);
+
+    @Query(
+        "SELECT COALESCE(SUM(COALESCE(l.debit, 0) - COALESCE(l.credit, 0)), 0) " +
+        "FROM JournalLine l JOIN Journal j ON j.id = l.journalId " +
+        "WHERE l.accountId = :accountId AND j.journalDate < :before"
+    )
+    BigDecimal sumNetDebitBefore(Long accountId, Instant before);
+
+    @Query(
+        "SELECT COALESCE(SUM(COALESCE(l.debit, 0) - COALESCE(l.credit, 0)), 0) " +
+        "FROM JournalLine l JOIN Journal j ON j.id = l.journalId " +
+        "WHERE l.accountId = :accountId AND j.journalDate >= :from AND j.journalDate < :before"
+    )
+    BigDecimal sumNetDebitFromBefore(Long accountId, Instant from, Instant before);
+
+    /**
+     * Next chunk of the lines of an account up to a date, in ledger order, seeking past the last line already read.
+     */
+    @Query(
+        "SELECT l.id AS id, l.journalId AS journalId, j.journalDate AS journalDate, j.reference AS reference, " +
+        "j.description AS description, l.debit AS debit, l.credit AS credit " +
+        "FROM Journal j JOIN JournalLine l ON l.journalId = j.id " +
+        "WHERE l.accountId = :accountId AND j.journalDate <= :to AND (j.journalDate > :afterDate " +
+        "OR (j.journalDate = :afterDate AND j.id > :afterJournalId) " +
+        "OR (j.journalDate = :afterDate AND j.id = :afterJournalId AND l.id > :afterId)) " +
+        "ORDER BY j.journalDate, j.id, l.id"
+    )
+    List<LedgerLine> findLedgerLinesAfter(
+        Long accountId,
+        Instant to,
+        Instant afterDate,
+        Long afterJournalId,
+        Long afterId,
+        Limit limit
+    );
+
+    /**
+     * @return the highest id of the journal lines, {@code 0} if there are none.
+     */
+    @Query("SELECT COALESCE(MAX(l.id), 0) FROM JournalLine l")
+    long findMaxId();
+
+    /**
+     * Next chunk of the journal lines up to an id in id order with the date of their journal, seeking past the last
+     * line already read.
+     */
+    @Query(
+        "SELECT l.id AS id, l.accountId AS accountId, j.journalDate AS journalDate, l.debit AS debit, l.credit AS credit " +
+        "FROM JournalLine l JOIN Journal j ON j.id = l.journalId " +
+        "WHERE l.id > :afterId AND l.id <= :maxId ORDER BY l.id"
+    )
+    List<JournalLineMovement> findMovementsAfter(Long afterId, Long maxId, Limit limit);
+
+    List<JournalLine> findByJournalId(Long journalId);
+
+    /**
+     * Debits minus credits posted to one account.
+     */
+    interface AccountNetDebit {
+        Long getAccountId();
+
+        BigDecimal getNetDebit();
+    }
+
+    /**
+     * The amounts of a journal line, at the date of its journal.
+     */
+    interface JournalLineMovement {
+        Long getId();
+
+        Long getAccountId();
+
+        Instant getJournalDate();
+
+        BigDecimal getDebit();
+
+        BigDecimal getCredit();
+    }
+
+    /**
+     * A journal line with the header of its journal.
+     */
+    interface LedgerLine {
+        Long getId();
+
+        Long getJournalId();
+
+        Instant getJournalDate();
+
+        String getReference();
+
+        String getDescription();
+
+        BigDecimal getDebit();
+
+        BigDecimal getCredit();
+    }
+}
@@ -1,6 +1,7 @@
 package com.blitz.account.repository;
 
 import com.blitz.account.domain.Journal;
+import java.time.Instant;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
@@ -9,4 +10,7 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface JournalRepository extends JpaRepository<Journal, Long> {}
+public interface JournalRepository extends JpaRepository<Journal, Long> {
+    @Query("SELECT MIN(j.journalDate) FROM Journal j")
+    Instant findEarliestJournalDate();
+}
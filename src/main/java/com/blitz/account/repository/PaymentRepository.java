@@ -1,6 +1,9 @@
 package com.blitz.account.repository;
 
 import com.blitz.account.domain.Payment;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
@@ -9,4 +12,30 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface PaymentRepository extends JpaRepository<Payment, Long> {}
+public interface PaymentRepository extends JpaRepository<Payment, Long> {
+    /**
+     * Payments into a bank account no bank transaction is linked to yet, with the number and client of their invoice.
+     */
+    @Query(
+        "SELECT p.id AS id, p.paymentDate AS paymentDate, p.amount AS amount, i.invoiceNumber AS invoiceNumber, " +
+        "i.clientName AS clientName FROM Payment p LEFT JOIN Invoice i ON i.id = p.invoiceId " +
+        "WHERE p.bankAccountId = :bankAccountId " +
+        "AND NOT EXISTS (SELECT t.id FROM BankTransaction t WHERE t.relatedPaymentId = p.id)"
+    )
+    List<UnmatchedPayment> findUnmatched(Long bankAccountId);
+
+    /**
+     * A payment waiting for the bank transaction it shows up as.
+     */
+    interface UnmatchedPayment {
+        Long getId();
+
+        Instant getPaymentDate();
+
+        BigDecimal getAmount();
+
+        String getInvoiceNumber();
+
+        String getClientName();
+    }
+}
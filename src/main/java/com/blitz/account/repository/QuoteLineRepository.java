@@ -1,6 +1,8 @@
 package com.blitz.account.repository;
 
 import com.blitz.account.domain.QuoteLine;
+import java.util.Collection;
+import java.util.List;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
@@ -9,4 +11,9 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface QuoteLineRepository extends JpaRepository<QuoteLine, Long> {}
+public interface QuoteLineRepository extends JpaRepository<QuoteLine, Long> {
+    /**
+     * Lines of some quotes, by quote then by line.
+     */
+    List<QuoteLine> findByQuoteIdInOrderByQuoteIdAscIdAsc(Collection<Long> quoteIds);
+}
@@ -1,6 +1,11 @@
 package com.blitz.account.repository;
 
 import com.blitz.account.domain.Quote;
+import jakarta.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
@@ -9,4 +14,23 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface QuoteRepository extends JpaRepository<Quote, Long> {}
+public interface QuoteRepository extends JpaRepository<Quote, Long> {
+    /**
+     * Mark approved quotes invoiced, unless their status changed meanwhile.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Quote q SET q.status = 'INVOICED' WHERE q.id IN :ids AND q.status = 'APPROVED'")
+    int markInvoiced(Collection<Long> ids);
+
+    /**
+     * Quotes by id in id order, locked until the end of the transaction so that they cannot be invoiced meanwhile.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT q FROM Quote q WHERE q.id IN :ids ORDER BY q.id")
+    List<Quote> findAllByIdForUpdate(Collection<Long> ids);
+
+    /**
+     * A slice of the quotes, without counting them.
+     */
+    Slice<Quote> findAllBy(Pageable pageable);
+}
@@ -1,6 +1,8 @@
 package com.blitz.account.repository;
 
 import com.blitz.account.domain.RecurringTransaction;
+import java.time.Instant;
+import java.util.List;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
@@ -9,4 +11,32 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface RecurringTransactionRepository extends JpaRepository<RecurringTransaction, Long> {}
+public interface RecurringTransactionRepository extends JpaRepository<RecurringTransaction, Long> {
+    /**
+     * @param horizon an instant.
+     * @return the recurring transactions with an occurrence due before {@code horizon}, earliest first.
+     */
+    @Query(
+        "SELECT r.id AS id, r.nextDueDate AS nextDueDate FROM RecurringTransaction r " +
+        "WHERE r.nextDueDate < :horizon ORDER BY r.nextDueDate, r.id"
+    )
+    List<ScheduledRecurrence> findScheduledBefore(Instant horizon);
+
+    /**
+     * Move the schedule of a recurring transaction forward, only if nobody moved it since {@code expected} was read.
+     *
+     * @param id the id of the recurring transaction.
+     * @param expected the next due date observed by the caller.
+     * @param nextDueDate the new next due date, {@code null} when the schedule is exhausted.
+     * @return the number of updated rows, {@code 0} if the schedule moved in the meantime.
+     */
+    @Modifying
+    @Query("UPDATE RecurringTransaction r SET r.nextDueDate = :nextDueDate WHERE r.id = :id AND r.nextDueDate = :expected")
+    int advanceNextDueDate(Long id, Instant expected, Instant nextDueDate);
+
+    interface ScheduledRecurrence {
+        Long getId();
+
+        Instant getNextDueDate();
+    }
+}
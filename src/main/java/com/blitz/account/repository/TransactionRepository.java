@@ -1,6 +1,11 @@
 package com.blitz.account.repository;
 
 import com.blitz.account.domain.Transaction;
+import com.blitz.account.domain.enumeration.TransactionType;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
@@ -9,4 +14,44 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {}
+public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+    /**
+     * @param recurringTransactionId the id of a recurring transaction.
+     * @return the date of the latest transaction generated from it, {@code null} if none.
+     */
+    @Query("SELECT MAX(t.transactionDate) FROM Transaction t WHERE t.recurringTransactionId = :recurringTransactionId")
+    Instant findLatestRecurrenceDate(Long recurringTransactionId);
+
+    /**
+     * @return the highest id of the transactions, {@code 0} if there are none.
+     */
+    @Query("SELECT COALESCE(MAX(t.id), 0) FROM Transaction t")
+    long findMaxId();
+
+    /**
+     * Next chunk of the transactions up to an id in id order, seeking past the last transaction already read.
+     */
+    @Query(
+        "SELECT t.id AS id, t.type AS type, t.amount AS amount, t.transactionDate AS transactionDate, " +
+        "t.accountId AS accountId, t.currencyId AS currencyId " +
+        "FROM Transaction t WHERE t.id > :afterId AND t.id <= :maxId ORDER BY t.id"
+    )
+    List<TransactionMovement> findMovementsAfter(Long afterId, Long maxId, Limit limit);
+
+    /**
+     * The amounts of a transaction.
+     */
+    interface TransactionMovement {
+        Long getId();
+
+        TransactionType getType();
+
+        BigDecimal getAmount();
+
+        Instant getTransactionDate();
+
+        Long getAccountId();
+
+        Long getCurrencyId();
+    }
+}
@@ -0,0 +1,92 @@
+package com.blitz.account.service;
+
+import com.blitz.account.config.ApplicationProperties;
+import com.blitz.account.domain.ChartOfAccount;
+import com.blitz.account.management.LedgerMetersService;
+import com.blitz.account.repository.ChartOfAccountRepository;
+import com.blitz.account.repository.JournalLineRepository;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service re-deriving account balances from {@link com.blitz.account.domain.JournalLine}s, to catch drift of the
+ * incrementally maintained {@link ChartOfAccount#getCurrentBalance()}.
+ * <p>
+ * The derived balance of an account is its initial balance plus its net movement, debits counting positively for
+ * asset and expense accounts and credits counting positively for the others.
+ */
+@Service
+@Transactional
+public class AccountBalanceReconciler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AccountBalanceReconciler.class);
+
+    private final ChartOfAccountRepository chartOfAccountRepository;
+
+    private final JournalLineRepository journalLineRepository;
+
+    private final LedgerMetersService ledgerMetersService;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final ChartOfAccountHierarchyService chartOfAccountHierarchyService;
+
+    public AccountBalanceReconciler(
+        ChartOfAccountRepository chartOfAccountRepository,
+        JournalLineRepository journalLineRepository,
+        LedgerMetersService ledgerMetersService,
+        ApplicationProperties applicationProperties,
+        ChartOfAccountHierarchyService chartOfAccountHierarchyService
+    ) {
+        this.chartOfAccountRepository = chartOfAccountRepository;
+        this.journalLineRepository = journalLineRepository;
+        this.ledgerMetersService = ledgerMetersService;
+        this.applicationProperties = applicationProperties;
+        this.chartOfAccountHierarchyService = chartOfAccountHierarchyService;
+    }
+
+    /**
+     * Compare every account balance with the balance derived from its journal lines, and publish the drift.
+     * <p>
+     * When {@code application.ledger.repair-balance-drift} is set, drifted balances are overwritten with the derived
+     * ones, unless a posting touched the account in the meantime. The code hierarchy roll-ups are reloaded either way,
+     * so that any drift of their incremental maintenance is healed too.
+     * <p>
+     * This is scheduled by {@code application.ledger.balance-reconciliation-cron}.
+     *
+     * @return the number of accounts whose balance drifted.
+     */
+    @Scheduled(cron = "${application.ledger.balance-reconciliation-cron}")
+    public long reconcile() {
+        LOG.debug("Reconciling ChartOfAccount balances");
+        Map<Long, BigDecimal> netDebitByAccount = new HashMap<>();
+        journalLineRepository
+            .sumNetDebitByAccount()
+            .forEach(movement -> netDebitByAccount.put(movement.getAccountId(), movement.getNetDebit()));
+
+        long driftedAccounts = 0;
+        BigDecimal driftAmount = BigDecimal.ZERO;
+        for (ChartOfAccount account : chartOfAccountRepository.findAll()) {
+            BigDecimal current = account.getCurrentBalance() != null ? account.getCurrentBalance() : BigDecimal.ZERO;
+            BigDecimal derived = AccountBalanceService.balanceOf(account, netDebitByAccount.getOrDefault(account.getId(), BigDecimal.ZERO));
+            if (current.compareTo(derived) == 0) {
+                continue;
+            }
+            driftedAccounts++;
+            driftAmount = driftAmount.add(current.subtract(derived).abs());
+            LOG.warn("ChartOfAccount {} balance drifted : current {}, derived {}", account.getId(), current, derived);
+            if (Boolean.TRUE.equals(applicationProperties.getLedger().getRepairBalanceDrift())) {
+                chartOfAccountRepository.compareAndSetBalance(account.getId(), current, derived);
+            }
+        }
+        ledgerMetersService.trackBalanceReconciliation(driftedAccounts, driftAmount);
+        chartOfAccountHierarchyService.invalidate();
+        return driftedAccounts;
+    }
+}
@@ -0,0 +1,284 @@
+package com.blitz.account.service;
+
+import com.blitz.account.domain.ChartOfAccount;
+import com.blitz.account.domain.Journal;
+import com.blitz.account.domain.JournalLine;
+import com.blitz.account.domain.enumeration.AccountType;
+import com.blitz.account.repository.AccountBalanceSnapshotRepository;
+import com.blitz.account.repository.ChartOfAccountRepository;
+import com.blitz.account.repository.JournalLineRepository;
+import com.blitz.account.repository.JournalRepository;
+import com.blitz.account.service.LedgerMovementEvent.Movement;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service keeping {@link com.blitz.account.domain.ChartOfAccount#getCurrentBalance()} in step with posted
+ * {@link JournalLine}s.
+ * <p>
+ * Lines are coalesced per account before touching the database, so posting a journal costs one
+ * {@code UPDATE ... SET current_balance = current_balance + ?} per distinct account, whatever the number of lines.
+ * Accounts are updated in id order so that concurrent postings always lock rows in the same order. The versions the
+ * accounts are left at are published with the movements, so that in-memory views loaded from the balances meanwhile
+ * can tell whether they already hold them.
+ * <p>
+ * Lines dated before the last closed period also shift the {@link com.blitz.account.domain.AccountBalanceSnapshot}s
+ * taken after them, so that snapshots never need to be rebuilt.
+ */
+@Service
+@Transactional
+public class AccountBalanceService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AccountBalanceService.class);
+
+    private final ChartOfAccountRepository chartOfAccountRepository;
+
+    private final AccountBalanceSnapshotRepository accountBalanceSnapshotRepository;
+
+    private final JournalRepository journalRepository;
+
+    private final JournalLineRepository journalLineRepository;
+
+    private final BudgetVarianceService budgetVarianceService;
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    public AccountBalanceService(
+        ChartOfAccountRepository chartOfAccountRepository,
+        AccountBalanceSnapshotRepository accountBalanceSnapshotRepository,
+        JournalRepository journalRepository,
+        JournalLineRepository journalLineRepository,
+        BudgetVarianceService budgetVarianceService,
+        ApplicationEventPublisher applicationEventPublisher
+    ) {
+        this.chartOfAccountRepository = chartOfAccountRepository;
+        this.accountBalanceSnapshotRepository = accountBalanceSnapshotRepository;
+        this.journalRepository = journalRepository;
+        this.journalLineRepository = journalLineRepository;
+        this.budgetVarianceService = budgetVarianceService;
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+
+    /**
+     * Apply the given lines to the balances of their accounts.
+     *
+     * @param lines the posted lines.
+     */
+    public void post(Collection<JournalLine> lines) {
+        repost(List.of(), lines);
+    }
+
+    /**
+     * Take the given lines back out of the balances of their accounts.
+     *
+     * @param lines the removed lines.
+     */
+    public void reverse(Collection<JournalLine> lines) {
+        repost(lines, List.of());
+    }
+
+    /**
+     * Replace previously posted lines by new ones, in a single pass over the affected accounts.
+     *
+     * @param reversed the lines to take out.
+     * @param posted the lines to apply.
+     */
+    public void repost(Collection<JournalLine> reversed, Collection<JournalLine> posted) {
+        Map<Long, BigDecimal> netDebitByAccount = new TreeMap<>();
+        reversed.forEach(line -> netDebitByAccount.merge(line.getAccountId(), netDebit(line).negate(), BigDecimal::add));
+        posted.forEach(line -> netDebitByAccount.merge(line.getAccountId(), netDebit(line), BigDecimal::add));
+
+        List<Long> movedAccountIds = new ArrayList<>();
+        netDebitByAccount.forEach((accountId, netDebit) -> {
+            if (accountId == null || netDebit.signum() == 0) {
+                return;
+            }
+            if (chartOfAccountRepository.applyNetDebit(accountId, netDebit) == 0) {
+                LOG.warn("Journal lines posted to unknown ChartOfAccount : {}", accountId);
+            } else {
+                movedAccountIds.add(accountId);
+            }
+        });
+        budgetVarianceService.invalidateAccounts(netDebitByAccount.keySet());
+
+        Map<Long, Instant> journalDates = journalDates(reversed, posted);
+        publishMovements(reversed, posted, journalDates, accountVersions(movedAccountIds));
+        shiftClosedPeriods(reversed, posted, journalDates);
+    }
+
+    /**
+     * Move the lines of a journal from one date to another in the closed period snapshots, the budget variances and the
+     * ledger cube.
+     *
+     * @param journalId the id of the journal.
+     * @param previousDate the date the lines were posted at.
+     * @param journalDate the new date of the journal.
+     */
+    public void redate(Long journalId, Instant previousDate, Instant journalDate) {
+        if (Objects.equals(previousDate, journalDate)) {
+            return;
+        }
+        List<JournalLine> lines = journalLineRepository.findByJournalId(journalId);
+        budgetVarianceService.invalidateAccounts(lines.stream().map(JournalLine::getAccountId).distinct().toList());
+        applicationEventPublisher.publishEvent(
+            new LedgerMovementEvent(
+                Stream.concat(
+                    lines.stream().map(line -> Movement.of(line, previousDate).negate()),
+                    lines.stream().map(line -> Movement.of(line, journalDate))
+                ).toList()
+            )
+        );
+
+        Instant latestPeriodEnd = accountBalanceSnapshotRepository.findLatestPeriodEnd();
+        if (latestPeriodEnd == null) {
+            return;
+        }
+        if (!previousDate.isBefore(latestPeriodEnd) && !journalDate.isBefore(latestPeriodEnd)) {
+            return;
+        }
+        Map<Long, BigDecimal> netDebitByAccount = new TreeMap<>();
+        lines
+            .stream()
+            .filter(line -> line.getAccountId() != null)
+            .forEach(line -> netDebitByAccount.merge(line.getAccountId(), netDebit(line), BigDecimal::add));
+        netDebitByAccount.forEach((accountId, netDebit) -> {
+            accountBalanceSnapshotRepository.shiftNetDebitAfter(accountId, previousDate, netDebit.negate());
+            accountBalanceSnapshotRepository.shiftNetDebitAfter(accountId, journalDate, netDebit);
+        });
+    }
+
+    private Map<Long, Instant> journalDates(Collection<JournalLine> reversed, Collection<JournalLine> posted) {
+        List<Long> journalIds = Stream.concat(reversed.stream(), posted.stream())
+            .map(JournalLine::getJournalId)
+            .filter(Objects::nonNull)
+            .distinct()
+            .toList();
+        if (journalIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        return journalRepository
+            .findAllById(journalIds)
+            .stream()
+            .filter(journal -> journal.getJournalDate() != null)
+            .collect(Collectors.toMap(Journal::getId, Journal::getJournalDate));
+    }
+
+    /**
+     * The versions of accounts just moved, read while their rows are locked so that they are those of this posting.
+     */
+    private Map<Long, Long> accountVersions(List<Long> accountIds) {
+        if (accountIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, Long> accountVersions = new HashMap<>();
+        chartOfAccountRepository
+            .findVersionsByIdIn(accountIds)
+            .forEach(account -> accountVersions.put(account.getId(), account.getVersion()));
+        return accountVersions;
+    }
+
+    private void publishMovements(
+        Collection<JournalLine> reversed,
+        Collection<JournalLine> posted,
+        Map<Long, Instant> journalDates,
+        Map<Long, Long> accountVersions
+    ) {
+        List<Movement> movements = new ArrayList<>();
+        for (JournalLine line : reversed) {
+            Instant date = journalDates.get(line.getJournalId());
+            if (date != null) {
+                movements.add(Movement.of(line, date).negate());
+            }
+        }
+        for (JournalLine line : posted) {
+            Instant date = journalDates.get(line.getJournalId());
+            if (date != null) {
+                movements.add(Movement.of(line, date));
+            }
+        }
+        if (!movements.isEmpty()) {
+            applicationEventPublisher.publishEvent(new LedgerMovementEvent(movements, accountVersions));
+        }
+    }
+
+    private void shiftClosedPeriods(Collection<JournalLine> reversed, Collection<JournalLine> posted, Map<Long, Instant> allJournalDates) {
+        Instant latestPeriodEnd = accountBalanceSnapshotRepository.findLatestPeriodEnd();
+        if (latestPeriodEnd == null) {
+            return;
+        }
+        Map<Long, Instant> journalDates = allJournalDates
+            .entrySet()
+            .stream()
+            .filter(entry -> entry.getValue().isBefore(latestPeriodEnd))
+            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        if (journalDates.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Map<Instant, BigDecimal>> netDebitByAccountAndDate = new HashMap<>();
+        reversed.forEach(line -> mergeBackdated(netDebitByAccountAndDate, journalDates, line, netDebit(line).negate()));
+        posted.forEach(line -> mergeBackdated(netDebitByAccountAndDate, journalDates, line, netDebit(line)));
+        netDebitByAccountAndDate.forEach((accountId, netDebitByDate) ->
+            netDebitByDate.forEach((date, netDebit) -> {
+                if (netDebit.signum() != 0) {
+                    accountBalanceSnapshotRepository.shiftNetDebitAfter(accountId, date, netDebit);
+                }
+            })
+        );
+    }
+
+    private static void mergeBackdated(
+        Map<Long, Map<Instant, BigDecimal>> netDebitByAccountAndDate,
+        Map<Long, Instant> journalDates,
+        JournalLine line,
+        BigDecimal netDebit
+    ) {
+        Instant date = journalDates.get(line.getJournalId());
+        if (date != null && line.getAccountId() != null) {
+            netDebitByAccountAndDate.computeIfAbsent(line.getAccountId(), id -> new HashMap<>()).merge(date, netDebit, BigDecimal::add);
+        }
+    }
+
+    /**
+     * Debit minus credit of a line, missing amounts counting as zero.
+     *
+     * @param line the journal line.
+     * @return the net debit of the line.
+     */
+    public static BigDecimal netDebit(JournalLine line) {
+        BigDecimal debit = line.getDebit() != null ? line.getDebit() : BigDecimal.ZERO;
+        BigDecimal credit = line.getCredit() != null ? line.getCredit() : BigDecimal.ZERO;
+        return debit.subtract(credit);
+    }
+
+    /**
+     * Balance of an account after a net movement: debits count positively for asset and expense accounts,
+     * credits count positively for the others.
+     *
+     * @param account the account.
+     * @param netDebit debits minus credits posted to the account.
+     * @return the initial balance of the account moved by {@code netDebit}.
+     */
+    public static BigDecimal balanceOf(ChartOfAccount account, BigDecimal netDebit) {
+        BigDecimal initial = account.getInitialBalance() != null ? account.getInitialBalance() : BigDecimal.ZERO;
+        return isDebitNormal(account.getAccountType()) ? initial.add(netDebit) : initial.subtract(netDebit);
+    }
+
+    public static boolean isDebitNormal(AccountType accountType) {
+        return accountType == AccountType.ASSET || accountType == AccountType.EXPENSE;
+    }
+}
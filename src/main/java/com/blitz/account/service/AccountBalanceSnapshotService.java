@@ -0,0 +1,206 @@
+package com.blitz.account.service;
+
+import com.blitz.account.domain.AccountBalanceSnapshot;
+import com.blitz.account.repository.AccountBalanceSnapshotRepository;
+import com.blitz.account.repository.ChartOfAccountRepository;
+import com.blitz.account.repository.JournalLineRepository;
+import com.blitz.account.repository.JournalRepository;
+import com.blitz.account.service.dto.AccountBalanceDTO;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service closing monthly {@link AccountBalanceSnapshot}s and answering point-in-time balance lookups from them.
+ * <p>
+ * Periods are calendar months in UTC. A balance as of a date reads the latest snapshot taken at or before that date,
+ * then only sums the journal lines posted since, which is at most one month of lines whatever the size of the ledger.
+ */
+@Service
+@Transactional
+public class AccountBalanceSnapshotService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AccountBalanceSnapshotService.class);
+
+    private final AccountBalanceSnapshotRepository accountBalanceSnapshotRepository;
+
+    private final ChartOfAccountRepository chartOfAccountRepository;
+
+    private final JournalRepository journalRepository;
+
+    private final JournalLineRepository journalLineRepository;
+
+    public AccountBalanceSnapshotService(
+        AccountBalanceSnapshotRepository accountBalanceSnapshotRepository,
+        ChartOfAccountRepository chartOfAccountRepository,
+        JournalRepository journalRepository,
+        JournalLineRepository journalLineRepository
+    ) {
+        this.accountBalanceSnapshotRepository = accountBalanceSnapshotRepository;
+        this.chartOfAccountRepository = chartOfAccountRepository;
+        this.journalRepository = journalRepository;
+        this.journalLineRepository = journalLineRepository;
+    }
+
+    /**
+     * Get the balance of an account as of a date.
+     *
+     * @param accountId the id of the account.
+     * @param asOf the date, inclusive.
+     * @return the balance, or empty if the account does not exist.
+     */
+    @Transactional(readOnly = true)
+    public Optional<AccountBalanceDTO> findBalanceAsOf(Long accountId, Instant asOf) {
+        LOG.debug("Request to get ChartOfAccount balance : {} as of {}", accountId, asOf);
+        return chartOfAccountRepository
+            .findById(accountId)
+            .map(account -> {
+                BigDecimal netDebit = accountBalanceSnapshotRepository
+                    .findFirstByAccountIdAndPeriodEndLessThanEqualOrderByPeriodEndDesc(accountId, asOf)
+                    .map(snapshot ->
+                        snapshot.getNetDebit().add(journalLineRepository.sumNetDebitBetween(accountId, snapshot.getPeriodEnd(), asOf))
+                    )
+                    .orElseGet(() -> journalLineRepository.sumNetDebitUpTo(accountId, asOf));
+                return new AccountBalanceDTO(accountId, asOf, AccountBalanceService.balanceOf(account, netDebit));
+            });
+    }
+
+    /**
+     * Get the net debit of every account with postings, as of a date.
+     *
+     * @param asOf the date, inclusive.
+     * @return the debits minus credits posted up to {@code asOf}, by account id.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, BigDecimal> findNetDebitByAccountAsOf(Instant asOf) {
+        Map<Long, BigDecimal> netDebitByAccount = new HashMap<>();
+        Instant periodEnd = accountBalanceSnapshotRepository.findLatestPeriodEndUpTo(asOf);
+        if (periodEnd == null) {
+            journalLineRepository
+                .sumNetDebitByAccountUpTo(asOf)
+                .forEach(movement -> netDebitByAccount.put(movement.getAccountId(), movement.getNetDebit()));
+        } else {
+            accountBalanceSnapshotRepository
+                .findAllByPeriodEnd(periodEnd)
+                .forEach(snapshot -> netDebitByAccount.put(snapshot.getAccountId(), snapshot.getNetDebit()));
+            journalLineRepository
+                .sumNetDebitByAccountSince(periodEnd, asOf)
+                .forEach(movement -> netDebitByAccount.merge(movement.getAccountId(), movement.getNetDebit(), BigDecimal::add));
+        }
+        return netDebitByAccount;
+    }
+
+    /**
+     * Get the net debit of every account with postings, strictly before a date.
+     *
+     * @param before the date, exclusive.
+     * @return the debits minus credits posted before {@code before}, by account id.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, BigDecimal> findNetDebitByAccountBefore(Instant before) {
+        Map<Long, BigDecimal> netDebitByAccount = new HashMap<>();
+        Instant periodEnd = accountBalanceSnapshotRepository.findLatestPeriodEndUpTo(before);
+        if (periodEnd == null) {
+            journalLineRepository
+                .sumNetDebitByAccountBefore(before)
+                .forEach(movement -> netDebitByAccount.put(movement.getAccountId(), movement.getNetDebit()));
+        } else {
+            accountBalanceSnapshotRepository
+                .findAllByPeriodEnd(periodEnd)
+                .forEach(snapshot -> netDebitByAccount.put(snapshot.getAccountId(), snapshot.getNetDebit()));
+            journalLineRepository
+                .sumNetDebitByAccountBetween(periodEnd, before)
+                .forEach(movement -> netDebitByAccount.merge(movement.getAccountId(), movement.getNetDebit(), BigDecimal::add));
+        }
+        return netDebitByAccount;
+    }
+
+    /**
+     * Get the net debit of an account strictly before a date.
+     *
+     * @param accountId the id of the account.
+     * @param before the date, exclusive.
+     * @return the debits minus credits posted before {@code before}.
+     */
+    @Transactional(readOnly = true)
+    public BigDecimal findNetDebitBefore(Long accountId, Instant before) {
+        return accountBalanceSnapshotRepository
+            .findFirstByAccountIdAndPeriodEndLessThanEqualOrderByPeriodEndDesc(accountId, before)
+            .map(snapshot ->
+                snapshot.getNetDebit().add(journalLineRepository.sumNetDebitFromBefore(accountId, snapshot.getPeriodEnd(), before))
+            )
+            .orElseGet(() -> journalLineRepository.sumNetDebitBefore(accountId, before));
+    }
+
+    /**
+     * Snapshot every month ended since the last closed one, catching up on any period missed while the application was
+     * down.
+     * <p>
+     * This is scheduled by {@code application.ledger.balance-snapshot-cron}.
+     *
+     * @return the number of closed periods.
+     */
+    @Scheduled(cron = "${application.ledger.balance-snapshot-cron}")
+    public int closePeriods() {
+        YearMonth currentMonth = YearMonth.now(ZoneOffset.UTC);
+        Instant latestPeriodEnd = accountBalanceSnapshotRepository.findLatestPeriodEnd();
+        YearMonth month;
+        if (latestPeriodEnd != null) {
+            month = YearMonth.from(latestPeriodEnd.atOffset(ZoneOffset.UTC));
+        } else {
+            Instant earliestJournalDate = journalRepository.findEarliestJournalDate();
+            if (earliestJournalDate == null) {
+                return 0;
+            }
+            month = YearMonth.from(earliestJournalDate.atOffset(ZoneOffset.UTC));
+        }
+
+        int closed = 0;
+        Instant previousPeriodEnd = latestPeriodEnd;
+        for (; month.isBefore(currentMonth); month = month.plusMonths(1)) {
+            Instant periodEnd = periodEnd(month);
+            closePeriod(previousPeriodEnd, periodEnd);
+            previousPeriodEnd = periodEnd;
+            closed++;
+        }
+        return closed;
+    }
+
+    private void closePeriod(Instant previousPeriodEnd, Instant periodEnd) {
+        LOG.debug("Closing ChartOfAccount balances at {}", periodEnd);
+        Map<Long, BigDecimal> netDebitByAccount = new HashMap<>();
+        if (previousPeriodEnd == null) {
+            journalLineRepository
+                .sumNetDebitByAccountBefore(periodEnd)
+                .forEach(movement -> netDebitByAccount.put(movement.getAccountId(), movement.getNetDebit()));
+        } else {
+            accountBalanceSnapshotRepository
+                .findAllByPeriodEnd(previousPeriodEnd)
+                .forEach(snapshot -> netDebitByAccount.put(snapshot.getAccountId(), snapshot.getNetDebit()));
+            journalLineRepository
+                .sumNetDebitByAccountBetween(previousPeriodEnd, periodEnd)
+                .forEach(movement -> netDebitByAccount.merge(movement.getAccountId(), movement.getNetDebit(), BigDecimal::add));
+        }
+
+        List<AccountBalanceSnapshot> snapshots = new ArrayList<>(netDebitByAccount.size());
+        netDebitByAccount.forEach((accountId, netDebit) ->
+            snapshots.add(new AccountBalanceSnapshot().accountId(accountId).periodEnd(periodEnd).netDebit(netDebit))
+        );
+        accountBalanceSnapshotRepository.saveAll(snapshots);
+    }
+
+    private static Instant periodEnd(YearMonth month) {
+        return month.plusMonths(1).atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+}
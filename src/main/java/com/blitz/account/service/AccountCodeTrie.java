@@ -0,0 +1,174 @@
+package com.blitz.account.service;
+
+import com.blitz.account.domain.enumeration.AccountType;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Prefix tree over the codes of the {@link com.blitz.account.domain.ChartOfAccount}s, one node per character.
+ * <p>
+ * Every node holds the sum of the current balances of the accounts whose code starts with its prefix, and their
+ * number, so that a subtree is rolled up by walking down to its node, and a balance moves by walking up the path of
+ * its account code. This class is not thread-safe.
+ */
+final class AccountCodeTrie {
+
+    private final Node root = new Node("");
+
+    private final Map<Long, Account> accounts = new HashMap<>();
+
+    /**
+     * Add an account, or move it if its code changed.
+     *
+     * @param id the id of the account.
+     * @param code the code of the account.
+     * @param accountType the type of the account.
+     * @param balance the current balance of the account, {@code null} for zero.
+     */
+    void put(Long id, String code, AccountType accountType, BigDecimal balance) {
+        remove(id);
+        Account account = new Account(code, accountType, balance != null ? balance : BigDecimal.ZERO);
+        accounts.put(id, account);
+
+        Node node = root;
+        node.add(account.balance, 1);
+        for (int i = 0; i < code.length(); i++) {
+            String prefix = code.substring(0, i + 1);
+            node = node.children.computeIfAbsent(code.charAt(i), character -> new Node(prefix));
+            node.add(account.balance, 1);
+        }
+        node.accountIds.add(id);
+    }
+
+    /**
+     * Remove an account.
+     *
+     * @param id the id of the account.
+     */
+    void remove(Long id) {
+        Account account = accounts.remove(id);
+        if (account == null) {
+            return;
+        }
+        Node node = root;
+        node.add(account.balance.negate(), -1);
+        for (int i = 0; i < account.code.length(); i++) {
+            Node child = node.children.get(account.code.charAt(i));
+            child.add(account.balance.negate(), -1);
+            if (child.accountCount == 0) {
+                node.children.remove(account.code.charAt(i));
+                return;
+            }
+            node = child;
+        }
+        node.accountIds.remove(id);
+    }
+
+    /**
+     * Move the balance of an account by a net debit, the way posting a journal line does.
+     *
+     * @param id the id of the account.
+     * @param netDebit debits minus credits posted to the account.
+     * @return {@code false} if the account is unknown.
+     */
+    boolean post(Long id, BigDecimal netDebit) {
+        Account account = accounts.get(id);
+        if (account == null) {
+            return false;
+        }
+        BigDecimal delta = AccountBalanceService.isDebitNormal(account.accountType) ? netDebit : netDebit.negate();
+        account.balance = account.balance.add(delta);
+
+        Node node = root;
+        node.add(delta, 0);
+        for (int i = 0; i < account.code.length(); i++) {
+            node = node.children.get(account.code.charAt(i));
+            node.add(delta, 0);
+        }
+        return true;
+    }
+
+    /**
+     * @param prefix the prefix of account codes, empty for all accounts.
+     * @return the node of the prefix, or {@code null} if no account code starts with it.
+     */
+    Node find(String prefix) {
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.children.get(prefix.charAt(i));
+        }
+        return node;
+    }
+
+    /**
+     * The accounts whose code starts with a prefix.
+     */
+    static final class Node {
+
+        private final String prefix;
+
+        private final NavigableMap<Character, Node> children = new TreeMap<>();
+
+        private final List<Long> accountIds = new ArrayList<>(1);
+
+        private BigDecimal balance = BigDecimal.ZERO;
+
+        private int accountCount;
+
+        private Node(String prefix) {
+            this.prefix = prefix;
+        }
+
+        private void add(BigDecimal amount, int accounts) {
+            balance = balance.add(amount);
+            accountCount += accounts;
+        }
+
+        String prefix() {
+            return prefix;
+        }
+
+        BigDecimal balance() {
+            return balance;
+        }
+
+        int accountCount() {
+            return accountCount;
+        }
+
+        /**
+         * @return the ids of the accounts whose code is exactly the prefix.
+         */
+        List<Long> accountIds() {
+            return Collections.unmodifiableList(accountIds);
+        }
+
+        /**
+         * @return the nodes one character longer, ordered by code.
+         */
+        Iterable<Node> children() {
+            return Collections.unmodifiableCollection(children.values());
+        }
+    }
+
+    private static final class Account {
+
+        private final String code;
+
+        private final AccountType accountType;
+
+        private BigDecimal balance;
+
+        private Account(String code, AccountType accountType, BigDecimal balance) {
+            this.code = code;
+            this.accountType = accountType;
+            this.balance = balance;
+        }
+    }
+}
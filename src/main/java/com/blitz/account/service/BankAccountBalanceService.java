@@ -0,0 +1,237 @@
+package com.blitz.account.service;
+
+import com.blitz.account.config.ApplicationProperties;
+import com.blitz.account.domain.BankTransaction;
+import com.blitz.account.domain.enumeration.TransactionDirection;
+import com.blitz.account.repository.BankAccountRepository;
+import com.blitz.account.repository.BankTransactionRepository;
+import com.blitz.account.service.dto.BankAccountBalanceDTO;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service keeping {@link com.blitz.account.domain.BankAccount#getCurrentBalance()} and
+ * {@link BankTransaction#getRunningBalance()} in step with the {@link BankTransaction}s.
+ * <p>
+ * The running balance of a transaction is the balance of its account once it is posted, in date then id order, so that
+ * the balance of an account at any date is read from the last transaction up to that date with a single index seek.
+ * Posting a transaction updates the current balance of its account first, which locks the account until the end of the
+ * database transaction, then shifts the running balances of the transactions after it with a single update: none for a
+ * transaction appended at the end of the account, only the affected suffix for a back-dated one. The running balance it
+ * starts from is read locked, so that a back-dated transaction committed since the database transaction started is seen.
+ * Updating the current balance also counts a change of the transactions of the account, which
+ * {@link BankTransactionDeduplicator} checks its fingerprints against.
+ */
+@Service
+@Transactional
+public class BankAccountBalanceService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BankAccountBalanceService.class);
+
+    private final BankAccountRepository bankAccountRepository;
+
+    private final BankTransactionRepository bankTransactionRepository;
+
+    private final EntityManager entityManager;
+
+    private final ApplicationProperties applicationProperties;
+
+    public BankAccountBalanceService(
+        BankAccountRepository bankAccountRepository,
+        BankTransactionRepository bankTransactionRepository,
+        EntityManager entityManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.bankAccountRepository = bankAccountRepository;
+        this.bankTransactionRepository = bankTransactionRepository;
+        this.entityManager = entityManager;
+        this.applicationProperties = applicationProperties;
+    }
+
+    /**
+     * Apply a transaction just created to the balances of its account.
+     *
+     * @param transaction the transaction, managed by the current persistence context.
+     */
+    public void post(BankTransaction transaction) {
+        repost(null, transaction);
+    }
+
+    /**
+     * Move a transaction just changed in the balances of its accounts.
+     * <p>
+     * The running balance of the transaction is read again even if its posting did not change, as the one it was read
+     * with may have been shifted by a back-dated transaction since.
+     *
+     * @param before the posting of the transaction before the change, {@code null} if it was just created.
+     * @param transaction the transaction, managed by the current persistence context.
+     */
+    public void repost(Posting before, BankTransaction transaction) {
+        LOG.debug("Request to post BankTransaction : {}", transaction.getId());
+        Posting after = Posting.of(transaction);
+        lock(before, after);
+        if (!after.equals(before)) {
+            if (before != null) {
+                bankTransactionRepository.addToRunningBalancesAfter(
+                    before.bankAccountId(),
+                    before.transactionDate(),
+                    before.id(),
+                    before.amount().negate()
+                );
+            }
+            bankTransactionRepository.addToRunningBalancesAfter(
+                after.bankAccountId(),
+                after.transactionDate(),
+                after.id(),
+                after.amount()
+            );
+        }
+        transaction.setRunningBalance(runningBalanceBefore(after).add(after.amount()));
+    }
+
+    /**
+     * Remove a transaction just deleted from the balances of its account.
+     *
+     * @param before the posting of the transaction.
+     */
+    public void unpost(Posting before) {
+        LOG.debug("Request to unpost BankTransaction : {}", before.id());
+        bankAccountRepository.addToCurrentBalance(before.bankAccountId(), before.amount().negate());
+        bankTransactionRepository.addToRunningBalancesAfter(
+            before.bankAccountId(),
+            before.transactionDate(),
+            before.id(),
+            before.amount().negate()
+        );
+    }
+
+    /**
+     * Lock the balances of an account until the end of the database transaction, so that no other transaction of the
+     * account is posted meanwhile.
+     *
+     * @param bankAccountId the id of the account.
+     */
+    public void lock(Long bankAccountId) {
+        bankAccountRepository.findTransactionChangesForUpdate(bankAccountId);
+    }
+
+    /**
+     * Lock the balances of two accounts until the end of the database transaction, in id order so that concurrent
+     * changes lock them in the same order.
+     *
+     * @param bankAccountId the id of an account.
+     * @param otherBankAccountId the id of the other account, which may be the same.
+     */
+    public void lock(Long bankAccountId, Long otherBankAccountId) {
+        if (bankAccountId.equals(otherBankAccountId)) {
+            lock(bankAccountId);
+        } else {
+            lock(Math.min(bankAccountId, otherBankAccountId));
+            lock(Math.max(bankAccountId, otherBankAccountId));
+        }
+    }
+
+    /**
+     * Apply transactions just imported to the balances of their account, running them again from the earliest one.
+     * <p>
+     * The transactions from that date on are read and updated in chunks of {@code application.bank.import-chunk-size},
+     * the persistence context being cleared after each chunk.
+     *
+     * @param bankAccountId the id of the account.
+     * @param from the date of the earliest transaction imported.
+     * @param amount credits minus debits imported.
+     */
+    public void postAll(Long bankAccountId, Instant from, BigDecimal amount) {
+        LOG.debug("Request to post the BankTransactions of BankAccount {} from {}", bankAccountId, from);
+        bankAccountRepository.addToCurrentBalance(bankAccountId, amount);
+        int chunkSize = applicationProperties.getBank().getImportChunkSize();
+        BigDecimal balance = runningBalanceBefore(new Posting(bankAccountId, from, Long.MIN_VALUE, BigDecimal.ZERO));
+        Instant afterDate = from;
+        Long afterId = Long.MIN_VALUE;
+        List<BankTransaction> chunk;
+        do {
+            chunk = bankTransactionRepository.findAllAfter(bankAccountId, afterDate, afterId, Limit.of(chunkSize));
+            for (BankTransaction transaction : chunk) {
+                balance = balance.add(Posting.of(transaction).amount());
+                transaction.setRunningBalance(balance);
+                afterDate = transaction.getTransactionDate();
+                afterId = transaction.getId();
+            }
+            entityManager.flush();
+            entityManager.clear();
+        } while (chunk.size() == chunkSize);
+    }
+
+    /**
+     * Get the balance of an account as of a date.
+     *
+     * @param bankAccountId the id of the account.
+     * @param asOf the date, inclusive.
+     * @return the balance, or empty if the account does not exist.
+     */
+    @Transactional(readOnly = true)
+    public Optional<BankAccountBalanceDTO> findBalanceAsOf(Long bankAccountId, Instant asOf) {
+        LOG.debug("Request to get BankAccount balance : {} as of {}", bankAccountId, asOf);
+        if (!bankAccountRepository.existsById(bankAccountId)) {
+            return Optional.empty();
+        }
+        BigDecimal balance = bankTransactionRepository
+            .findFirstByBankAccountIdAndTransactionDateLessThanEqualOrderByTransactionDateDescIdDesc(bankAccountId, asOf)
+            .map(BankTransaction::getRunningBalance)
+            .orElse(BigDecimal.ZERO);
+        return Optional.of(new BankAccountBalanceDTO(bankAccountId, asOf, balance));
+    }
+
+    /**
+     * Update the current balances of the accounts of a change, in id order so that concurrent changes lock them in the
+     * same order.
+     */
+    private void lock(Posting before, Posting after) {
+        if (before == null) {
+            bankAccountRepository.addToCurrentBalance(after.bankAccountId(), after.amount());
+        } else if (before.bankAccountId().equals(after.bankAccountId())) {
+            bankAccountRepository.addToCurrentBalance(after.bankAccountId(), after.amount().subtract(before.amount()));
+        } else if (before.bankAccountId() < after.bankAccountId()) {
+            bankAccountRepository.addToCurrentBalance(before.bankAccountId(), before.amount().negate());
+            bankAccountRepository.addToCurrentBalance(after.bankAccountId(), after.amount());
+        } else {
+            bankAccountRepository.addToCurrentBalance(after.bankAccountId(), after.amount());
+            bankAccountRepository.addToCurrentBalance(before.bankAccountId(), before.amount().negate());
+        }
+    }
+
+    private BigDecimal runningBalanceBefore(Posting posting) {
+        return bankTransactionRepository
+            .findRunningBalancesBefore(posting.bankAccountId(), posting.transactionDate(), posting.id(), Limit.of(1))
+            .stream()
+            .filter(Objects::nonNull)
+            .findFirst()
+            .orElse(BigDecimal.ZERO);
+    }
+
+    /**
+     * The fields of a transaction the balances depend on.
+     *
+     * @param bankAccountId the id of the account.
+     * @param transactionDate the date.
+     * @param id the id.
+     * @param amount the amount, negative for a debit.
+     */
+    public record Posting(Long bankAccountId, Instant transactionDate, Long id, BigDecimal amount) {
+        public static Posting of(BankTransaction transaction) {
+            BigDecimal amount = transaction.getDirection() == TransactionDirection.DEBIT
+                ? transaction.getAmount().negate()
+                : transaction.getAmount();
+            return new Posting(transaction.getBankAccountId(), transaction.getTransactionDate(), transaction.getId(), amount);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.blitz.account.service;
 
 import com.blitz.account.domain.BankAccount;
 import com.blitz.account.repository.BankAccountRepository;
+import java.math.BigDecimal;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,6 +11,8 @@ import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Service Implementation for managing {@link com.blitz.account.domain.BankAccount}.
+ * <p>
+ * The current balance of an account is owned by {@link BankAccountBalanceService}, the changes made here leave it as is.
  */
 @Service
 @Transactional
@@ -19,8 +22,11 @@ public class BankAccountService {
 
     private final BankAccountRepository bankAccountRepository;
 
-    public BankAccountService(BankAccountRepository bankAccountRepository) {
+    private final PageCountCache pageCountCache;
+
+    public BankAccountService(BankAccountRepository bankAccountRepository, PageCountCache pageCountCache) {
         this.bankAccountRepository = bankAccountRepository;
+        this.pageCountCache = pageCountCache;
     }
 
     /**
@@ -31,6 +37,8 @@ public class BankAccountService {
      */
     public BankAccount save(BankAccount bankAccount) {
         LOG.debug("Request to save BankAccount : {}", bankAccount);
+        pageCountCache.evict(BankAccount.class);
+        bankAccount.setCurrentBalance(BigDecimal.ZERO);
         return bankAccountRepository.save(bankAccount);
     }
 
@@ -42,6 +50,10 @@ public class BankAccountService {
      */
     public BankAccount update(BankAccount bankAccount) {
         LOG.debug("Request to update BankAccount : {}", bankAccount);
+        pageCountCache.evict(BankAccount.class);
+        bankAccount.setCurrentBalance(
+            bankAccountRepository.findById(bankAccount.getId()).map(BankAccount::getCurrentBalance).orElse(null)
+        );
         return bankAccountRepository.save(bankAccount);
     }
 
@@ -53,6 +65,7 @@ public class BankAccountService {
      */
     public Optional<BankAccount> partialUpdate(BankAccount bankAccount) {
         LOG.debug("Request to partially update BankAccount : {}", bankAccount);
+        pageCountCache.evict(BankAccount.class);
 
         return bankAccountRepository
             .findById(bankAccount.getId())
@@ -91,6 +104,7 @@ public class BankAccountService {
      */
     public void delete(Long id) {
         LOG.debug("Request to delete BankAccount : {}", id);
+        pageCountCache.evict(BankAccount.class);
         bankAccountRepository.deleteById(id);
     }
 }
@@ -0,0 +1,229 @@
+package com.blitz.account.service;
+
+import com.blitz.account.repository.BankTransactionRepository.UnmatchedTransaction;
+import com.blitz.account.repository.PaymentRepository.UnmatchedPayment;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Matcher of the credits of a bank account with the payments into it.
+ * <p>
+ * The payments are indexed by amount and by window of {@code dateWindow} around their date, and by the number of their
+ * invoice, so that the candidates of a credit are the payments of the same amount in its window and the two next to it,
+ * and the payments whose invoice number it mentions. Each candidate is scored: {@value #AMOUNT_SCORE} for the same
+ * amount, {@value #INVOICE_NUMBER_SCORE} for the invoice number in the reference or description, up to
+ * {@value #DATE_SCORE} for the closeness of the dates within the window and up to {@value #CLIENT_NAME_SCORE} for the
+ * words of the client name in the description. The pairs scoring at least {@code minScore} are then linked best first,
+ * each credit and each payment once, keeping only the best {@value #MAX_LINKS_PER_TRANSACTION} pairs of a credit so
+ * that many alike payments do not make the pairs grow with the square of their number. This class is not thread-safe.
+ */
+final class BankReconciliationMatcher {
+
+    private static final int AMOUNT_SCORE = 40;
+
+    private static final int INVOICE_NUMBER_SCORE = 60;
+
+    private static final int DATE_SCORE = 20;
+
+    private static final int CLIENT_NAME_SCORE = 20;
+
+    private static final int MAX_LINKS_PER_TRANSACTION = 8;
+
+    private static final Comparator<Link> BEST_FIRST = Comparator.comparingInt(Link::score)
+        .reversed()
+        .thenComparingLong(Link::days)
+        .thenComparing(Link::transactionId)
+        .thenComparing(Link::paymentId);
+
+    private final long windowDays;
+
+    private final int minScore;
+
+    private final Map<AmountWindow, List<Payment>> paymentsByAmount = new HashMap<>();
+
+    private final Map<String, List<Payment>> paymentsByInvoiceNumber = new HashMap<>();
+
+    /**
+     * @param payments the payments waiting for a credit.
+     * @param dateWindow the largest difference of dates between a credit and its payment found by amount.
+     * @param minScore the lowest score of a link.
+     */
+    BankReconciliationMatcher(Collection<UnmatchedPayment> payments, Duration dateWindow, int minScore) {
+        this.windowDays = Math.max(1, dateWindow.toDays());
+        this.minScore = minScore;
+        for (UnmatchedPayment unmatchedPayment : payments) {
+            Set<String> clientNameWords = words(unmatchedPayment.getClientName());
+            clientNameWords.removeIf(word -> word.length() < 3);
+            Payment payment = new Payment(
+                unmatchedPayment.getId(),
+                amount(unmatchedPayment.getAmount()),
+                day(unmatchedPayment.getPaymentDate()),
+                token(unmatchedPayment.getInvoiceNumber()),
+                clientNameWords
+            );
+            paymentsByAmount
+                .computeIfAbsent(new AmountWindow(payment.amount(), Math.floorDiv(payment.day(), windowDays)), key -> new ArrayList<>())
+                .add(payment);
+            if (!payment.invoiceNumber().isEmpty()) {
+                paymentsByInvoiceNumber.computeIfAbsent(payment.invoiceNumber(), key -> new ArrayList<>()).add(payment);
+            }
+        }
+    }
+
+    /**
+     * Link credits to the payments they most likely are.
+     *
+     * @param transactions the credits waiting for a payment.
+     * @return the ids of the payments by id of the credits linked to them, best link first.
+     */
+    Map<Long, Long> match(Collection<UnmatchedTransaction> transactions) {
+        List<Link> links = new ArrayList<>();
+        List<Transaction> crowded = new ArrayList<>();
+        for (UnmatchedTransaction unmatchedTransaction : transactions) {
+            Transaction transaction = new Transaction(
+                unmatchedTransaction.getId(),
+                amount(unmatchedTransaction.getAmount()),
+                day(unmatchedTransaction.getTransactionDate()),
+                words(unmatchedTransaction.getReference(), unmatchedTransaction.getDescription())
+            );
+            List<Link> transactionLinks = links(transaction, payment -> true);
+            if (transactionLinks.size() > MAX_LINKS_PER_TRANSACTION) {
+                transactionLinks.sort(BEST_FIRST);
+                transactionLinks = transactionLinks.subList(0, MAX_LINKS_PER_TRANSACTION);
+                crowded.add(transaction);
+            }
+            links.addAll(transactionLinks);
+        }
+        links.sort(BEST_FIRST);
+
+        Map<Long, Long> paymentIds = new LinkedHashMap<>();
+        Set<Long> linkedPaymentIds = new HashSet<>();
+        for (Link link : links) {
+            if (!paymentIds.containsKey(link.transactionId()) && linkedPaymentIds.add(link.paymentId())) {
+                paymentIds.put(link.transactionId(), link.paymentId());
+            }
+        }
+        // Among many alike payments, the best links of a credit can all have gone to others: it gets the best one left
+        for (Transaction transaction : crowded) {
+            if (!paymentIds.containsKey(transaction.id())) {
+                links(transaction, payment -> !linkedPaymentIds.contains(payment.id()))
+                    .stream()
+                    .min(BEST_FIRST)
+                    .ifPresent(link -> {
+                        linkedPaymentIds.add(link.paymentId());
+                        paymentIds.put(link.transactionId(), link.paymentId());
+                    });
+            }
+        }
+        return paymentIds;
+    }
+
+    private List<Link> links(Transaction transaction, Predicate<Payment> available) {
+        List<Payment> candidates = new ArrayList<>();
+        long window = Math.floorDiv(transaction.day(), windowDays);
+        for (long w = window - 1; w <= window + 1; w++) {
+            candidates.addAll(paymentsByAmount.getOrDefault(new AmountWindow(transaction.amount(), w), List.of()));
+        }
+        for (String word : transaction.words()) {
+            for (Payment payment : paymentsByInvoiceNumber.getOrDefault(word, List.of())) {
+                // Unless already found by amount
+                if (!payment.amount().equals(transaction.amount()) || Math.abs(Math.floorDiv(payment.day(), windowDays) - window) > 1) {
+                    candidates.add(payment);
+                }
+            }
+        }
+
+        List<Link> links = new ArrayList<>();
+        for (Payment payment : candidates) {
+            if (available.test(payment)) {
+                Link link = link(transaction, payment);
+                if (link.score() >= minScore) {
+                    links.add(link);
+                }
+            }
+        }
+        return links;
+    }
+
+    private Link link(Transaction transaction, Payment payment) {
+        long days = Math.abs(transaction.day() - payment.day());
+        int score = 0;
+        if (transaction.amount().equals(payment.amount())) {
+            score += AMOUNT_SCORE;
+        }
+        if (!payment.invoiceNumber().isEmpty() && transaction.words().contains(payment.invoiceNumber())) {
+            score += INVOICE_NUMBER_SCORE;
+        }
+        if (days <= windowDays) {
+            score += (int) (DATE_SCORE * (windowDays - days) / windowDays);
+        }
+        if (!payment.clientNameWords().isEmpty()) {
+            long found = payment.clientNameWords().stream().filter(transaction.words()::contains).count();
+            score += (int) (CLIENT_NAME_SCORE * found / payment.clientNameWords().size());
+        }
+        return new Link(transaction.id(), payment.id(), score, days);
+    }
+
+    private static long day(Instant date) {
+        return Math.floorDiv(date.getEpochSecond(), ChronoUnit.DAYS.getDuration().getSeconds());
+    }
+
+    private static BigDecimal amount(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * The words of some texts, upper-cased and without the punctuation within them, so that {@code INV-2024-000042}
+     * and {@code inv2024000042} are the same word.
+     */
+    private static Set<String> words(String... texts) {
+        Set<String> words = new HashSet<>();
+        for (String text : texts) {
+            if (text != null) {
+                for (String word : text.split("\\s+")) {
+                    String token = token(word);
+                    if (!token.isEmpty()) {
+                        words.add(token);
+                    }
+                }
+            }
+        }
+        return words;
+    }
+
+    private static String token(String word) {
+        if (word == null) {
+            return "";
+        }
+        StringBuilder token = new StringBuilder(word.length());
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                token.append(c);
+            }
+        }
+        return token.toString().toUpperCase(Locale.ROOT);
+    }
+
+    private record Payment(Long id, BigDecimal amount, long day, String invoiceNumber, Set<String> clientNameWords) {}
+
+    private record Transaction(Long id, BigDecimal amount, long day, Set<String> words) {}
+
+    private record AmountWindow(BigDecimal amount, long window) {}
+
+    private record Link(Long transactionId, Long paymentId, int score, long days) {}
+}
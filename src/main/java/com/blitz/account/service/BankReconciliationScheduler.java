@@ -0,0 +1,87 @@
+package com.blitz.account.service;
+
+import com.blitz.account.config.ApplicationProperties;
+import com.blitz.account.repository.BankTransactionRepository;
+import com.blitz.account.service.dto.BankReconciliationResultDTO;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service driving the reconciliation of all the bank accounts with credits not linked to a payment yet.
+ * <p>
+ * The accounts are independent, so up to {@code application.bank.reconciliation-parallelism} of them are handed to
+ * {@link BankReconciliationService} at once, each in its own database transaction. An account that fails is logged and
+ * left to the next run.
+ */
+@Service
+public class BankReconciliationScheduler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BankReconciliationScheduler.class);
+
+    private final BankTransactionRepository bankTransactionRepository;
+
+    private final BankReconciliationService bankReconciliationService;
+
+    private final ApplicationProperties applicationProperties;
+
+    public BankReconciliationScheduler(
+        BankTransactionRepository bankTransactionRepository,
+        BankReconciliationService bankReconciliationService,
+        ApplicationProperties applicationProperties
+    ) {
+        this.bankTransactionRepository = bankTransactionRepository;
+        this.bankReconciliationService = bankReconciliationService;
+        this.applicationProperties = applicationProperties;
+    }
+
+    /**
+     * Reconcile all the bank accounts with credits not linked to a payment yet.
+     * <p>
+     * This is scheduled by {@code application.bank.reconciliation-cron}.
+     *
+     * @return the summaries of the accounts reconciled.
+     */
+    @Scheduled(cron = "${application.bank.reconciliation-cron}")
+    public synchronized List<BankReconciliationResultDTO> reconcileAll() {
+        List<Long> bankAccountIds = bankTransactionRepository.findBankAccountIdsWithUnmatchedCredits();
+        if (bankAccountIds.isEmpty()) {
+            return List.of();
+        }
+        try (
+            BoundedParallelExecutor workers = new BoundedParallelExecutor(
+                Math.min(applicationProperties.getBank().getReconciliationParallelism(), bankAccountIds.size())
+            )
+        ) {
+            List<CompletableFuture<BankReconciliationResultDTO>> reconciliations = new ArrayList<>();
+            for (Long bankAccountId : bankAccountIds) {
+                reconciliations.add(workers.submit(() -> reconcile(bankAccountId)));
+            }
+            List<BankReconciliationResultDTO> results = reconciliations
+                .stream()
+                .map(CompletableFuture::join)
+                .filter(Objects::nonNull)
+                .toList();
+            LOG.info(
+                "Reconciled {} transactions of {} BankAccounts",
+                results.stream().mapToInt(BankReconciliationResultDTO::getMatched).sum(),
+                results.size()
+            );
+            return results;
+        }
+    }
+
+    private BankReconciliationResultDTO reconcile(Long bankAccountId) {
+        try {
+            return bankReconciliationService.reconcile(bankAccountId);
+        } catch (RuntimeException e) {
+            LOG.warn("Could not reconcile BankAccount {}, it will be retried at the next run", bankAccountId, e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.blitz.account.service;
+
+import com.blitz.account.config.ApplicationProperties;
+import com.blitz.account.domain.BankTransaction;
+import com.blitz.account.repository.BankTransactionRepository;
+import com.blitz.account.repository.BankTransactionRepository.UnmatchedTransaction;
+import com.blitz.account.repository.PaymentRepository;
+import com.blitz.account.repository.PaymentRepository.UnmatchedPayment;
+import com.blitz.account.service.dto.BankReconciliationResultDTO;
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service linking the credits of a bank account to the {@link com.blitz.account.domain.Payment}s they are, through
+ * {@link BankTransaction#getRelatedPaymentId()}.
+ * <p>
+ * The credits and payments not linked yet are read once and matched in memory by {@link BankReconciliationMatcher},
+ * with {@code application.bank.reconciliation-date-window} and {@code application.bank.reconciliation-min-score}, and
+ * the links are written back in JDBC batches. The account is locked first, so that concurrent reconciliations of the
+ * same account run one after the other and read the links of the previous one; a payment linked to two transactions
+ * anyway is rejected by the unique index on {@code related_payment_id}.
+ */
+@Service
+@Transactional
+public class BankReconciliationService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BankReconciliationService.class);
+
+    private static final int WRITE_CHUNK_SIZE = 500;
+
+    private final BankTransactionRepository bankTransactionRepository;
+
+    private final PaymentRepository paymentRepository;
+
+    private final BankAccountBalanceService bankAccountBalanceService;
+
+    private final EntityManager entityManager;
+
+    private final ApplicationProperties applicationProperties;
+
+    public BankReconciliationService(
+        BankTransactionRepository bankTransactionRepository,
+        PaymentRepository paymentRepository,
+        BankAccountBalanceService bankAccountBalanceService,
+        EntityManager entityManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.bankTransactionRepository = bankTransactionRepository;
+        this.paymentRepository = paymentRepository;
+        this.bankAccountBalanceService = bankAccountBalanceService;
+        this.entityManager = entityManager;
+        this.applicationProperties = applicationProperties;
+    }
+
+    /**
+     * Link the credits of a bank account not linked yet to the payments into it not linked yet.
+     *
+     * @param bankAccountId the id of the bank account.
+     * @return the summary of the reconciliation.
+     */
+    public BankReconciliationResultDTO reconcile(Long bankAccountId) {
+        LOG.debug("Request to reconcile BankAccount : {}", bankAccountId);
+        bankAccountBalanceService.lock(bankAccountId);
+        List<UnmatchedTransaction> transactions = bankTransactionRepository.findUnmatchedCredits(bankAccountId);
+        List<UnmatchedPayment> payments = paymentRepository.findUnmatched(bankAccountId);
+        if (transactions.isEmpty() || payments.isEmpty()) {
+            return new BankReconciliationResultDTO(bankAccountId, 0, transactions.size(), payments.size());
+        }
+
+        Map<Long, Long> paymentIds = new BankReconciliationMatcher(
+            payments,
+            applicationProperties.getBank().getReconciliationDateWindow(),
+            applicationProperties.getBank().getReconciliationMinScore()
+        ).match(transactions);
+
+        int matched = 0;
+        List<Long> transactionIds = new ArrayList<>(paymentIds.keySet());
+        for (int from = 0; from < transactionIds.size(); from += WRITE_CHUNK_SIZE) {
+            List<Long> chunk = transactionIds.subList(from, Math.min(from + WRITE_CHUNK_SIZE, transactionIds.size()));
+            for (BankTransaction transaction : bankTransactionRepository.findAllById(chunk)) {
+                if (transaction.getRelatedPaymentId() == null) {
+                    transaction.setRelatedPaymentId(paymentIds.get(transaction.getId()));
+                    matched++;
+                }
+            }
+            entityManager.flush();
+            entityManager.clear();
+        }
+        LOG.info("Reconciled {} of {} transactions of BankAccount {}", matched, transactions.size(), bankAccountId);
+        return new BankReconciliationResultDTO(bankAccountId, matched, transactions.size() - matched, payments.size() - matched);
+    }
+}
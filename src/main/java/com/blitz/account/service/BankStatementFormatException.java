@@ -0,0 +1,17 @@
+package com.blitz.account.service;
+
+/**
+ * Thrown when a bank statement cannot be read in the format it was imported as.
+ */
+public class BankStatementFormatException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public BankStatementFormatException(String message) {
+        super(message);
+    }
+
+    public BankStatementFormatException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,132 @@
+package com.blitz.account.service;
+
+import com.blitz.account.config.ApplicationProperties;
+import com.blitz.account.domain.BankTransaction;
+import com.blitz.account.domain.enumeration.TransactionDirection;
+import com.blitz.account.repository.BankTransactionRepository;
+import com.blitz.account.service.BankTransactionDeduplicator.StatementDeduplication;
+import com.blitz.account.service.dto.BankStatementImportResultDTO;
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service importing bank statements into {@link BankTransaction}s.
+ * <p>
+ * The transactions are read one at a time and inserted in chunks of {@code application.bank.import-chunk-size}, in JDBC
+ * batches, the persistence context being cleared after each chunk so that the heap used does not grow with the size of
+ * the statement. A statement is imported in a single transaction, all of it or nothing, and the
+ * running balances of the account are then run again from the date of its earliest transaction.
+ * <p>
+ * The account is locked for the whole import, and the lines already imported, by an overlapping statement or the same
+ * one imported again, are skipped as told by {@link BankTransactionDeduplicator}.
+ */
+@Service
+@Transactional
+public class BankStatementImportService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BankStatementImportService.class);
+
+    private final BankTransactionRepository bankTransactionRepository;
+
+    private final EntityManager entityManager;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final BankAccountBalanceService bankAccountBalanceService;
+
+    private final BankTransactionDeduplicator bankTransactionDeduplicator;
+
+    public BankStatementImportService(
+        BankTransactionRepository bankTransactionRepository,
+        EntityManager entityManager,
+        ApplicationProperties applicationProperties,
+        BankAccountBalanceService bankAccountBalanceService,
+        BankTransactionDeduplicator bankTransactionDeduplicator
+    ) {
+        this.bankTransactionRepository = bankTransactionRepository;
+        this.entityManager = entityManager;
+        this.applicationProperties = applicationProperties;
+        this.bankAccountBalanceService = bankAccountBalanceService;
+        this.bankTransactionDeduplicator = bankTransactionDeduplicator;
+    }
+
+    /**
+     * Import the transactions of a bank statement into a bank account.
+     *
+     * @param bankAccountId the id of the bank account.
+     * @param statement the reader of the statement.
+     * @return the summary of the transactions imported.
+     * @throws IOException if the statement cannot be read.
+     * @throws BankStatementFormatException if the statement is not in the expected format, nothing being imported.
+     */
+    public BankStatementImportResultDTO importStatement(Long bankAccountId, BankStatementReader statement) throws IOException {
+        LOG.debug("Request to import a bank statement into BankAccount : {}", bankAccountId);
+        int chunkSize = applicationProperties.getBank().getImportChunkSize();
+        // The imported transactions would only churn the second-level cache
+        entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+        bankAccountBalanceService.lock(bankAccountId);
+        StatementDeduplication deduplication = bankTransactionDeduplicator.begin(bankAccountId);
+
+        BankStatementImportResultDTO result = new BankStatementImportResultDTO(bankAccountId);
+        List<BankTransaction> chunk = new ArrayList<>(chunkSize);
+        BankTransaction transaction;
+        while ((transaction = statement.read()) != null) {
+            transaction.setBankAccountId(bankAccountId);
+            if (deduplication.isDuplicate(transaction)) {
+                result.setDuplicates(result.getDuplicates() + 1);
+                continue;
+            }
+            summarize(result, transaction);
+            chunk.add(transaction);
+            if (chunk.size() == chunkSize) {
+                insert(chunk);
+            }
+        }
+        insert(chunk);
+        if (result.getImported() > 0) {
+            bankAccountBalanceService.postAll(
+                bankAccountId,
+                result.getFirstTransactionDate(),
+                result.getTotalCredit().subtract(result.getTotalDebit())
+            );
+        }
+        deduplication.finish();
+        LOG.info(
+            "Imported {} transactions into BankAccount {}, skipping {} duplicates",
+            result.getImported(),
+            bankAccountId,
+            result.getDuplicates()
+        );
+        return result;
+    }
+
+    private void insert(List<BankTransaction> chunk) {
+        bankTransactionRepository.saveAll(chunk);
+        entityManager.flush();
+        entityManager.clear();
+        chunk.clear();
+    }
+
+    private static void summarize(BankStatementImportResultDTO result, BankTransaction transaction) {
+        result.setImported(result.getImported() + 1);
+        if (transaction.getDirection() == TransactionDirection.CREDIT) {
+            result.setTotalCredit(result.getTotalCredit().add(transaction.getAmount()));
+        } else {
+            result.setTotalDebit(result.getTotalDebit().add(transaction.getAmount()));
+        }
+        if (result.getFirstTransactionDate() == null || transaction.getTransactionDate().isBefore(result.getFirstTransactionDate())) {
+            result.setFirstTransactionDate(transaction.getTransactionDate());
+        }
+        if (result.getLastTransactionDate() == null || transaction.getTransactionDate().isAfter(result.getLastTransactionDate())) {
+            result.setLastTransactionDate(transaction.getTransactionDate());
+        }
+    }
+}
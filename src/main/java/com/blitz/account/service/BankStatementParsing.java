@@ -0,0 +1,93 @@
+package com.blitz.account.service;
+
+import com.blitz.account.domain.BankTransaction;
+import com.blitz.account.domain.enumeration.TransactionDirection;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Conversions shared by the {@link BankStatementReader}s.
+ */
+final class BankStatementParsing {
+
+    private static final int TEXT_LENGTH = 255;
+
+    private BankStatementParsing() {}
+
+    /**
+     * Build a transaction of a statement, its direction following the sign of the amount when it has none.
+     */
+    static BankTransaction transaction(
+        Instant transactionDate,
+        BigDecimal amount,
+        TransactionDirection direction,
+        String reference,
+        String description
+    ) {
+        if (direction == null) {
+            direction = amount.signum() < 0 ? TransactionDirection.DEBIT : TransactionDirection.CREDIT;
+        }
+        return new BankTransaction()
+            .transactionDate(transactionDate)
+            .amount(amount.abs().setScale(2, RoundingMode.HALF_EVEN))
+            .direction(direction)
+            .reference(text(reference))
+            .description(text(description));
+    }
+
+    /**
+     * Parse an amount with a dot or, when it has no dot, a comma as decimal separator.
+     */
+    static BigDecimal amount(String value) {
+        if (value == null || value.isBlank()) {
+            throw new BankStatementFormatException("Missing amount");
+        }
+        String amount = value.strip().replace(" ", "");
+        if (amount.indexOf('.') < 0) {
+            amount = amount.replace(',', '.');
+        }
+        try {
+            return new BigDecimal(amount.startsWith("+") ? amount.substring(1) : amount);
+        } catch (NumberFormatException e) {
+            throw new BankStatementFormatException("Invalid amount " + value, e);
+        }
+    }
+
+    /**
+     * Parse an ISO date, taken at the start of its UTC day, or an ISO date and time, taken in UTC without offset.
+     */
+    static Instant date(String value) {
+        if (value == null || value.isBlank()) {
+            throw new BankStatementFormatException("Missing date");
+        }
+        String date = value.strip();
+        try {
+            if (date.length() == 10) {
+                return LocalDate.parse(date).atStartOfDay(ZoneOffset.UTC).toInstant();
+            }
+            if (date.endsWith("Z") || date.matches(".*[+-]\\d{2}:\\d{2}$")) {
+                return OffsetDateTime.parse(date).toInstant();
+            }
+            return LocalDateTime.parse(date).toInstant(ZoneOffset.UTC);
+        } catch (DateTimeParseException e) {
+            throw new BankStatementFormatException("Invalid date " + value, e);
+        }
+    }
+
+    /**
+     * Trim a text to the length of the text columns, or null when it is blank.
+     */
+    static String text(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String text = value.strip();
+        return text.length() > TEXT_LENGTH ? text.substring(0, TEXT_LENGTH) : text;
+    }
+}
@@ -0,0 +1,56 @@
+package com.blitz.account.service;
+
+import com.blitz.account.domain.BankTransaction;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reader of the transactions of a bank statement, one at a time, without loading the statement in memory.
+ * <p>
+ * The transactions read have their date, amount, direction, reference and description, but no bank account.
+ */
+public interface BankStatementReader extends Closeable {
+    /**
+     * The formats of bank statement that can be read.
+     */
+    enum Format {
+        /**
+         * Comma or semicolon separated values with a header row naming the columns.
+         */
+        CSV,
+        /**
+         * Open Financial Exchange, in its SGML (1.x) or XML (2.x) flavour.
+         */
+        OFX,
+        /**
+         * ISO 20022 bank to customer statement.
+         */
+        CAMT053,
+    }
+
+    /**
+     * Read the next transaction of the statement.
+     *
+     * @return the transaction, or {@code null} at the end of the statement.
+     * @throws IOException if the statement cannot be read.
+     * @throws BankStatementFormatException if the statement is not in the expected format.
+     */
+    BankTransaction read() throws IOException;
+
+    /**
+     * Open a reader on a bank statement.
+     *
+     * @param format the format of the statement.
+     * @param statement the statement, which the reader closes.
+     * @return the reader.
+     * @throws IOException if the statement cannot be read.
+     */
+    static BankStatementReader open(Format format, InputStream statement) throws IOException {
+        return switch (format) {
+            case CSV -> new CsvBankStatementReader(statement);
+            case OFX -> new OfxBankStatementReader(statement);
+            case CAMT053 -> new Camt053BankStatementReader(statement);
+        };
+    }
+}
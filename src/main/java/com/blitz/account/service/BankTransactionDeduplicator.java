@@ -0,0 +1,307 @@
+package com.blitz.account.service;
+
+import com.blitz.account.domain.BankTransaction;
+import com.blitz.account.domain.enumeration.TransactionDirection;
+import com.blitz.account.repository.BankAccountRepository;
+import com.blitz.account.repository.BankTransactionRepository;
+import com.blitz.account.repository.BankTransactionRepository.TransactionFingerprint;
+import com.carrotsearch.hppc.LongArrayList;
+import com.carrotsearch.hppc.cursors.LongCursor;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Service telling the lines of a bank statement already imported into a bank account from the new ones.
+ * <p>
+ * A line is a duplicate of a transaction of the account with the same date, amount, direction and reference. The
+ * fingerprints of the transactions of each account are kept in an in-memory {@link BloomFilter}, loaded at an import
+ * into the account in chunks seeking on the date and id. A line not in the filter is new for sure, without touching the
+ * database; only the lines that may be in it, the overlap of the statement with the previous ones and about one percent
+ * of the others, are counted in the database, on the index on the account and date. Identical lines of one statement are
+ * only duplicates as far as the account already has as many identical transactions.
+ * <p>
+ * The filter is only trusted while {@link com.blitz.account.domain.BankAccount#getTransactionChanges()}, read locked
+ * when an import begins, is the one the filter was loaded with or the one the last import on this node committed with.
+ * Once the transactions of the account changed otherwise, on this node or another one, the filter is loaded again.
+ */
+@Service
+public class BankTransactionDeduplicator {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BankTransactionDeduplicator.class);
+
+    static final int CHUNK_SIZE = 5000;
+
+    static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private static final long MIN_CAPACITY = 1024;
+
+    /**
+     * Earliest date of the keyset over the transactions, the earliest one MySQL stores.
+     */
+    private static final Instant BEGINNING = Instant.parse("1000-01-01T00:00:00Z");
+
+    private final BankTransactionRepository bankTransactionRepository;
+
+    private final BankAccountRepository bankAccountRepository;
+
+    private final ConcurrentMap<Long, Fingerprints> fingerprintsByBankAccountId = new ConcurrentHashMap<>();
+
+    public BankTransactionDeduplicator(BankTransactionRepository bankTransactionRepository, BankAccountRepository bankAccountRepository) {
+        this.bankTransactionRepository = bankTransactionRepository;
+        this.bankAccountRepository = bankAccountRepository;
+    }
+
+    /**
+     * Start the deduplication of a statement, loading the fingerprints of the account if they are missing or stale.
+     * <p>
+     * The account is locked until the end of the import, so that its transactions do not change meanwhile.
+     *
+     * @param bankAccountId the id of the account the statement is imported into.
+     * @return the deduplication of the statement.
+     */
+    public StatementDeduplication begin(Long bankAccountId) {
+        long transactionChanges = transactionChanges(bankAccountId);
+        Fingerprints fingerprints = fingerprintsByBankAccountId.get(bankAccountId);
+        if (fingerprints == null || !fingerprints.isAt(transactionChanges)) {
+            fingerprints = load(bankAccountId, transactionChanges);
+            fingerprintsByBankAccountId.put(bankAccountId, fingerprints);
+        }
+        return new StatementDeduplication(bankAccountId, fingerprints, transactionChanges);
+    }
+
+    private long transactionChanges(Long bankAccountId) {
+        return bankAccountRepository.findTransactionChangesForUpdate(bankAccountId).orElse(0L);
+    }
+
+    private Fingerprints load(Long bankAccountId, long transactionChanges) {
+        LongArrayList loaded = new LongArrayList();
+        Instant afterDate = BEGINNING;
+        Long afterId = Long.MIN_VALUE;
+        List<TransactionFingerprint> chunk;
+        do {
+            chunk = bankTransactionRepository.findFingerprintsAfter(bankAccountId, afterDate, afterId, Limit.of(CHUNK_SIZE));
+            for (TransactionFingerprint transaction : chunk) {
+                loaded.add(
+                    fingerprint(
+                        transaction.getTransactionDate(),
+                        transaction.getAmount(),
+                        transaction.getDirection(),
+                        transaction.getReference()
+                    )
+                );
+                afterDate = transaction.getTransactionDate();
+                afterId = transaction.getId();
+            }
+        } while (chunk.size() == CHUNK_SIZE);
+        LOG.debug("Loaded {} BankTransaction fingerprints of BankAccount {}", loaded.size(), bankAccountId);
+
+        Fingerprints fingerprints = new Fingerprints(Math.max(MIN_CAPACITY, 2L * loaded.size()), transactionChanges);
+        for (LongCursor fingerprint : loaded) {
+            fingerprints.add(fingerprint.value);
+        }
+        return fingerprints;
+    }
+
+    static long fingerprint(BankTransaction transaction) {
+        return fingerprint(
+            transaction.getTransactionDate(),
+            transaction.getAmount(),
+            transaction.getDirection(),
+            transaction.getReference()
+        );
+    }
+
+    /**
+     * 64-bit fingerprint of a transaction, at the precision of the database: microseconds and cents.
+     */
+    static long fingerprint(Instant transactionDate, BigDecimal amount, TransactionDirection direction, String reference) {
+        long hash = mix(transactionDate.getEpochSecond());
+        hash = mix(hash ^ (transactionDate.getNano() / 1000));
+        hash = mix(hash ^ cents(amount).unscaledValue().longValue());
+        hash = mix(hash ^ direction.ordinal());
+        if (reference != null) {
+            long referenceHash = 0xCBF29CE484222325L;
+            for (int i = 0; i < reference.length(); i++) {
+                referenceHash = (referenceHash ^ reference.charAt(i)) * 0x100000001B3L;
+            }
+            hash = mix(hash ^ referenceHash);
+        }
+        return hash;
+    }
+
+    private static BigDecimal cents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Finalizer of MurmurHash3, spreading every bit of the input over all the bits of the output.
+     */
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            }
+        );
+    }
+
+    /**
+     * The fingerprints of the transactions of an account, in filters of twice the capacity of the previous one once it
+     * is full, so that the rate of false positives stays bounded as the account grows, with the number of changes of the
+     * transactions of the account they are complete at.
+     */
+    private static final class Fingerprints {
+
+        private final List<BloomFilter> filters = new ArrayList<>();
+
+        private long transactionChanges;
+
+        Fingerprints(long capacity, long transactionChanges) {
+            filters.add(new BloomFilter(capacity, FALSE_POSITIVE_RATE));
+            this.transactionChanges = transactionChanges;
+        }
+
+        synchronized boolean isAt(long transactionChanges) {
+            return this.transactionChanges == transactionChanges;
+        }
+
+        /**
+         * Move to the number of changes an import committed with, unless other changes were seen meanwhile.
+         */
+        synchronized void advance(long from, long to) {
+            if (transactionChanges == from) {
+                transactionChanges = to;
+            }
+        }
+
+        synchronized void add(long fingerprint) {
+            BloomFilter last = filters.get(filters.size() - 1);
+            if (last.isFull()) {
+                last = new BloomFilter(2 * last.capacity(), FALSE_POSITIVE_RATE);
+                filters.add(last);
+            }
+            last.add(fingerprint);
+        }
+
+        synchronized boolean mightContain(long fingerprint) {
+            for (BloomFilter filter : filters) {
+                if (filter.mightContain(fingerprint)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * The deduplication of the lines of one statement. The fingerprints of the new lines are only added to those of the
+     * account by {@link #finish()}, so that identical lines of the statement are not taken for each other.
+     */
+    public final class StatementDeduplication {
+
+        private final Long bankAccountId;
+
+        private final Fingerprints fingerprints;
+
+        private final long transactionChanges;
+
+        private final LongArrayList added = new LongArrayList();
+
+        private final Map<Line, Occurrences> occurrencesByLine = new HashMap<>();
+
+        private StatementDeduplication(Long bankAccountId, Fingerprints fingerprints, long transactionChanges) {
+            this.bankAccountId = bankAccountId;
+            this.fingerprints = fingerprints;
+            this.transactionChanges = transactionChanges;
+        }
+
+        /**
+         * Tell whether a line of the statement was already imported, counting it as imported otherwise.
+         *
+         * @param transaction the transaction of the line.
+         * @return {@code true} if the account already has the transaction.
+         */
+        public boolean isDuplicate(BankTransaction transaction) {
+            long fingerprint = fingerprint(transaction);
+            if (!fingerprints.mightContain(fingerprint)) {
+                added.add(fingerprint);
+                return false;
+            }
+            Line line = new Line(
+                transaction.getTransactionDate(),
+                cents(transaction.getAmount()),
+                transaction.getDirection(),
+                transaction.getReference()
+            );
+            Occurrences occurrences = occurrencesByLine.computeIfAbsent(line, this::count);
+            occurrences.read++;
+            return occurrences.read <= occurrences.existing;
+        }
+
+        private Occurrences count(Line line) {
+            return new Occurrences(
+                bankTransactionRepository.countByFingerprint(
+                    bankAccountId,
+                    line.transactionDate(),
+                    line.amount(),
+                    line.direction(),
+                    line.reference()
+                )
+            );
+        }
+
+        /**
+         * Add the fingerprints of the new lines to those of the account, once they are all inserted and posted, the
+         * fingerprints being trusted again with the changes of the import once it commits.
+         */
+        public void finish() {
+            for (LongCursor fingerprint : added) {
+                fingerprints.add(fingerprint.value);
+            }
+            added.clear();
+            long finished = transactionChanges(bankAccountId);
+            afterCommit(() -> fingerprints.advance(transactionChanges, finished));
+        }
+    }
+
+    private record Line(Instant transactionDate, BigDecimal amount, TransactionDirection direction, String reference) {}
+
+    private static final class Occurrences {
+
+        private final long existing;
+
+        private long read;
+
+        private Occurrences(long existing) {
+            this.existing = existing;
+        }
+    }
+}
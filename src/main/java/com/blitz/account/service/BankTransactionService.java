@@ -2,9 +2,11 @@ package com.blitz.account.service;
 
 import com.blitz.account.domain.BankTransaction;
 import com.blitz.account.repository.BankTransactionRepository;
+import com.blitz.account.service.BankAccountBalanceService.Posting;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -12,6 +14,11 @@ import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Service Implementation for managing {@link com.blitz.account.domain.BankTransaction}.
+ * <p>
+ * Every change is posted to the balances of the bank accounts through {@link BankAccountBalanceService}, which also
+ * tells {@link BankTransactionDeduplicator} that the fingerprints of the accounts changed. The accounts of a transaction
+ * updated are locked before it is written, and the update is rejected if the transaction was modified since the version
+ * it carries was read, so that concurrent changes cannot move the balances from the same posting.
  */
 @Service
 @Transactional
@@ -21,8 +28,14 @@ public class BankTransactionService {
 
     private final BankTransactionRepository bankTransactionRepository;
 
-    public BankTransactionService(BankTransactionRepository bankTransactionRepository) {
+    private final BankAccountBalanceService bankAccountBalanceService;
+
+    public BankTransactionService(
+        BankTransactionRepository bankTransactionRepository,
+        BankAccountBalanceService bankAccountBalanceService
+    ) {
         this.bankTransactionRepository = bankTransactionRepository;
+        this.bankAccountBalanceService = bankAccountBalanceService;
     }
 
     /**
@@ -33,7 +46,9 @@ public class BankTransactionService {
      */
     public BankTransaction save(BankTransaction bankTransaction) {
         LOG.debug("Request to save BankTransaction : {}", bankTransaction);
-        return bankTransactionRepository.save(bankTransaction);
+        BankTransaction result = bankTransactionRepository.save(bankTransaction);
+        bankAccountBalanceService.post(result);
+        return result;
     }
 
     /**
@@ -41,17 +56,28 @@ public class BankTransactionService {
      *
      * @param bankTransaction the entity to save.
      * @return the persisted entity.
+     * @throws ObjectOptimisticLockingFailureException if the bankTransaction was modified concurrently.
      */
     public BankTransaction update(BankTransaction bankTransaction) {
         LOG.debug("Request to update BankTransaction : {}", bankTransaction);
-        return bankTransactionRepository.save(bankTransaction);
+        Optional<BankTransaction> existingBankTransaction = bankTransactionRepository.findById(bankTransaction.getId());
+        Posting before = existingBankTransaction.map(Posting::of).orElse(null);
+        if (before != null) {
+            bankAccountBalanceService.lock(before.bankAccountId(), bankTransaction.getBankAccountId());
+        }
+        BankTransaction result = bankTransactionRepository.save(bankTransaction);
+        bankAccountBalanceService.repost(before, result);
+        return result;
     }
 
     /**
      * Partially update a bankTransaction.
+     * <p>
+     * The update is rejected if the bankTransaction carries a version and was modified since it was read.
      *
      * @param bankTransaction the entity to update partially.
      * @return the persisted entity.
+     * @throws ObjectOptimisticLockingFailureException if the bankTransaction was modified concurrently.
      */
     public Optional<BankTransaction> partialUpdate(BankTransaction bankTransaction) {
         LOG.debug("Request to partially update BankTransaction : {}", bankTransaction);
@@ -59,6 +85,14 @@ public class BankTransactionService {
         return bankTransactionRepository
             .findById(bankTransaction.getId())
             .map(existingBankTransaction -> {
+                if (bankTransaction.getVersion() != null && !bankTransaction.getVersion().equals(existingBankTransaction.getVersion())) {
+                    throw new ObjectOptimisticLockingFailureException(BankTransaction.class, bankTransaction.getId());
+                }
+                Posting before = Posting.of(existingBankTransaction);
+                bankAccountBalanceService.lock(
+                    before.bankAccountId(),
+                    bankTransaction.getBankAccountId() != null ? bankTransaction.getBankAccountId() : before.bankAccountId()
+                );
                 if (bankTransaction.getBankAccountId() != null) {
                     existingBankTransaction.setBankAccountId(bankTransaction.getBankAccountId());
                 }
@@ -81,9 +115,10 @@ public class BankTransactionService {
                     existingBankTransaction.setDescription(bankTransaction.getDescription());
                 }
 
-                return existingBankTransaction;
-            })
-            .map(bankTransactionRepository::save);
+                BankTransaction result = bankTransactionRepository.save(existingBankTransaction);
+                bankAccountBalanceService.repost(before, result);
+                return result;
+            });
     }
 
     /**
@@ -117,6 +152,12 @@ public class BankTransactionService {
      */
     public void delete(Long id) {
         LOG.debug("Request to delete BankTransaction : {}", id);
-        bankTransactionRepository.deleteById(id);
+        bankTransactionRepository
+            .findById(id)
+            .ifPresent(bankTransaction -> {
+                Posting before = Posting.of(bankTransaction);
+                bankTransactionRepository.delete(bankTransaction);
+                bankAccountBalanceService.unpost(before);
+            });
     }
 }
@@ -0,0 +1,72 @@
+package com.blitz.account.service;
+
+/**
+ * Bloom filter of 64-bit fingerprints: it tells a fingerprint was never added for sure, or that it may have been.
+ * <p>
+ * The bits are sized for {@code capacity} fingerprints at a rate of false positives of {@code falsePositiveRate}, the
+ * rate growing past that number. The bit positions of a fingerprint are derived from it by double hashing. This class
+ * is not thread-safe.
+ */
+final class BloomFilter {
+
+    private static final double LN2 = Math.log(2);
+
+    private final long[] words;
+
+    private final long bits;
+
+    private final int hashes;
+
+    private final long capacity;
+
+    private long size;
+
+    /**
+     * @param capacity the number of fingerprints the filter is sized for.
+     * @param falsePositiveRate the rate of false positives once it holds that number.
+     */
+    BloomFilter(long capacity, double falsePositiveRate) {
+        this.capacity = Math.max(1, capacity);
+        long wanted = (long) Math.ceil((-this.capacity * Math.log(falsePositiveRate)) / (LN2 * LN2));
+        this.words = new long[(int) Math.max(1, (wanted + 63) >>> 6)];
+        this.bits = (long) words.length << 6;
+        this.hashes = (int) Math.max(1, Math.round(((double) bits / this.capacity) * LN2));
+    }
+
+    void add(long fingerprint) {
+        long h1 = fingerprint;
+        long h2 = secondHash(fingerprint);
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bits);
+            words[(int) (bit >>> 6)] |= 1L << bit;
+        }
+        size++;
+    }
+
+    boolean mightContain(long fingerprint) {
+        long h1 = fingerprint;
+        long h2 = secondHash(fingerprint);
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bits);
+            if ((words[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    boolean isFull() {
+        return size >= capacity;
+    }
+
+    long capacity() {
+        return capacity;
+    }
+
+    /**
+     * The step between the positions of a fingerprint, odd so that it is never zero.
+     */
+    private static long secondHash(long fingerprint) {
+        return Long.rotateLeft(fingerprint * 0x9E3779B97F4A7C15L, 32) | 1;
+    }
+}
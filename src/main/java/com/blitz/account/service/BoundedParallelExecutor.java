@@ -0,0 +1,74 @@
+package com.blitz.account.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Executor of the tasks of one run of a background job, running up to a given number of them at once on threads of its
+ * own, shut down when closed.
+ * <p>
+ * Submitting a task waits while that many tasks are running, so that a job reading its work in chunks only reads the next
+ * chunk once a thread is free for it, instead of queueing all the chunks in memory.
+ */
+final class BoundedParallelExecutor implements AutoCloseable {
+
+    private final ExecutorService workers;
+
+    private final Semaphore permits;
+
+    private final List<CompletableFuture<?>> submitted = new ArrayList<>();
+
+    /**
+     * @param parallelism the maximum number of tasks running at once.
+     */
+    BoundedParallelExecutor(int parallelism) {
+        this.workers = Executors.newFixedThreadPool(parallelism);
+        this.permits = new Semaphore(parallelism);
+    }
+
+    /**
+     * Submit a task, waiting for one of the running tasks to complete if there are as many as the parallelism.
+     *
+     * @param task the task.
+     * @param <T> the type of the result of the task.
+     * @return the result of the task, once completed.
+     */
+    <T> CompletableFuture<T> submit(Supplier<T> task) {
+        permits.acquireUninterruptibly();
+        CompletableFuture<T> result;
+        try {
+            result = CompletableFuture.supplyAsync(task, workers).whenComplete((value, e) -> permits.release());
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+        submitted.add(result);
+        return result;
+    }
+
+    /**
+     * @return the number of tasks submitted.
+     */
+    int submitted() {
+        return submitted.size();
+    }
+
+    /**
+     * Wait for all the tasks submitted to complete.
+     *
+     * @throws java.util.concurrent.CompletionException if a task failed.
+     */
+    void join() {
+        CompletableFuture.allOf(submitted.toArray(CompletableFuture[]::new)).join();
+    }
+
+    @Override
+    public void close() {
+        workers.shutdown();
+    }
+}
@@ -21,8 +21,11 @@ public class BudgetService {
 
     private final BudgetRepository budgetRepository;
 
-    public BudgetService(BudgetRepository budgetRepository) {
+    private final BudgetVarianceService budgetVarianceService;
+
+    public BudgetService(BudgetRepository budgetRepository, BudgetVarianceService budgetVarianceService) {
         this.budgetRepository = budgetRepository;
+        this.budgetVarianceService = budgetVarianceService;
     }
 
     /**
@@ -44,6 +47,7 @@ public class BudgetService {
      */
     public Budget update(Budget budget) {
         LOG.debug("Request to update Budget : {}", budget);
+        budgetVarianceService.invalidateBudget(budget.getId());
         return budgetRepository.save(budget);
     }
 
@@ -55,6 +59,7 @@ public class BudgetService {
      */
     public Optional<Budget> partialUpdate(Budget budget) {
         LOG.debug("Request to partially update Budget : {}", budget);
+        budgetVarianceService.invalidateBudget(budget.getId());
 
         return budgetRepository
             .findById(budget.getId())
@@ -111,6 +116,7 @@ public class BudgetService {
      */
     public void delete(Long id) {
         LOG.debug("Request to delete Budget : {}", id);
+        budgetVarianceService.invalidateBudget(id);
         budgetRepository.deleteById(id);
     }
 }
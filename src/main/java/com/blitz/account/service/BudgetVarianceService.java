@@ -0,0 +1,213 @@
+package com.blitz.account.service;
+
+import com.blitz.account.domain.Budget;
+import com.blitz.account.repository.BudgetRepository;
+import com.blitz.account.repository.BudgetRepository.BudgetActual;
+import com.blitz.account.service.dto.BudgetVarianceDTO;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Service comparing {@link Budget}s with the actual movements of their account.
+ * <p>
+ * The actual of a budget is the sum of the journal lines and transactions of its account dated within its period.
+ * Actuals of all the budgets missing from the cache are computed together, with one grouped query per source. Cached
+ * variances are dropped when their budget changes, or once a posting to their account is committed, so that a
+ * dashboard refresh only recomputes the budgets that moved.
+ * <p>
+ * Each invalidation is numbered, and records its number against the accounts or budget it drops. A variance is only
+ * cached if neither its account nor its budget was invalidated since the request computing it started, as it may have
+ * been read before the change committed.
+ */
+@Service
+@Transactional(readOnly = true)
+public class BudgetVarianceService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BudgetVarianceService.class);
+
+    private static final int QUERY_CHUNK_SIZE = 1000;
+
+    private final BudgetRepository budgetRepository;
+
+    private final Map<Long, BudgetVarianceDTO> variances = new ConcurrentHashMap<>();
+
+    private final Set<Long> dirtyAccounts = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final Map<Long, Long> accountInvalidations = new ConcurrentHashMap<>();
+
+    private final Map<Long, Long> budgetInvalidations = new ConcurrentHashMap<>();
+
+    public BudgetVarianceService(BudgetRepository budgetRepository) {
+        this.budgetRepository = budgetRepository;
+    }
+
+    /**
+     * Get the variance of all the budgets active at a date.
+     *
+     * @param asOf the date.
+     * @return the variances, ordered by budget start date.
+     */
+    public List<BudgetVarianceDTO> findActive(Instant asOf) {
+        LOG.debug("Request to get the variance of Budgets active at {}", asOf);
+        long started = invalidations.get();
+        return variancesOf(budgetRepository.findActive(asOf), started);
+    }
+
+    /**
+     * Get the variance of one budget.
+     *
+     * @param id the id of the budget.
+     * @return the variance, or empty if the budget does not exist.
+     */
+    public Optional<BudgetVarianceDTO> findOne(Long id) {
+        LOG.debug("Request to get the variance of Budget : {}", id);
+        long started = invalidations.get();
+        return budgetRepository.findById(id).map(budget -> variancesOf(List.of(budget), started).get(0));
+    }
+
+    /**
+     * Drop the cached variances of the budgets of the given accounts, once the current transaction commits.
+     *
+     * @param accountIds the ids of accounts that received postings.
+     */
+    public void invalidateAccounts(Collection<Long> accountIds) {
+        List<Long> ids = accountIds.stream().filter(Objects::nonNull).toList();
+        if (!ids.isEmpty()) {
+            afterCommit(() -> {
+                long invalidation = invalidations.incrementAndGet();
+                ids.forEach(accountId -> accountInvalidations.put(accountId, invalidation));
+                dirtyAccounts.addAll(ids);
+            });
+        }
+    }
+
+    /**
+     * Drop the cached variance of a budget, once the current transaction commits.
+     *
+     * @param id the id of the budget.
+     */
+    public void invalidateBudget(Long id) {
+        if (id != null) {
+            afterCommit(() -> {
+                budgetInvalidations.put(id, invalidations.incrementAndGet());
+                variances.remove(id);
+            });
+        }
+    }
+
+    /**
+     * @param started the number of the last invalidation before the budgets and their actuals were read.
+     */
+    private List<BudgetVarianceDTO> variancesOf(List<Budget> budgets, long started) {
+        evictDirtyAccounts();
+        List<Long> missing = budgets.stream().map(Budget::getId).filter(id -> !variances.containsKey(id)).toList();
+        Map<Long, BigDecimal> actuals = missing.isEmpty() ? Map.of() : sumActuals(missing);
+
+        List<BudgetVarianceDTO> result = new ArrayList<>(budgets.size());
+        for (Budget budget : budgets) {
+            BigDecimal actual = actuals.get(budget.getId());
+            BudgetVarianceDTO variance = actual != null ? toVariance(budget, actual) : variances.get(budget.getId());
+            if (variance == null) {
+                // evicted by a concurrent refresh since the cache was checked
+                variance = toVariance(budget, sumActuals(List.of(budget.getId())).get(budget.getId()));
+            } else if (actual != null) {
+                BudgetVarianceDTO computed = variance;
+                variances.compute(budget.getId(), (id, cached) -> isCurrent(computed, started) ? computed : cached);
+            }
+            result.add(variance);
+        }
+        return result;
+    }
+
+    /**
+     * Tell whether a variance is still current, checked within the lock of its cache entry: an invalidation recorded
+     * after the check drops the entry once it is cached.
+     */
+    private boolean isCurrent(BudgetVarianceDTO variance, long started) {
+        Long accountInvalidation = variance.getAccountId() != null ? accountInvalidations.get(variance.getAccountId()) : null;
+        Long budgetInvalidation = budgetInvalidations.get(variance.getBudgetId());
+        return (
+            (accountInvalidation == null || accountInvalidation <= started) && (budgetInvalidation == null || budgetInvalidation <= started)
+        );
+    }
+
+    private void evictDirtyAccounts() {
+        if (dirtyAccounts.isEmpty()) {
+            return;
+        }
+        Set<Long> accountIds = new HashSet<>();
+        dirtyAccounts.removeIf(accountIds::add);
+        variances.values().removeIf(variance -> accountIds.contains(variance.getAccountId()));
+    }
+
+    private Map<Long, BigDecimal> sumActuals(List<Long> ids) {
+        Map<Long, BigDecimal> actuals = new HashMap<>();
+        ids.forEach(id -> actuals.put(id, BigDecimal.ZERO));
+        for (int from = 0; from < ids.size(); from += QUERY_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + QUERY_CHUNK_SIZE, ids.size()));
+            mergeActuals(actuals, budgetRepository.sumJournalActuals(chunk));
+            mergeActuals(actuals, budgetRepository.sumTransactionActuals(chunk));
+        }
+        return actuals;
+    }
+
+    private static void mergeActuals(Map<Long, BigDecimal> actuals, List<BudgetActual> rows) {
+        rows.forEach(row -> {
+            if (row.getActual() != null) {
+                actuals.merge(row.getBudgetId(), row.getActual(), BigDecimal::add);
+            }
+        });
+    }
+
+    private static BudgetVarianceDTO toVariance(Budget budget, BigDecimal actual) {
+        BigDecimal consumedPercent = budget.getAmount().signum() != 0
+            ? actual.multiply(BigDecimal.valueOf(100)).divide(budget.getAmount(), 2, RoundingMode.HALF_UP)
+            : null;
+        return new BudgetVarianceDTO(
+            budget.getId(),
+            budget.getName(),
+            budget.getAccountId(),
+            budget.getStartDate(),
+            budget.getEndDate(),
+            budget.getAmount(),
+            actual,
+            budget.getAmount().subtract(actual),
+            consumedPercent
+        );
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            }
+        );
+    }
+}
@@ -0,0 +1,150 @@
+package com.blitz.account.service;
+
+import com.blitz.account.domain.BankTransaction;
+import com.blitz.account.domain.enumeration.TransactionDirection;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Reader of CAMT.053 bank statements, entry by entry with a StAX parser.
+ * <p>
+ * Each {@code Ntry} is a transaction: {@code Amt} is its amount, {@code CdtDbtInd} its direction, reversed by
+ * {@code RvslInd}, the booking or else the value date its date, {@code AcctSvcrRef}, {@code NtryRef} or else the end to
+ * end id of its details its reference, and the unstructured remittance information or else {@code AddtlNtryInf} its
+ * description.
+ */
+final class Camt053BankStatementReader implements BankStatementReader {
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = xmlInputFactory();
+
+    private final InputStream statement;
+
+    private final XMLStreamReader xml;
+
+    private int entries;
+
+    Camt053BankStatementReader(InputStream statement) {
+        this.statement = statement;
+        try {
+            this.xml = XML_INPUT_FACTORY.createXMLStreamReader(statement);
+        } catch (XMLStreamException e) {
+            throw new BankStatementFormatException("The statement is not XML", e);
+        }
+    }
+
+    @Override
+    public BankTransaction read() {
+        try {
+            while (xml.hasNext()) {
+                if (xml.next() == XMLStreamConstants.START_ELEMENT && "Ntry".equals(xml.getLocalName())) {
+                    entries++;
+                    return transaction(readEntry());
+                }
+            }
+            return null;
+        } catch (XMLStreamException e) {
+            throw new BankStatementFormatException("Invalid XML after entry " + entries, e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            xml.close();
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        } finally {
+            statement.close();
+        }
+    }
+
+    /**
+     * Read the text elements of the current entry, by their path within it.
+     */
+    private Map<String, String> readEntry() throws XMLStreamException {
+        Map<String, String> fields = new HashMap<>();
+        Deque<String> path = new ArrayDeque<>();
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                path.addLast(xml.getLocalName());
+                String name = String.join("/", path);
+                if (isField(name)) {
+                    fields.putIfAbsent(name, xml.getElementText().strip());
+                    path.removeLast();
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                if (path.isEmpty()) {
+                    return fields;
+                }
+                path.removeLast();
+            }
+        }
+        throw new BankStatementFormatException("Unterminated entry " + entries);
+    }
+
+    private static boolean isField(String name) {
+        return switch (name) {
+            case "Amt",
+                "CdtDbtInd",
+                "RvslInd",
+                "BookgDt/Dt",
+                "BookgDt/DtTm",
+                "ValDt/Dt",
+                "ValDt/DtTm",
+                "AcctSvcrRef",
+                "NtryRef",
+                "AddtlNtryInf",
+                "NtryDtls/TxDtls/Refs/EndToEndId",
+                "NtryDtls/TxDtls/RmtInf/Ustrd" -> true;
+            default -> false;
+        };
+    }
+
+    private BankTransaction transaction(Map<String, String> fields) {
+        try {
+            TransactionDirection direction = switch (String.valueOf(fields.get("CdtDbtInd"))) {
+                case "CRDT" -> TransactionDirection.CREDIT;
+                case "DBIT" -> TransactionDirection.DEBIT;
+                default -> throw new BankStatementFormatException("Invalid credit debit indicator " + fields.get("CdtDbtInd"));
+            };
+            if ("true".equals(fields.get("RvslInd"))) {
+                direction = direction == TransactionDirection.CREDIT ? TransactionDirection.DEBIT : TransactionDirection.CREDIT;
+            }
+            return BankStatementParsing.transaction(
+                BankStatementParsing.date(first(fields, "BookgDt/Dt", "BookgDt/DtTm", "ValDt/Dt", "ValDt/DtTm")),
+                BankStatementParsing.amount(fields.get("Amt")),
+                direction,
+                first(fields, "AcctSvcrRef", "NtryRef", "NtryDtls/TxDtls/Refs/EndToEndId"),
+                first(fields, "NtryDtls/TxDtls/RmtInf/Ustrd", "AddtlNtryInf")
+            );
+        } catch (BankStatementFormatException e) {
+            throw new BankStatementFormatException(e.getMessage() + " in entry " + entries, e);
+        }
+    }
+
+    private static String first(Map<String, String> fields, String... names) {
+        for (String name : names) {
+            String value = fields.get(name);
+            if (value != null && !value.isBlank() && !"NOTPROVIDED".equals(value)) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    private static XMLInputFactory xmlInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+}
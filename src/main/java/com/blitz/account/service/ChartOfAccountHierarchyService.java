@@ -0,0 +1,187 @@
+package com.blitz.account.service;
+
+import com.blitz.account.domain.ChartOfAccount;
+import com.blitz.account.domain.enumeration.AccountType;
+import com.blitz.account.repository.ChartOfAccountRepository;
+import com.blitz.account.service.LedgerMovementEvent.Movement;
+import com.blitz.account.service.dto.AccountCodeNodeDTO;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Service rolling the current balances of the {@link ChartOfAccount}s up their code hierarchy, from an in-memory
+ * {@link AccountCodeTrie}.
+ * <p>
+ * The tree is loaded on first use, then kept current once transactions commit: accounts are added, moved and removed
+ * as they are saved, and balances move with the posted journal lines. It is dropped, to be loaded again, whenever the
+ * balances are reconciled.
+ * <p>
+ * The version each account is loaded at is kept, so that a posting committed before the load read its balance, whose
+ * movements are only received once the load is done, is not counted twice.
+ */
+@Service
+public class ChartOfAccountHierarchyService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ChartOfAccountHierarchyService.class);
+
+    private final ChartOfAccountRepository chartOfAccountRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private AccountCodeTrie trie;
+
+    private Map<Long, Long> loadedVersions;
+
+    public ChartOfAccountHierarchyService(ChartOfAccountRepository chartOfAccountRepository) {
+        this.chartOfAccountRepository = chartOfAccountRepository;
+    }
+
+    /**
+     * Roll up the accounts whose code starts with a prefix.
+     *
+     * @param prefix the prefix of the account codes, empty for all accounts.
+     * @return the roll-up with those of the prefixes one character longer, or empty if no account code starts with
+     * the prefix.
+     */
+    public Optional<AccountCodeNodeDTO> findNode(String prefix) {
+        LOG.debug("Request to roll up ChartOfAccounts by code prefix : {}", prefix);
+        AccountCodeTrie loaded = loaded();
+        lock.readLock().lock();
+        try {
+            AccountCodeTrie.Node node = loaded.find(prefix);
+            if (node == null || node.accountCount() == 0) {
+                return Optional.empty();
+            }
+            AccountCodeNodeDTO result = toDto(node);
+            node.children().forEach(child -> result.getChildren().add(toDto(child)));
+            return Optional.of(result);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Add or move an account in the tree, once the current transaction commits.
+     *
+     * @param chartOfAccount the saved account.
+     */
+    public void put(ChartOfAccount chartOfAccount) {
+        Long id = chartOfAccount.getId();
+        String code = chartOfAccount.getCode();
+        AccountType accountType = chartOfAccount.getAccountType();
+        BigDecimal balance = chartOfAccount.getCurrentBalance();
+        afterCommit(() -> update(trie -> trie.put(id, code, accountType, balance)));
+    }
+
+    /**
+     * Remove an account from the tree, once the current transaction commits.
+     *
+     * @param id the id of the deleted account.
+     */
+    public void remove(Long id) {
+        afterCommit(() -> update(trie -> trie.remove(id)));
+    }
+
+    /**
+     * Drop the tree once the current transaction commits, it is loaded again on next use.
+     */
+    public void invalidate() {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            trie = null;
+            loadedVersions = null;
+            lock.writeLock().unlock();
+        });
+    }
+
+    /**
+     * Move the balances of the accounts a committed posting touched, unless they were loaded with it.
+     *
+     * @param event the movements of the posting.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLedgerMovement(LedgerMovementEvent event) {
+        update(trie -> {
+            for (Movement movement : event.movements()) {
+                if (movement.journalLines() != 0 && movement.accountId() != null && !isLoaded(event, movement.accountId())) {
+                    trie.post(movement.accountId(), movement.debit().subtract(movement.credit()));
+                }
+            }
+        });
+    }
+
+    private boolean isLoaded(LedgerMovementEvent event, Long accountId) {
+        Long version = event.accountVersions().get(accountId);
+        Long loadedVersion = loadedVersions.get(accountId);
+        return version != null && loadedVersion != null && version <= loadedVersion;
+    }
+
+    private void update(Consumer<AccountCodeTrie> change) {
+        lock.writeLock().lock();
+        try {
+            if (trie != null) {
+                change.accept(trie);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private AccountCodeTrie loaded() {
+        lock.readLock().lock();
+        try {
+            if (trie != null) {
+                return trie;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            if (trie == null) {
+                AccountCodeTrie loading = new AccountCodeTrie();
+                Map<Long, Long> versions = new HashMap<>();
+                for (ChartOfAccount account : chartOfAccountRepository.findAll()) {
+                    loading.put(account.getId(), account.getCode(), account.getAccountType(), account.getCurrentBalance());
+                    versions.put(account.getId(), account.getVersion());
+                }
+                trie = loading;
+                loadedVersions = versions;
+            }
+            return trie;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static AccountCodeNodeDTO toDto(AccountCodeTrie.Node node) {
+        return new AccountCodeNodeDTO(node.prefix(), node.balance(), node.accountCount(), new ArrayList<>(node.accountIds()));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            }
+        );
+    }
+}
@@ -5,6 +5,7 @@ import com.blitz.account.repository.ChartOfAccountRepository;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,44 +20,79 @@ public class ChartOfAccountService {
 
     private final ChartOfAccountRepository chartOfAccountRepository;
 
-    public ChartOfAccountService(ChartOfAccountRepository chartOfAccountRepository) {
+    private final ChartOfAccountHierarchyService chartOfAccountHierarchyService;
+
+    private final PageCountCache pageCountCache;
+
+    public ChartOfAccountService(
+        ChartOfAccountRepository chartOfAccountRepository,
+        ChartOfAccountHierarchyService chartOfAccountHierarchyService,
+        PageCountCache pageCountCache
+    ) {
         this.chartOfAccountRepository = chartOfAccountRepository;
+        this.chartOfAccountHierarchyService = chartOfAccountHierarchyService;
+        this.pageCountCache = pageCountCache;
     }
 
     /**
      * Save a chartOfAccount.
+     * <p>
+     * A new account without a current balance starts at its initial balance, journal postings then move it.
      *
      * @param chartOfAccount the entity to save.
      * @return the persisted entity.
      */
     public ChartOfAccount save(ChartOfAccount chartOfAccount) {
         LOG.debug("Request to save ChartOfAccount : {}", chartOfAccount);
-        return chartOfAccountRepository.save(chartOfAccount);
+        pageCountCache.evict(ChartOfAccount.class);
+        if (chartOfAccount.getCurrentBalance() == null) {
+            chartOfAccount.setCurrentBalance(chartOfAccount.getInitialBalance());
+        }
+        ChartOfAccount result = chartOfAccountRepository.save(chartOfAccount);
+        chartOfAccountHierarchyService.put(result);
+        return result;
     }
 
     /**
      * Update a chartOfAccount.
+     * <p>
+     * The update is rejected if the chartOfAccount was modified since the version it carries was read. The current balance is only moved by journal postings: the one of the chartOfAccount is ignored.
      *
      * @param chartOfAccount the entity to save.
      * @return the persisted entity.
+     * @throws ObjectOptimisticLockingFailureException if the chartOfAccount was modified concurrently.
      */
     public ChartOfAccount update(ChartOfAccount chartOfAccount) {
         LOG.debug("Request to update ChartOfAccount : {}", chartOfAccount);
-        return chartOfAccountRepository.save(chartOfAccount);
+        pageCountCache.evict(ChartOfAccount.class);
+        chartOfAccountRepository
+            .findById(chartOfAccount.getId())
+            .ifPresent(existingChartOfAccount -> chartOfAccount.setCurrentBalance(existingChartOfAccount.getCurrentBalance()));
+        ChartOfAccount result = chartOfAccountRepository.save(chartOfAccount);
+        chartOfAccountHierarchyService.put(result);
+        return result;
     }
 
     /**
      * Partially update a chartOfAccount.
+     * <p>
+     * The update is rejected if the chartOfAccount carries a version and was modified since it was read. The current balance
+     * is only moved by journal postings: the one of the chartOfAccount is ignored.
      *
      * @param chartOfAccount the entity to update partially.
      * @return the persisted entity.
+     * @throws ObjectOptimisticLockingFailureException if the chartOfAccount was modified concurrently.
      */
     public Optional<ChartOfAccount> partialUpdate(ChartOfAccount chartOfAccount) {
         LOG.debug("Request to partially update ChartOfAccount : {}", chartOfAccount);
+        pageCountCache.evict(ChartOfAccount.class);
 
         return chartOfAccountRepository
             .findById(chartOfAccount.getId())
             .map(existingChartOfAccount -> {
+                if (chartOfAccount.getVersion() != null && !chartOfAccount.getVersion().equals(existingChartOfAccount.getVersion())) {
+                    throw new ObjectOptimisticLockingFailureException(ChartOfAccount.class, chartOfAccount.getId());
+                }
                 if (chartOfAccount.getName() != null) {
                     existingChartOfAccount.setName(chartOfAccount.getName());
                 }
@@ -69,13 +105,14 @@ public class ChartOfAccountService {
                 if (chartOfAccount.getInitialBalance() != null) {
                     existingChartOfAccount.setInitialBalance(chartOfAccount.getInitialBalance());
                 }
-                if (chartOfAccount.getCurrentBalance() != null) {
-                    existingChartOfAccount.setCurrentBalance(chartOfAccount.getCurrentBalance());
-                }
 
                 return existingChartOfAccount;
             })
-            .map(chartOfAccountRepository::save);
+            .map(chartOfAccountRepository::save)
+            .map(result -> {
+                chartOfAccountHierarchyService.put(result);
+                return result;
+            });
     }
 
     /**
@@ -97,6 +134,8 @@ public class ChartOfAccountService {
      */
     public void delete(Long id) {
         LOG.debug("Request to delete ChartOfAccount : {}", id);
+        pageCountCache.evict(ChartOfAccount.class);
         chartOfAccountRepository.deleteById(id);
+        chartOfAccountHierarchyService.remove(id);
     }
 }
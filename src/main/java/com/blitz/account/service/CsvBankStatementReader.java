@@ -0,0 +1,138 @@
+package com.blitz.account.service;
+
+import com.blitz.account.domain.BankTransaction;
+import com.blitz.account.domain.enumeration.TransactionDirection;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reader of CSV bank statements, line by line.
+ * <p>
+ * The first row names the columns, separated by commas or semicolons: {@code date} and {@code amount} are required,
+ * {@code direction}, {@code reference} and {@code description} are optional. Without a direction, negative amounts are
+ * debits. Values can be quoted, but not span several lines.
+ */
+final class CsvBankStatementReader implements BankStatementReader {
+
+    private final BufferedReader reader;
+
+    private final char separator;
+
+    private final int dateColumn;
+
+    private final int amountColumn;
+
+    private final int directionColumn;
+
+    private final int referenceColumn;
+
+    private final int descriptionColumn;
+
+    private int lineNumber = 1;
+
+    CsvBankStatementReader(InputStream statement) throws IOException {
+        this.reader = new BufferedReader(new InputStreamReader(statement, StandardCharsets.UTF_8));
+        String header = reader.readLine();
+        if (header == null) {
+            throw new BankStatementFormatException("The statement has no header row");
+        }
+        if (header.startsWith("\uFEFF")) {
+            header = header.substring(1);
+        }
+        this.separator = header.indexOf(';') >= 0 && header.indexOf(',') < 0 ? ';' : ',';
+        List<String> columns = split(header).stream().map(column -> column.strip().toLowerCase(Locale.ROOT)).toList();
+        this.dateColumn = requiredColumn(columns, "date", "transactiondate", "bookingdate");
+        this.amountColumn = requiredColumn(columns, "amount");
+        this.directionColumn = columns.indexOf("direction");
+        this.referenceColumn = columns.indexOf("reference");
+        this.descriptionColumn = columns.indexOf("description");
+    }
+
+    @Override
+    public BankTransaction read() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            lineNumber++;
+        } while (line != null && line.isBlank());
+        if (line == null) {
+            return null;
+        }
+        List<String> values = split(line);
+        try {
+            return BankStatementParsing.transaction(
+                BankStatementParsing.date(value(values, dateColumn)),
+                BankStatementParsing.amount(value(values, amountColumn)),
+                direction(value(values, directionColumn)),
+                value(values, referenceColumn),
+                value(values, descriptionColumn)
+            );
+        } catch (BankStatementFormatException e) {
+            throw new BankStatementFormatException(e.getMessage() + " at line " + lineNumber, e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private static int requiredColumn(List<String> columns, String... names) {
+        for (String name : names) {
+            int column = columns.indexOf(name);
+            if (column >= 0) {
+                return column;
+            }
+        }
+        throw new BankStatementFormatException("The statement has no " + names[0] + " column");
+    }
+
+    private static String value(List<String> values, int column) {
+        return column >= 0 && column < values.size() ? values.get(column) : null;
+    }
+
+    private static TransactionDirection direction(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return switch (value.strip().toUpperCase(Locale.ROOT)) {
+            case "CREDIT", "CRDT", "CR", "C" -> TransactionDirection.CREDIT;
+            case "DEBIT", "DBIT", "DR", "D" -> TransactionDirection.DEBIT;
+            default -> throw new BankStatementFormatException("Invalid direction " + value);
+        };
+    }
+
+    private List<String> split(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == separator) {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        values.add(value.toString());
+        return values;
+    }
+}
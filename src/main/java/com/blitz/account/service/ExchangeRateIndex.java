@@ -0,0 +1,205 @@
+package com.blitz.account.service;
+
+import com.carrotsearch.hppc.LongObjectHashMap;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * Index of the {@link com.blitz.account.domain.ExchangeRate}s by currency pair, each pair holding its rates in arrays
+ * sorted by date, so that the rate effective at an instant is found by binary search.
+ * <p>
+ * The rate of a pair is its own rate, or else the inverse of the rate of the reverse pair, or else the product of the
+ * rates of the pairs through the pivot currency, each pair taking its latest rate at that instant. This class is not
+ * thread-safe.
+ */
+final class ExchangeRateIndex {
+
+    private final Long pivotCurrencyId;
+
+    private final LongObjectHashMap<LongObjectHashMap<Series>> seriesByBaseCurrencyId = new LongObjectHashMap<>();
+
+    private final LongObjectHashMap<Point> pointsById = new LongObjectHashMap<>();
+
+    /**
+     * @param pivotCurrencyId the id of the currency pairs are triangulated through, {@code null} for none.
+     */
+    ExchangeRateIndex(Long pivotCurrencyId) {
+        this.pivotCurrencyId = pivotCurrencyId;
+    }
+
+    /**
+     * Add a rate, or move it if it changed.
+     *
+     * @param id the id of the rate.
+     * @param baseCurrencyId the id of the currency converted from.
+     * @param targetCurrencyId the id of the currency converted to.
+     * @param rateDate the date the rate is effective from.
+     * @param rate the amount of the target currency for one of the base currency.
+     */
+    void put(long id, long baseCurrencyId, long targetCurrencyId, Instant rateDate, BigDecimal rate) {
+        remove(id);
+        long time = time(rateDate);
+        LongObjectHashMap<Series> seriesByTargetCurrencyId = seriesByBaseCurrencyId.get(baseCurrencyId);
+        if (seriesByTargetCurrencyId == null) {
+            seriesByTargetCurrencyId = new LongObjectHashMap<>();
+            seriesByBaseCurrencyId.put(baseCurrencyId, seriesByTargetCurrencyId);
+        }
+        Series series = seriesByTargetCurrencyId.get(targetCurrencyId);
+        if (series == null) {
+            series = new Series();
+            seriesByTargetCurrencyId.put(targetCurrencyId, series);
+        }
+        series.insert(time, id, rate);
+        pointsById.put(id, new Point(baseCurrencyId, targetCurrencyId, time));
+    }
+
+    /**
+     * Remove a rate.
+     *
+     * @param id the id of the rate.
+     */
+    void remove(long id) {
+        Point point = pointsById.remove(id);
+        if (point != null) {
+            series(point.baseCurrencyId(), point.targetCurrencyId()).remove(point.time(), id);
+        }
+    }
+
+    /**
+     * Get the rate of a pair effective at an instant.
+     *
+     * @param baseCurrencyId the id of the currency converted from.
+     * @param targetCurrencyId the id of the currency converted to.
+     * @param at the instant.
+     * @return the rate, or {@code null} if the pair has none yet at that instant.
+     */
+    Rate rate(long baseCurrencyId, long targetCurrencyId, Instant at) {
+        if (baseCurrencyId == targetCurrencyId) {
+            return new Rate(BigDecimal.ONE, null);
+        }
+        long time = time(at);
+        BigDecimal rate = pairRate(baseCurrencyId, targetCurrencyId, time);
+        if (rate != null) {
+            return new Rate(rate, null);
+        }
+        if (pivotCurrencyId == null || pivotCurrencyId == baseCurrencyId || pivotCurrencyId == targetCurrencyId) {
+            return null;
+        }
+        BigDecimal toPivot = pairRate(baseCurrencyId, pivotCurrencyId, time);
+        BigDecimal fromPivot = toPivot != null ? pairRate(pivotCurrencyId, targetCurrencyId, time) : null;
+        if (fromPivot == null) {
+            return null;
+        }
+        return new Rate(toPivot.multiply(fromPivot, MathContext.DECIMAL64), pivotCurrencyId);
+    }
+
+    int size() {
+        return pointsById.size();
+    }
+
+    private BigDecimal pairRate(long baseCurrencyId, long targetCurrencyId, long time) {
+        Series direct = series(baseCurrencyId, targetCurrencyId);
+        BigDecimal rate = direct != null ? direct.rateAt(time) : null;
+        if (rate != null) {
+            return rate;
+        }
+        Series reverse = series(targetCurrencyId, baseCurrencyId);
+        rate = reverse != null ? reverse.rateAt(time) : null;
+        if (rate == null || rate.signum() == 0) {
+            return null;
+        }
+        return BigDecimal.ONE.divide(rate, MathContext.DECIMAL64);
+    }
+
+    private Series series(long baseCurrencyId, long targetCurrencyId) {
+        LongObjectHashMap<Series> seriesByTargetCurrencyId = seriesByBaseCurrencyId.get(baseCurrencyId);
+        return seriesByTargetCurrencyId != null ? seriesByTargetCurrencyId.get(targetCurrencyId) : null;
+    }
+
+    /**
+     * Microseconds since the epoch, the precision of the database.
+     */
+    private static long time(Instant instant) {
+        return instant.getEpochSecond() * 1_000_000 + instant.getNano() / 1000;
+    }
+
+    /**
+     * A rate found, with the pivot currency it was triangulated through if any.
+     *
+     * @param rate the amount of the target currency for one of the base currency.
+     * @param pivotCurrencyId the id of the pivot currency, {@code null} if not triangulated.
+     */
+    record Rate(BigDecimal rate, Long pivotCurrencyId) {}
+
+    private record Point(long baseCurrencyId, long targetCurrencyId, long time) {}
+
+    /**
+     * The rates of a pair in date then id order, the last one of a date being the one in effect.
+     */
+    private static final class Series {
+
+        private long[] times = new long[4];
+
+        private long[] ids = new long[4];
+
+        private BigDecimal[] rates = new BigDecimal[4];
+
+        private int size;
+
+        void insert(long time, long id, BigDecimal rate) {
+            int index = size;
+            // Rates mostly come in date order: search back from the end
+            while (index > 0 && (times[index - 1] > time || (times[index - 1] == time && ids[index - 1] > id))) {
+                index--;
+            }
+            if (size == times.length) {
+                times = Arrays.copyOf(times, size * 2);
+                ids = Arrays.copyOf(ids, size * 2);
+                rates = Arrays.copyOf(rates, size * 2);
+            }
+            System.arraycopy(times, index, times, index + 1, size - index);
+            System.arraycopy(ids, index, ids, index + 1, size - index);
+            System.arraycopy(rates, index, rates, index + 1, size - index);
+            times[index] = time;
+            ids[index] = id;
+            rates[index] = rate;
+            size++;
+        }
+
+        void remove(long time, long id) {
+            for (int index = after(time) - 1; index >= 0 && times[index] == time; index--) {
+                if (ids[index] == id) {
+                    System.arraycopy(times, index + 1, times, index, size - index - 1);
+                    System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+                    System.arraycopy(rates, index + 1, rates, index, size - index - 1);
+                    rates[--size] = null;
+                    return;
+                }
+            }
+        }
+
+        BigDecimal rateAt(long time) {
+            int index = after(time) - 1;
+            return index >= 0 ? rates[index] : null;
+        }
+
+        /**
+         * Index of the first rate after a time, {@code size} if none.
+         */
+        private int after(long time) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (times[middle] <= time) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+}
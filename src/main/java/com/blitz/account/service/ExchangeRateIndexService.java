@@ -0,0 +1,242 @@
+package com.blitz.account.service;
+
+import com.blitz.account.config.ApplicationProperties;
+import com.blitz.account.domain.Currency;
+import com.blitz.account.domain.ExchangeRate;
+import com.blitz.account.repository.CurrencyRepository;
+import com.blitz.account.repository.ExchangeRateRepository;
+import com.blitz.account.repository.ExchangeRateRepository.ExchangeRatePoint;
+import com.blitz.account.service.dto.ExchangeRateConversionDTO;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Service converting amounts between currencies from an in-memory {@link ExchangeRateIndex}, without touching the
+ * database.
+ * <p>
+ * The index is loaded once the application is ready, or on first use if that comes first, in chunks seeking on the
+ * rate ids, then kept current once transactions commit as rates are saved and deleted. Pairs without rates of their
+ * own, nor of the reverse pair, are triangulated through {@code application.exchange-rate.pivot-currency}. Rates saved
+ * on other nodes are only seen once the index is rebuilt, every {@code application.exchange-rate.index-rebuild-cron}.
+ */
+@Service
+public class ExchangeRateIndexService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ExchangeRateIndexService.class);
+
+    static final int CHUNK_SIZE = 5000;
+
+    private final ExchangeRateRepository exchangeRateRepository;
+
+    private final CurrencyRepository currencyRepository;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private ExchangeRateIndex index;
+
+    private List<Consumer<ExchangeRateIndex>> pending;
+
+    public ExchangeRateIndexService(
+        ExchangeRateRepository exchangeRateRepository,
+        CurrencyRepository currencyRepository,
+        ApplicationProperties applicationProperties
+    ) {
+        this.exchangeRateRepository = exchangeRateRepository;
+        this.currencyRepository = currencyRepository;
+        this.applicationProperties = applicationProperties;
+    }
+
+    /**
+     * Load the index once the application is ready.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        loaded();
+    }
+
+    /**
+     * Rebuild the index from the database, replacing the current one once done.
+     * <p>
+     * This is scheduled every {@code application.exchange-rate.index-rebuild-cron}.
+     */
+    @Scheduled(cron = "${application.exchange-rate.index-rebuild-cron}")
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        pending = new ArrayList<>();
+        lock.writeLock().unlock();
+
+        ExchangeRateIndex rebuilt;
+        try {
+            rebuilt = new ExchangeRateIndex(
+                currencyRepository
+                    .findOneByCode(applicationProperties.getExchangeRate().getPivotCurrency())
+                    .map(Currency::getId)
+                    .orElse(null)
+            );
+            Long afterId = Long.MIN_VALUE;
+            List<ExchangeRatePoint> chunk;
+            do {
+                chunk = exchangeRateRepository.findPointsAfter(afterId, Limit.of(CHUNK_SIZE));
+                for (ExchangeRatePoint point : chunk) {
+                    rebuilt.put(
+                        point.getId(),
+                        point.getBaseCurrencyId(),
+                        point.getTargetCurrencyId(),
+                        point.getRateDate(),
+                        point.getRate()
+                    );
+                    afterId = point.getId();
+                }
+            } while (chunk.size() == CHUNK_SIZE);
+        } catch (RuntimeException e) {
+            LOG.error("Could not rebuild the exchange rate index", e);
+            lock.writeLock().lock();
+            pending = null;
+            lock.writeLock().unlock();
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            pending.forEach(change -> change.accept(rebuilt));
+            pending = null;
+            index = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        LOG.info("Loaded the exchange rate index: {} rates in {} ms", rebuilt.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Add or move a rate in the index, once the current transaction commits.
+     *
+     * @param exchangeRate the saved rate.
+     */
+    public void put(ExchangeRate exchangeRate) {
+        long id = exchangeRate.getId();
+        long baseCurrencyId = exchangeRate.getBaseCurrencyId();
+        long targetCurrencyId = exchangeRate.getTargetCurrencyId();
+        Instant rateDate = exchangeRate.getRateDate();
+        BigDecimal rate = exchangeRate.getRate();
+        afterCommit(() -> update(index -> index.put(id, baseCurrencyId, targetCurrencyId, rateDate, rate)));
+    }
+
+    /**
+     * Remove a rate from the index, once the current transaction commits.
+     *
+     * @param id the id of the deleted rate.
+     */
+    public void remove(Long id) {
+        afterCommit(() -> update(index -> index.remove(id)));
+    }
+
+    /**
+     * Convert an amount at the rate effective at an instant.
+     *
+     * @param baseCurrencyId the id of the currency of the amount.
+     * @param targetCurrencyId the id of the currency to convert to.
+     * @param amount the amount.
+     * @param at the instant.
+     * @return the conversion, or empty if there is no rate between the currencies at that instant.
+     */
+    public Optional<ExchangeRateConversionDTO> convert(Long baseCurrencyId, Long targetCurrencyId, BigDecimal amount, Instant at) {
+        LOG.debug("Request to convert {} from Currency {} to {} at {}", amount, baseCurrencyId, targetCurrencyId, at);
+        ExchangeRateIndex loaded = loaded();
+        ExchangeRateIndex.Rate rate;
+        lock.readLock().lock();
+        try {
+            rate = loaded.rate(baseCurrencyId, targetCurrencyId, at);
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (rate == null) {
+            return Optional.empty();
+        }
+        return Optional.of(
+            new ExchangeRateConversionDTO(
+                baseCurrencyId,
+                targetCurrencyId,
+                at,
+                amount,
+                rate.rate(),
+                amount.multiply(rate.rate()).setScale(2, RoundingMode.HALF_UP),
+                rate.pivotCurrencyId()
+            )
+        );
+    }
+
+    private ExchangeRateIndex loaded() {
+        lock.readLock().lock();
+        try {
+            if (index != null) {
+                return index;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        synchronized (this) {
+            if (index == null) {
+                rebuild();
+            }
+        }
+        lock.readLock().lock();
+        try {
+            if (index == null) {
+                throw new IllegalStateException("The exchange rate index could not be loaded");
+            }
+            return index;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void update(Consumer<ExchangeRateIndex> change) {
+        lock.writeLock().lock();
+        try {
+            if (index != null) {
+                change.accept(index);
+            }
+            if (pending != null) {
+                pending.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            }
+        );
+    }
+}
@@ -12,6 +12,8 @@ import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Service Implementation for managing {@link com.blitz.account.domain.ExchangeRate}.
+ * <p>
+ * Every change is applied to the index of {@link ExchangeRateIndexService} once it commits.
  */
 @Service
 @Transactional
@@ -21,8 +23,11 @@ public class ExchangeRateService {
 
     private final ExchangeRateRepository exchangeRateRepository;
 
-    public ExchangeRateService(ExchangeRateRepository exchangeRateRepository) {
+    private final ExchangeRateIndexService exchangeRateIndexService;
+
+    public ExchangeRateService(ExchangeRateRepository exchangeRateRepository, ExchangeRateIndexService exchangeRateIndexService) {
         this.exchangeRateRepository = exchangeRateRepository;
+        this.exchangeRateIndexService = exchangeRateIndexService;
     }
 
     /**
@@ -33,7 +38,9 @@ public class ExchangeRateService {
      */
     public ExchangeRate save(ExchangeRate exchangeRate) {
         LOG.debug("Request to save ExchangeRate : {}", exchangeRate);
-        return exchangeRateRepository.save(exchangeRate);
+        ExchangeRate result = exchangeRateRepository.save(exchangeRate);
+        exchangeRateIndexService.put(result);
+        return result;
     }
 
     /**
@@ -44,7 +51,9 @@ public class ExchangeRateService {
      */
     public ExchangeRate update(ExchangeRate exchangeRate) {
         LOG.debug("Request to update ExchangeRate : {}", exchangeRate);
-        return exchangeRateRepository.save(exchangeRate);
+        ExchangeRate result = exchangeRateRepository.save(exchangeRate);
+        exchangeRateIndexService.put(result);
+        return result;
     }
 
     /**
@@ -74,7 +83,11 @@ public class ExchangeRateService {
 
                 return existingExchangeRate;
             })
-            .map(exchangeRateRepository::save);
+            .map(exchangeRateRepository::save)
+            .map(result -> {
+                exchangeRateIndexService.put(result);
+                return result;
+            });
     }
 
     /**
@@ -109,5 +122,6 @@ public class ExchangeRateService {
     public void delete(Long id) {
         LOG.debug("Request to delete ExchangeRate : {}", id);
         exchangeRateRepository.deleteById(id);
+        exchangeRateIndexService.remove(id);
     }
 }
@@ -0,0 +1,316 @@
+package com.blitz.account.service;
+
+import com.blitz.account.domain.ChartOfAccount;
+import com.blitz.account.domain.enumeration.AccountType;
+import com.blitz.account.repository.ChartOfAccountRepository;
+import com.blitz.account.service.LedgerMovementEvent.Movement;
+import com.blitz.account.service.dto.FinancialStatementDTO;
+import com.blitz.account.service.dto.FinancialStatementLineDTO;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Service producing the profit and loss statement and the balance sheet from the balances of the
+ * {@link ChartOfAccount}s.
+ * <p>
+ * Both statements are derived from the net debit of every account before a day: the profit and loss of a period is
+ * the difference between the net debits before its first day and after its last day, a balance sheet is the net debit
+ * after its day. These are read from the closed period snapshots and cached per day, so comparative periods and
+ * dashboard refreshes reuse them. Once a posting commits, only the days after its journal date are dropped from the
+ * cache, whether its period is closed or not.
+ * <p>
+ * Each eviction is numbered, and records its number against the journal date it evicts after. The net debits before a
+ * day are only cached if no eviction covering that day happened since they started to be read, as they may have been
+ * read before the posting committed.
+ * <p>
+ * Accounts are nested by code: an account rolls up every account of the same type whose code starts with its own
+ * code stripped of its trailing zeros, {@code 4000} heading {@code 4100} which heads {@code 4110}.
+ */
+@Service
+public class FinancialStatementService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FinancialStatementService.class);
+
+    public static final String NET_DEBIT_BY_ACCOUNT_CACHE = "financialStatementNetDebitByAccount";
+
+    private static final Set<AccountType> PROFIT_AND_LOSS = EnumSet.of(AccountType.INCOME, AccountType.EXPENSE);
+
+    private static final Set<AccountType> BALANCE_SHEET = EnumSet.of(AccountType.ASSET, AccountType.LIABILITY, AccountType.EQUITY);
+
+    private final ChartOfAccountRepository chartOfAccountRepository;
+
+    private final AccountBalanceSnapshotService accountBalanceSnapshotService;
+
+    private final CacheManager cacheManager;
+
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * The number of the last eviction after each journal date.
+     */
+    private final ConcurrentSkipListMap<Instant, Long> evictionsAfter = new ConcurrentSkipListMap<>();
+
+    public FinancialStatementService(
+        ChartOfAccountRepository chartOfAccountRepository,
+        AccountBalanceSnapshotService accountBalanceSnapshotService,
+        CacheManager cacheManager
+    ) {
+        this.chartOfAccountRepository = chartOfAccountRepository;
+        this.accountBalanceSnapshotService = accountBalanceSnapshotService;
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Produce the profit and loss statement of a period, the balance of each income and expense account being its
+     * movement within the period.
+     *
+     * @param from the first day of the period, inclusive.
+     * @param to the last day of the period, inclusive.
+     * @param comparativeFrom the first day of the period to compare with, inclusive, {@code null} for none.
+     * @param comparativeTo the last day of the period to compare with, inclusive, {@code null} for none.
+     * @return the statement.
+     */
+    public FinancialStatementDTO profitAndLoss(LocalDate from, LocalDate to, LocalDate comparativeFrom, LocalDate comparativeTo) {
+        LOG.debug("Request to get the profit and loss from {} to {} compared with {} to {}", from, to, comparativeFrom, comparativeTo);
+        boolean comparative = comparativeFrom != null && comparativeTo != null;
+        FinancialStatementDTO statement = statement(
+            PROFIT_AND_LOSS,
+            movementBetween(from, to),
+            comparative ? movementBetween(comparativeFrom, comparativeTo) : null
+        );
+        statement.setFrom(from);
+        statement.setTo(to);
+        if (comparative) {
+            statement.setComparativeFrom(comparativeFrom);
+            statement.setComparativeTo(comparativeTo);
+        }
+        return statement;
+    }
+
+    /**
+     * Produce the balance sheet at the end of a day.
+     *
+     * @param asOf the day, inclusive.
+     * @param comparativeAsOf the day to compare with, inclusive, {@code null} for none.
+     * @return the statement.
+     */
+    public FinancialStatementDTO balanceSheet(LocalDate asOf, LocalDate comparativeAsOf) {
+        LOG.debug("Request to get the balance sheet as of {} compared with {}", asOf, comparativeAsOf);
+        FinancialStatementDTO statement = statement(
+            BALANCE_SHEET,
+            balanceAsOf(asOf),
+            comparativeAsOf != null ? balanceAsOf(comparativeAsOf) : null
+        );
+        statement.setTo(asOf);
+        statement.setComparativeTo(comparativeAsOf);
+        return statement;
+    }
+
+    /**
+     * Drop the cached net debits a committed posting changed, those of the days after its earliest journal date.
+     *
+     * @param event the movements of the posting.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLedgerMovement(LedgerMovementEvent event) {
+        event
+            .movements()
+            .stream()
+            .filter(movement -> movement.journalLines() != 0 && movement.date() != null)
+            .map(Movement::date)
+            .min(Comparator.naturalOrder())
+            .ifPresent(this::evictAfter);
+    }
+
+    private Function<ChartOfAccount, BigDecimal> movementBetween(LocalDate from, LocalDate to) {
+        Map<Long, BigDecimal> opening = netDebitByAccountBefore(from);
+        Map<Long, BigDecimal> closing = netDebitByAccountBefore(to.plusDays(1));
+        return account -> {
+            BigDecimal netDebit = closing
+                .getOrDefault(account.getId(), BigDecimal.ZERO)
+                .subtract(opening.getOrDefault(account.getId(), BigDecimal.ZERO));
+            return AccountBalanceService.isDebitNormal(account.getAccountType()) ? netDebit : netDebit.negate();
+        };
+    }
+
+    private Function<ChartOfAccount, BigDecimal> balanceAsOf(LocalDate asOf) {
+        Map<Long, BigDecimal> closing = netDebitByAccountBefore(asOf.plusDays(1));
+        return account -> AccountBalanceService.balanceOf(account, closing.getOrDefault(account.getId(), BigDecimal.ZERO));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, BigDecimal> netDebitByAccountBefore(LocalDate day) {
+        Instant before = day.atStartOfDay(ZoneOffset.UTC).toInstant();
+        Cache cache = netDebitCache();
+        Map<Long, BigDecimal> cached = cache.get(before, Map.class);
+        if (cached != null) {
+            return cached;
+        }
+        long started = evictions.get();
+        Map<Long, BigDecimal> netDebits = Collections.unmodifiableMap(accountBalanceSnapshotService.findNetDebitByAccountBefore(before));
+        synchronized (evictionsAfter) {
+            if (!isEvictedSince(before, started)) {
+                cache.put(before, netDebits);
+            }
+        }
+        return netDebits;
+    }
+
+    /**
+     * Tell whether the net debits before a day were evicted after the given eviction, checked while no eviction runs.
+     */
+    private boolean isEvictedSince(Instant before, long started) {
+        return evictionsAfter.headMap(before).values().stream().anyMatch(eviction -> eviction > started);
+    }
+
+    /**
+     * Roll the balances of the accounts of the given types up their code hierarchy, in a single pass over the accounts
+     * ordered by type and code: the accounts that may still have nested accounts are kept on a stack, and each one
+     * is added to its parent as soon as an account outside of it is reached.
+     */
+    private FinancialStatementDTO statement(
+        Set<AccountType> types,
+        Function<ChartOfAccount, BigDecimal> balance,
+        Function<ChartOfAccount, BigDecimal> comparativeBalance
+    ) {
+        List<ChartOfAccount> accounts = new ArrayList<>(chartOfAccountRepository.findAll(Sort.by("code", "id")));
+        accounts.sort(Comparator.comparing(ChartOfAccount::getAccountType));
+
+        FinancialStatementDTO statement = new FinancialStatementDTO();
+        Map<AccountType, BigDecimal> totals = new EnumMap<>(AccountType.class);
+        Map<AccountType, BigDecimal> comparativeTotals = comparativeBalance != null ? new EnumMap<>(AccountType.class) : null;
+        types.forEach(type -> {
+            totals.put(type, BigDecimal.ZERO);
+            if (comparativeTotals != null) {
+                comparativeTotals.put(type, BigDecimal.ZERO);
+            }
+        });
+        BigDecimal netIncome = BigDecimal.ZERO;
+        BigDecimal comparativeNetIncome = BigDecimal.ZERO;
+
+        Deque<FinancialStatementLineDTO> parents = new ArrayDeque<>();
+        for (ChartOfAccount account : accounts) {
+            BigDecimal ownBalance = balance.apply(account);
+            BigDecimal ownComparativeBalance = comparativeBalance != null ? comparativeBalance.apply(account) : null;
+            if (PROFIT_AND_LOSS.contains(account.getAccountType())) {
+                netIncome = addNetIncome(netIncome, account.getAccountType(), ownBalance);
+                if (ownComparativeBalance != null) {
+                    comparativeNetIncome = addNetIncome(comparativeNetIncome, account.getAccountType(), ownComparativeBalance);
+                }
+            }
+            if (!types.contains(account.getAccountType())) {
+                continue;
+            }
+
+            while (!parents.isEmpty() && !isNested(account, parents.peek())) {
+                closeParent(parents);
+            }
+            FinancialStatementLineDTO line = new FinancialStatementLineDTO(
+                account.getId(),
+                parents.isEmpty() ? null : parents.peek().getAccountId(),
+                account.getCode(),
+                account.getName(),
+                account.getAccountType(),
+                parents.size(),
+                ownBalance,
+                ownComparativeBalance
+            );
+            statement.getLines().add(line);
+            parents.push(line);
+            totals.merge(account.getAccountType(), ownBalance, BigDecimal::add);
+            if (comparativeTotals != null) {
+                comparativeTotals.merge(account.getAccountType(), ownComparativeBalance, BigDecimal::add);
+            }
+        }
+        while (!parents.isEmpty()) {
+            closeParent(parents);
+        }
+
+        statement.setTotals(totals);
+        statement.setNetIncome(netIncome);
+        if (comparativeTotals != null) {
+            statement.setComparativeTotals(comparativeTotals);
+            statement.setComparativeNetIncome(comparativeNetIncome);
+        }
+        return statement;
+    }
+
+    private static boolean isNested(ChartOfAccount account, FinancialStatementLineDTO parent) {
+        return (
+            account.getAccountType() == parent.getAccountType() &&
+            !account.getCode().equals(parent.getCode()) &&
+            account.getCode().startsWith(headingPrefix(parent.getCode()))
+        );
+    }
+
+    private static String headingPrefix(String code) {
+        int end = code.length();
+        while (end > 1 && code.charAt(end - 1) == '0') {
+            end--;
+        }
+        return code.substring(0, end);
+    }
+
+    private static void closeParent(Deque<FinancialStatementLineDTO> parents) {
+        FinancialStatementLineDTO closed = parents.pop();
+        FinancialStatementLineDTO parent = parents.peek();
+        if (parent != null) {
+            parent.setBalance(parent.getBalance().add(closed.getBalance()));
+            if (parent.getComparativeBalance() != null) {
+                parent.setComparativeBalance(parent.getComparativeBalance().add(closed.getComparativeBalance()));
+            }
+        }
+    }
+
+    private static BigDecimal addNetIncome(BigDecimal netIncome, AccountType accountType, BigDecimal balance) {
+        return accountType == AccountType.INCOME ? netIncome.add(balance) : netIncome.subtract(balance);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void evictAfter(Instant date) {
+        Cache cache = netDebitCache();
+        synchronized (evictionsAfter) {
+            evictionsAfter.put(date, evictions.incrementAndGet());
+            if (!(cache.getNativeCache() instanceof javax.cache.Cache<?, ?>)) {
+                cache.clear();
+                return;
+            }
+            javax.cache.Cache<Object, Object> entries = (javax.cache.Cache<Object, Object>) cache.getNativeCache();
+            Set<Object> stale = new HashSet<>();
+            entries.forEach(entry -> {
+                if (((Instant) entry.getKey()).isAfter(date)) {
+                    stale.add(entry.getKey());
+                }
+            });
+            entries.removeAll(stale);
+        }
+    }
+
+    private Cache netDebitCache() {
+        return Objects.requireNonNull(cacheManager.getCache(NET_DEBIT_BY_ACCOUNT_CACHE));
+    }
+}
@@ -23,8 +23,11 @@ public class FleetTripService {
 
     private final FleetTripRepository fleetTripRepository;
 
-    public FleetTripService(FleetTripRepository fleetTripRepository) {
+    private final PageCountCache pageCountCache;
+
+    public FleetTripService(FleetTripRepository fleetTripRepository, PageCountCache pageCountCache) {
         this.fleetTripRepository = fleetTripRepository;
+        this.pageCountCache = pageCountCache;
     }
 
     /**
@@ -35,6 +38,7 @@ public class FleetTripService {
      */
     public FleetTrip save(FleetTrip fleetTrip) {
         LOG.debug("Request to save FleetTrip : {}", fleetTrip);
+        pageCountCache.evict(FleetTrip.class);
         return fleetTripRepository.save(fleetTrip);
     }
 
@@ -46,6 +50,7 @@ public class FleetTripService {
      */
     public FleetTrip update(FleetTrip fleetTrip) {
         LOG.debug("Request to update FleetTrip : {}", fleetTrip);
+        pageCountCache.evict(FleetTrip.class);
         return fleetTripRepository.save(fleetTrip);
     }
 
@@ -57,6 +62,7 @@ public class FleetTripService {
      */
     public Optional<FleetTrip> partialUpdate(FleetTrip fleetTrip) {
         LOG.debug("Request to partially update FleetTrip : {}", fleetTrip);
+        pageCountCache.evict(FleetTrip.class);
 
         return fleetTripRepository
             .findById(fleetTrip.getId())
@@ -119,6 +125,7 @@ public class FleetTripService {
      */
     public void delete(Long id) {
         LOG.debug("Request to delete FleetTrip : {}", id);
+        pageCountCache.evict(FleetTrip.class);
         fleetTripRepository.deleteById(id);
     }
 
@@ -0,0 +1,50 @@
+package com.blitz.account.service;
+
+import com.blitz.account.domain.Invoice;
+import com.blitz.account.domain.enumeration.PaymentStatus;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Event published when an {@link Invoice} is created, changed or deleted, listeners receive it once the database
+ * transaction commits.
+ *
+ * @param invoiceId the id of the invoice.
+ * @param version the version of the invoice once changed, one more than its last version once deleted, so that a
+ * listener can tell the changes a read of the invoices already holds.
+ * @param before the invoice before the change, {@code null} if it was created.
+ * @param after the invoice after the change, {@code null} if it was deleted.
+ */
+public record InvoiceChangedEvent(Long invoiceId, Long version, State before, State after) {
+    /**
+     * @param before the invoice before the change, {@code null} if it was created.
+     * @param invoice the invoice once changed and flushed, so that its version is the one the change left it at.
+     * @return the event of the change.
+     */
+    public static InvoiceChangedEvent changed(State before, Invoice invoice) {
+        return new InvoiceChangedEvent(invoice.getId(), invoice.getVersion(), before, State.of(invoice));
+    }
+
+    /**
+     * @param invoice the invoice about to be deleted.
+     * @return the event of the deletion.
+     */
+    public static InvoiceChangedEvent deleted(Invoice invoice) {
+        Long version = invoice.getVersion() != null ? invoice.getVersion() + 1 : null;
+        return new InvoiceChangedEvent(invoice.getId(), version, State.of(invoice), null);
+    }
+
+    /**
+     * The fields of an invoice its statistics depend on.
+     *
+     * @param paymentStatus the payment status.
+     * @param dueDate the due date, {@code null} if none.
+     * @param totalAmount the total amount.
+     * @param paidAmount the paid amount, {@code null} if none.
+     */
+    public record State(PaymentStatus paymentStatus, Instant dueDate, BigDecimal totalAmount, BigDecimal paidAmount) {
+        public static State of(Invoice invoice) {
+            return new State(invoice.getPaymentStatus(), invoice.getDueDate(), invoice.getTotalAmount(), invoice.getPaidAmount());
+        }
+    }
+}
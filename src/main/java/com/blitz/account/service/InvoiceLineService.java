@@ -2,6 +2,7 @@ package com.blitz.account.service;
 
 import com.blitz.account.domain.InvoiceLine;
 import com.blitz.account.repository.InvoiceLineRepository;
+import com.blitz.account.service.InvoiceTotalsService.Line;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,6 +13,8 @@ import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Service Implementation for managing {@link com.blitz.account.domain.InvoiceLine}.
+ * <p>
+ * Every change moves the total of the invoices of the line through the {@link InvoiceTotalsService}.
  */
 @Service
 @Transactional
@@ -21,8 +24,11 @@ public class InvoiceLineService {
 
     private final InvoiceLineRepository invoiceLineRepository;
 
-    public InvoiceLineService(InvoiceLineRepository invoiceLineRepository) {
+    private final InvoiceTotalsService invoiceTotalsService;
+
+    public InvoiceLineService(InvoiceLineRepository invoiceLineRepository, InvoiceTotalsService invoiceTotalsService) {
         this.invoiceLineRepository = invoiceLineRepository;
+        this.invoiceTotalsService = invoiceTotalsService;
     }
 
     /**
@@ -33,7 +39,9 @@ public class InvoiceLineService {
      */
     public InvoiceLine save(InvoiceLine invoiceLine) {
         LOG.debug("Request to save InvoiceLine : {}", invoiceLine);
-        return invoiceLineRepository.save(invoiceLine);
+        InvoiceLine result = invoiceLineRepository.save(invoiceLine);
+        invoiceTotalsService.lineChanged(null, Line.of(result));
+        return result;
     }
 
     /**
@@ -44,7 +52,10 @@ public class InvoiceLineService {
      */
     public InvoiceLine update(InvoiceLine invoiceLine) {
         LOG.debug("Request to update InvoiceLine : {}", invoiceLine);
-        return invoiceLineRepository.save(invoiceLine);
+        Line before = invoiceLineRepository.findById(invoiceLine.getId()).map(Line::of).orElse(null);
+        InvoiceLine result = invoiceLineRepository.save(invoiceLine);
+        invoiceTotalsService.lineChanged(before, Line.of(result));
+        return result;
     }
 
     /**
@@ -59,6 +70,7 @@ public class InvoiceLineService {
         return invoiceLineRepository
             .findById(invoiceLine.getId())
             .map(existingInvoiceLine -> {
+                Line before = Line.of(existingInvoiceLine);
                 if (invoiceLine.getInvoiceId() != null) {
                     existingInvoiceLine.setInvoiceId(invoiceLine.getInvoiceId());
                 }
@@ -75,9 +87,10 @@ public class InvoiceLineService {
                     existingInvoiceLine.setVatRateId(invoiceLine.getVatRateId());
                 }
 
-                return existingInvoiceLine;
-            })
-            .map(invoiceLineRepository::save);
+                InvoiceLine result = invoiceLineRepository.save(existingInvoiceLine);
+                invoiceTotalsService.lineChanged(before, Line.of(result));
+                return result;
+            });
     }
 
     /**
@@ -111,6 +124,12 @@ public class InvoiceLineService {
      */
     public void delete(Long id) {
         LOG.debug("Request to delete InvoiceLine : {}", id);
-        invoiceLineRepository.deleteById(id);
+        invoiceLineRepository
+            .findById(id)
+            .ifPresent(invoiceLine -> {
+                Line before = Line.of(invoiceLine);
+                invoiceLineRepository.delete(invoiceLine);
+                invoiceTotalsService.lineChanged(before, null);
+            });
     }
 }
@@ -0,0 +1,262 @@
+package com.blitz.account.service;
+
+import com.blitz.account.config.ApplicationProperties;
+import com.blitz.account.domain.InvoiceNumberBlock;
+import com.blitz.account.domain.InvoiceNumberSeries;
+import com.blitz.account.repository.InvoiceNumberBlockRepository;
+import com.blitz.account.repository.InvoiceNumberSeriesRepository;
+import jakarta.annotation.PreDestroy;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service allocating the legal numbers of the {@link com.blitz.account.domain.Invoice}s, sequential per series and year
+ * of issue.
+ * <p>
+ * Numbers are reserved in blocks of {@code application.invoice.number-block-size} by moving the
+ * {@link InvoiceNumberSeries} counter forward in a short transaction of its own, then handed out from memory without
+ * locking. A number allocated within a transaction that rolls back is handed out again, and the numbers left unused at
+ * shutdown are given back to the counter, or saved as an {@link InvoiceNumberBlock} that is handed out before the counter
+ * moves again when other blocks were reserved since. Numbers are no longer allocated once the release has started. The
+ * numbers of a series therefore have no gaps, but with several nodes they are not in the order of issue. A node that
+ * stops without shutting down loses the rest of its blocks.
+ */
+@Service
+public class InvoiceNumberAllocator {
+
+    private static final Logger LOG = LoggerFactory.getLogger(InvoiceNumberAllocator.class);
+
+    private record SeriesYear(String series, int year) {}
+
+    private record Block(AtomicLong nextNumber, long endNumber) {
+        Block(long firstNumber, long endNumber) {
+            this(new AtomicLong(firstNumber), endNumber);
+        }
+    }
+
+    private static final class Numbers {
+
+        private volatile Block block;
+
+        private final ConcurrentSkipListSet<Long> returned = new ConcurrentSkipListSet<>();
+    }
+
+    private final ConcurrentMap<SeriesYear, Numbers> numbers = new ConcurrentHashMap<>();
+
+    /**
+     * Shared by the allocations and the numbers given back, exclusive to the release.
+     */
+    private final ReadWriteLock releaseLock = new ReentrantReadWriteLock();
+
+    private boolean released;
+
+    private final InvoiceNumberSeriesRepository invoiceNumberSeriesRepository;
+
+    private final InvoiceNumberBlockRepository invoiceNumberBlockRepository;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public InvoiceNumberAllocator(
+        InvoiceNumberSeriesRepository invoiceNumberSeriesRepository,
+        InvoiceNumberBlockRepository invoiceNumberBlockRepository,
+        ApplicationProperties applicationProperties,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.invoiceNumberSeriesRepository = invoiceNumberSeriesRepository;
+        this.invoiceNumberBlockRepository = invoiceNumberBlockRepository;
+        this.applicationProperties = applicationProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Allocate the next number of {@code application.invoice.number-series} for an invoice issued at a date.
+     * <p>
+     * Within a transaction, the number is handed out again if the transaction does not commit.
+     *
+     * @param issueDate the issue date of the invoice, whose UTC year numbers the invoice.
+     * @return the number, formatted as {@code <series>-<year>-<number>}.
+     */
+    public String allocate(Instant issueDate) {
+        String series = applicationProperties.getInvoice().getNumberSeries();
+        int year = issueDate.atZone(ZoneOffset.UTC).getYear();
+        long number = allocate(series, year);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        if (status != STATUS_COMMITTED) {
+                            giveBack(series, year, number);
+                        }
+                    }
+                }
+            );
+        }
+        return String.format("%s-%d-%06d", series, year, number);
+    }
+
+    long allocate(String series, int year) {
+        releaseLock.readLock().lock();
+        try {
+            if (released) {
+                throw new IllegalStateException("Invoice numbers are released, the application is shutting down");
+            }
+            return allocateNumber(series, year);
+        } finally {
+            releaseLock.readLock().unlock();
+        }
+    }
+
+    private long allocateNumber(String series, int year) {
+        Numbers seriesNumbers = numbers.computeIfAbsent(new SeriesYear(series, year), key -> new Numbers());
+        Long returned = seriesNumbers.returned.pollFirst();
+        if (returned != null) {
+            return returned;
+        }
+        while (true) {
+            Block block = seriesNumbers.block;
+            if (block != null) {
+                long number = block.nextNumber().getAndIncrement();
+                if (number < block.endNumber()) {
+                    return number;
+                }
+            }
+            synchronized (seriesNumbers) {
+                if (seriesNumbers.block == block) {
+                    seriesNumbers.block = reserve(series, year);
+                }
+            }
+        }
+    }
+
+    void giveBack(String series, int year, long number) {
+        LOG.debug("Request to give back Invoice number {} of series {} {}", number, series, year);
+        releaseLock.readLock().lock();
+        try {
+            if (!released) {
+                numbers.computeIfAbsent(new SeriesYear(series, year), key -> new Numbers()).returned.add(number);
+                return;
+            }
+        } finally {
+            releaseLock.readLock().unlock();
+        }
+        release(new SeriesYear(series, year), List.of(new long[] { number, number + 1 }));
+    }
+
+    /**
+     * Release the numbers reserved and not handed out, when the application shuts down.
+     */
+    @PreDestroy
+    public void release() {
+        Map<SeriesYear, List<Long>> unusedBySeriesYear = new HashMap<>();
+        releaseLock.writeLock().lock();
+        try {
+            released = true;
+            numbers.forEach((seriesYear, seriesNumbers) -> {
+                List<Long> unused = new ArrayList<>(seriesNumbers.returned);
+                seriesNumbers.returned.clear();
+                Block block = seriesNumbers.block;
+                if (block != null) {
+                    long firstNumber = block.nextNumber().getAndSet(block.endNumber());
+                    for (long number = firstNumber; number < block.endNumber(); number++) {
+                        unused.add(number);
+                    }
+                }
+                if (!unused.isEmpty()) {
+                    unusedBySeriesYear.put(seriesYear, unused);
+                }
+            });
+        } finally {
+            releaseLock.writeLock().unlock();
+        }
+        unusedBySeriesYear.forEach((seriesYear, unused) -> release(seriesYear, ranges(unused)));
+    }
+
+    private Block reserve(String series, int year) {
+        int size = applicationProperties.getInvoice().getNumberBlockSize();
+        Block block;
+        try {
+            block = transactionTemplate.execute(status -> reserveBlock(series, year, size));
+        } catch (DataIntegrityViolationException e) {
+            // The series was created concurrently by another node
+            block = transactionTemplate.execute(status -> reserveBlock(series, year, size));
+        }
+        Objects.requireNonNull(block);
+        LOG.debug("Reserved Invoice numbers {} to {} of series {} {}", block.nextNumber(), block.endNumber() - 1, series, year);
+        return block;
+    }
+
+    private Block reserveBlock(String series, Integer year, int size) {
+        Optional<InvoiceNumberBlock> releasedBlock = invoiceNumberBlockRepository.findFirstBySeriesAndYearOrderByFirstNumberAsc(
+            series,
+            year
+        );
+        if (releasedBlock.isPresent() && invoiceNumberBlockRepository.claim(releasedBlock.get().getId()) == 1) {
+            return new Block(releasedBlock.get().getFirstNumber(), releasedBlock.get().getEndNumber());
+        }
+        if (invoiceNumberSeriesRepository.reserve(series, year, size) == 0) {
+            invoiceNumberSeriesRepository.saveAndFlush(new InvoiceNumberSeries().series(series).year(year).nextNumber(1L + size));
+            return new Block(1L, 1L + size);
+        }
+        long endNumber = invoiceNumberSeriesRepository.findNextNumber(series, year).orElseThrow();
+        return new Block(endNumber - size, endNumber);
+    }
+
+    private void release(SeriesYear seriesYear, List<long[]> ranges) {
+        LOG.info("Releasing {} unused ranges of Invoice numbers of series {} {}", ranges.size(), seriesYear.series(), seriesYear.year());
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = ranges.size() - 1; i >= 0; i--) {
+                long[] range = ranges.get(i);
+                if (invoiceNumberSeriesRepository.release(seriesYear.series(), seriesYear.year(), range[0], range[1]) == 0) {
+                    invoiceNumberBlockRepository.save(
+                        new InvoiceNumberBlock()
+                            .series(seriesYear.series())
+                            .year(seriesYear.year())
+                            .firstNumber(range[0])
+                            .endNumber(range[1])
+                    );
+                }
+            }
+        });
+    }
+
+    /**
+     * Coalesce numbers into ascending ranges of consecutive numbers, from the first included to the end excluded.
+     */
+    private static List<long[]> ranges(List<Long> numbers) {
+        List<long[]> ranges = new ArrayList<>();
+        numbers.stream().sorted().distinct().forEach(number -> {
+            long[] last = ranges.isEmpty() ? null : ranges.get(ranges.size() - 1);
+            if (last != null && last[1] == number) {
+                last[1] = number + 1;
+            } else {
+                ranges.add(new long[] { number, number + 1 });
+            }
+        });
+        return ranges;
+    }
+}
@@ -1,19 +1,34 @@
 package com.blitz.account.service;
 
 import com.blitz.account.domain.Invoice;
-import com.blitz.account.domain.enumeration.PaymentStatus;
+import com.blitz.account.domain.InvoiceLine;
+import com.blitz.account.repository.InvoiceLineRepository;
 import com.blitz.account.repository.InvoiceRepository;
-import com.blitz.account.service.dto.InvoiceStatsDTO;
-import java.math.BigDecimal;
-import java.time.Instant;
+import com.blitz.account.service.InvoiceChangedEvent.State;
+import com.blitz.account.service.dto.DocumentLineDTO;
+import com.blitz.account.service.dto.InvoiceWithLinesDTO;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Service Implementation for managing {@link com.blitz.account.domain.Invoice}.
+ * <p>
+ * Every change publishes an {@link InvoiceChangedEvent}. The total amount of an invoice with lines is derived from its
+ * lines by the {@link InvoiceTotalsService}, whatever total it is updated with. The quote an invoice was converted from and
+ * the date it is overdue since are maintained by the {@link QuoteConversionService} and the {@link OverdueInvoiceService},
+ * whatever they are saved with, and the number of an invoice is allocated once when it is created by the
+ * {@link InvoiceNumberAllocator}.
  */
 @Service
 @Transactional
@@ -23,8 +38,26 @@ public class InvoiceService {
 
     private final InvoiceRepository invoiceRepository;
 
-    public InvoiceService(InvoiceRepository invoiceRepository) {
+    private final InvoiceLineRepository invoiceLineRepository;
+
+    private final InvoiceTotalsService invoiceTotalsService;
+
+    private final InvoiceNumberAllocator invoiceNumberAllocator;
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    public InvoiceService(
+        InvoiceRepository invoiceRepository,
+        InvoiceLineRepository invoiceLineRepository,
+        InvoiceTotalsService invoiceTotalsService,
+        InvoiceNumberAllocator invoiceNumberAllocator,
+        ApplicationEventPublisher applicationEventPublisher
+    ) {
         this.invoiceRepository = invoiceRepository;
+        this.invoiceLineRepository = invoiceLineRepository;
+        this.invoiceTotalsService = invoiceTotalsService;
+        this.invoiceNumberAllocator = invoiceNumberAllocator;
+        this.applicationEventPublisher = applicationEventPublisher;
     }
 
     /**
@@ -35,25 +68,44 @@ public class InvoiceService {
      */
     public Invoice save(Invoice invoice) {
         LOG.debug("Request to save Invoice : {}", invoice);
-        return invoiceRepository.save(invoice);
+        invoice.setOverdueSince(null);
+        invoice.setQuoteId(null);
+        invoice.setInvoiceNumber(invoiceNumberAllocator.allocate(invoice.getIssueDate()));
+        Invoice result = invoiceRepository.save(invoice);
+        applicationEventPublisher.publishEvent(InvoiceChangedEvent.changed(null, result));
+        return result;
     }
 
     /**
      * Update a invoice.
+     * <p>
+     * The update is rejected if the invoice was modified since the version it carries was read.
      *
      * @param invoice the entity to save.
      * @return the persisted entity.
+     * @throws ObjectOptimisticLockingFailureException if the invoice was modified concurrently.
      */
     public Invoice update(Invoice invoice) {
         LOG.debug("Request to update Invoice : {}", invoice);
-        return invoiceRepository.save(invoice);
+        Optional<Invoice> existingInvoice = invoiceRepository.findById(invoice.getId());
+        State before = existingInvoice.map(State::of).orElse(null);
+        invoice.setOverdueSince(existingInvoice.map(Invoice::getOverdueSince).orElse(null));
+        invoice.setQuoteId(existingInvoice.map(Invoice::getQuoteId).orElse(null));
+        invoice.setInvoiceNumber(existingInvoice.map(Invoice::getInvoiceNumber).orElse(null));
+        invoiceTotalsService.totalOf(invoice.getId(), invoice.getVatRateId()).ifPresent(invoice::setTotalAmount);
+        Invoice result = invoiceRepository.saveAndFlush(invoice);
+        applicationEventPublisher.publishEvent(InvoiceChangedEvent.changed(before, result));
+        return result;
     }
 
     /**
      * Partially update a invoice.
+     * <p>
+     * The update is rejected if the invoice carries a version and was modified since it was read.
      *
      * @param invoice the entity to update partially.
      * @return the persisted entity.
+     * @throws ObjectOptimisticLockingFailureException if the invoice was modified concurrently.
      */
     public Optional<Invoice> partialUpdate(Invoice invoice) {
         LOG.debug("Request to partially update Invoice : {}", invoice);
@@ -61,6 +113,10 @@ public class InvoiceService {
         return invoiceRepository
             .findById(invoice.getId())
             .map(existingInvoice -> {
+                if (invoice.getVersion() != null && !invoice.getVersion().equals(existingInvoice.getVersion())) {
+                    throw new ObjectOptimisticLockingFailureException(Invoice.class, invoice.getId());
+                }
+                State before = State.of(existingInvoice);
                 if (invoice.getClientName() != null) {
                     existingInvoice.setClientName(invoice.getClientName());
                 }
@@ -88,10 +144,14 @@ public class InvoiceService {
                 if (invoice.getPaymentStatus() != null) {
                     existingInvoice.setPaymentStatus(invoice.getPaymentStatus());
                 }
+                invoiceTotalsService
+                    .totalOf(existingInvoice.getId(), existingInvoice.getVatRateId())
+                    .ifPresent(existingInvoice::setTotalAmount);
 
-                return existingInvoice;
-            })
-            .map(invoiceRepository::save);
+                Invoice result = invoiceRepository.saveAndFlush(existingInvoice);
+                applicationEventPublisher.publishEvent(InvoiceChangedEvent.changed(before, result));
+                return result;
+            });
     }
 
     /**
@@ -106,26 +166,75 @@ public class InvoiceService {
         return invoiceRepository.findById(id);
     }
 
+    /**
+     * Attach their lines to a page of invoices, the lines of the whole page being read at once.
+     *
+     * @param page the page of invoices.
+     * @return the page of invoices with their lines.
+     */
+    @Transactional(readOnly = true)
+    public Page<InvoiceWithLinesDTO> withLines(Page<Invoice> page) {
+        return page.map(withLinesOf(page));
+    }
+
+    /**
+     * Attach their lines to a slice of invoices, the lines of the whole slice being read at once.
+     *
+     * @param slice the slice of invoices.
+     * @return the slice of invoices with their lines.
+     */
+    @Transactional(readOnly = true)
+    public Slice<InvoiceWithLinesDTO> withLines(Slice<Invoice> slice) {
+        return slice.map(withLinesOf(slice));
+    }
+
+    private Function<Invoice, InvoiceWithLinesDTO> withLinesOf(Slice<Invoice> invoices) {
+        LOG.debug("Request to get the lines of {} Invoices", invoices.getNumberOfElements());
+        if (invoices.isEmpty()) {
+            return invoice -> toDto(invoice, List.of());
+        }
+        Map<Long, List<DocumentLineDTO>> linesByInvoice = invoiceLineRepository
+            .findByInvoiceIdInOrderByInvoiceIdAscIdAsc(invoices.map(Invoice::getId).getContent())
+            .stream()
+            .collect(Collectors.groupingBy(InvoiceLine::getInvoiceId, Collectors.mapping(InvoiceService::toDto, Collectors.toList())));
+        return invoice -> toDto(invoice, linesByInvoice.getOrDefault(invoice.getId(), List.of()));
+    }
+
     /**
      * Delete the invoice by id.
+     * <p>
+     * Numbered invoices are not deleted by the REST API, so that the numbers of a series stay without gaps.
      *
      * @param id the id of the entity.
      */
     public void delete(Long id) {
         LOG.debug("Request to delete Invoice : {}", id);
-        invoiceRepository.deleteById(id);
+        invoiceRepository
+            .findById(id)
+            .ifPresent(invoice -> {
+                invoiceRepository.delete(invoice);
+                applicationEventPublisher.publishEvent(InvoiceChangedEvent.deleted(invoice));
+            });
     }
 
-    public InvoiceStatsDTO getInvoiceStats() {
-        Instant now = Instant.now();
-
-        long outstanding = invoiceRepository.countByPaymentStatusIn(
-            new PaymentStatus[] { PaymentStatus.UNPAID, PaymentStatus.PARTIALLY_PAID }
+    private static InvoiceWithLinesDTO toDto(Invoice invoice, List<DocumentLineDTO> lines) {
+        return new InvoiceWithLinesDTO(
+            invoice.getId(),
+            invoice.getClientName(),
+            invoice.getIssueDate(),
+            invoice.getDueDate(),
+            invoice.getStatus(),
+            invoice.getCurrencyId(),
+            invoice.getVatRateId(),
+            invoice.getTotalAmount(),
+            invoice.getPaidAmount(),
+            invoice.getPaymentStatus(),
+            invoice.getVersion(),
+            lines
         );
-        long overdue = invoiceRepository.countOverdue(now);
-        BigDecimal totalAmount = invoiceRepository.findTotalAmount();
-        BigDecimal overdueAmount = invoiceRepository.sumOverdueAmount(now);
+    }
 
-        return new InvoiceStatsDTO(outstanding, overdue, totalAmount, overdueAmount);
+    private static DocumentLineDTO toDto(InvoiceLine line) {
+        return new DocumentLineDTO(line.getId(), line.getProductId(), line.getQuantity(), line.getUnitPrice(), line.getVatRateId());
     }
 }
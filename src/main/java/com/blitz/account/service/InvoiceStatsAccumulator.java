@@ -0,0 +1,124 @@
+package com.blitz.account.service;
+
+import com.blitz.account.domain.enumeration.PaymentStatus;
+import com.blitz.account.service.InvoiceChangedEvent.State;
+import com.blitz.account.service.dto.InvoiceStatsDTO;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Running invoice statistics, moved by the changes of single invoices.
+ * <p>
+ * Invoices become overdue with time alone, so the invoices not overdue yet are kept summed by due date: reading the
+ * statistics at a later date first moves the due dates passed since into the overdue sums, each due date being moved
+ * once. This class is not thread-safe.
+ */
+final class InvoiceStatsAccumulator {
+
+    private Instant asOf;
+
+    private long outstanding;
+
+    private BigDecimal totalAmount;
+
+    private long overdue;
+
+    private BigDecimal overdueAmount;
+
+    private final NavigableMap<Instant, Due> upcoming = new TreeMap<>();
+
+    /**
+     * @param asOf the date the statistics were computed at.
+     * @param outstanding the number of unpaid and partially paid invoices.
+     * @param totalAmount the total amount of all the invoices.
+     * @param overdue the number of invoices overdue at {@code asOf}.
+     * @param overdueAmount the amount left to pay on the invoices overdue at {@code asOf}.
+     */
+    InvoiceStatsAccumulator(Instant asOf, long outstanding, BigDecimal totalAmount, long overdue, BigDecimal overdueAmount) {
+        this.asOf = asOf;
+        this.outstanding = outstanding;
+        this.totalAmount = totalAmount;
+        this.overdue = overdue;
+        this.overdueAmount = overdueAmount;
+    }
+
+    /**
+     * Add invoices not paid yet and due at or after {@code asOf}.
+     *
+     * @param dueDate their due date.
+     * @param invoices their number.
+     * @param amount the amount left to pay on them.
+     */
+    void addUpcoming(Instant dueDate, long invoices, BigDecimal amount) {
+        upcoming.computeIfAbsent(dueDate, date -> new Due()).add(invoices, amount);
+    }
+
+    /**
+     * Add an invoice to the statistics, or take it out.
+     *
+     * @param state the invoice.
+     * @param sign {@code 1} to add the invoice, {@code -1} to take it out.
+     */
+    void apply(State state, int sign) {
+        if (state.paymentStatus() == PaymentStatus.UNPAID || state.paymentStatus() == PaymentStatus.PARTIALLY_PAID) {
+            outstanding += sign;
+        }
+        if (state.totalAmount() != null) {
+            totalAmount = totalAmount.add(signed(state.totalAmount(), sign));
+        }
+        if (state.paymentStatus() == null || state.paymentStatus() == PaymentStatus.PAID || state.dueDate() == null) {
+            return;
+        }
+        BigDecimal amountDue = state.totalAmount() != null
+            ? signed(state.totalAmount().subtract(state.paidAmount() != null ? state.paidAmount() : BigDecimal.ZERO), sign)
+            : BigDecimal.ZERO;
+        if (state.dueDate().isBefore(asOf)) {
+            overdue += sign;
+            overdueAmount = overdueAmount.add(amountDue);
+        } else {
+            Due due = upcoming.computeIfAbsent(state.dueDate(), date -> new Due());
+            due.add(sign, amountDue);
+            if (due.invoices == 0) {
+                upcoming.remove(state.dueDate());
+            }
+        }
+    }
+
+    /**
+     * @param now the date to compute the statistics at, ignored if before the latest one.
+     * @return the statistics.
+     */
+    InvoiceStatsDTO stats(Instant now) {
+        if (now.isAfter(asOf)) {
+            Map<Instant, Due> passed = upcoming.headMap(now, false);
+            passed
+                .values()
+                .forEach(due -> {
+                    overdue += due.invoices;
+                    overdueAmount = overdueAmount.add(due.amount);
+                });
+            passed.clear();
+            asOf = now;
+        }
+        return new InvoiceStatsDTO(outstanding, overdue, totalAmount, overdueAmount);
+    }
+
+    private static BigDecimal signed(BigDecimal amount, int sign) {
+        return sign < 0 ? amount.negate() : amount;
+    }
+
+    private static final class Due {
+
+        private long invoices;
+
+        private BigDecimal amount = BigDecimal.ZERO;
+
+        private void add(long invoices, BigDecimal amount) {
+            this.invoices += invoices;
+            this.amount = this.amount.add(amount);
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.blitz.account.service;
+
+import com.blitz.account.repository.InvoiceRepository;
+import com.blitz.account.repository.InvoiceRepository.AmountDue;
+import com.blitz.account.repository.InvoiceRepository.InvoiceTotals;
+import com.blitz.account.repository.InvoiceRepository.InvoiceVersion;
+import com.blitz.account.service.dto.InvoiceStatsDTO;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service answering the invoice statistics of the dashboard from an in-memory {@link InvoiceStatsAccumulator}, without
+ * touching the database.
+ * <p>
+ * The statistics are computed on first use, with one aggregate query over the invoices and one over the due dates to
+ * come, then kept current from the {@link InvoiceChangedEvent}s of committed transactions. They are computed again every
+ * {@code application.invoice.stats-reconciliation-cron}, any drift from the running statistics being logged.
+ * <p>
+ * The changes received while the statistics are computed, and those about to commit, may or may not be in what the
+ * queries read: the versions of their invoices are read in the same database transaction as the statistics, and only
+ * the changes to later versions are applied to them.
+ */
+@Service
+public class InvoiceStatsService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(InvoiceStatsService.class);
+
+    /**
+     * Version of an invoice missing from the statistics that was created since.
+     */
+    private static final long CREATED = -1L;
+
+    private final InvoiceRepository invoiceRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Object loading = new Object();
+
+    private final Set<InvoiceChangedEvent> committing = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private InvoiceStatsAccumulator accumulator;
+
+    /**
+     * The versions of the invoices changed while the statistics were computed, as the statistics read them, {@code null}
+     * for an invoice missing from them.
+     */
+    private Map<Long, Long> loadedVersions = new HashMap<>();
+
+    private List<InvoiceChangedEvent> pending;
+
+    public InvoiceStatsService(InvoiceRepository invoiceRepository, PlatformTransactionManager transactionManager) {
+        this.invoiceRepository = invoiceRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    /**
+     * Get the statistics of the invoices.
+     *
+     * @return the number of outstanding and overdue invoices, with the total amount and the amount overdue.
+     */
+    public InvoiceStatsDTO getInvoiceStats() {
+        LOG.debug("Request to get Invoice statistics");
+        if (!isLoaded()) {
+            synchronized (loading) {
+                if (!isLoaded()) {
+                    load();
+                }
+            }
+        }
+        synchronized (this) {
+            return accumulator.stats(Instant.now());
+        }
+    }
+
+    /**
+     * Note a change about to commit, which the statistics being computed may or may not read.
+     *
+     * @param event the invoice before and after the change.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public synchronized void onInvoiceCommitting(InvoiceChangedEvent event) {
+        committing.add(event);
+    }
+
+    /**
+     * Forget a change rolled back.
+     *
+     * @param event the invoice before and after the change.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_ROLLBACK)
+    public synchronized void onInvoiceRolledBack(InvoiceChangedEvent event) {
+        committing.remove(event);
+    }
+
+    /**
+     * Move the statistics with a committed invoice change.
+     *
+     * @param event the invoice before and after the change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onInvoiceChanged(InvoiceChangedEvent event) {
+        committing.remove(event);
+        if (pending != null) {
+            pending.add(event);
+        }
+        if (accumulator != null && !isRead(event)) {
+            apply(accumulator, event);
+        }
+    }
+
+    /**
+     * Compute the statistics again from the database, replacing the running ones once done.
+     * <p>
+     * This is scheduled every {@code application.invoice.stats-reconciliation-cron}.
+     */
+    @Scheduled(cron = "${application.invoice.stats-reconciliation-cron}")
+    public void reconcile() {
+        synchronized (loading) {
+            try {
+                load();
+            } catch (RuntimeException e) {
+                LOG.error("Could not reconcile the invoice statistics", e);
+            }
+        }
+    }
+
+    private synchronized boolean isLoaded() {
+        return accumulator != null;
+    }
+
+    /**
+     * Compute the statistics, then read the versions of the invoices of the changes received meanwhile or about to
+     * commit, until all of them are read, and replace the running statistics.
+     */
+    private void load() {
+        synchronized (this) {
+            pending = new ArrayList<>();
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Instant now = Instant.now();
+                InvoiceStatsAccumulator loaded = compute(now);
+                Map<Long, Long> versions = new HashMap<>();
+                Set<Long> unread;
+                while (!(unread = replace(loaded, versions, now)).isEmpty()) {
+                    unread.forEach(id -> versions.put(id, null));
+                    for (InvoiceVersion invoice : invoiceRepository.findVersionsByIdIn(unread)) {
+                        versions.put(invoice.getId(), invoice.getVersion());
+                    }
+                }
+            });
+        } finally {
+            synchronized (this) {
+                pending = null;
+            }
+        }
+    }
+
+    /**
+     * Replace the running statistics, unless some of the changes received or about to commit are of invoices whose
+     * versions are not read yet.
+     *
+     * @return the ids of those invoices, empty once replaced.
+     */
+    private synchronized Set<Long> replace(InvoiceStatsAccumulator loaded, Map<Long, Long> versions, Instant now) {
+        Set<Long> unread = new HashSet<>();
+        Stream.concat(pending.stream(), committing.stream())
+            .map(InvoiceChangedEvent::invoiceId)
+            .filter(id -> id != null && !versions.containsKey(id))
+            .forEach(unread::add);
+        if (!unread.isEmpty()) {
+            return unread;
+        }
+
+        loadedVersions = versions;
+        pending.stream().filter(event -> !isRead(event)).forEach(event -> apply(loaded, event));
+        pending = null;
+        if (accumulator != null) {
+            InvoiceStatsDTO running = accumulator.stats(now);
+            InvoiceStatsDTO expected = loaded.stats(now);
+            if (drifted(running, expected)) {
+                LOG.warn("Invoice statistics drifted: {} instead of {}", running, expected);
+            }
+        }
+        accumulator = loaded;
+        return unread;
+    }
+
+    /**
+     * Tell whether the statistics were computed with a change already.
+     */
+    private boolean isRead(InvoiceChangedEvent event) {
+        if (event.version() == null || !loadedVersions.containsKey(event.invoiceId())) {
+            return false;
+        }
+        Long loadedVersion = loadedVersions.get(event.invoiceId());
+        if (loadedVersion != null) {
+            return event.version() <= loadedVersion;
+        }
+        // Missing from the statistics: created since, or deleted before
+        if (event.before() == null) {
+            loadedVersions.put(event.invoiceId(), CREATED);
+            return false;
+        }
+        return true;
+    }
+
+    private InvoiceStatsAccumulator compute(Instant now) {
+        InvoiceTotals totals = invoiceRepository.summarize(now);
+        InvoiceStatsAccumulator loaded = new InvoiceStatsAccumulator(
+            now,
+            totals.getOutstanding(),
+            totals.getTotalAmount(),
+            totals.getOverdue(),
+            totals.getOverdueAmount()
+        );
+        for (AmountDue due : invoiceRepository.sumUpcomingByDueDate(now)) {
+            loaded.addUpcoming(due.getDueDate(), due.getInvoices(), due.getAmount());
+        }
+        return loaded;
+    }
+
+    private static void apply(InvoiceStatsAccumulator target, InvoiceChangedEvent event) {
+        if (event.before() != null) {
+            target.apply(event.before(), -1);
+        }
+        if (event.after() != null) {
+            target.apply(event.after(), 1);
+        }
+    }
+
+    private static boolean drifted(InvoiceStatsDTO running, InvoiceStatsDTO expected) {
+        return (
+            running.getOutstanding() != expected.getOutstanding() ||
+            running.getOverdue() != expected.getOverdue() ||
+            running.getTotalAmount().compareTo(expected.getTotalAmount()) != 0 ||
+            running.getOverdueAmount().compareTo(expected.getOverdueAmount()) != 0
+        );
+    }
+}
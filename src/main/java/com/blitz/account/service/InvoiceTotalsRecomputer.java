@@ -0,0 +1,137 @@
+package com.blitz.account.service;
+
+import com.blitz.account.config.ApplicationProperties;
+import com.blitz.account.repository.InvoiceLineRepository;
+import com.blitz.account.service.dto.InvoiceTotalsRecomputationDTO;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service recomputing the totals of all the invoices with lines from their lines, for migrations.
+ * <p>
+ * The invoices are read in chunks of {@code application.invoice.totals-chunk-size} seeking on their ids, and up to
+ * {@code application.invoice.totals-parallelism} chunks are recomputed at once, each in its own database transaction.
+ * A chunk that fails, for instance because one of its invoices was modified concurrently, is counted as failed and the
+ * recomputation goes on. Only one recomputation runs at a time.
+ */
+@Service
+public class InvoiceTotalsRecomputer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(InvoiceTotalsRecomputer.class);
+
+    private final InvoiceLineRepository invoiceLineRepository;
+
+    private final InvoiceTotalsService invoiceTotalsService;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final Executor taskExecutor;
+
+    private Progress progress;
+
+    public InvoiceTotalsRecomputer(
+        InvoiceLineRepository invoiceLineRepository,
+        InvoiceTotalsService invoiceTotalsService,
+        ApplicationProperties applicationProperties,
+        @Qualifier("taskExecutor") Executor taskExecutor
+    ) {
+        this.invoiceLineRepository = invoiceLineRepository;
+        this.invoiceTotalsService = invoiceTotalsService;
+        this.applicationProperties = applicationProperties;
+        this.taskExecutor = taskExecutor;
+    }
+
+    /**
+     * Start recomputing the totals of all the invoices with lines in the background.
+     *
+     * @return the progress of the recomputation, or empty if one is already running.
+     */
+    public synchronized Optional<InvoiceTotalsRecomputationDTO> start() {
+        if (progress != null && progress.finishedAt == null) {
+            return Optional.empty();
+        }
+        LOG.info("Recomputing the totals of the invoices");
+        Progress started = new Progress(Instant.now(), invoiceLineRepository.countInvoices());
+        progress = started;
+        taskExecutor.execute(() -> run(started));
+        return Optional.of(started.toDto());
+    }
+
+    /**
+     * Get the progress of the latest recomputation.
+     *
+     * @return the progress, or empty if none was started.
+     */
+    public synchronized Optional<InvoiceTotalsRecomputationDTO> progress() {
+        return Optional.ofNullable(progress).map(Progress::toDto);
+    }
+
+    private void run(Progress running) {
+        int chunkSize = applicationProperties.getInvoice().getTotalsChunkSize();
+        int parallelism = applicationProperties.getInvoice().getTotalsParallelism();
+        try (BoundedParallelExecutor workers = new BoundedParallelExecutor(parallelism)) {
+            Long afterId = 0L;
+            List<Long> invoiceIds;
+            do {
+                invoiceIds = invoiceLineRepository.findInvoiceIdsAfter(afterId, Limit.of(chunkSize));
+                if (invoiceIds.isEmpty()) {
+                    break;
+                }
+                afterId = invoiceIds.get(invoiceIds.size() - 1);
+                List<Long> chunk = invoiceIds;
+                workers.submit(() -> recompute(chunk, running));
+            } while (invoiceIds.size() == chunkSize);
+            workers.join();
+        } catch (RuntimeException e) {
+            LOG.error("Could not recompute the totals of the invoices", e);
+        } finally {
+            synchronized (this) {
+                running.finishedAt = Instant.now();
+            }
+        }
+        LOG.info("Recomputed the totals of the invoices: {}", running.toDto());
+    }
+
+    private long recompute(List<Long> invoiceIds, Progress running) {
+        try {
+            return running.corrected.addAndGet(invoiceTotalsService.recompute(invoiceIds));
+        } catch (RuntimeException e) {
+            LOG.warn("Could not recompute the totals of Invoices {} to {}", invoiceIds.get(0), invoiceIds.get(invoiceIds.size() - 1), e);
+            return running.failed.addAndGet(invoiceIds.size());
+        } finally {
+            running.processed.addAndGet(invoiceIds.size());
+        }
+    }
+
+    private static final class Progress {
+
+        private final Instant startedAt;
+
+        private final long invoices;
+
+        private final AtomicLong processed = new AtomicLong();
+
+        private final AtomicLong corrected = new AtomicLong();
+
+        private final AtomicLong failed = new AtomicLong();
+
+        private Instant finishedAt;
+
+        private Progress(Instant startedAt, long invoices) {
+            this.startedAt = startedAt;
+            this.invoices = invoices;
+        }
+
+        private InvoiceTotalsRecomputationDTO toDto() {
+            return new InvoiceTotalsRecomputationDTO(startedAt, finishedAt, invoices, processed.get(), corrected.get(), failed.get());
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package com.blitz.account.service;
+
+import com.blitz.account.domain.Invoice;
+import com.blitz.account.domain.InvoiceLine;
+import com.blitz.account.domain.VATRate;
+import com.blitz.account.repository.InvoiceLineRepository;
+import com.blitz.account.repository.InvoiceRepository;
+import com.blitz.account.repository.VATRateRepository;
+import com.blitz.account.service.InvoiceChangedEvent.State;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Service deriving the total amount of the {@link Invoice}s from their {@link InvoiceLine}s: the quantity times the unit
+ * price of each line, plus the percentage of its {@link VATRate} or, if it has none, of the rate of its invoice, rounded
+ * to the cent per line.
+ * <p>
+ * Changing a line moves the total of its invoice by the difference between the amounts of the line before and after
+ * the change, without reading the other lines. The differences are summed per invoice until the transaction commits,
+ * then added to each invoice in a single update. As the differences are priced at the current percentages, the totals
+ * of the invoices priced with a VAT rate are computed again from their lines when its percentage changes or it is
+ * deleted, and the total of an invoice when it is updated, with its VAT rate.
+ */
+@Service
+@Transactional
+public class InvoiceTotalsService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(InvoiceTotalsService.class);
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    /**
+     * Most invoices whose totals are computed again at once, after a change of VAT rate.
+     */
+    static final int RECOMPUTE_CHUNK_SIZE = 500;
+
+    /**
+     * The fields of an invoice line its amount depends on.
+     *
+     * @param invoiceId the id of the invoice of the line.
+     * @param quantity the quantity, {@code null} if none.
+     * @param unitPrice the unit price, {@code null} if none.
+     * @param vatRateId the id of the VAT rate, {@code null} for the rate of the invoice.
+     */
+    public record Line(Long invoiceId, Integer quantity, BigDecimal unitPrice, Long vatRateId) {
+        public static Line of(InvoiceLine line) {
+            return new Line(line.getInvoiceId(), line.getQuantity(), line.getUnitPrice(), line.getVatRateId());
+        }
+    }
+
+    private final InvoiceRepository invoiceRepository;
+
+    private final InvoiceLineRepository invoiceLineRepository;
+
+    private final VATRateRepository vatRateRepository;
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    public InvoiceTotalsService(
+        InvoiceRepository invoiceRepository,
+        InvoiceLineRepository invoiceLineRepository,
+        VATRateRepository vatRateRepository,
+        ApplicationEventPublisher applicationEventPublisher
+    ) {
+        this.invoiceRepository = invoiceRepository;
+        this.invoiceLineRepository = invoiceLineRepository;
+        this.vatRateRepository = vatRateRepository;
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+
+    /**
+     * Move the totals of the invoices of a changed line, once the current transaction commits.
+     *
+     * @param before the line before the change, {@code null} if it was created.
+     * @param after the line after the change, {@code null} if it was deleted.
+     */
+    public void lineChanged(Line before, Line after) {
+        boolean batched = TransactionSynchronizationManager.isSynchronizationActive();
+        Map<Long, BigDecimal> deltas = batched ? pendingDeltas() : new TreeMap<>();
+        if (before != null && before.invoiceId() != null) {
+            deltas.merge(before.invoiceId(), amountOf(before).negate(), BigDecimal::add);
+        }
+        if (after != null && after.invoiceId() != null) {
+            deltas.merge(after.invoiceId(), amountOf(after), BigDecimal::add);
+        }
+        if (!batched) {
+            applyDeltas(deltas);
+        }
+    }
+
+    /**
+     * Compute the total of an invoice from its lines.
+     * <p>
+     * The changes of lines of the invoice pending in the current transaction are dropped, the total already includes them.
+     *
+     * @param invoiceId the id of the invoice.
+     * @param vatRateId the id of the VAT rate of the invoice.
+     * @return the total, or empty if the invoice has no lines.
+     */
+    public Optional<BigDecimal> totalOf(Long invoiceId, Long vatRateId) {
+        List<InvoiceLine> lines = invoiceLineRepository.findByInvoiceId(invoiceId);
+        if (TransactionSynchronizationManager.hasResource(this)) {
+            pendingDeltas().remove(invoiceId);
+        }
+        if (lines.isEmpty()) {
+            return Optional.empty();
+        }
+        Map<Long, BigDecimal> percentages = new HashMap<>();
+        return Optional.of(total(lines, vatRateId, id -> percentages.computeIfAbsent(id, this::percentageOf)));
+    }
+
+    /**
+     * Compute the total of a new invoice from the lines it is created with.
+     *
+     * @param lines the lines of the invoice.
+     * @param vatRateId the id of the VAT rate of the invoice.
+     * @param percentages the percentages of the VAT rates by id, see {@link #vatPercentages()}.
+     * @return the total.
+     */
+    public BigDecimal totalOf(List<InvoiceLine> lines, Long vatRateId, Map<Long, BigDecimal> percentages) {
+        return total(lines, vatRateId, id -> percentages.getOrDefault(id, BigDecimal.ZERO));
+    }
+
+    /**
+     * Read the percentages of all the VAT rates, to compute the totals of many invoices.
+     *
+     * @return the percentages by VAT rate id.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, BigDecimal> vatPercentages() {
+        return vatRateRepository.findAll().stream().collect(Collectors.toMap(VATRate::getId, VATRate::getPercentage));
+    }
+
+    /**
+     * Compute the totals of some invoices from their lines again, correcting those that differ.
+     *
+     * @param invoiceIds the ids of the invoices.
+     * @return the number of invoices whose total was corrected.
+     */
+    public int recompute(Collection<Long> invoiceIds) {
+        LOG.debug("Request to recompute the totals of {} Invoices", invoiceIds.size());
+        Map<Long, List<InvoiceLine>> linesByInvoice = invoiceLineRepository
+            .findByInvoiceIdInOrderByInvoiceIdAscIdAsc(invoiceIds)
+            .stream()
+            .collect(Collectors.groupingBy(InvoiceLine::getInvoiceId));
+        Map<Long, BigDecimal> percentages = vatPercentages();
+        List<Invoice> corrected = new ArrayList<>();
+        Map<Long, State> before = new HashMap<>();
+        for (Invoice invoice : invoiceRepository.findAllById(invoiceIds)) {
+            List<InvoiceLine> lines = linesByInvoice.get(invoice.getId());
+            if (lines == null) {
+                continue;
+            }
+            BigDecimal total = total(lines, invoice.getVatRateId(), id -> percentages.getOrDefault(id, BigDecimal.ZERO));
+            if (invoice.getTotalAmount() == null || total.compareTo(invoice.getTotalAmount()) != 0) {
+                before.put(invoice.getId(), State.of(invoice));
+                invoice.setTotalAmount(total);
+                corrected.add(invoice);
+            }
+        }
+        if (!corrected.isEmpty()) {
+            // Flushed first, so that the events carry the versions the corrections leave the invoices at
+            invoiceRepository.flush();
+            corrected.forEach(invoice ->
+                applicationEventPublisher.publishEvent(InvoiceChangedEvent.changed(before.get(invoice.getId()), invoice))
+            );
+        }
+        return corrected.size();
+    }
+
+    /**
+     * Compute the totals of the invoices priced with a VAT rate again, after its percentage changed or it was deleted.
+     *
+     * @param vatRateId the id of the VAT rate.
+     * @return the number of invoices whose total was corrected.
+     */
+    public int vatRateChanged(Long vatRateId) {
+        LOG.debug("Request to recompute the totals of the Invoices priced with VATRate : {}", vatRateId);
+        List<Long> invoiceIds = invoiceLineRepository.findInvoiceIdsByVatRateId(vatRateId);
+        int corrected = 0;
+        for (int from = 0; from < invoiceIds.size(); from += RECOMPUTE_CHUNK_SIZE) {
+            corrected += recompute(invoiceIds.subList(from, Math.min(from + RECOMPUTE_CHUNK_SIZE, invoiceIds.size())));
+        }
+        return corrected;
+    }
+
+    /**
+     * The amount of a line: its quantity times its unit price, plus VAT, rounded to the cent.
+     *
+     * @param quantity the quantity, {@code null} for none.
+     * @param unitPrice the unit price, {@code null} for none.
+     * @param percentage the VAT percentage.
+     * @return the amount.
+     */
+    static BigDecimal amount(Integer quantity, BigDecimal unitPrice, BigDecimal percentage) {
+        if (quantity == null || unitPrice == null) {
+            return BigDecimal.ZERO;
+        }
+        return unitPrice
+            .multiply(BigDecimal.valueOf(quantity))
+            .multiply(HUNDRED.add(percentage))
+            .divide(HUNDRED)
+            .setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal total(List<InvoiceLine> lines, Long invoiceVatRateId, Function<Long, BigDecimal> percentages) {
+        BigDecimal total = BigDecimal.ZERO.setScale(2);
+        for (InvoiceLine line : lines) {
+            Long vatRateId = line.getVatRateId() != null ? line.getVatRateId() : invoiceVatRateId;
+            BigDecimal percentage = vatRateId != null ? percentages.apply(vatRateId) : BigDecimal.ZERO;
+            total = total.add(amount(line.getQuantity(), line.getUnitPrice(), percentage));
+        }
+        return total;
+    }
+
+    private BigDecimal amountOf(Line line) {
+        Long vatRateId = line.vatRateId() != null
+            ? line.vatRateId()
+            : invoiceRepository.findById(line.invoiceId()).map(Invoice::getVatRateId).orElse(null);
+        return amount(line.quantity(), line.unitPrice(), vatRateId != null ? percentageOf(vatRateId) : BigDecimal.ZERO);
+    }
+
+    private BigDecimal percentageOf(Long vatRateId) {
+        return vatRateRepository.findById(vatRateId).map(VATRate::getPercentage).orElse(BigDecimal.ZERO);
+    }
+
+    private void applyDeltas(Map<Long, BigDecimal> deltas) {
+        deltas.forEach((invoiceId, delta) -> {
+            if (delta.signum() == 0) {
+                return;
+            }
+            if (invoiceRepository.addToTotalAmount(invoiceId, delta) == 0) {
+                LOG.warn("InvoiceLines changed on unknown Invoice : {}", invoiceId);
+                return;
+            }
+            invoiceRepository
+                .findById(invoiceId)
+                .ifPresent(invoice -> {
+                    State after = State.of(invoice);
+                    State before = new State(
+                        after.paymentStatus(),
+                        after.dueDate(),
+                        after.totalAmount().subtract(delta),
+                        after.paidAmount()
+                    );
+                    applicationEventPublisher.publishEvent(new InvoiceChangedEvent(invoiceId, invoice.getVersion(), before, after));
+                });
+        });
+        deltas.clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, BigDecimal> pendingDeltas() {
+        Map<Long, BigDecimal> deltas = (Map<Long, BigDecimal>) TransactionSynchronizationManager.getResource(this);
+        if (deltas != null) {
+            return deltas;
+        }
+        Map<Long, BigDecimal> created = new TreeMap<>();
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    applyDeltas(created);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(InvoiceTotalsService.this);
+                }
+            }
+        );
+        return created;
+    }
+}
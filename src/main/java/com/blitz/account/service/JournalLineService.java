@@ -2,6 +2,7 @@ package com.blitz.account.service;
 
 import com.blitz.account.domain.JournalLine;
 import com.blitz.account.repository.JournalLineRepository;
+import java.util.List;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,8 +22,11 @@ public class JournalLineService {
 
     private final JournalLineRepository journalLineRepository;
 
-    public JournalLineService(JournalLineRepository journalLineRepository) {
+    private final AccountBalanceService accountBalanceService;
+
+    public JournalLineService(JournalLineRepository journalLineRepository, AccountBalanceService accountBalanceService) {
         this.journalLineRepository = journalLineRepository;
+        this.accountBalanceService = accountBalanceService;
     }
 
     /**
@@ -33,7 +37,9 @@ public class JournalLineService {
      */
     public JournalLine save(JournalLine journalLine) {
         LOG.debug("Request to save JournalLine : {}", journalLine);
-        return journalLineRepository.save(journalLine);
+        JournalLine result = journalLineRepository.save(journalLine);
+        accountBalanceService.post(List.of(result));
+        return result;
     }
 
     /**
@@ -44,7 +50,10 @@ public class JournalLineService {
      */
     public JournalLine update(JournalLine journalLine) {
         LOG.debug("Request to update JournalLine : {}", journalLine);
-        return journalLineRepository.save(journalLine);
+        List<JournalLine> previous = journalLineRepository.findById(journalLine.getId()).map(this::snapshot).stream().toList();
+        JournalLine result = journalLineRepository.save(journalLine);
+        accountBalanceService.repost(previous, List.of(result));
+        return result;
     }
 
     /**
@@ -59,6 +68,7 @@ public class JournalLineService {
         return journalLineRepository
             .findById(journalLine.getId())
             .map(existingJournalLine -> {
+                JournalLine previous = snapshot(existingJournalLine);
                 if (journalLine.getJournalId() != null) {
                     existingJournalLine.setJournalId(journalLine.getJournalId());
                 }
@@ -72,6 +82,7 @@ public class JournalLineService {
                     existingJournalLine.setCredit(journalLine.getCredit());
                 }
 
+                accountBalanceService.repost(List.of(previous), List.of(existingJournalLine));
                 return existingJournalLine;
             })
             .map(journalLineRepository::save);
@@ -108,6 +119,19 @@ public class JournalLineService {
      */
     public void delete(Long id) {
         LOG.debug("Request to delete JournalLine : {}", id);
-        journalLineRepository.deleteById(id);
+        journalLineRepository
+            .findById(id)
+            .ifPresent(journalLine -> {
+                accountBalanceService.reverse(List.of(journalLine));
+                journalLineRepository.delete(journalLine);
+            });
+    }
+
+    private JournalLine snapshot(JournalLine journalLine) {
+        return new JournalLine()
+            .journalId(journalLine.getJournalId())
+            .accountId(journalLine.getAccountId())
+            .debit(journalLine.getDebit())
+            .credit(journalLine.getCredit());
     }
 }
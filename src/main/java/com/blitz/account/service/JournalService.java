@@ -1,7 +1,14 @@
 package com.blitz.account.service;
 
 import com.blitz.account.domain.Journal;
+import com.blitz.account.domain.JournalLine;
+import com.blitz.account.repository.JournalLineRepository;
 import com.blitz.account.repository.JournalRepository;
+import com.blitz.account.service.dto.JournalPostingDTO;
+import com.blitz.account.service.dto.JournalPostingLineDTO;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,8 +28,18 @@ public class JournalService {
 
     private final JournalRepository journalRepository;
 
-    public JournalService(JournalRepository journalRepository) {
+    private final JournalLineRepository journalLineRepository;
+
+    private final AccountBalanceService accountBalanceService;
+
+    public JournalService(
+        JournalRepository journalRepository,
+        JournalLineRepository journalLineRepository,
+        AccountBalanceService accountBalanceService
+    ) {
         this.journalRepository = journalRepository;
+        this.journalLineRepository = journalLineRepository;
+        this.accountBalanceService = accountBalanceService;
     }
 
     /**
@@ -36,6 +53,38 @@ public class JournalService {
         return journalRepository.save(journal);
     }
 
+    /**
+     * Post journals together with their lines.
+     * <p>
+     * Ids come from pooled sequences, so that both journals and lines are written with batched inserts, and the
+     * account balances are moved once for all the lines.
+     *
+     * @param postings the journals to post, balanced.
+     * @return the persisted journals, in the order of the postings.
+     */
+    public List<Journal> postAll(List<JournalPostingDTO> postings) {
+        LOG.debug("Request to post {} Journals", postings.size());
+        List<Journal> journals = journalRepository.saveAll(
+            postings
+                .stream()
+                .map(posting ->
+                    new Journal().journalDate(posting.getJournalDate()).reference(posting.getReference()).description(posting.getDescription())
+                )
+                .toList()
+        );
+
+        List<JournalLine> lines = new ArrayList<>();
+        for (int i = 0; i < postings.size(); i++) {
+            Long journalId = journals.get(i).getId();
+            for (JournalPostingLineDTO line : postings.get(i).getLines()) {
+                lines.add(new JournalLine().journalId(journalId).accountId(line.getAccountId()).debit(line.getDebit()).credit(line.getCredit()));
+            }
+        }
+        journalLineRepository.saveAll(lines);
+        accountBalanceService.post(lines);
+        return journals;
+    }
+
     /**
      * Update a journal.
      *
@@ -44,7 +93,12 @@ public class JournalService {
      */
     public Journal update(Journal journal) {
         LOG.debug("Request to update Journal : {}", journal);
-        return journalRepository.save(journal);
+        Instant previousDate = journalRepository.findById(journal.getId()).map(Journal::getJournalDate).orElse(null);
+        Journal result = journalRepository.save(journal);
+        if (previousDate != null) {
+            accountBalanceService.redate(result.getId(), previousDate, result.getJournalDate());
+        }
+        return result;
     }
 
     /**
@@ -60,6 +114,7 @@ public class JournalService {
             .findById(journal.getId())
             .map(existingJournal -> {
                 if (journal.getJournalDate() != null) {
+                    accountBalanceService.redate(existingJournal.getId(), existingJournal.getJournalDate(), journal.getJournalDate());
                     existingJournal.setJournalDate(journal.getJournalDate());
                 }
                 if (journal.getReference() != null) {
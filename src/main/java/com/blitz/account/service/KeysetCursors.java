@@ -0,0 +1,89 @@
+package com.blitz.account.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.springframework.beans.BeanUtils;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Component;
+
+/**
+ * Opaque cursors designating a position in a keyset-paginated result: the values of the sort properties and of the id of
+ * the last entity read, as base64url-encoded JSON.
+ * <p>
+ * Entities whose value of a sort property is {@code null} cannot be sought past, so keyset pages are meant to be sorted on
+ * mandatory properties.
+ */
+@Component
+public class KeysetCursors {
+
+    private static final String ID = "id";
+
+    private final ObjectMapper objectMapper;
+
+    public KeysetCursors(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Read the position a cursor designates.
+     *
+     * @param cursor the cursor, empty for the first page.
+     * @param domainClass the class of the entities paginated.
+     * @param sort the order of the entities, which must be the one the cursor was created with.
+     * @return the position, or empty if the cursor is not valid for these entities in this order.
+     */
+    public Optional<ScrollPosition> decode(String cursor, Class<?> domainClass, Sort sort) {
+        if (cursor.isEmpty()) {
+            return Optional.of(ScrollPosition.keyset());
+        }
+        Map<String, Object> keys = new LinkedHashMap<>();
+        try {
+            JsonNode node = objectMapper.readTree(Base64.getUrlDecoder().decode(cursor.getBytes(StandardCharsets.US_ASCII)));
+            if (node == null || !node.isObject()) {
+                return Optional.empty();
+            }
+            for (Map.Entry<String, JsonNode> key : node.properties()) {
+                PropertyDescriptor property = BeanUtils.getPropertyDescriptor(domainClass, key.getKey());
+                if (property == null) {
+                    return Optional.empty();
+                }
+                keys.put(key.getKey(), objectMapper.treeToValue(key.getValue(), property.getPropertyType()));
+            }
+        } catch (IllegalArgumentException | IOException e) {
+            return Optional.empty();
+        }
+        Set<String> properties = sort.stream().map(Sort.Order::getProperty).collect(Collectors.toCollection(HashSet::new));
+        properties.add(ID);
+        return properties.equals(keys.keySet()) ? Optional.of(ScrollPosition.forward(keys)) : Optional.empty();
+    }
+
+    /**
+     * Create the cursor of the page after a window.
+     *
+     * @param window the window read.
+     * @return the cursor of the next page, or empty if the window is the last one.
+     */
+    public Optional<String> encode(Window<?> window) {
+        if (!window.hasNext() || window.isEmpty() || !(window.positionAt(window.size() - 1) instanceof KeysetScrollPosition position)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Base64.getUrlEncoder().withoutPadding().encodeToString(objectMapper.writeValueAsBytes(position.getKeys())));
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not encode the keyset position " + position, e);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.blitz.account.service;
+
+import com.blitz.account.service.LedgerMovementEvent.Movement;
+import com.carrotsearch.hppc.IntArrayList;
+import com.carrotsearch.hppc.LongArrayList;
+import com.carrotsearch.hppc.LongIntHashMap;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+
+/**
+ * Columnar store of the ledger movements summed per account, currency and day.
+ * <p>
+ * Accounts and currencies are interned to dense indexes, index {@code 0} standing for none. Each cell is one position
+ * in a set of parallel primitive columns, amounts being kept in cents, and is found from its coordinates through a
+ * single packed {@code long} key, and the cells of each account are listed so that an account is summed without scanning
+ * the others. This class is not thread-safe.
+ */
+final class LedgerCube {
+
+    private static final int ACCOUNT_BITS = 24;
+
+    private static final int CURRENCY_BITS = 16;
+
+    private static final int DAY_BITS = 24;
+
+    private static final long DAY_OFFSET = 1L << (DAY_BITS - 1);
+
+    private final Dimension accounts = new Dimension(ACCOUNT_BITS);
+
+    private final Dimension currencies = new Dimension(CURRENCY_BITS);
+
+    private final LongIntHashMap cellByKey = new LongIntHashMap();
+
+    private final ArrayList<IntArrayList> cellsByAccount = new ArrayList<>();
+
+    final IntArrayList account = new IntArrayList();
+
+    final IntArrayList currency = new IntArrayList();
+
+    final IntArrayList day = new IntArrayList();
+
+    final IntArrayList month = new IntArrayList();
+
+    final LongArrayList income = new LongArrayList();
+
+    final LongArrayList expense = new LongArrayList();
+
+    final LongArrayList debit = new LongArrayList();
+
+    final LongArrayList credit = new LongArrayList();
+
+    final LongArrayList transactions = new LongArrayList();
+
+    final LongArrayList journalLines = new LongArrayList();
+
+    /**
+     * Add a movement to the cell of its account, currency and day.
+     *
+     * @param movement the movement, ignored if it has no date.
+     */
+    void add(Movement movement) {
+        if (movement.date() == null) {
+            return;
+        }
+        int accountIndex = accounts.intern(movement.accountId());
+        int currencyIndex = currencies.intern(movement.currencyId());
+        LocalDate date = movement.date().atZone(ZoneOffset.UTC).toLocalDate();
+        int epochDay = Math.toIntExact(date.toEpochDay());
+        long key = key(accountIndex, currencyIndex, epochDay);
+
+        int cell = cellByKey.getOrDefault(key, -1);
+        if (cell < 0) {
+            cell = size();
+            cellByKey.put(key, cell);
+            account.add(accountIndex);
+            currency.add(currencyIndex);
+            day.add(epochDay);
+            month.add(Math.toIntExact(date.withDayOfMonth(1).toEpochDay()));
+            income.add(0);
+            expense.add(0);
+            debit.add(0);
+            credit.add(0);
+            transactions.add(0);
+            journalLines.add(0);
+            while (cellsByAccount.size() <= accountIndex) {
+                cellsByAccount.add(new IntArrayList());
+            }
+            cellsByAccount.get(accountIndex).add(cell);
+        }
+        income.buffer[cell] += cents(movement.income());
+        expense.buffer[cell] += cents(movement.expense());
+        debit.buffer[cell] += cents(movement.debit());
+        credit.buffer[cell] += cents(movement.credit());
+        transactions.buffer[cell] += movement.transactions();
+        journalLines.buffer[cell] += movement.journalLines();
+    }
+
+    int size() {
+        return account.size();
+    }
+
+    /**
+     * @param accountIndex the index of an account.
+     * @return the cells of the account, in the order they were added.
+     */
+    IntArrayList cellsOf(int accountIndex) {
+        return accountIndex < cellsByAccount.size() ? cellsByAccount.get(accountIndex) : new IntArrayList();
+    }
+
+    /**
+     * @param accountId the id of an account, {@code null} for none.
+     * @return its index, or {@code -1} if nothing was posted to it.
+     */
+    int accountIndex(Long accountId) {
+        return accounts.indexOf(accountId);
+    }
+
+    /**
+     * @param currencyId the id of a currency, {@code null} for none.
+     * @return its index, or {@code -1} if nothing was posted in it.
+     */
+    int currencyIndex(Long currencyId) {
+        return currencies.indexOf(currencyId);
+    }
+
+    Long accountId(int index) {
+        return accounts.idOf(index);
+    }
+
+    Long currencyId(int index) {
+        return currencies.idOf(index);
+    }
+
+    /**
+     * @param accountIndex the index of an account.
+     * @param currencyIndex the index of a currency.
+     * @param epochDay a day.
+     * @return the key of the cell at these coordinates.
+     */
+    static long key(int accountIndex, int currencyIndex, int epochDay) {
+        return ((long) accountIndex << (CURRENCY_BITS + DAY_BITS)) | ((long) currencyIndex << DAY_BITS) | (epochDay + DAY_OFFSET);
+    }
+
+    /**
+     * @param key a key built by {@link #key(int, int, int)}.
+     * @return the account index, currency index and epoch day of the key.
+     */
+    static int[] unpack(long key) {
+        return new int[] {
+            (int) (key >>> (CURRENCY_BITS + DAY_BITS)),
+            (int) ((key >>> DAY_BITS) & ((1L << CURRENCY_BITS) - 1)),
+            (int) ((key & ((1L << DAY_BITS) - 1)) - DAY_OFFSET),
+        };
+    }
+
+    static long cents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    static BigDecimal amount(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    /**
+     * Dense indexes of the ids of one dimension.
+     */
+    private static final class Dimension {
+
+        private final int capacity;
+
+        private final LongIntHashMap indexById = new LongIntHashMap();
+
+        private final LongArrayList ids = new LongArrayList();
+
+        private Dimension(int bits) {
+            this.capacity = 1 << bits;
+            ids.add(0);
+        }
+
+        int intern(Long id) {
+            if (id == null) {
+                return 0;
+            }
+            int index = indexById.getOrDefault(id, 0);
+            if (index == 0) {
+                if (ids.size() == capacity) {
+                    throw new IllegalStateException("Ledger cube dimension is full, at " + capacity + " members");
+                }
+                index = ids.size();
+                indexById.put(id, index);
+                ids.add(id);
+            }
+            return index;
+        }
+
+        int indexOf(Long id) {
+            return id == null ? 0 : indexById.getOrDefault(id, -1);
+        }
+
+        Long idOf(int index) {
+            return index == 0 ? null : ids.get(index);
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package com.blitz.account.service;
+
+import com.blitz.account.repository.JournalLineRepository;
+import com.blitz.account.repository.JournalLineRepository.JournalLineMovement;
+import com.blitz.account.repository.TransactionRepository;
+import com.blitz.account.repository.TransactionRepository.TransactionMovement;
+import com.blitz.account.service.LedgerMovementEvent.Movement;
+import com.blitz.account.service.dto.LedgerCubeRowDTO;
+import com.carrotsearch.hppc.IntArrayList;
+import com.carrotsearch.hppc.LongArrayList;
+import com.carrotsearch.hppc.LongIntHashMap;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Service answering the dashboard analytics over {@link com.blitz.account.domain.Transaction}s and
+ * {@link com.blitz.account.domain.JournalLine}s from an in-memory {@link LedgerCube}, without touching the database.
+ * <p>
+ * The cube is loaded once the application is ready, in chunks seeking on the row ids up to the highest ids when the
+ * load starts, then kept current from the {@link LedgerMovementEvent}s of committed postings. The movements committed
+ * during the load are applied once it is done, except those of the rows up to the highest ids, which the load read. An
+ * update of such a row committed after the load read it, or a row committed during the load with an id reserved before,
+ * is only seen once the cube is rebuilt again, every {@code application.ledger.cube-rebuild-cron}.
+ */
+@Service
+public class LedgerCubeService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LedgerCubeService.class);
+
+    static final int CHUNK_SIZE = 5000;
+
+    /**
+     * Dimensions a rollup can be grouped by. When both {@code DAY} and {@code MONTH} are requested, rows are per day.
+     */
+    public enum Dimension {
+        ACCOUNT,
+        CURRENCY,
+        DAY,
+        MONTH,
+    }
+
+    private final TransactionRepository transactionRepository;
+
+    private final JournalLineRepository journalLineRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private LedgerCube cube;
+
+    private List<Movement> pending;
+
+    public LedgerCubeService(TransactionRepository transactionRepository, JournalLineRepository journalLineRepository) {
+        this.transactionRepository = transactionRepository;
+        this.journalLineRepository = journalLineRepository;
+    }
+
+    /**
+     * Load the cube once the application is ready.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+    }
+
+    /**
+     * Rebuild the cube from the database, replacing the current one once done.
+     * <p>
+     * This is scheduled every {@code application.ledger.cube-rebuild-cron}.
+     */
+    @Scheduled(cron = "${application.ledger.cube-rebuild-cron}")
+    public void rebuild() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            if (pending != null) {
+                LOG.debug("The ledger cube is already being rebuilt");
+                return;
+            }
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        LedgerCube rebuilt = new LedgerCube();
+        long maxTransactionId;
+        long maxJournalLineId;
+        try {
+            // Read after the movements start being kept, so that every movement committed since is kept or loaded
+            maxTransactionId = transactionRepository.findMaxId();
+            maxJournalLineId = journalLineRepository.findMaxId();
+            loadTransactions(rebuilt, maxTransactionId);
+            loadJournalLines(rebuilt, maxJournalLineId);
+        } catch (RuntimeException e) {
+            LOG.error("Could not rebuild the ledger cube", e);
+            lock.writeLock().lock();
+            pending = null;
+            lock.writeLock().unlock();
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (Movement movement : pending) {
+                if (!isLoaded(movement, maxTransactionId, maxJournalLineId)) {
+                    rebuilt.add(movement);
+                }
+            }
+            pending = null;
+            cube = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        LOG.info("Loaded the ledger cube: {} cells in {} ms", rebuilt.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Add the movements of a committed posting to the cube.
+     *
+     * @param event the movements.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLedgerMovement(LedgerMovementEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (cube != null) {
+                event.movements().forEach(cube::add);
+            }
+            if (pending != null) {
+                pending.addAll(event.movements());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Sum the movements dated within a period, grouped by the given dimensions.
+     *
+     * @param from the first day of the period, inclusive.
+     * @param to the last day of the period, inclusive.
+     * @param accountId the id of the only account to sum, all accounts if {@code null}.
+     * @param currencyId the id of the only currency to sum, all currencies if {@code null}.
+     * @param groupBy the dimensions to group by, a single total if empty.
+     * @return the rows, ordered by account, currency and period, or empty if the cube is not loaded yet.
+     */
+    public Optional<List<LedgerCubeRowDTO>> rollup(LocalDate from, LocalDate to, Long accountId, Long currencyId, Set<Dimension> groupBy) {
+        LOG.debug("Request to roll up the ledger cube from {} to {} by {}", from, to, groupBy);
+        lock.readLock().lock();
+        try {
+            if (cube == null) {
+                return Optional.empty();
+            }
+            int accountIndex = accountId != null ? cube.accountIndex(accountId) : 0;
+            int currencyIndex = currencyId != null ? cube.currencyIndex(currencyId) : 0;
+            if (accountIndex < 0 || currencyIndex < 0) {
+                return Optional.of(List.of());
+            }
+            return Optional.of(rollup(cube, (int) from.toEpochDay(), (int) to.toEpochDay(), accountId, currencyId, groupBy));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static List<LedgerCubeRowDTO> rollup(LedgerCube cube, int fromDay, int toDay, Long accountId, Long currencyId, Set<Dimension> groupBy) {
+        boolean byAccount = groupBy.contains(Dimension.ACCOUNT);
+        boolean byCurrency = groupBy.contains(Dimension.CURRENCY);
+        boolean byDay = groupBy.contains(Dimension.DAY);
+        boolean byMonth = !byDay && groupBy.contains(Dimension.MONTH);
+        int accountFilter = accountId != null ? cube.accountIndex(accountId) : -1;
+        int currencyFilter = currencyId != null ? cube.currencyIndex(currencyId) : -1;
+
+        LongIntHashMap groupByKey = new LongIntHashMap();
+        LongArrayList keys = new LongArrayList();
+        LongArrayList[] columns = { cube.income, cube.expense, cube.debit, cube.credit, cube.transactions, cube.journalLines };
+        LongArrayList[] sums = new LongArrayList[columns.length];
+        Arrays.setAll(sums, measure -> new LongArrayList());
+
+        int[] accounts = cube.account.buffer;
+        int[] currencies = cube.currency.buffer;
+        int[] days = cube.day.buffer;
+        int[] months = cube.month.buffer;
+        // Only the cells of the account when filtering by account
+        IntArrayList accountCells = accountFilter >= 0 ? cube.cellsOf(accountFilter) : null;
+        for (int i = 0, size = accountCells != null ? accountCells.size() : cube.size(); i < size; i++) {
+            int cell = accountCells != null ? accountCells.buffer[i] : i;
+            int day = days[cell];
+            if (day < fromDay || day > toDay) {
+                continue;
+            }
+            if (currencyFilter >= 0 && currencies[cell] != currencyFilter) {
+                continue;
+            }
+            int period = byDay ? day : byMonth ? months[cell] : 0;
+            long key = LedgerCube.key(byAccount ? accounts[cell] : 0, byCurrency ? currencies[cell] : 0, period);
+            int group = groupByKey.getOrDefault(key, -1);
+            if (group < 0) {
+                group = keys.size();
+                groupByKey.put(key, group);
+                keys.add(key);
+                for (LongArrayList sum : sums) {
+                    sum.add(0);
+                }
+            }
+            for (int measure = 0; measure < sums.length; measure++) {
+                sums[measure].buffer[group] += columns[measure].buffer[cell];
+            }
+        }
+
+        List<LedgerCubeRowDTO> rows = new ArrayList<>(keys.size());
+        for (int group = 0; group < keys.size(); group++) {
+            if (sums[4].get(group) == 0 && sums[5].get(group) == 0) {
+                // every movement of the group was reversed
+                continue;
+            }
+            int[] coordinates = LedgerCube.unpack(keys.get(group));
+            rows.add(
+                new LedgerCubeRowDTO(
+                    byAccount ? cube.accountId(coordinates[0]) : accountId,
+                    byCurrency ? cube.currencyId(coordinates[1]) : currencyId,
+                    byDay || byMonth ? LocalDate.ofEpochDay(coordinates[2]) : null,
+                    LedgerCube.amount(sums[0].get(group)),
+                    LedgerCube.amount(sums[1].get(group)),
+                    LedgerCube.amount(sums[2].get(group)),
+                    LedgerCube.amount(sums[3].get(group)),
+                    sums[4].get(group),
+                    sums[5].get(group)
+                )
+            );
+        }
+        rows.sort(
+            Comparator.comparing(LedgerCubeRowDTO::getAccountId, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(LedgerCubeRowDTO::getCurrencyId, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(LedgerCubeRowDTO::getPeriod, Comparator.nullsFirst(Comparator.naturalOrder()))
+        );
+        return rows;
+    }
+
+    private static boolean isLoaded(Movement movement, long maxTransactionId, long maxJournalLineId) {
+        if (movement.id() == null) {
+            return false;
+        }
+        return movement.id() <= (movement.transactions() != 0 ? maxTransactionId : maxJournalLineId);
+    }
+
+    private void loadTransactions(LedgerCube target, long maxId) {
+        long afterId = 0;
+        List<TransactionMovement> chunk;
+        do {
+            chunk = transactionRepository.findMovementsAfter(afterId, maxId, Limit.of(CHUNK_SIZE));
+            for (TransactionMovement transaction : chunk) {
+                target.add(
+                    Movement.transaction(
+                        transaction.getAccountId(),
+                        transaction.getCurrencyId(),
+                        transaction.getTransactionDate(),
+                        transaction.getType(),
+                        transaction.getAmount()
+                    )
+                );
+                afterId = transaction.getId();
+            }
+        } while (chunk.size() == CHUNK_SIZE);
+    }
+
+    private void loadJournalLines(LedgerCube target, long maxId) {
+        long afterId = 0;
+        List<JournalLineMovement> chunk;
+        do {
+            chunk = journalLineRepository.findMovementsAfter(afterId, maxId, Limit.of(CHUNK_SIZE));
+            for (JournalLineMovement line : chunk) {
+                target.add(Movement.journalLine(line.getAccountId(), line.getJournalDate(), line.getDebit(), line.getCredit()));
+                afterId = line.getId();
+            }
+        } while (chunk.size() == CHUNK_SIZE);
+    }
+}
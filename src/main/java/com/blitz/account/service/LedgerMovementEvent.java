@@ -0,0 +1,128 @@
+package com.blitz.account.service;
+
+import com.blitz.account.domain.JournalLine;
+import com.blitz.account.domain.Transaction;
+import com.blitz.account.domain.enumeration.TransactionType;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Event published when {@link Transaction}s or {@link JournalLine}s are written, listeners receive it once the
+ * database transaction commits.
+ * <p>
+ * Removed or replaced rows are published as negated movements, so that listeners only ever add movements up.
+ *
+ * @param movements the movements, one per written or removed row.
+ * @param accountVersions the version of each {@link com.blitz.account.domain.ChartOfAccount} whose current balance the
+ * journal lines moved, once moved, so that a listener can tell the movements a balance read earlier already holds.
+ */
+public record LedgerMovementEvent(List<Movement> movements, Map<Long, Long> accountVersions) {
+    public LedgerMovementEvent(List<Movement> movements) {
+        this(movements, Map.of());
+    }
+
+    /**
+     * The amounts one row adds to an account on a date.
+     *
+     * @param id the id of the row, {@code null} if unknown.
+     * @param accountId the id of the account, {@code null} if none.
+     * @param currencyId the id of the currency, {@code null} if none.
+     * @param date the date of the row.
+     * @param income the amount of an income transaction.
+     * @param expense the amount of an expense transaction.
+     * @param debit the debit of a journal line.
+     * @param credit the credit of a journal line.
+     * @param transactions {@code 1} for a transaction, {@code -1} once removed.
+     * @param journalLines {@code 1} for a journal line, {@code -1} once removed.
+     */
+    public record Movement(
+        Long id,
+        Long accountId,
+        Long currencyId,
+        Instant date,
+        BigDecimal income,
+        BigDecimal expense,
+        BigDecimal debit,
+        BigDecimal credit,
+        int transactions,
+        int journalLines
+    ) {
+        public static Movement of(Transaction transaction) {
+            return transaction(
+                transaction.getId(),
+                transaction.getAccountId(),
+                transaction.getCurrencyId(),
+                transaction.getTransactionDate(),
+                transaction.getType(),
+                transaction.getAmount()
+            );
+        }
+
+        public static Movement of(JournalLine line, Instant journalDate) {
+            return journalLine(line.getId(), line.getAccountId(), journalDate, line.getDebit(), line.getCredit());
+        }
+
+        public static Movement transaction(Long accountId, Long currencyId, Instant date, TransactionType type, BigDecimal amount) {
+            return transaction(null, accountId, currencyId, date, type, amount);
+        }
+
+        public static Movement transaction(
+            Long id,
+            Long accountId,
+            Long currencyId,
+            Instant date,
+            TransactionType type,
+            BigDecimal amount
+        ) {
+            BigDecimal value = amount != null ? amount : BigDecimal.ZERO;
+            return new Movement(
+                id,
+                accountId,
+                currencyId,
+                date,
+                type == TransactionType.INCOME ? value : BigDecimal.ZERO,
+                type == TransactionType.EXPENSE ? value : BigDecimal.ZERO,
+                BigDecimal.ZERO,
+                BigDecimal.ZERO,
+                1,
+                0
+            );
+        }
+
+        public static Movement journalLine(Long accountId, Instant date, BigDecimal debit, BigDecimal credit) {
+            return journalLine(null, accountId, date, debit, credit);
+        }
+
+        public static Movement journalLine(Long id, Long accountId, Instant date, BigDecimal debit, BigDecimal credit) {
+            return new Movement(
+                id,
+                accountId,
+                null,
+                date,
+                BigDecimal.ZERO,
+                BigDecimal.ZERO,
+                debit != null ? debit : BigDecimal.ZERO,
+                credit != null ? credit : BigDecimal.ZERO,
+                0,
+                1
+            );
+        }
+
+        public Movement negate() {
+            return new Movement(
+                id,
+                accountId,
+                currencyId,
+                date,
+                income.negate(),
+                expense.negate(),
+                debit.negate(),
+                credit.negate(),
+                -transactions,
+                -journalLines
+            );
+        }
+    }
+}
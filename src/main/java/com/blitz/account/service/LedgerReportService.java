@@ -0,0 +1,139 @@
+package com.blitz.account.service;
+
+import com.blitz.account.domain.ChartOfAccount;
+import com.blitz.account.repository.ChartOfAccountRepository;
+import com.blitz.account.repository.JournalLineRepository;
+import com.blitz.account.repository.JournalLineRepository.LedgerLine;
+import com.blitz.account.service.dto.GeneralLedgerRowDTO;
+import com.blitz.account.service.dto.TrialBalanceRowDTO;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service producing the ledger reports row by row.
+ * <p>
+ * Rows are pushed to a sink as soon as they are computed so that callers can stream them out. The general ledger is
+ * read in chunks seeking on {@code (journalDate, journalId, lineId)}, each chunk in its own short query, so neither
+ * the heap nor a database transaction ever holds more than one chunk.
+ */
+@Service
+public class LedgerReportService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LedgerReportService.class);
+
+    static final int CHUNK_SIZE = 500;
+
+    private final ChartOfAccountRepository chartOfAccountRepository;
+
+    private final JournalLineRepository journalLineRepository;
+
+    private final AccountBalanceSnapshotService accountBalanceSnapshotService;
+
+    public LedgerReportService(
+        ChartOfAccountRepository chartOfAccountRepository,
+        JournalLineRepository journalLineRepository,
+        AccountBalanceSnapshotService accountBalanceSnapshotService
+    ) {
+        this.chartOfAccountRepository = chartOfAccountRepository;
+        this.journalLineRepository = journalLineRepository;
+        this.accountBalanceSnapshotService = accountBalanceSnapshotService;
+    }
+
+    /**
+     * Produce the trial balance, one row per account ordered by code, the balance of each account being shown in the
+     * debit or the credit column.
+     *
+     * @param asOf the date of the balances, inclusive.
+     * @param sink the consumer of the rows.
+     */
+    public void trialBalance(Instant asOf, Consumer<? super TrialBalanceRowDTO> sink) {
+        LOG.debug("Request to get the trial balance as of {}", asOf);
+        Map<Long, BigDecimal> netDebitByAccount = accountBalanceSnapshotService.findNetDebitByAccountAsOf(asOf);
+        for (ChartOfAccount account : chartOfAccountRepository.findAll(Sort.by("code", "id"))) {
+            BigDecimal balance = AccountBalanceService.balanceOf(account, netDebitByAccount.getOrDefault(account.getId(), BigDecimal.ZERO));
+            BigDecimal debitBalance = AccountBalanceService.isDebitNormal(account.getAccountType()) ? balance : balance.negate();
+            sink.accept(
+                new TrialBalanceRowDTO(
+                    account.getId(),
+                    account.getCode(),
+                    account.getName(),
+                    account.getAccountType(),
+                    debitBalance.signum() > 0 ? debitBalance : BigDecimal.ZERO,
+                    debitBalance.signum() < 0 ? debitBalance.negate() : BigDecimal.ZERO,
+                    balance
+                )
+            );
+        }
+    }
+
+    /**
+     * Produce the general ledger of one account, or of every account by code when {@code accountId} is {@code null},
+     * with the running balance of the account after each line.
+     *
+     * @param accountId the id of the account, {@code null} for all accounts.
+     * @param from the first date of the ledger, inclusive.
+     * @param to the last date of the ledger, inclusive.
+     * @param sink the consumer of the rows.
+     */
+    public void generalLedger(Long accountId, Instant from, Instant to, Consumer<? super GeneralLedgerRowDTO> sink) {
+        LOG.debug("Request to get the general ledger of {} from {} to {}", accountId, from, to);
+        List<ChartOfAccount> accounts = accountId != null
+            ? chartOfAccountRepository.findById(accountId).stream().toList()
+            : chartOfAccountRepository.findAll(Sort.by("code", "id"));
+        accounts.forEach(account -> generalLedger(account, from, to, sink));
+    }
+
+    private void generalLedger(ChartOfAccount account, Instant from, Instant to, Consumer<? super GeneralLedgerRowDTO> sink) {
+        Instant afterDate = from;
+        long afterJournalId = -1L;
+        long afterId = -1L;
+        BigDecimal netDebit = null;
+        List<LedgerLine> chunk;
+        do {
+            chunk = journalLineRepository.findLedgerLinesAfter(
+                account.getId(),
+                to,
+                afterDate,
+                afterJournalId,
+                afterId,
+                Limit.of(CHUNK_SIZE)
+            );
+            if (chunk.isEmpty()) {
+                return;
+            }
+            if (netDebit == null) {
+                netDebit = accountBalanceSnapshotService.findNetDebitBefore(account.getId(), from);
+            }
+            for (LedgerLine line : chunk) {
+                BigDecimal debit = line.getDebit() != null ? line.getDebit() : BigDecimal.ZERO;
+                BigDecimal credit = line.getCredit() != null ? line.getCredit() : BigDecimal.ZERO;
+                netDebit = netDebit.add(debit).subtract(credit);
+
+                GeneralLedgerRowDTO row = new GeneralLedgerRowDTO();
+                row.setAccountId(account.getId());
+                row.setAccountCode(account.getCode());
+                row.setLineId(line.getId());
+                row.setJournalId(line.getJournalId());
+                row.setJournalDate(line.getJournalDate());
+                row.setReference(line.getReference());
+                row.setDescription(line.getDescription());
+                row.setDebit(line.getDebit());
+                row.setCredit(line.getCredit());
+                row.setRunningBalance(AccountBalanceService.balanceOf(account, netDebit));
+                sink.accept(row);
+            }
+            LedgerLine last = chunk.get(chunk.size() - 1);
+            afterDate = last.getJournalDate();
+            afterJournalId = last.getJournalId();
+            afterId = last.getId();
+        } while (chunk.size() == CHUNK_SIZE);
+    }
+}
@@ -1,10 +1,18 @@
 package com.blitz.account.service;
 
+import com.blitz.account.config.Constants;
+import com.blitz.account.domain.Invoice;
 import com.blitz.account.domain.User;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
+import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.MessageSource;
@@ -29,6 +37,14 @@ public class MailService {
 
     private static final String USER = "user";
 
+    private static final String REMINDERS = "reminders";
+
+    private static final String INVOICE = "invoice";
+
+    private static final String DUE_DATE = "dueDate";
+
+    private static final String AMOUNT_DUE = "amountDue";
+
     private static final String BASE_URL = "baseUrl";
 
     private final JHipsterProperties jHipsterProperties;
@@ -117,4 +133,40 @@ public class MailService {
         LOG.debug("Sending password reset email to '{}'", user.getEmail());
         sendEmailFromTemplateSync(user, "mail/passwordResetEmail", "email.reset.title");
     }
+
+    /**
+     * Send one reminder listing invoices that became overdue.
+     *
+     * @param to the address of the reminder.
+     * @param invoices the invoices, in the order they are listed.
+     */
+    @Async
+    public void sendOverdueInvoicesReminder(String to, List<Invoice> invoices) {
+        LOG.debug("Sending overdue invoices reminder of {} Invoices to '{}'", invoices.size(), to);
+        Locale locale = Locale.forLanguageTag(Constants.DEFAULT_LANGUAGE);
+        Context context = new Context(locale);
+        context.setVariable(
+            REMINDERS,
+            invoices
+                .stream()
+                .map(invoice ->
+                    Map.of(
+                        INVOICE,
+                        invoice,
+                        DUE_DATE,
+                        LocalDate.ofInstant(invoice.getDueDate(), ZoneOffset.UTC),
+                        AMOUNT_DUE,
+                        invoice
+                            .getTotalAmount()
+                            .subtract(Objects.requireNonNullElse(invoice.getPaidAmount(), BigDecimal.ZERO))
+                            .toPlainString()
+                    )
+                )
+                .toList()
+        );
+        context.setVariable(BASE_URL, jHipsterProperties.getMail().getBaseUrl());
+        String content = templateEngine.process("mail/overdueInvoicesEmail", context);
+        String subject = messageSource.getMessage("email.overdue.title", new Object[] { invoices.size() }, locale);
+        sendEmailSync(to, subject, content, false, true);
+    }
 }
@@ -0,0 +1,140 @@
+package com.blitz.account.service;
+
+import com.blitz.account.domain.BankTransaction;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reader of OFX bank statements, tag by tag, which reads the SGML flavour whose elements are not closed as well as the
+ * XML one.
+ * <p>
+ * Each {@code STMTTRN} aggregate is a transaction: {@code TRNAMT} is its signed amount, {@code DTPOSTED} its date,
+ * {@code FITID} its reference and {@code NAME} and {@code MEMO} its description.
+ */
+final class OfxBankStatementReader implements BankStatementReader {
+
+    private static final int MAX_TEXT_LENGTH = 4096;
+
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+
+    private final BufferedReader reader;
+
+    private final StringBuilder tag = new StringBuilder();
+
+    private final StringBuilder text = new StringBuilder();
+
+    private boolean atTag;
+
+    private int transactions;
+
+    OfxBankStatementReader(InputStream statement) {
+        this.reader = new BufferedReader(new InputStreamReader(statement, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public BankTransaction read() throws IOException {
+        Map<String, String> fields = null;
+        while (nextTag()) {
+            String name = tag.toString();
+            if ("STMTTRN".equals(name)) {
+                fields = new HashMap<>();
+            } else if ("/STMTTRN".equals(name) && fields != null) {
+                transactions++;
+                return transaction(fields);
+            } else if (fields != null && !name.startsWith("/")) {
+                fields.put(name, text.toString().strip().replace("&lt;", "<").replace("&gt;", ">").replace("&amp;", "&"));
+            }
+        }
+        if (fields != null) {
+            throw new BankStatementFormatException("Unterminated transaction " + (transactions + 1));
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private BankTransaction transaction(Map<String, String> fields) {
+        try {
+            String name = fields.get("NAME");
+            String memo = fields.get("MEMO");
+            return BankStatementParsing.transaction(
+                date(fields.get("DTPOSTED")),
+                BankStatementParsing.amount(fields.get("TRNAMT")),
+                null,
+                fields.containsKey("FITID") ? fields.get("FITID") : fields.get("CHECKNUM"),
+                name != null && memo != null && !memo.equals(name) ? name + " " + memo : name != null ? name : memo
+            );
+        } catch (BankStatementFormatException e) {
+            throw new BankStatementFormatException(e.getMessage() + " in transaction " + transactions, e);
+        }
+    }
+
+    /**
+     * Parse an OFX date, {@code YYYYMMDD[HHMMSS[.XXX]][[offset:zone]]}, UTC when it has no offset.
+     */
+    private static Instant date(String value) {
+        if (value == null || value.length() < 8) {
+            throw new BankStatementFormatException("Invalid date " + value);
+        }
+        try {
+            String digits = value.length() >= 14 && Character.isDigit(value.charAt(13))
+                ? value.substring(0, 14)
+                : value.substring(0, 8) + "000000";
+            ZoneOffset offset = ZoneOffset.UTC;
+            int bracket = value.indexOf('[');
+            if (bracket >= 0) {
+                String zone = value.substring(bracket + 1, value.indexOf(']', bracket)).split(":")[0];
+                offset = ZoneOffset.ofTotalSeconds(new BigDecimal(zone).multiply(BigDecimal.valueOf(3600)).intValueExact());
+            }
+            return LocalDateTime.parse(digits, DATE_TIME).toInstant(offset);
+        } catch (DateTimeParseException | ArithmeticException | IndexOutOfBoundsException | NumberFormatException e) {
+            throw new BankStatementFormatException("Invalid date " + value, e);
+        }
+    }
+
+    /**
+     * Move to the next tag, reading its name and the text that follows it up to the next tag.
+     */
+    private boolean nextTag() throws IOException {
+        int c;
+        if (!atTag) {
+            do {
+                c = reader.read();
+            } while (c != -1 && c != '<');
+            if (c == -1) {
+                return false;
+            }
+        }
+        tag.setLength(0);
+        while ((c = reader.read()) != -1 && c != '>') {
+            if (tag.length() < MAX_TEXT_LENGTH) {
+                tag.append((char) c);
+            }
+        }
+        text.setLength(0);
+        while ((c = reader.read()) != -1 && c != '<') {
+            if (text.length() < MAX_TEXT_LENGTH) {
+                text.append((char) c);
+            }
+        }
+        atTag = c == '<';
+        String name = tag.toString().strip();
+        tag.setLength(0);
+        tag.append(name);
+        return true;
+    }
+}
@@ -0,0 +1,74 @@
+package com.blitz.account.service;
+
+import com.blitz.account.config.ApplicationProperties;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service running read-modify-write operations on versioned entities with a bounded retry.
+ * <p>
+ * Each attempt runs in its own database transaction and re-reads the entities it modifies, so only operations whose
+ * result does not depend on what the client last saw, such as applying a delta, may be retried. Attempts are spaced
+ * with a randomised, growing backoff so that concurrent writers of the same row spread out instead of colliding again.
+ */
+@Service
+public class OptimisticLockRetryService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OptimisticLockRetryService.class);
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties applicationProperties;
+
+    public OptimisticLockRetryService(PlatformTransactionManager transactionManager, ApplicationProperties applicationProperties) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.applicationProperties = applicationProperties;
+    }
+
+    /**
+     * Run an operation, retrying it up to {@code application.optimistic-lock.max-attempts} times while it conflicts
+     * with a concurrent update.
+     * <p>
+     * This must not be called within a transaction: a conflict there would roll the caller back anyway.
+     *
+     * @param operation the operation.
+     * @param <T> the type of the result.
+     * @return the result of the first attempt that committed.
+     * @throws OptimisticLockingFailureException if every attempt conflicted.
+     */
+    public <T> T execute(Supplier<T> operation) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Optimistic lock retries cannot run within a transaction");
+        }
+        int maxAttempts = applicationProperties.getOptimisticLock().getMaxAttempts();
+        long backoff = applicationProperties.getOptimisticLock().getBackoff().toMillis();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> operation.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    LOG.warn("Giving up after {} conflicting attempts: {}", attempt, e.getMessage());
+                    throw e;
+                }
+                LOG.debug("Attempt {} conflicted with a concurrent update, retrying: {}", attempt, e.getMessage());
+                sleep(ThreadLocalRandom.current().nextLong(backoff * attempt + 1));
+            }
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying an optimistic lock conflict", e);
+        }
+    }
+}
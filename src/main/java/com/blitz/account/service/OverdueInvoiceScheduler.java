@@ -0,0 +1,115 @@
+package com.blitz.account.service;
+
+import com.blitz.account.config.ApplicationProperties;
+import com.blitz.account.management.OverdueInvoiceMetersService;
+import com.blitz.account.repository.InvoiceRepository;
+import com.blitz.account.repository.InvoiceRepository.OverdueBacklog;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service driving the marking of unpaid {@link com.blitz.account.domain.Invoice}s past their due date as overdue.
+ * <p>
+ * The candidates are read in chunks of {@code application.invoice.overdue-chunk-size} seeking on their ids, and up to
+ * {@code application.invoice.overdue-parallelism} chunks are handed to {@link OverdueInvoiceService} at once, each in its
+ * own database transaction. The mark of each invoice is the checkpoint of the job: a chunk that fails is counted as failed
+ * and left to the next run, and a run interrupted by a restart resumes with the invoices not marked yet.
+ */
+@Service
+public class OverdueInvoiceScheduler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OverdueInvoiceScheduler.class);
+
+    private final InvoiceRepository invoiceRepository;
+
+    private final OverdueInvoiceService overdueInvoiceService;
+
+    private final OverdueInvoiceMetersService overdueInvoiceMetersService;
+
+    private final ApplicationProperties applicationProperties;
+
+    public OverdueInvoiceScheduler(
+        InvoiceRepository invoiceRepository,
+        OverdueInvoiceService overdueInvoiceService,
+        OverdueInvoiceMetersService overdueInvoiceMetersService,
+        ApplicationProperties applicationProperties
+    ) {
+        this.invoiceRepository = invoiceRepository;
+        this.overdueInvoiceService = overdueInvoiceService;
+        this.overdueInvoiceMetersService = overdueInvoiceMetersService;
+        this.applicationProperties = applicationProperties;
+    }
+
+    /**
+     * Mark the invoices overdue now, and unmark the ones paid or moved to a later due date since they were marked.
+     * <p>
+     * This is scheduled by {@code application.invoice.overdue-cron}.
+     *
+     * @return the number of invoices marked.
+     */
+    @Scheduled(cron = "${application.invoice.overdue-cron}")
+    public int markOverdue() {
+        return markOverdue(Instant.now().truncatedTo(ChronoUnit.MILLIS));
+    }
+
+    synchronized int markOverdue(Instant now) {
+        int unmarked = overdueInvoiceService.clearOverdue(now);
+        trackBacklog(now);
+
+        int chunkSize = applicationProperties.getInvoice().getOverdueChunkSize();
+        int parallelism = applicationProperties.getInvoice().getOverdueParallelism();
+        AtomicInteger marked = new AtomicInteger();
+        int chunks;
+        try (BoundedParallelExecutor workers = new BoundedParallelExecutor(parallelism)) {
+            Long afterId = 0L;
+            List<Long> invoiceIds;
+            do {
+                invoiceIds = invoiceRepository.findOverdueIdsAfter(now, afterId, Limit.of(chunkSize));
+                if (invoiceIds.isEmpty()) {
+                    break;
+                }
+                afterId = invoiceIds.get(invoiceIds.size() - 1);
+                List<Long> chunk = invoiceIds;
+                workers.submit(() -> marked.addAndGet(markOverdue(chunk, now)));
+            } while (invoiceIds.size() == chunkSize);
+            workers.join();
+            chunks = workers.submitted();
+        }
+
+        trackBacklog(now);
+        LOG.info("Marked {} Invoices overdue and unmarked {} in {} chunks", marked.get(), unmarked, chunks);
+        return marked.get();
+    }
+
+    private int markOverdue(List<Long> invoiceIds, Instant now) {
+        long start = System.nanoTime();
+        try {
+            int marked = overdueInvoiceService.markOverdue(invoiceIds, now).size();
+            overdueInvoiceMetersService.trackChunk(marked, Duration.ofNanos(System.nanoTime() - start));
+            return marked;
+        } catch (RuntimeException e) {
+            LOG.warn(
+                "Could not mark Invoices {} to {} overdue, they will be retried at the next run",
+                invoiceIds.get(0),
+                invoiceIds.get(invoiceIds.size() - 1),
+                e
+            );
+            overdueInvoiceMetersService.trackFailed(invoiceIds.size());
+            return 0;
+        }
+    }
+
+    private void trackBacklog(Instant now) {
+        OverdueBacklog backlog = invoiceRepository.findOverdueBacklog(now);
+        Duration lag = backlog.getOldestDueDate() != null ? Duration.between(backlog.getOldestDueDate(), now) : Duration.ZERO;
+        overdueInvoiceMetersService.trackBacklog(backlog.getInvoices(), lag);
+    }
+}
@@ -0,0 +1,102 @@
+package com.blitz.account.service;
+
+import com.blitz.account.config.ApplicationProperties;
+import com.blitz.account.domain.Invoice;
+import com.blitz.account.repository.InvoiceRepository;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Service marking {@link Invoice}s overdue.
+ * <p>
+ * {@link Invoice#getOverdueSince()} is set with a conditional update, so that an invoice is marked once even when several
+ * nodes or a restarted job process it, and one reminder listing the invoices marked by a chunk is sent to
+ * {@code application.invoice.overdue-reminder-to} once the marks commit. A reminder the mail executor rejects is logged
+ * with the ids of its invoices rather than failing the chunk, whose marks are committed already.
+ */
+@Service
+@Transactional
+public class OverdueInvoiceService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OverdueInvoiceService.class);
+
+    private final InvoiceRepository invoiceRepository;
+
+    private final MailService mailService;
+
+    private final ApplicationProperties applicationProperties;
+
+    public OverdueInvoiceService(InvoiceRepository invoiceRepository, MailService mailService, ApplicationProperties applicationProperties) {
+        this.invoiceRepository = invoiceRepository;
+        this.mailService = mailService;
+        this.applicationProperties = applicationProperties;
+    }
+
+    /**
+     * Mark the given invoices overdue if they still are unpaid past their due date.
+     *
+     * @param ids the ids of the invoices.
+     * @param now the current date, which becomes the date they are overdue since.
+     * @return the invoices marked.
+     */
+    public List<Invoice> markOverdue(Collection<Long> ids, Instant now) {
+        LOG.debug("Request to mark Invoices overdue : {}", ids);
+        if (invoiceRepository.markOverdue(ids, now) == 0) {
+            return List.of();
+        }
+        List<Invoice> marked = invoiceRepository.findByIdInAndOverdueSince(ids, now);
+        String reminderTo = applicationProperties.getInvoice().getOverdueReminderTo();
+        if (reminderTo != null && !reminderTo.isBlank()) {
+            afterCommit(() -> sendReminder(reminderTo, marked));
+        }
+        return marked;
+    }
+
+    /**
+     * Unmark the invoices marked overdue that were paid or moved to a later due date since.
+     *
+     * @param now the current date.
+     * @return the number of invoices unmarked.
+     */
+    public int clearOverdue(Instant now) {
+        LOG.debug("Request to unmark the Invoices no longer overdue");
+        return invoiceRepository.clearOverdue(now);
+    }
+
+    private void sendReminder(String reminderTo, List<Invoice> marked) {
+        try {
+            mailService.sendOverdueInvoicesReminder(reminderTo, marked);
+        } catch (TaskRejectedException e) {
+            // The marks are committed already: the chunk must not be counted as failed
+            LOG.error(
+                "Could not send the reminder of the {} Invoices marked overdue : {}",
+                marked.size(),
+                marked.stream().map(Invoice::getId).toList(),
+                e
+            );
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            }
+        );
+    }
+}
@@ -0,0 +1,130 @@
+package com.blitz.account.service;
+
+import com.blitz.account.domain.BankAccount;
+import com.blitz.account.domain.ChartOfAccount;
+import com.blitz.account.domain.FleetTrip;
+import com.blitz.account.domain.Invoice;
+import com.blitz.account.domain.Product;
+import com.blitz.account.domain.Supplier;
+import com.blitz.account.domain.Vehicle;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Window;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Counts of the entities matching criteria, cached for {@code application.pagination.count-cache-ttl} so that paging
+ * through a list does not count the matching entities again for every page.
+ * <p>
+ * The counts of an entity are dropped once a change of one of its entities through its service commits. Changes made by
+ * bulk updates are only seen once the cached counts expire.
+ */
+@Component
+public class PageCountCache {
+
+    /**
+     * The entities whose counts are cached.
+     */
+    public static final List<Class<?>> DOMAIN_CLASSES = List.of(
+        Invoice.class,
+        Vehicle.class,
+        FleetTrip.class,
+        Product.class,
+        Supplier.class,
+        BankAccount.class,
+        ChartOfAccount.class
+    );
+
+    private final CacheManager cacheManager;
+
+    public PageCountCache(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * @param domainClass the class of the entities.
+     * @return the name of the cache of their counts.
+     */
+    public static String cacheName(Class<?> domainClass) {
+        return "pageCounts." + domainClass.getName();
+    }
+
+    /**
+     * Read a slice of entities, one entity more than the size of the page telling whether there is a next one.
+     *
+     * @param pageable the page to read.
+     * @param query the query reading the page from a position.
+     * @param <T> the type of the entities.
+     * @return the slice.
+     */
+    public static <T> Slice<T> slice(Pageable pageable, Function<ScrollPosition, Window<T>> query) {
+        ScrollPosition position = pageable.getOffset() == 0 ? ScrollPosition.offset() : ScrollPosition.offset(pageable.getOffset() - 1);
+        Window<T> window = query.apply(position);
+        return new SliceImpl<>(window.getContent(), pageable, window.hasNext());
+    }
+
+    /**
+     * Make a page of a slice, counting the matching entities only if the slice does not tell their number and their count
+     * is not cached.
+     *
+     * @param domainClass the class of the entities.
+     * @param criteria the criteria the entities match, {@code null} for all of them.
+     * @param slice the slice.
+     * @param count the query counting the matching entities.
+     * @param <T> the type of the entities.
+     * @return the page.
+     */
+    public <T> Page<T> page(Class<T> domainClass, Object criteria, Slice<T> slice, LongSupplier count) {
+        return PageableExecutionUtils.getPage(slice.getContent(), slice.getPageable(), () ->
+            Objects.requireNonNull(countCache(domainClass).get(Objects.requireNonNullElse(criteria, domainClass), count::getAsLong))
+        );
+    }
+
+    /**
+     * Drop the counts of an entity once the current transaction commits.
+     *
+     * @param domainClass the class of the entity.
+     */
+    public void evict(Class<?> domainClass) {
+        Cache cache = countCache(domainClass);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache.clear();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.clear();
+                }
+            }
+        );
+    }
+
+    /**
+     * Drop the counts of invoices once an invoice change commits, whichever service made it.
+     *
+     * @param event the change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInvoiceChanged(InvoiceChangedEvent event) {
+        countCache(Invoice.class).clear();
+    }
+
+    private Cache countCache(Class<?> domainClass) {
+        return Objects.requireNonNull(cacheManager.getCache(cacheName(domainClass)));
+    }
+}
@@ -1,10 +1,26 @@
 package com.blitz.account.service;
 
+import com.blitz.account.domain.Invoice;
 import com.blitz.account.domain.Payment;
+import com.blitz.account.repository.InvoiceRepository;
 import com.blitz.account.repository.PaymentRepository;
+import com.blitz.account.service.InvoiceChangedEvent.State;
+import com.blitz.account.service.dto.PaymentImportResultDTO;
+import com.blitz.account.service.dto.PaymentImportResultDTO.Outcome;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -12,6 +28,10 @@ import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Service Implementation for managing {@link com.blitz.account.domain.Payment}.
+ * <p>
+ * A payment with an invoice is applied to it: the paid amount of the invoice is moved by the amount of the payment and
+ * its payment status derived from the new paid amount, in a single conditional update per invoice, so that concurrent
+ * payments to the same invoice cannot lose each other. Every invoice changed publishes an {@link InvoiceChangedEvent}.
  */
 @Service
 @Transactional
@@ -21,8 +41,18 @@ public class PaymentService {
 
     private final PaymentRepository paymentRepository;
 
-    public PaymentService(PaymentRepository paymentRepository) {
+    private final InvoiceRepository invoiceRepository;
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    public PaymentService(
+        PaymentRepository paymentRepository,
+        InvoiceRepository invoiceRepository,
+        ApplicationEventPublisher applicationEventPublisher
+    ) {
         this.paymentRepository = paymentRepository;
+        this.invoiceRepository = invoiceRepository;
+        this.applicationEventPublisher = applicationEventPublisher;
     }
 
     /**
@@ -33,7 +63,65 @@ public class PaymentService {
      */
     public Payment save(Payment payment) {
         LOG.debug("Request to save Payment : {}", payment);
-        return paymentRepository.save(payment);
+        Payment result = paymentRepository.save(payment);
+        applyToInvoices(allocations(null, result));
+        return result;
+    }
+
+    /**
+     * Import payments, applying each one to its invoice.
+     * <p>
+     * A payment is rejected if it already has an id, if its amount is not positive or if its invoice does not exist; the
+     * others are inserted in batches and the payments to the same invoice applied together.
+     *
+     * @param payments the payments to import.
+     * @return the outcome of each payment, in the order of the payments.
+     */
+    public List<PaymentImportResultDTO> importAll(List<Payment> payments) {
+        LOG.debug("Request to import {} Payments", payments.size());
+        List<Long> invoiceIds = payments.stream().map(Payment::getInvoiceId).filter(Objects::nonNull).distinct().toList();
+        Set<Long> existingInvoiceIds = invoiceIds.isEmpty() ? Set.of() : new HashSet<>(invoiceRepository.findExistingIds(invoiceIds));
+
+        PaymentImportResultDTO[] results = new PaymentImportResultDTO[payments.size()];
+        Map<Integer, Payment> accepted = new TreeMap<>();
+        for (int row = 0; row < payments.size(); row++) {
+            Payment payment = payments.get(row);
+            String error = null;
+            if (payment.getId() != null) {
+                error = "idexists";
+            } else if (payment.getAmount().signum() <= 0) {
+                error = "amountinvalid";
+            } else if (payment.getInvoiceId() != null && !existingInvoiceIds.contains(payment.getInvoiceId())) {
+                error = "invoicenotfound";
+            }
+            if (error != null) {
+                results[row] = new PaymentImportResultDTO(row, Outcome.REJECTED, null, payment.getInvoiceId(), null, error);
+            } else {
+                accepted.put(row, payment);
+            }
+        }
+
+        paymentRepository.saveAll(accepted.values());
+        Map<Long, BigDecimal> allocations = new TreeMap<>();
+        accepted
+            .values()
+            .stream()
+            .filter(payment -> payment.getInvoiceId() != null)
+            .forEach(payment -> allocations.merge(payment.getInvoiceId(), payment.getAmount(), BigDecimal::add));
+        Map<Long, Invoice> invoices = applyToInvoices(allocations);
+
+        accepted.forEach((row, payment) -> {
+            Invoice invoice = payment.getInvoiceId() != null ? invoices.get(payment.getInvoiceId()) : null;
+            results[row] = new PaymentImportResultDTO(
+                row,
+                payment.getInvoiceId() != null ? Outcome.APPLIED : Outcome.RECORDED,
+                payment.getId(),
+                payment.getInvoiceId(),
+                invoice != null ? invoice.getPaymentStatus() : null,
+                null
+            );
+        });
+        return List.of(results);
     }
 
     /**
@@ -44,7 +132,10 @@ public class PaymentService {
      */
     public Payment update(Payment payment) {
         LOG.debug("Request to update Payment : {}", payment);
-        return paymentRepository.save(payment);
+        Payment before = paymentRepository.findById(payment.getId()).map(PaymentService::allocationOf).orElse(null);
+        Payment result = paymentRepository.save(payment);
+        applyToInvoices(allocations(before, result));
+        return result;
     }
 
     /**
@@ -59,6 +150,7 @@ public class PaymentService {
         return paymentRepository
             .findById(payment.getId())
             .map(existingPayment -> {
+                Payment before = allocationOf(existingPayment);
                 if (payment.getAmount() != null) {
                     existingPayment.setAmount(payment.getAmount());
                 }
@@ -78,9 +170,10 @@ public class PaymentService {
                     existingPayment.setInvoiceId(payment.getInvoiceId());
                 }
 
-                return existingPayment;
-            })
-            .map(paymentRepository::save);
+                Payment result = paymentRepository.save(existingPayment);
+                applyToInvoices(allocations(before, result));
+                return result;
+            });
     }
 
     /**
@@ -114,6 +207,59 @@ public class PaymentService {
      */
     public void delete(Long id) {
         LOG.debug("Request to delete Payment : {}", id);
-        paymentRepository.deleteById(id);
+        paymentRepository
+            .findById(id)
+            .ifPresent(payment -> {
+                Map<Long, BigDecimal> allocations = allocations(payment, null);
+                paymentRepository.delete(payment);
+                applyToInvoices(allocations);
+            });
+    }
+
+    private static Payment allocationOf(Payment payment) {
+        return new Payment().amount(payment.getAmount()).invoiceId(payment.getInvoiceId());
+    }
+
+    private static Map<Long, BigDecimal> allocations(Payment before, Payment after) {
+        Map<Long, BigDecimal> allocations = new TreeMap<>();
+        if (before != null && before.getInvoiceId() != null) {
+            allocations.merge(before.getInvoiceId(), before.getAmount().negate(), BigDecimal::add);
+        }
+        if (after != null && after.getInvoiceId() != null) {
+            allocations.merge(after.getInvoiceId(), after.getAmount(), BigDecimal::add);
+        }
+        return allocations;
+    }
+
+    /**
+     * Apply amounts to the paid amounts of invoices, in invoice id order so that concurrent imports lock them in the same
+     * order. The invoices are read locked first, so that the state they are changed from is the one the update sees.
+     *
+     * @param allocations the amounts by invoice id.
+     * @return the invoices after the payments, by id.
+     */
+    private Map<Long, Invoice> applyToInvoices(Map<Long, BigDecimal> allocations) {
+        allocations.values().removeIf(amount -> amount.signum() == 0);
+        if (allocations.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, State> before = invoiceRepository
+            .findAllByIdForUpdate(allocations.keySet())
+            .stream()
+            .collect(Collectors.toMap(Invoice::getId, State::of));
+        List<Long> applied = new ArrayList<>();
+        allocations.forEach((invoiceId, amount) -> {
+            if (before.containsKey(invoiceId) && invoiceRepository.applyPayment(invoiceId, amount) > 0) {
+                applied.add(invoiceId);
+            } else {
+                LOG.warn("Payment applied to unknown Invoice : {}", invoiceId);
+            }
+        });
+        Map<Long, Invoice> invoices = new HashMap<>();
+        for (Invoice invoice : invoiceRepository.findAllById(applied)) {
+            invoices.put(invoice.getId(), invoice);
+            applicationEventPublisher.publishEvent(InvoiceChangedEvent.changed(before.get(invoice.getId()), invoice));
+        }
+        return invoices;
     }
 }
@@ -5,7 +5,9 @@ import com.blitz.account.repository.ProductRepository;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -19,8 +21,18 @@ public class ProductService {
 
     private final ProductRepository productRepository;
 
-    public ProductService(ProductRepository productRepository) {
+    private final OptimisticLockRetryService optimisticLockRetryService;
+
+    private final PageCountCache pageCountCache;
+
+    public ProductService(
+        ProductRepository productRepository,
+        OptimisticLockRetryService optimisticLockRetryService,
+        PageCountCache pageCountCache
+    ) {
         this.productRepository = productRepository;
+        this.optimisticLockRetryService = optimisticLockRetryService;
+        this.pageCountCache = pageCountCache;
     }
 
     /**
@@ -31,32 +43,44 @@ public class ProductService {
      */
     public Product save(Product product) {
         LOG.debug("Request to save Product : {}", product);
+        pageCountCache.evict(Product.class);
         return productRepository.save(product);
     }
 
     /**
      * Update a product.
+     * <p>
+     * The update is rejected if the product was modified since the version it carries was read.
      *
      * @param product the entity to save.
      * @return the persisted entity.
+     * @throws ObjectOptimisticLockingFailureException if the product was modified concurrently.
      */
     public Product update(Product product) {
         LOG.debug("Request to update Product : {}", product);
+        pageCountCache.evict(Product.class);
         return productRepository.save(product);
     }
 
     /**
      * Partially update a product.
+     * <p>
+     * The update is rejected if the product carries a version and was modified since it was read.
      *
      * @param product the entity to update partially.
      * @return the persisted entity.
+     * @throws ObjectOptimisticLockingFailureException if the product was modified concurrently.
      */
     public Optional<Product> partialUpdate(Product product) {
         LOG.debug("Request to partially update Product : {}", product);
+        pageCountCache.evict(Product.class);
 
         return productRepository
             .findById(product.getId())
             .map(existingProduct -> {
+                if (product.getVersion() != null && !product.getVersion().equals(existingProduct.getVersion())) {
+                    throw new ObjectOptimisticLockingFailureException(Product.class, product.getId());
+                }
                 if (product.getName() != null) {
                     existingProduct.setName(product.getName());
                 }
@@ -81,6 +105,29 @@ public class ProductService {
             .map(productRepository::save);
     }
 
+    /**
+     * Adjust the stock of a product by a number of units.
+     * <p>
+     * The adjustment is applied to the latest stock, it is retried when the product is modified concurrently.
+     *
+     * @param id the id of the product.
+     * @param delta the number of units added, negative for units removed.
+     * @return the updated product, or empty if it does not exist.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<Product> adjustStock(Long id, int delta) {
+        LOG.debug("Request to adjust the stock of Product {} by {}", id, delta);
+        pageCountCache.evict(Product.class);
+        return optimisticLockRetryService.execute(() ->
+            productRepository
+                .findById(id)
+                .map(product -> {
+                    int stockQty = product.getStockQty() != null ? product.getStockQty() : 0;
+                    return productRepository.saveAndFlush(product.stockQty(stockQty + delta));
+                })
+        );
+    }
+
     /**
      * Get one product by id.
      *
@@ -100,6 +147,7 @@ public class ProductService {
      */
     public void delete(Long id) {
         LOG.debug("Request to delete Product : {}", id);
+        pageCountCache.evict(Product.class);
         productRepository.deleteById(id);
     }
 }
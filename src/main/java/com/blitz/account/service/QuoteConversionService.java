@@ -0,0 +1,202 @@
+package com.blitz.account.service;
+
+import com.blitz.account.config.ApplicationProperties;
+import com.blitz.account.domain.Invoice;
+import com.blitz.account.domain.InvoiceLine;
+import com.blitz.account.domain.Quote;
+import com.blitz.account.domain.QuoteLine;
+import com.blitz.account.domain.enumeration.DocumentStatus;
+import com.blitz.account.domain.enumeration.PaymentStatus;
+import com.blitz.account.repository.InvoiceLineRepository;
+import com.blitz.account.repository.InvoiceRepository;
+import com.blitz.account.repository.QuoteLineRepository;
+import com.blitz.account.repository.QuoteRepository;
+import com.blitz.account.service.dto.QuoteConversionResultDTO;
+import com.blitz.account.service.dto.QuoteConversionResultDTO.Outcome;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service converting approved {@link Quote}s into {@link Invoice}s.
+ * <p>
+ * The quotes are converted in chunks of {@code application.quote.conversion-chunk-size}, each in its own database
+ * transaction: the quotes of a chunk are locked and read at once, so that neither they nor their lines change meanwhile,
+ * then their lines, the quotes are marked invoiced with a conditional update, then the invoices and their lines are
+ * inserted in batches. An invoice keeps the id of its quote, which a unique constraint makes the quote convertible only
+ * once. A chunk that fails, for instance because one of its quotes was converted concurrently, is rejected as a whole
+ * and the conversion goes on with the next one.
+ */
+@Service
+public class QuoteConversionService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(QuoteConversionService.class);
+
+    private record Conversion(Invoice invoice, List<InvoiceLine> lines) {}
+
+    private final QuoteRepository quoteRepository;
+
+    private final QuoteLineRepository quoteLineRepository;
+
+    private final InvoiceRepository invoiceRepository;
+
+    private final InvoiceLineRepository invoiceLineRepository;
+
+    private final InvoiceTotalsService invoiceTotalsService;
+
+    private final InvoiceNumberAllocator invoiceNumberAllocator;
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public QuoteConversionService(
+        QuoteRepository quoteRepository,
+        QuoteLineRepository quoteLineRepository,
+        InvoiceRepository invoiceRepository,
+        InvoiceLineRepository invoiceLineRepository,
+        InvoiceTotalsService invoiceTotalsService,
+        InvoiceNumberAllocator invoiceNumberAllocator,
+        ApplicationEventPublisher applicationEventPublisher,
+        ApplicationProperties applicationProperties,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.quoteRepository = quoteRepository;
+        this.quoteLineRepository = quoteLineRepository;
+        this.invoiceRepository = invoiceRepository;
+        this.invoiceLineRepository = invoiceLineRepository;
+        this.invoiceTotalsService = invoiceTotalsService;
+        this.invoiceNumberAllocator = invoiceNumberAllocator;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.applicationProperties = applicationProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Convert approved quotes into invoices with the same lines, issued now and due after
+     * {@code application.quote.payment-term}.
+     * <p>
+     * This must not be called within a transaction, each chunk of quotes commits on its own.
+     *
+     * @param quoteIds the ids of the quotes.
+     * @return the outcome of each quote, once per quote in the order of the ids.
+     */
+    public List<QuoteConversionResultDTO> convertAll(List<Long> quoteIds) {
+        LOG.debug("Request to convert {} Quotes", quoteIds.size());
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Quotes cannot be converted within a transaction");
+        }
+        List<Long> distinctIds = quoteIds.stream().filter(Objects::nonNull).distinct().toList();
+        int chunkSize = applicationProperties.getQuote().getConversionChunkSize();
+        List<QuoteConversionResultDTO> results = new ArrayList<>(distinctIds.size());
+        for (int from = 0; from < distinctIds.size(); from += chunkSize) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + chunkSize, distinctIds.size()));
+            try {
+                results.addAll(Objects.requireNonNull(transactionTemplate.execute(status -> convert(chunk))));
+            } catch (DataAccessException e) {
+                LOG.warn("Could not convert Quotes {} to {}", chunk.get(0), chunk.get(chunk.size() - 1), e);
+                chunk.forEach(quoteId -> results.add(rejected(quoteId, "conversionfailed")));
+            }
+        }
+        return results;
+    }
+
+    private List<QuoteConversionResultDTO> convert(List<Long> quoteIds) {
+        Map<Long, Quote> quotes = quoteRepository
+            .findAllByIdForUpdate(quoteIds)
+            .stream()
+            .collect(Collectors.toMap(Quote::getId, Function.identity()));
+        Map<Long, List<QuoteLine>> linesByQuote = quoteLineRepository
+            .findByQuoteIdInOrderByQuoteIdAscIdAsc(quoteIds)
+            .stream()
+            .collect(Collectors.groupingBy(QuoteLine::getQuoteId));
+        Map<Long, BigDecimal> percentages = invoiceTotalsService.vatPercentages();
+        Instant now = Instant.now();
+        Instant dueDate = now.plus(applicationProperties.getQuote().getPaymentTerm());
+
+        Map<Long, QuoteConversionResultDTO> results = new HashMap<>();
+        List<Conversion> conversions = new ArrayList<>();
+        for (Long quoteId : quoteIds) {
+            Quote quote = quotes.get(quoteId);
+            if (quote == null) {
+                results.put(quoteId, rejected(quoteId, "quotenotfound"));
+            } else if (quote.getStatus() == DocumentStatus.INVOICED) {
+                results.put(quoteId, rejected(quoteId, "quoteinvoiced"));
+            } else if (quote.getStatus() != DocumentStatus.APPROVED) {
+                results.put(quoteId, rejected(quoteId, "quotenotapproved"));
+            } else {
+                List<InvoiceLine> lines = linesByQuote
+                    .getOrDefault(quoteId, List.of())
+                    .stream()
+                    .map(QuoteConversionService::toInvoiceLine)
+                    .toList();
+                conversions.add(new Conversion(toInvoice(quote, lines, now, dueDate, percentages), lines));
+            }
+        }
+        if (conversions.isEmpty()) {
+            return quoteIds.stream().map(results::get).toList();
+        }
+
+        List<Long> convertedIds = conversions.stream().map(conversion -> conversion.invoice().getQuoteId()).toList();
+        if (quoteRepository.markInvoiced(convertedIds) != convertedIds.size()) {
+            throw new ConcurrencyFailureException("Quotes converted or changed concurrently among " + convertedIds);
+        }
+        invoiceRepository.saveAll(conversions.stream().map(Conversion::invoice).toList());
+        conversions.forEach(conversion -> conversion.lines().forEach(line -> line.setInvoiceId(conversion.invoice().getId())));
+        invoiceLineRepository.saveAll(conversions.stream().flatMap(conversion -> conversion.lines().stream()).toList());
+
+        for (Conversion conversion : conversions) {
+            Invoice invoice = conversion.invoice();
+            results.put(invoice.getQuoteId(), new QuoteConversionResultDTO(invoice.getQuoteId(), Outcome.CONVERTED, invoice.getId(), null));
+            applicationEventPublisher.publishEvent(InvoiceChangedEvent.changed(null, invoice));
+        }
+        return quoteIds.stream().map(results::get).toList();
+    }
+
+    private Invoice toInvoice(Quote quote, List<InvoiceLine> lines, Instant now, Instant dueDate, Map<Long, BigDecimal> percentages) {
+        BigDecimal totalAmount = lines.isEmpty()
+            ? Objects.requireNonNullElse(quote.getTotalAmount(), BigDecimal.ZERO)
+            : invoiceTotalsService.totalOf(lines, quote.getVatRateId(), percentages);
+        return new Invoice()
+            .clientName(quote.getClientName())
+            .issueDate(now)
+            .dueDate(dueDate)
+            .status(DocumentStatus.DRAFT)
+            .currencyId(quote.getCurrencyId())
+            .vatRateId(quote.getVatRateId())
+            .totalAmount(totalAmount)
+            .paidAmount(BigDecimal.ZERO)
+            .paymentStatus(totalAmount.signum() > 0 ? PaymentStatus.UNPAID : PaymentStatus.PAID)
+            .quoteId(quote.getId())
+            .invoiceNumber(invoiceNumberAllocator.allocate(now));
+    }
+
+    private static InvoiceLine toInvoiceLine(QuoteLine line) {
+        return new InvoiceLine()
+            .productId(line.getProductId())
+            .quantity(line.getQuantity())
+            .unitPrice(line.getUnitPrice())
+            .vatRateId(line.getVatRateId());
+    }
+
+    private static QuoteConversionResultDTO rejected(Long quoteId, String error) {
+        return new QuoteConversionResultDTO(quoteId, Outcome.REJECTED, null, error);
+    }
+}
@@ -0,0 +1,14 @@
+package com.blitz.account.service;
+
+/**
+ * Thrown when the status or the lines of a quote converted into an invoice are changed, or when a quote is marked
+ * invoiced without being converted.
+ */
+public class QuoteInvoicedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public QuoteInvoicedException(String message) {
+        super(message);
+    }
+}
@@ -1,8 +1,14 @@
 package com.blitz.account.service;
 
+import com.blitz.account.domain.Quote;
 import com.blitz.account.domain.QuoteLine;
+import com.blitz.account.domain.enumeration.DocumentStatus;
 import com.blitz.account.repository.QuoteLineRepository;
+import com.blitz.account.repository.QuoteRepository;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
@@ -12,6 +18,9 @@ import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Service Implementation for managing {@link com.blitz.account.domain.QuoteLine}.
+ * <p>
+ * The lines of a quote cannot change once it is invoiced: its quote, and the quote it moves to if any, are locked and
+ * checked first, so that the lines cannot change while the quote is being converted either.
  */
 @Service
 @Transactional
@@ -21,8 +30,11 @@ public class QuoteLineService {
 
     private final QuoteLineRepository quoteLineRepository;
 
-    public QuoteLineService(QuoteLineRepository quoteLineRepository) {
+    private final QuoteRepository quoteRepository;
+
+    public QuoteLineService(QuoteLineRepository quoteLineRepository, QuoteRepository quoteRepository) {
         this.quoteLineRepository = quoteLineRepository;
+        this.quoteRepository = quoteRepository;
     }
 
     /**
@@ -30,9 +42,11 @@ public class QuoteLineService {
      *
      * @param quoteLine the entity to save.
      * @return the persisted entity.
+     * @throws QuoteInvoicedException if the quote is invoiced.
      */
     public QuoteLine save(QuoteLine quoteLine) {
         LOG.debug("Request to save QuoteLine : {}", quoteLine);
+        checkNotInvoiced(quoteLine.getQuoteId());
         return quoteLineRepository.save(quoteLine);
     }
 
@@ -41,9 +55,14 @@ public class QuoteLineService {
      *
      * @param quoteLine the entity to save.
      * @return the persisted entity.
+     * @throws QuoteInvoicedException if the quote of the line, or the quote it moves to, is invoiced.
      */
     public QuoteLine update(QuoteLine quoteLine) {
         LOG.debug("Request to update QuoteLine : {}", quoteLine);
+        checkNotInvoiced(
+            quoteLineRepository.findById(quoteLine.getId()).map(QuoteLine::getQuoteId).orElse(null),
+            quoteLine.getQuoteId()
+        );
         return quoteLineRepository.save(quoteLine);
     }
 
@@ -52,6 +71,7 @@ public class QuoteLineService {
      *
      * @param quoteLine the entity to update partially.
      * @return the persisted entity.
+     * @throws QuoteInvoicedException if the quote of the line, or the quote it moves to, is invoiced.
      */
     public Optional<QuoteLine> partialUpdate(QuoteLine quoteLine) {
         LOG.debug("Request to partially update QuoteLine : {}", quoteLine);
@@ -59,6 +79,7 @@ public class QuoteLineService {
         return quoteLineRepository
             .findById(quoteLine.getId())
             .map(existingQuoteLine -> {
+                checkNotInvoiced(existingQuoteLine.getQuoteId(), quoteLine.getQuoteId());
                 if (quoteLine.getQuoteId() != null) {
                     existingQuoteLine.setQuoteId(quoteLine.getQuoteId());
                 }
@@ -108,9 +129,27 @@ public class QuoteLineService {
      * Delete the quoteLine by id.
      *
      * @param id the id of the entity.
+     * @throws QuoteInvoicedException if the quote of the line is invoiced.
      */
     public void delete(Long id) {
         LOG.debug("Request to delete QuoteLine : {}", id);
+        quoteLineRepository.findById(id).ifPresent(quoteLine -> checkNotInvoiced(quoteLine.getQuoteId()));
         quoteLineRepository.deleteById(id);
     }
+
+    private void checkNotInvoiced(Long... quoteIds) {
+        List<Long> ids = Stream.of(quoteIds).filter(Objects::nonNull).distinct().toList();
+        if (ids.isEmpty()) {
+            return;
+        }
+        quoteRepository
+            .findAllByIdForUpdate(ids)
+            .stream()
+            .filter(quote -> quote.getStatus() == DocumentStatus.INVOICED)
+            .map(Quote::getId)
+            .findFirst()
+            .ifPresent(quoteId -> {
+                throw new QuoteInvoicedException("The lines of invoiced Quote " + quoteId + " cannot change");
+            });
+    }
 }
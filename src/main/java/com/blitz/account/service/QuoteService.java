@@ -1,12 +1,22 @@
 package com.blitz.account.service;
 
 import com.blitz.account.domain.Quote;
+import com.blitz.account.domain.QuoteLine;
+import com.blitz.account.domain.enumeration.DocumentStatus;
+import com.blitz.account.repository.QuoteLineRepository;
 import com.blitz.account.repository.QuoteRepository;
+import com.blitz.account.service.dto.DocumentLineDTO;
+import com.blitz.account.service.dto.QuoteWithLinesDTO;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,8 +31,11 @@ public class QuoteService {
 
     private final QuoteRepository quoteRepository;
 
-    public QuoteService(QuoteRepository quoteRepository) {
+    private final QuoteLineRepository quoteLineRepository;
+
+    public QuoteService(QuoteRepository quoteRepository, QuoteLineRepository quoteLineRepository) {
         this.quoteRepository = quoteRepository;
+        this.quoteLineRepository = quoteLineRepository;
     }
 
     /**
@@ -30,20 +43,29 @@ public class QuoteService {
      *
      * @param quote the entity to save.
      * @return the persisted entity.
+     * @throws QuoteInvoicedException if the quote is marked invoiced.
      */
     public Quote save(Quote quote) {
         LOG.debug("Request to save Quote : {}", quote);
+        if (quote.getStatus() == DocumentStatus.INVOICED) {
+            throw new QuoteInvoicedException("A Quote is only invoiced by converting it");
+        }
         return quoteRepository.save(quote);
     }
 
     /**
      * Update a quote.
+     * <p>
+     * The status of a quote only becomes {@link DocumentStatus#INVOICED} when it is converted into an invoice, and then
+     * stays so.
      *
      * @param quote the entity to save.
      * @return the persisted entity.
+     * @throws QuoteInvoicedException if the status would move to or from {@link DocumentStatus#INVOICED}.
      */
     public Quote update(Quote quote) {
         LOG.debug("Request to update Quote : {}", quote);
+        quoteRepository.findAllByIdForUpdate(List.of(quote.getId())).forEach(existingQuote -> checkStatus(existingQuote, quote));
         return quoteRepository.save(quote);
     }
 
@@ -52,13 +74,19 @@ public class QuoteService {
      *
      * @param quote the entity to update partially.
      * @return the persisted entity.
+     * @throws QuoteInvoicedException if the status would move to or from {@link DocumentStatus#INVOICED}.
      */
     public Optional<Quote> partialUpdate(Quote quote) {
         LOG.debug("Request to partially update Quote : {}", quote);
 
         return quoteRepository
-            .findById(quote.getId())
+            .findAllByIdForUpdate(List.of(quote.getId()))
+            .stream()
+            .findFirst()
             .map(existingQuote -> {
+                if (quote.getStatus() != null) {
+                    checkStatus(existingQuote, quote);
+                }
                 if (quote.getClientName() != null) {
                     existingQuote.setClientName(quote.getClientName());
                 }
@@ -95,6 +123,43 @@ public class QuoteService {
         return quoteRepository.findAll(pageable);
     }
 
+    /**
+     * Get all the quotes with their lines, the lines of the whole page being read at once.
+     *
+     * @param pageable the pagination information.
+     * @return the list of quotes with their lines.
+     */
+    @Transactional(readOnly = true)
+    public Page<QuoteWithLinesDTO> findAllWithLines(Pageable pageable) {
+        LOG.debug("Request to get all Quotes with their lines");
+        Page<Quote> page = quoteRepository.findAll(pageable);
+        return page.map(withLinesOf(page));
+    }
+
+    /**
+     * Get a slice of the quotes with their lines, without counting the quotes: the quotes then their lines, in two queries.
+     *
+     * @param pageable the pagination information.
+     * @return the slice of quotes with their lines.
+     */
+    @Transactional(readOnly = true)
+    public Slice<QuoteWithLinesDTO> findSliceWithLines(Pageable pageable) {
+        LOG.debug("Request to get a slice of Quotes with their lines");
+        Slice<Quote> slice = quoteRepository.findAllBy(pageable);
+        return slice.map(withLinesOf(slice));
+    }
+
+    private Function<Quote, QuoteWithLinesDTO> withLinesOf(Slice<Quote> quotes) {
+        if (quotes.isEmpty()) {
+            return quote -> toDto(quote, List.of());
+        }
+        Map<Long, List<DocumentLineDTO>> linesByQuote = quoteLineRepository
+            .findByQuoteIdInOrderByQuoteIdAscIdAsc(quotes.map(Quote::getId).getContent())
+            .stream()
+            .collect(Collectors.groupingBy(QuoteLine::getQuoteId, Collectors.mapping(QuoteService::toDto, Collectors.toList())));
+        return quote -> toDto(quote, linesByQuote.getOrDefault(quote.getId(), List.of()));
+    }
+
     /**
      * Get one quote by id.
      *
@@ -116,4 +181,30 @@ public class QuoteService {
         LOG.debug("Request to delete Quote : {}", id);
         quoteRepository.deleteById(id);
     }
+
+    private static void checkStatus(Quote existingQuote, Quote quote) {
+        if (existingQuote.getStatus() == DocumentStatus.INVOICED && quote.getStatus() != DocumentStatus.INVOICED) {
+            throw new QuoteInvoicedException("The status of invoiced Quote " + existingQuote.getId() + " cannot change");
+        }
+        if (existingQuote.getStatus() != DocumentStatus.INVOICED && quote.getStatus() == DocumentStatus.INVOICED) {
+            throw new QuoteInvoicedException("Quote " + existingQuote.getId() + " is only invoiced by converting it");
+        }
+    }
+
+    private static QuoteWithLinesDTO toDto(Quote quote, List<DocumentLineDTO> lines) {
+        return new QuoteWithLinesDTO(
+            quote.getId(),
+            quote.getClientName(),
+            quote.getIssueDate(),
+            quote.getStatus(),
+            quote.getCurrencyId(),
+            quote.getVatRateId(),
+            quote.getTotalAmount(),
+            lines
+        );
+    }
+
+    private static DocumentLineDTO toDto(QuoteLine line) {
+        return new DocumentLineDTO(line.getId(), line.getProductId(), line.getQuantity(), line.getUnitPrice(), line.getVatRateId());
+    }
 }
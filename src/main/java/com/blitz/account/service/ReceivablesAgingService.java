@@ -0,0 +1,124 @@
+package com.blitz.account.service;
+
+import com.blitz.account.domain.Invoice;
+import com.blitz.account.repository.InvoiceRepository;
+import com.blitz.account.repository.InvoiceRepository.ClientAging;
+import com.blitz.account.service.dto.ReceivablesAgingDTO;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Objects;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Service aging the receivables: the amounts left to pay on the {@link Invoice}s not paid yet, per client and currency,
+ * bucketed by the days past their due date.
+ * <p>
+ * Clients are paged in name order by seeking past the last client of the previous page, each page being aged in a
+ * single aggregate query. Pages are cached for {@code application.invoice.aging-cache-ttl}, and dropped as soon as an
+ * invoice change commits.
+ */
+@Service
+public class ReceivablesAgingService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReceivablesAgingService.class);
+
+    public static final String RECEIVABLES_AGING_CACHE = "receivablesAging";
+
+    private final InvoiceRepository invoiceRepository;
+
+    private final CacheManager cacheManager;
+
+    public ReceivablesAgingService(InvoiceRepository invoiceRepository, CacheManager cacheManager) {
+        this.invoiceRepository = invoiceRepository;
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Age the receivables of a page of clients, as of today.
+     *
+     * @param afterClientName the name of the last client of the previous page, {@code null} for the first page.
+     * @param size the number of clients of the page.
+     * @return the aging of the clients by currency, in client name and currency order.
+     */
+    @Transactional(readOnly = true)
+    public List<ReceivablesAgingDTO> findAging(String afterClientName, int size) {
+        LOG.debug("Request to age receivables after client {}", afterClientName);
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        return agingCache().get(new SimpleKey(today, afterClientName, size), () -> age(today, afterClientName, size));
+    }
+
+    /**
+     * Get a page of the invoices of a client not paid yet.
+     *
+     * @param clientName the name of the client.
+     * @param page the number of the page, from 0.
+     * @param size the number of invoices of the page.
+     * @return the invoices, by due date.
+     */
+    @Transactional(readOnly = true)
+    public List<Invoice> findOpenInvoices(String clientName, int page, int size) {
+        LOG.debug("Request to get page {} of the open Invoices of client {}", page, clientName);
+        return invoiceRepository.findOpenByClientName(clientName, PageRequest.of(page, size));
+    }
+
+    /**
+     * Drop the cached aging once an invoice change commits.
+     *
+     * @param event the change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInvoiceChanged(InvoiceChangedEvent event) {
+        agingCache().clear();
+    }
+
+    private List<ReceivablesAgingDTO> age(LocalDate today, String afterClientName, int size) {
+        List<String> clientNames = invoiceRepository.findOpenClientNamesAfter(afterClientName, Limit.of(size));
+        if (clientNames.isEmpty()) {
+            return List.of();
+        }
+        return invoiceRepository
+            .sumAgingByClientAndCurrency(
+                clientNames,
+                startOf(today),
+                startOf(today.minusDays(30)),
+                startOf(today.minusDays(60)),
+                startOf(today.minusDays(90))
+            )
+            .stream()
+            .map(ReceivablesAgingService::toDto)
+            .toList();
+    }
+
+    private static ReceivablesAgingDTO toDto(ClientAging aging) {
+        return new ReceivablesAgingDTO(
+            aging.getClientName(),
+            aging.getCurrencyId(),
+            aging.getInvoices(),
+            aging.getNotDue(),
+            aging.getDays1To30(),
+            aging.getDays31To60(),
+            aging.getDays61To90(),
+            aging.getOver90(),
+            aging.getNotDue().add(aging.getDays1To30()).add(aging.getDays31To60()).add(aging.getDays61To90()).add(aging.getOver90())
+        );
+    }
+
+    private static Instant startOf(LocalDate day) {
+        return day.atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
+    private Cache agingCache() {
+        return Objects.requireNonNull(cacheManager.getCache(RECEIVABLES_AGING_CACHE));
+    }
+}
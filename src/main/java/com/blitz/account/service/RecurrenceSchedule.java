@@ -0,0 +1,147 @@
+package com.blitz.account.service;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Typed form of the free-form {@link com.blitz.account.domain.RecurringTransaction#getFrequency()}: a fixed number of
+ * days, weeks, months or years between two occurrences.
+ * <p>
+ * Accepted frequencies, case insensitive: the adverbs {@code DAILY}, {@code WEEKLY}, {@code BIWEEKLY},
+ * {@code FORTNIGHTLY}, {@code MONTHLY}, {@code QUARTERLY}, {@code SEMIANNUALLY}, {@code YEARLY} or {@code ANNUALLY},
+ * the phrases {@code EVERY [n] DAY(S)|WEEK(S)|MONTH(S)|YEAR(S)}, and single unit ISO-8601 periods such as {@code P2W}.
+ * <p>
+ * The n-th occurrence is always computed from the start date, in UTC, so that monthly schedules starting on the 31st
+ * fall on the last day of shorter months without drifting afterwards.
+ */
+public final class RecurrenceSchedule {
+
+    private static final Map<String, RecurrenceSchedule> ADVERBS = Map.ofEntries(
+        Map.entry("DAILY", new RecurrenceSchedule(1, ChronoUnit.DAYS)),
+        Map.entry("WEEKLY", new RecurrenceSchedule(1, ChronoUnit.WEEKS)),
+        Map.entry("BIWEEKLY", new RecurrenceSchedule(2, ChronoUnit.WEEKS)),
+        Map.entry("FORTNIGHTLY", new RecurrenceSchedule(2, ChronoUnit.WEEKS)),
+        Map.entry("MONTHLY", new RecurrenceSchedule(1, ChronoUnit.MONTHS)),
+        Map.entry("QUARTERLY", new RecurrenceSchedule(3, ChronoUnit.MONTHS)),
+        Map.entry("SEMIANNUALLY", new RecurrenceSchedule(6, ChronoUnit.MONTHS)),
+        Map.entry("YEARLY", new RecurrenceSchedule(1, ChronoUnit.YEARS)),
+        Map.entry("ANNUALLY", new RecurrenceSchedule(1, ChronoUnit.YEARS))
+    );
+
+    private static final Pattern EVERY = Pattern.compile("EVERY\\s+(?:(\\d+)\\s+)?(DAY|WEEK|MONTH|YEAR)S?");
+
+    private static final Pattern PERIOD = Pattern.compile("P(\\d+)([DWMY])");
+
+    private final int amount;
+
+    private final ChronoUnit unit;
+
+    private RecurrenceSchedule(int amount, ChronoUnit unit) {
+        this.amount = amount;
+        this.unit = unit;
+    }
+
+    /**
+     * Parse a frequency.
+     *
+     * @param frequency the frequency of a recurring transaction.
+     * @return the schedule, or empty if the frequency is not understood.
+     */
+    public static Optional<RecurrenceSchedule> parse(String frequency) {
+        if (frequency == null) {
+            return Optional.empty();
+        }
+        String normalized = frequency.trim().toUpperCase(Locale.ROOT).replace("-", "");
+        RecurrenceSchedule adverb = ADVERBS.get(normalized);
+        if (adverb != null) {
+            return Optional.of(adverb);
+        }
+        Matcher every = EVERY.matcher(normalized);
+        if (every.matches()) {
+            return of(every.group(1) != null ? every.group(1) : "1", every.group(2).charAt(0));
+        }
+        Matcher period = PERIOD.matcher(normalized);
+        if (period.matches()) {
+            return of(period.group(1), period.group(2).charAt(0));
+        }
+        return Optional.empty();
+    }
+
+    private static Optional<RecurrenceSchedule> of(String amount, char unit) {
+        int value;
+        try {
+            value = Integer.parseInt(amount);
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+        if (value <= 0) {
+            return Optional.empty();
+        }
+        return Optional.of(
+            switch (unit) {
+                case 'D' -> new RecurrenceSchedule(value, ChronoUnit.DAYS);
+                case 'W' -> new RecurrenceSchedule(value, ChronoUnit.WEEKS);
+                case 'M' -> new RecurrenceSchedule(value, ChronoUnit.MONTHS);
+                default -> new RecurrenceSchedule(value, ChronoUnit.YEARS);
+            }
+        );
+    }
+
+    /**
+     * @param start the first occurrence.
+     * @param index the index of the occurrence, {@code 0} being the start.
+     * @return the occurrence.
+     */
+    public Instant occurrence(Instant start, long index) {
+        return start.atZone(ZoneOffset.UTC).plus(index * amount, unit).toInstant();
+    }
+
+    /**
+     * @param start the first occurrence.
+     * @param after an instant.
+     * @return the first occurrence strictly after {@code after}.
+     */
+    public Instant nextAfter(Instant start, Instant after) {
+        if (after.isBefore(start)) {
+            return start;
+        }
+        ZonedDateTime from = start.atZone(ZoneOffset.UTC);
+        long index = Math.max(0, unit.between(from, after.atZone(ZoneOffset.UTC)) / amount);
+        Instant next = occurrence(start, index);
+        while (!next.isAfter(after)) {
+            next = occurrence(start, ++index);
+        }
+        return next;
+    }
+
+    public int getAmount() {
+        return amount;
+    }
+
+    public ChronoUnit getUnit() {
+        return unit;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof RecurrenceSchedule other && amount == other.amount && unit == other.unit;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(amount, unit);
+    }
+
+    @Override
+    public String toString() {
+        return "RecurrenceSchedule{every " + amount + " " + unit + "}";
+    }
+}
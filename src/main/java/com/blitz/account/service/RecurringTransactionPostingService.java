@@ -0,0 +1,170 @@
+package com.blitz.account.service;
+
+import com.blitz.account.domain.ChartOfAccount;
+import com.blitz.account.domain.RecurringTransaction;
+import com.blitz.account.domain.Transaction;
+import com.blitz.account.domain.enumeration.AccountType;
+import com.blitz.account.domain.enumeration.TransactionType;
+import com.blitz.account.management.RecurringTransactionMetersService;
+import com.blitz.account.repository.ChartOfAccountRepository;
+import com.blitz.account.repository.RecurringTransactionRepository;
+import com.blitz.account.repository.TransactionRepository;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service generating the {@link Transaction}s of {@link RecurringTransaction}s.
+ * <p>
+ * {@link RecurringTransaction#getNextDueDate()} is the cursor of each schedule. It is moved forward with a conditional
+ * update before the transactions of the occurrences it passes are inserted, in the same database transaction, so
+ * that an occurrence is generated exactly once even when several nodes or a restarted node process the same schedule.
+ */
+@Service
+@Transactional
+public class RecurringTransactionPostingService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RecurringTransactionPostingService.class);
+
+    /**
+     * Most occurrences of one schedule generated per call, a schedule further behind is caught up over several calls.
+     */
+    static final int MAX_OCCURRENCES = 100;
+
+    private final RecurringTransactionRepository recurringTransactionRepository;
+
+    private final TransactionRepository transactionRepository;
+
+    private final ChartOfAccountRepository chartOfAccountRepository;
+
+    private final RecurringTransactionMetersService recurringTransactionMetersService;
+
+    private final BudgetVarianceService budgetVarianceService;
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    public RecurringTransactionPostingService(
+        RecurringTransactionRepository recurringTransactionRepository,
+        TransactionRepository transactionRepository,
+        ChartOfAccountRepository chartOfAccountRepository,
+        RecurringTransactionMetersService recurringTransactionMetersService,
+        BudgetVarianceService budgetVarianceService,
+        ApplicationEventPublisher applicationEventPublisher
+    ) {
+        this.recurringTransactionRepository = recurringTransactionRepository;
+        this.transactionRepository = transactionRepository;
+        this.chartOfAccountRepository = chartOfAccountRepository;
+        this.recurringTransactionMetersService = recurringTransactionMetersService;
+        this.budgetVarianceService = budgetVarianceService;
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+
+    /**
+     * Generate the transactions of the given recurring transactions due up to {@code now}.
+     *
+     * @param ids the ids of the recurring transactions.
+     * @param now the current date.
+     * @return the next due date of every recurring transaction still scheduled, by id.
+     */
+    public Map<Long, Instant> materialise(Collection<Long> ids, Instant now) {
+        LOG.debug("Request to materialise RecurringTransactions : {}", ids);
+        List<RecurringTransaction> recurringTransactions = recurringTransactionRepository.findAllById(ids);
+        Map<Long, AccountType> accountTypes = chartOfAccountRepository
+            .findAllById(recurringTransactions.stream().map(RecurringTransaction::getAccountId).filter(Objects::nonNull).distinct().toList())
+            .stream()
+            .collect(Collectors.toMap(ChartOfAccount::getId, ChartOfAccount::getAccountType));
+
+        Map<Long, Instant> scheduled = new HashMap<>();
+        List<Transaction> transactions = new ArrayList<>();
+        for (RecurringTransaction recurringTransaction : recurringTransactions) {
+            Instant expected = recurringTransaction.getNextDueDate();
+            if (expected == null) {
+                continue;
+            }
+            if (expected.isAfter(now)) {
+                scheduled.put(recurringTransaction.getId(), expected);
+                continue;
+            }
+            Optional<RecurrenceSchedule> schedule = RecurrenceSchedule.parse(recurringTransaction.getFrequency());
+            if (schedule.isEmpty()) {
+                LOG.warn("Suspending RecurringTransaction {} with unknown frequency '{}'", recurringTransaction.getId(), recurringTransaction.getFrequency());
+                recurringTransactionRepository.advanceNextDueDate(recurringTransaction.getId(), expected, null);
+                recurringTransactionMetersService.trackInvalidFrequency();
+                continue;
+            }
+
+            List<Instant> occurrences = new ArrayList<>();
+            Instant due = expected;
+            while (!due.isAfter(now) && isWithinSchedule(recurringTransaction, due) && occurrences.size() < MAX_OCCURRENCES) {
+                occurrences.add(due);
+                due = schedule.orElseThrow().nextAfter(recurringTransaction.getStartDate(), due);
+            }
+            Instant nextDueDate = isWithinSchedule(recurringTransaction, due) ? due : null;
+            if (recurringTransactionRepository.advanceNextDueDate(recurringTransaction.getId(), expected, nextDueDate) == 0) {
+                LOG.debug("RecurringTransaction {} already materialised up to {}", recurringTransaction.getId(), expected);
+                continue;
+            }
+            TransactionType type = accountTypes.get(recurringTransaction.getAccountId()) == AccountType.INCOME
+                ? TransactionType.INCOME
+                : TransactionType.EXPENSE;
+            occurrences.forEach(occurrence -> transactions.add(toTransaction(recurringTransaction, type, occurrence)));
+            if (nextDueDate != null) {
+                scheduled.put(recurringTransaction.getId(), nextDueDate);
+            }
+        }
+
+        transactionRepository.saveAll(transactions);
+        recurringTransactionMetersService.trackGenerated(transactions.size());
+        budgetVarianceService.invalidateAccounts(transactions.stream().map(Transaction::getAccountId).distinct().toList());
+        if (!transactions.isEmpty()) {
+            applicationEventPublisher.publishEvent(new LedgerMovementEvent(transactions.stream().map(LedgerMovementEvent.Movement::of).toList()));
+        }
+        return scheduled;
+    }
+
+    /**
+     * Compute where the schedule of a recurring transaction resumes: the first occurrence after the latest generated
+     * transaction, or the start date if none was generated yet.
+     *
+     * @param recurringTransaction the recurring transaction.
+     * @return its next due date, {@code null} if the schedule is exhausted.
+     */
+    @Transactional(readOnly = true)
+    public Instant nextDueDate(RecurringTransaction recurringTransaction) {
+        Instant latest = recurringTransaction.getId() != null
+            ? transactionRepository.findLatestRecurrenceDate(recurringTransaction.getId())
+            : null;
+        Instant nextDueDate = latest == null
+            ? recurringTransaction.getStartDate()
+            : RecurrenceSchedule.parse(recurringTransaction.getFrequency())
+                .map(schedule -> schedule.nextAfter(recurringTransaction.getStartDate(), latest))
+                .orElse(recurringTransaction.getStartDate());
+        return nextDueDate != null && isWithinSchedule(recurringTransaction, nextDueDate) ? nextDueDate : null;
+    }
+
+    private static boolean isWithinSchedule(RecurringTransaction recurringTransaction, Instant date) {
+        return recurringTransaction.getEndDate() == null || !date.isAfter(recurringTransaction.getEndDate());
+    }
+
+    private static Transaction toTransaction(RecurringTransaction recurringTransaction, TransactionType type, Instant occurrence) {
+        return new Transaction()
+            .type(type)
+            .amount(recurringTransaction.getAmount())
+            .transactionDate(occurrence)
+            .accountId(recurringTransaction.getAccountId())
+            .vatRateId(recurringTransaction.getVatRateId())
+            .currencyId(recurringTransaction.getCurrencyId())
+            .recurringTransactionId(recurringTransaction.getId());
+    }
+}
@@ -0,0 +1,153 @@
+package com.blitz.account.service;
+
+import com.blitz.account.config.ApplicationProperties;
+import com.blitz.account.management.RecurringTransactionMetersService;
+import com.blitz.account.repository.RecurringTransactionRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service driving the generation of {@link com.blitz.account.domain.Transaction}s from
+ * {@link com.blitz.account.domain.RecurringTransaction}s.
+ * <p>
+ * The recurring transactions due within {@code application.recurring-transaction.horizon} are kept in memory in a
+ * queue ordered by due date, reloaded from the database when the horizon is reached, so that each tick only looks at
+ * the head of the queue. Due recurring transactions are handed to {@link RecurringTransactionPostingService} in chunks
+ * of {@code application.recurring-transaction.chunk-size}, each chunk in its own database transaction.
+ * <p>
+ * The queue is only a cache of the {@code next_due_date} column: stale or duplicate entries are harmless, and after
+ * downtime the first reload finds every overdue schedule, which is caught up from where it stopped.
+ */
+@Service
+public class RecurringTransactionScheduler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RecurringTransactionScheduler.class);
+
+    private record Due(Long id, Instant dueDate) {}
+
+    private final RecurringTransactionRepository recurringTransactionRepository;
+
+    private final RecurringTransactionPostingService recurringTransactionPostingService;
+
+    private final RecurringTransactionMetersService recurringTransactionMetersService;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final PriorityQueue<Due> queue = new PriorityQueue<>(Comparator.comparing(Due::dueDate).thenComparing(Due::id));
+
+    private final Queue<Due> scheduled = new ConcurrentLinkedQueue<>();
+
+    private Instant loadedUntil;
+
+    public RecurringTransactionScheduler(
+        RecurringTransactionRepository recurringTransactionRepository,
+        RecurringTransactionPostingService recurringTransactionPostingService,
+        RecurringTransactionMetersService recurringTransactionMetersService,
+        ApplicationProperties applicationProperties
+    ) {
+        this.recurringTransactionRepository = recurringTransactionRepository;
+        this.recurringTransactionPostingService = recurringTransactionPostingService;
+        this.recurringTransactionMetersService = recurringTransactionMetersService;
+        this.applicationProperties = applicationProperties;
+    }
+
+    /**
+     * Take a new or changed schedule into account at the next tick, rather than at the next reload.
+     *
+     * @param id the id of the recurring transaction.
+     * @param nextDueDate its next due date, {@code null} if none.
+     */
+    public void schedule(Long id, Instant nextDueDate) {
+        if (id != null && nextDueDate != null) {
+            scheduled.add(new Due(id, nextDueDate));
+        }
+    }
+
+    /**
+     * Generate the transactions due now.
+     * <p>
+     * This is scheduled every {@code application.recurring-transaction.tick-delay} milliseconds.
+     *
+     * @return the number of recurring transactions processed.
+     */
+    @Scheduled(fixedDelayString = "${application.recurring-transaction.tick-delay}")
+    public int materialiseDue() {
+        return materialiseDue(Instant.now());
+    }
+
+    synchronized int materialiseDue(Instant now) {
+        if (loadedUntil == null || !now.isBefore(loadedUntil)) {
+            reload(now);
+        }
+        for (Due due = scheduled.poll(); due != null; due = scheduled.poll()) {
+            if (due.dueDate().isBefore(loadedUntil)) {
+                queue.add(due);
+            }
+        }
+        trackBacklog(now);
+
+        int chunkSize = applicationProperties.getRecurringTransaction().getChunkSize();
+        int processed = 0;
+        while (isDue(queue.peek(), now)) {
+            List<Long> chunk = new ArrayList<>(chunkSize);
+            while (chunk.size() < chunkSize && isDue(queue.peek(), now)) {
+                Long id = queue.poll().id();
+                if (!chunk.contains(id)) {
+                    chunk.add(id);
+                }
+            }
+            if (!materialise(chunk, now) && chunk.size() > 1) {
+                chunk.forEach(id -> materialise(List.of(id), now));
+            }
+            processed += chunk.size();
+        }
+        trackBacklog(now);
+        return processed;
+    }
+
+    private boolean materialise(List<Long> ids, Instant now) {
+        try {
+            recurringTransactionPostingService
+                .materialise(ids, now)
+                .forEach((id, nextDueDate) -> {
+                    if (nextDueDate.isBefore(loadedUntil)) {
+                        queue.add(new Due(id, nextDueDate));
+                    }
+                });
+            return true;
+        } catch (RuntimeException e) {
+            LOG.error("Could not materialise RecurringTransactions {}, they will be retried after the next reload", ids, e);
+            return false;
+        }
+    }
+
+    private void reload(Instant now) {
+        loadedUntil = now.plus(applicationProperties.getRecurringTransaction().getHorizon());
+        queue.clear();
+        recurringTransactionRepository
+            .findScheduledBefore(loadedUntil)
+            .forEach(recurrence -> queue.add(new Due(recurrence.getId(), recurrence.getNextDueDate())));
+        LOG.debug("Loaded {} RecurringTransactions due before {}", queue.size(), loadedUntil);
+    }
+
+    private void trackBacklog(Instant now) {
+        long backlog = queue.stream().filter(due -> isDue(due, now)).count();
+        Due oldest = queue.peek();
+        Duration lag = isDue(oldest, now) ? Duration.between(oldest.dueDate(), now) : Duration.ZERO;
+        recurringTransactionMetersService.trackBacklog(backlog, lag);
+    }
+
+    private static boolean isDue(Due due, Instant now) {
+        return due != null && !due.dueDate().isAfter(now);
+    }
+}
@@ -21,8 +21,18 @@ public class RecurringTransactionService {
 
     private final RecurringTransactionRepository recurringTransactionRepository;
 
-    public RecurringTransactionService(RecurringTransactionRepository recurringTransactionRepository) {
+    private final RecurringTransactionPostingService recurringTransactionPostingService;
+
+    private final RecurringTransactionScheduler recurringTransactionScheduler;
+
+    public RecurringTransactionService(
+        RecurringTransactionRepository recurringTransactionRepository,
+        RecurringTransactionPostingService recurringTransactionPostingService,
+        RecurringTransactionScheduler recurringTransactionScheduler
+    ) {
         this.recurringTransactionRepository = recurringTransactionRepository;
+        this.recurringTransactionPostingService = recurringTransactionPostingService;
+        this.recurringTransactionScheduler = recurringTransactionScheduler;
     }
 
     /**
@@ -33,7 +43,7 @@ public class RecurringTransactionService {
      */
     public RecurringTransaction save(RecurringTransaction recurringTransaction) {
         LOG.debug("Request to save RecurringTransaction : {}", recurringTransaction);
-        return recurringTransactionRepository.save(recurringTransaction);
+        return reschedule(recurringTransaction);
     }
 
     /**
@@ -44,7 +54,7 @@ public class RecurringTransactionService {
      */
     public RecurringTransaction update(RecurringTransaction recurringTransaction) {
         LOG.debug("Request to update RecurringTransaction : {}", recurringTransaction);
-        return recurringTransactionRepository.save(recurringTransaction);
+        return reschedule(recurringTransaction);
     }
 
     /**
@@ -86,7 +96,17 @@ public class RecurringTransactionService {
 
                 return existingRecurringTransaction;
             })
-            .map(recurringTransactionRepository::save);
+            .map(this::reschedule);
+    }
+
+    /**
+     * Save a recurring transaction, resuming its schedule after the transactions already generated from it.
+     */
+    private RecurringTransaction reschedule(RecurringTransaction recurringTransaction) {
+        recurringTransaction.setNextDueDate(recurringTransactionPostingService.nextDueDate(recurringTransaction));
+        RecurringTransaction result = recurringTransactionRepository.save(recurringTransaction);
+        recurringTransactionScheduler.schedule(result.getId(), result.getNextDueDate());
+        return result;
     }
 
     /**
@@ -8,6 +8,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -27,12 +31,16 @@ public class SupplierQueryService extends QueryService<Supplier> {
 
     private final SupplierRepository supplierRepository;
 
-    public SupplierQueryService(SupplierRepository supplierRepository) {
+    private final PageCountCache pageCountCache;
+
+    public SupplierQueryService(SupplierRepository supplierRepository, PageCountCache pageCountCache) {
         this.supplierRepository = supplierRepository;
+        this.pageCountCache = pageCountCache;
     }
 
     /**
      * Return a {@link Page} of {@link Supplier} which matches the criteria from the database.
+     * The number of matching entities is cached, see {@link PageCountCache}.
      * @param criteria The object which holds all the filters, which the entities should match.
      * @param page The page, which should be returned.
      * @return the matching entities.
@@ -41,7 +49,39 @@ public class SupplierQueryService extends QueryService<Supplier> {
     public Page<Supplier> findByCriteria(SupplierCriteria criteria, Pageable page) {
         LOG.debug("find by criteria : {}, page: {}", criteria, page);
         final Specification<Supplier> specification = createSpecification(criteria);
-        return supplierRepository.findAll(specification, page);
+        if (page.isUnpaged()) {
+            return supplierRepository.findAll(specification, page);
+        }
+        return pageCountCache.page(Supplier.class, criteria, findSlice(specification, page), () -> supplierRepository.count(specification));
+    }
+
+    /**
+     * Return a {@link Slice} of {@link Supplier} which matches the criteria from the database, without counting the matching
+     * entities.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<Supplier> findSliceByCriteria(SupplierCriteria criteria, Pageable page) {
+        LOG.debug("find slice by criteria : {}, page: {}", criteria, page);
+        return findSlice(createSpecification(criteria), page);
+    }
+
+    /**
+     * Return a {@link Window} of {@link Supplier} which matches the criteria from the database, seeking past a position
+     * instead of skipping the previous pages, and without counting the matching entities.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param sort The order of the entities, completed by their id.
+     * @param size The number of entities of the window.
+     * @param position The position of the last entity of the previous window.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Window<Supplier> findByCriteria(SupplierCriteria criteria, Sort sort, int size, ScrollPosition position) {
+        LOG.debug("find by criteria : {}, sort: {}, size: {}, position: {}", criteria, sort, size, position);
+        final Specification<Supplier> specification = createSpecification(criteria);
+        return supplierRepository.findBy(specification, query -> query.sortBy(sort).limit(size).scroll(position));
     }
 
     /**
@@ -56,6 +96,12 @@ public class SupplierQueryService extends QueryService<Supplier> {
         return supplierRepository.count(specification);
     }
 
+    private Slice<Supplier> findSlice(Specification<Supplier> specification, Pageable page) {
+        return PageCountCache.slice(page, position ->
+            supplierRepository.findBy(specification, query -> query.sortBy(page.getSort()).limit(page.getPageSize()).scroll(position))
+        );
+    }
+
     /**
      * Function to convert {@link SupplierCriteria} to a {@link Specification}
      * @param criteria The object which holds all the filters, which the entities should match.
@@ -19,8 +19,11 @@ public class SupplierService {
 
     private final SupplierRepository supplierRepository;
 
-    public SupplierService(SupplierRepository supplierRepository) {
+    private final PageCountCache pageCountCache;
+
+    public SupplierService(SupplierRepository supplierRepository, PageCountCache pageCountCache) {
         this.supplierRepository = supplierRepository;
+        this.pageCountCache = pageCountCache;
     }
 
     /**
@@ -31,6 +34,7 @@ public class SupplierService {
      */
     public Supplier save(Supplier supplier) {
         LOG.debug("Request to save Supplier : {}", supplier);
+        pageCountCache.evict(Supplier.class);
         return supplierRepository.save(supplier);
     }
 
@@ -42,6 +46,7 @@ public class SupplierService {
      */
     public Supplier update(Supplier supplier) {
         LOG.debug("Request to update Supplier : {}", supplier);
+        pageCountCache.evict(Supplier.class);
         return supplierRepository.save(supplier);
     }
 
@@ -53,6 +58,7 @@ public class SupplierService {
      */
     public Optional<Supplier> partialUpdate(Supplier supplier) {
         LOG.debug("Request to partially update Supplier : {}", supplier);
+        pageCountCache.evict(Supplier.class);
 
         return supplierRepository
             .findById(supplier.getId())
@@ -94,6 +100,7 @@ public class SupplierService {
      */
     public void delete(Long id) {
         LOG.debug("Request to delete Supplier : {}", id);
+        pageCountCache.evict(Supplier.class);
         supplierRepository.deleteById(id);
     }
 }
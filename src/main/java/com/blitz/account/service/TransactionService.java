@@ -2,9 +2,14 @@ package com.blitz.account.service;
 
 import com.blitz.account.domain.Transaction;
 import com.blitz.account.repository.TransactionRepository;
+import com.blitz.account.service.LedgerMovementEvent.Movement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -21,8 +26,18 @@ public class TransactionService {
 
     private final TransactionRepository transactionRepository;
 
-    public TransactionService(TransactionRepository transactionRepository) {
+    private final BudgetVarianceService budgetVarianceService;
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    public TransactionService(
+        TransactionRepository transactionRepository,
+        BudgetVarianceService budgetVarianceService,
+        ApplicationEventPublisher applicationEventPublisher
+    ) {
         this.transactionRepository = transactionRepository;
+        this.budgetVarianceService = budgetVarianceService;
+        this.applicationEventPublisher = applicationEventPublisher;
     }
 
     /**
@@ -33,7 +48,10 @@ public class TransactionService {
      */
     public Transaction save(Transaction transaction) {
         LOG.debug("Request to save Transaction : {}", transaction);
-        return transactionRepository.save(transaction);
+        budgetVarianceService.invalidateAccounts(Collections.singleton(transaction.getAccountId()));
+        Transaction result = transactionRepository.save(transaction);
+        publishMovements(Movement.of(result));
+        return result;
     }
 
     /**
@@ -44,7 +62,18 @@ public class TransactionService {
      */
     public Transaction update(Transaction transaction) {
         LOG.debug("Request to update Transaction : {}", transaction);
-        return transactionRepository.save(transaction);
+        List<Movement> movements = new ArrayList<>();
+        transactionRepository
+            .findById(transaction.getId())
+            .ifPresent(existingTransaction -> {
+                budgetVarianceService.invalidateAccounts(Collections.singleton(existingTransaction.getAccountId()));
+                movements.add(Movement.of(existingTransaction).negate());
+            });
+        budgetVarianceService.invalidateAccounts(Collections.singleton(transaction.getAccountId()));
+        Transaction result = transactionRepository.save(transaction);
+        movements.add(Movement.of(result));
+        publishMovements(movements.toArray(Movement[]::new));
+        return result;
     }
 
     /**
@@ -59,6 +88,8 @@ public class TransactionService {
         return transactionRepository
             .findById(transaction.getId())
             .map(existingTransaction -> {
+                budgetVarianceService.invalidateAccounts(Collections.singleton(existingTransaction.getAccountId()));
+                Movement previous = Movement.of(existingTransaction).negate();
                 if (transaction.getType() != null) {
                     existingTransaction.setType(transaction.getType());
                 }
@@ -77,6 +108,8 @@ public class TransactionService {
                 if (transaction.getCurrencyId() != null) {
                     existingTransaction.setCurrencyId(transaction.getCurrencyId());
                 }
+                budgetVarianceService.invalidateAccounts(Collections.singleton(existingTransaction.getAccountId()));
+                publishMovements(previous, Movement.of(existingTransaction));
 
                 return existingTransaction;
             })
@@ -114,6 +147,16 @@ public class TransactionService {
      */
     public void delete(Long id) {
         LOG.debug("Request to delete Transaction : {}", id);
+        transactionRepository
+            .findById(id)
+            .ifPresent(transaction -> {
+                budgetVarianceService.invalidateAccounts(Collections.singleton(transaction.getAccountId()));
+                publishMovements(Movement.of(transaction).negate());
+            });
         transactionRepository.deleteById(id);
     }
+
+    private void publishMovements(Movement... movements) {
+        applicationEventPublisher.publishEvent(new LedgerMovementEvent(List.of(movements)));
+    }
 }
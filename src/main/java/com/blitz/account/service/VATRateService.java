@@ -2,6 +2,7 @@ package com.blitz.account.service;
 
 import com.blitz.account.domain.VATRate;
 import com.blitz.account.repository.VATRateRepository;
+import java.math.BigDecimal;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,6 +13,9 @@ import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Service Implementation for managing {@link com.blitz.account.domain.VATRate}.
+ * <p>
+ * Changing the percentage of a rate, or deleting it, computes the totals of the invoices priced with it again with the
+ * {@link InvoiceTotalsService}.
  */
 @Service
 @Transactional
@@ -21,8 +25,11 @@ public class VATRateService {
 
     private final VATRateRepository vATRateRepository;
 
-    public VATRateService(VATRateRepository vATRateRepository) {
+    private final InvoiceTotalsService invoiceTotalsService;
+
+    public VATRateService(VATRateRepository vATRateRepository, InvoiceTotalsService invoiceTotalsService) {
         this.vATRateRepository = vATRateRepository;
+        this.invoiceTotalsService = invoiceTotalsService;
     }
 
     /**
@@ -44,7 +51,12 @@ public class VATRateService {
      */
     public VATRate update(VATRate vATRate) {
         LOG.debug("Request to update VATRate : {}", vATRate);
-        return vATRateRepository.save(vATRate);
+        BigDecimal percentage = vATRateRepository.findById(vATRate.getId()).map(VATRate::getPercentage).orElse(null);
+        VATRate result = vATRateRepository.save(vATRate);
+        if (!isSamePercentage(percentage, result.getPercentage())) {
+            invoiceTotalsService.vatRateChanged(result.getId());
+        }
+        return result;
     }
 
     /**
@@ -59,6 +71,7 @@ public class VATRateService {
         return vATRateRepository
             .findById(vATRate.getId())
             .map(existingVATRate -> {
+                BigDecimal percentage = existingVATRate.getPercentage();
                 if (vATRate.getName() != null) {
                     existingVATRate.setName(vATRate.getName());
                 }
@@ -66,9 +79,12 @@ public class VATRateService {
                     existingVATRate.setPercentage(vATRate.getPercentage());
                 }
 
-                return existingVATRate;
-            })
-            .map(vATRateRepository::save);
+                VATRate result = vATRateRepository.save(existingVATRate);
+                if (!isSamePercentage(percentage, result.getPercentage())) {
+                    invoiceTotalsService.vatRateChanged(result.getId());
+                }
+                return result;
+            });
     }
 
     /**
@@ -103,5 +119,10 @@ public class VATRateService {
     public void delete(Long id) {
         LOG.debug("Request to delete VATRate : {}", id);
         vATRateRepository.deleteById(id);
+        invoiceTotalsService.vatRateChanged(id);
+    }
+
+    private static boolean isSamePercentage(BigDecimal before, BigDecimal after) {
+        return before == null ? after == null : after != null && before.compareTo(after) == 0;
     }
 }
@@ -21,8 +21,11 @@ public class VehicleService {
 
     private final VehicleRepository vehicleRepository;
 
-    public VehicleService(VehicleRepository vehicleRepository) {
+    private final PageCountCache pageCountCache;
+
+    public VehicleService(VehicleRepository vehicleRepository, PageCountCache pageCountCache) {
         this.vehicleRepository = vehicleRepository;
+        this.pageCountCache = pageCountCache;
     }
 
     /**
@@ -33,6 +36,7 @@ public class VehicleService {
      */
     public Vehicle save(Vehicle vehicle) {
         LOG.debug("Request to save Vehicle : {}", vehicle);
+        pageCountCache.evict(Vehicle.class);
         return vehicleRepository.save(vehicle);
     }
 
@@ -44,6 +48,7 @@ public class VehicleService {
      */
     public Vehicle update(Vehicle vehicle) {
         LOG.debug("Request to update Vehicle : {}", vehicle);
+        pageCountCache.evict(Vehicle.class);
         return vehicleRepository.save(vehicle);
     }
 
@@ -55,6 +60,7 @@ public class VehicleService {
      */
     public Optional<Vehicle> partialUpdate(Vehicle vehicle) {
         LOG.debug("Request to partially update Vehicle : {}", vehicle);
+        pageCountCache.evict(Vehicle.class);
 
         return vehicleRepository
             .findById(vehicle.getId())
@@ -99,6 +105,7 @@ public class VehicleService {
      */
     public void delete(Long id) {
         LOG.debug("Request to delete Vehicle : {}", id);
+        pageCountCache.evict(Vehicle.class);
         vehicleRepository.deleteById(id);
     }
 
@@ -0,0 +1,51 @@
+package com.blitz.account.service.dto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public class AccountBalanceDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long accountId;
+    private Instant asOf;
+    private BigDecimal balance;
+
+    public AccountBalanceDTO() {}
+
+    public AccountBalanceDTO(Long accountId, Instant asOf, BigDecimal balance) {
+        this.accountId = accountId;
+        this.asOf = asOf;
+        this.balance = balance;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(Long accountId) {
+        this.accountId = accountId;
+    }
+
+    public Instant getAsOf() {
+        return asOf;
+    }
+
+    public void setAsOf(Instant asOf) {
+        this.asOf = asOf;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public void setBalance(BigDecimal balance) {
+        this.balance = balance;
+    }
+
+    @Override
+    public String toString() {
+        return "AccountBalanceDTO [accountId=" + accountId + ", asOf=" + asOf + ", balance=" + balance + "]";
+    }
+}
@@ -0,0 +1,84 @@
+package com.blitz.account.service.dto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The accounts whose code starts with a prefix, rolled up.
+ */
+public class AccountCodeNodeDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String prefix;
+    private BigDecimal balance;
+    private int accountCount;
+    private List<Long> accountIds = new ArrayList<>();
+    private List<AccountCodeNodeDTO> children = new ArrayList<>();
+
+    public AccountCodeNodeDTO() {}
+
+    public AccountCodeNodeDTO(String prefix, BigDecimal balance, int accountCount, List<Long> accountIds) {
+        this.prefix = prefix;
+        this.balance = balance;
+        this.accountCount = accountCount;
+        this.accountIds = accountIds;
+    }
+
+    public String getPrefix() {
+        return prefix;
+    }
+
+    public void setPrefix(String prefix) {
+        this.prefix = prefix;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public void setBalance(BigDecimal balance) {
+        this.balance = balance;
+    }
+
+    public int getAccountCount() {
+        return accountCount;
+    }
+
+    public void setAccountCount(int accountCount) {
+        this.accountCount = accountCount;
+    }
+
+    /**
+     * @return the ids of the accounts whose code is exactly the prefix.
+     */
+    public List<Long> getAccountIds() {
+        return accountIds;
+    }
+
+    public void setAccountIds(List<Long> accountIds) {
+        this.accountIds = accountIds;
+    }
+
+    public List<AccountCodeNodeDTO> getChildren() {
+        return children;
+    }
+
+    public void setChildren(List<AccountCodeNodeDTO> children) {
+        this.children = children;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "AccountCodeNodeDTO{" +
+            "prefix='" + prefix + "'" +
+            ", balance=" + balance +
+            ", accountCount=" + accountCount +
+            ", accountIds=" + accountIds +
+            ", children=" + children.size() +
+            "}";
+    }
+}
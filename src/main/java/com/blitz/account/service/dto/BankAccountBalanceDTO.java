@@ -0,0 +1,51 @@
+package com.blitz.account.service.dto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public class BankAccountBalanceDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long bankAccountId;
+    private Instant asOf;
+    private BigDecimal balance;
+
+    public BankAccountBalanceDTO() {}
+
+    public BankAccountBalanceDTO(Long bankAccountId, Instant asOf, BigDecimal balance) {
+        this.bankAccountId = bankAccountId;
+        this.asOf = asOf;
+        this.balance = balance;
+    }
+
+    public Long getBankAccountId() {
+        return bankAccountId;
+    }
+
+    public void setBankAccountId(Long bankAccountId) {
+        this.bankAccountId = bankAccountId;
+    }
+
+    public Instant getAsOf() {
+        return asOf;
+    }
+
+    public void setAsOf(Instant asOf) {
+        this.asOf = asOf;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public void setBalance(BigDecimal balance) {
+        this.balance = balance;
+    }
+
+    @Override
+    public String toString() {
+        return "BankAccountBalanceDTO [bankAccountId=" + bankAccountId + ", asOf=" + asOf + ", balance=" + balance + "]";
+    }
+}
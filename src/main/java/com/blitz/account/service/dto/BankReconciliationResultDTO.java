@@ -0,0 +1,69 @@
+package com.blitz.account.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * Summary of the reconciliation of a bank account, see
+ * {@link com.blitz.account.service.BankReconciliationService#reconcile(Long)}.
+ */
+public class BankReconciliationResultDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long bankAccountId;
+    private int matched;
+    private int unmatchedTransactions;
+    private int unmatchedPayments;
+
+    public BankReconciliationResultDTO() {}
+
+    public BankReconciliationResultDTO(Long bankAccountId, int matched, int unmatchedTransactions, int unmatchedPayments) {
+        this.bankAccountId = bankAccountId;
+        this.matched = matched;
+        this.unmatchedTransactions = unmatchedTransactions;
+        this.unmatchedPayments = unmatchedPayments;
+    }
+
+    public Long getBankAccountId() {
+        return bankAccountId;
+    }
+
+    public void setBankAccountId(Long bankAccountId) {
+        this.bankAccountId = bankAccountId;
+    }
+
+    public int getMatched() {
+        return matched;
+    }
+
+    public void setMatched(int matched) {
+        this.matched = matched;
+    }
+
+    public int getUnmatchedTransactions() {
+        return unmatchedTransactions;
+    }
+
+    public void setUnmatchedTransactions(int unmatchedTransactions) {
+        this.unmatchedTransactions = unmatchedTransactions;
+    }
+
+    public int getUnmatchedPayments() {
+        return unmatchedPayments;
+    }
+
+    public void setUnmatchedPayments(int unmatchedPayments) {
+        this.unmatchedPayments = unmatchedPayments;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "BankReconciliationResultDTO{" +
+            "bankAccountId=" + bankAccountId +
+            ", matched=" + matched +
+            ", unmatchedTransactions=" + unmatchedTransactions +
+            ", unmatchedPayments=" + unmatchedPayments +
+            "}";
+    }
+}
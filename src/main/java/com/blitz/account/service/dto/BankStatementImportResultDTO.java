@@ -0,0 +1,98 @@
+package com.blitz.account.service.dto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Summary of a bank statement import, see
+ * {@link com.blitz.account.service.BankStatementImportService#importStatement(Long, com.blitz.account.service.BankStatementReader)}.
+ */
+public class BankStatementImportResultDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long bankAccountId;
+    private long imported;
+    private long duplicates;
+    private BigDecimal totalCredit = BigDecimal.ZERO;
+    private BigDecimal totalDebit = BigDecimal.ZERO;
+    private Instant firstTransactionDate;
+    private Instant lastTransactionDate;
+
+    public BankStatementImportResultDTO() {}
+
+    public BankStatementImportResultDTO(Long bankAccountId) {
+        this.bankAccountId = bankAccountId;
+    }
+
+    public Long getBankAccountId() {
+        return bankAccountId;
+    }
+
+    public void setBankAccountId(Long bankAccountId) {
+        this.bankAccountId = bankAccountId;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public void setImported(long imported) {
+        this.imported = imported;
+    }
+
+    public long getDuplicates() {
+        return duplicates;
+    }
+
+    public void setDuplicates(long duplicates) {
+        this.duplicates = duplicates;
+    }
+
+    public BigDecimal getTotalCredit() {
+        return totalCredit;
+    }
+
+    public void setTotalCredit(BigDecimal totalCredit) {
+        this.totalCredit = totalCredit;
+    }
+
+    public BigDecimal getTotalDebit() {
+        return totalDebit;
+    }
+
+    public void setTotalDebit(BigDecimal totalDebit) {
+        this.totalDebit = totalDebit;
+    }
+
+    public Instant getFirstTransactionDate() {
+        return firstTransactionDate;
+    }
+
+    public void setFirstTransactionDate(Instant firstTransactionDate) {
+        this.firstTransactionDate = firstTransactionDate;
+    }
+
+    public Instant getLastTransactionDate() {
+        return lastTransactionDate;
+    }
+
+    public void setLastTransactionDate(Instant lastTransactionDate) {
+        this.lastTransactionDate = lastTransactionDate;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "BankStatementImportResultDTO{" +
+            "bankAccountId=" + bankAccountId +
+            ", imported=" + imported +
+            ", duplicates=" + duplicates +
+            ", totalCredit=" + totalCredit +
+            ", totalDebit=" + totalDebit +
+            ", firstTransactionDate='" + firstTransactionDate + "'" +
+            ", lastTransactionDate='" + lastTransactionDate + "'" +
+            "}";
+    }
+}
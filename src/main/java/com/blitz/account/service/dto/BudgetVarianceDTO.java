@@ -0,0 +1,137 @@
+package com.blitz.account.service.dto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public class BudgetVarianceDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long budgetId;
+    private String name;
+    private Long accountId;
+    private Instant startDate;
+    private Instant endDate;
+    private BigDecimal amount;
+    private BigDecimal actual;
+    private BigDecimal variance;
+    private BigDecimal consumedPercent;
+
+    public BudgetVarianceDTO() {}
+
+    public BudgetVarianceDTO(
+        Long budgetId,
+        String name,
+        Long accountId,
+        Instant startDate,
+        Instant endDate,
+        BigDecimal amount,
+        BigDecimal actual,
+        BigDecimal variance,
+        BigDecimal consumedPercent
+    ) {
+        this.budgetId = budgetId;
+        this.name = name;
+        this.accountId = accountId;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.amount = amount;
+        this.actual = actual;
+        this.variance = variance;
+        this.consumedPercent = consumedPercent;
+    }
+
+    public Long getBudgetId() {
+        return budgetId;
+    }
+
+    public void setBudgetId(Long budgetId) {
+        this.budgetId = budgetId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(Long accountId) {
+        this.accountId = accountId;
+    }
+
+    public Instant getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(Instant startDate) {
+        this.startDate = startDate;
+    }
+
+    public Instant getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(Instant endDate) {
+        this.endDate = endDate;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public BigDecimal getActual() {
+        return actual;
+    }
+
+    public void setActual(BigDecimal actual) {
+        this.actual = actual;
+    }
+
+    public BigDecimal getVariance() {
+        return variance;
+    }
+
+    public void setVariance(BigDecimal variance) {
+        this.variance = variance;
+    }
+
+    public BigDecimal getConsumedPercent() {
+        return consumedPercent;
+    }
+
+    public void setConsumedPercent(BigDecimal consumedPercent) {
+        this.consumedPercent = consumedPercent;
+    }
+
+    @Override
+    public String toString() {
+        return (
+            "BudgetVarianceDTO [budgetId=" +
+            budgetId +
+            ", name=" +
+            name +
+            ", accountId=" +
+            accountId +
+            ", amount=" +
+            amount +
+            ", actual=" +
+            actual +
+            ", variance=" +
+            variance +
+            ", consumedPercent=" +
+            consumedPercent +
+            "]"
+        );
+    }
+}
@@ -0,0 +1,80 @@
+package com.blitz.account.service.dto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * A line of an invoice or a quote, without the id of its document.
+ */
+public class DocumentLineDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+    private Long productId;
+    private Integer quantity;
+    private BigDecimal unitPrice;
+    private Long vatRateId;
+
+    public DocumentLineDTO() {}
+
+    public DocumentLineDTO(Long id, Long productId, Integer quantity, BigDecimal unitPrice, Long vatRateId) {
+        this.id = id;
+        this.productId = productId;
+        this.quantity = quantity;
+        this.unitPrice = unitPrice;
+        this.vatRateId = vatRateId;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    public BigDecimal getUnitPrice() {
+        return unitPrice;
+    }
+
+    public void setUnitPrice(BigDecimal unitPrice) {
+        this.unitPrice = unitPrice;
+    }
+
+    public Long getVatRateId() {
+        return vatRateId;
+    }
+
+    public void setVatRateId(Long vatRateId) {
+        this.vatRateId = vatRateId;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "DocumentLineDTO{" +
+            "id=" + id +
+            ", productId=" + productId +
+            ", quantity=" + quantity +
+            ", unitPrice=" + unitPrice +
+            ", vatRateId=" + vatRateId +
+            "}";
+    }
+}
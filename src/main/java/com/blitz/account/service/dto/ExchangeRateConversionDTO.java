@@ -0,0 +1,115 @@
+package com.blitz.account.service.dto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * An amount converted between currencies, see
+ * {@link com.blitz.account.service.ExchangeRateIndexService#convert(Long, Long, BigDecimal, Instant)}.
+ */
+public class ExchangeRateConversionDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long baseCurrencyId;
+    private Long targetCurrencyId;
+    private Instant at;
+    private BigDecimal amount;
+    private BigDecimal rate;
+    private BigDecimal convertedAmount;
+    private Long pivotCurrencyId;
+
+    public ExchangeRateConversionDTO() {}
+
+    public ExchangeRateConversionDTO(
+        Long baseCurrencyId,
+        Long targetCurrencyId,
+        Instant at,
+        BigDecimal amount,
+        BigDecimal rate,
+        BigDecimal convertedAmount,
+        Long pivotCurrencyId
+    ) {
+        this.baseCurrencyId = baseCurrencyId;
+        this.targetCurrencyId = targetCurrencyId;
+        this.at = at;
+        this.amount = amount;
+        this.rate = rate;
+        this.convertedAmount = convertedAmount;
+        this.pivotCurrencyId = pivotCurrencyId;
+    }
+
+    public Long getBaseCurrencyId() {
+        return baseCurrencyId;
+    }
+
+    public void setBaseCurrencyId(Long baseCurrencyId) {
+        this.baseCurrencyId = baseCurrencyId;
+    }
+
+    public Long getTargetCurrencyId() {
+        return targetCurrencyId;
+    }
+
+    public void setTargetCurrencyId(Long targetCurrencyId) {
+        this.targetCurrencyId = targetCurrencyId;
+    }
+
+    public Instant getAt() {
+        return at;
+    }
+
+    public void setAt(Instant at) {
+        this.at = at;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public BigDecimal getRate() {
+        return rate;
+    }
+
+    public void setRate(BigDecimal rate) {
+        this.rate = rate;
+    }
+
+    public BigDecimal getConvertedAmount() {
+        return convertedAmount;
+    }
+
+    public void setConvertedAmount(BigDecimal convertedAmount) {
+        this.convertedAmount = convertedAmount;
+    }
+
+    /**
+     * @return the id of the currency the rate was triangulated through, {@code null} if it was not.
+     */
+    public Long getPivotCurrencyId() {
+        return pivotCurrencyId;
+    }
+
+    public void setPivotCurrencyId(Long pivotCurrencyId) {
+        this.pivotCurrencyId = pivotCurrencyId;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ExchangeRateConversionDTO{" +
+            "baseCurrencyId=" + baseCurrencyId +
+            ", targetCurrencyId=" + targetCurrencyId +
+            ", at='" + at + "'" +
+            ", amount=" + amount +
+            ", rate=" + rate +
+            ", convertedAmount=" + convertedAmount +
+            ", pivotCurrencyId=" + pivotCurrencyId +
+            "}";
+    }
+}
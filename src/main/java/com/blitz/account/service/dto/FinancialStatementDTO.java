@@ -0,0 +1,119 @@
+package com.blitz.account.service.dto;
+
+import com.blitz.account.domain.enumeration.AccountType;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A profit and loss statement or a balance sheet, optionally compared with another period.
+ * <p>
+ * The periods of a balance sheet have no start, the balances being as of their end. The net income of a balance sheet
+ * is the income not closed into equity yet, so that assets equal liabilities, equity and net income.
+ */
+public class FinancialStatementDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private LocalDate from;
+    private LocalDate to;
+    private LocalDate comparativeFrom;
+    private LocalDate comparativeTo;
+    private Map<AccountType, BigDecimal> totals = new EnumMap<>(AccountType.class);
+    private Map<AccountType, BigDecimal> comparativeTotals;
+    private BigDecimal netIncome;
+    private BigDecimal comparativeNetIncome;
+    private List<FinancialStatementLineDTO> lines = new ArrayList<>();
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDate to) {
+        this.to = to;
+    }
+
+    public LocalDate getComparativeFrom() {
+        return comparativeFrom;
+    }
+
+    public void setComparativeFrom(LocalDate comparativeFrom) {
+        this.comparativeFrom = comparativeFrom;
+    }
+
+    public LocalDate getComparativeTo() {
+        return comparativeTo;
+    }
+
+    public void setComparativeTo(LocalDate comparativeTo) {
+        this.comparativeTo = comparativeTo;
+    }
+
+    public Map<AccountType, BigDecimal> getTotals() {
+        return totals;
+    }
+
+    public void setTotals(Map<AccountType, BigDecimal> totals) {
+        this.totals = totals;
+    }
+
+    public Map<AccountType, BigDecimal> getComparativeTotals() {
+        return comparativeTotals;
+    }
+
+    public void setComparativeTotals(Map<AccountType, BigDecimal> comparativeTotals) {
+        this.comparativeTotals = comparativeTotals;
+    }
+
+    public BigDecimal getNetIncome() {
+        return netIncome;
+    }
+
+    public void setNetIncome(BigDecimal netIncome) {
+        this.netIncome = netIncome;
+    }
+
+    public BigDecimal getComparativeNetIncome() {
+        return comparativeNetIncome;
+    }
+
+    public void setComparativeNetIncome(BigDecimal comparativeNetIncome) {
+        this.comparativeNetIncome = comparativeNetIncome;
+    }
+
+    public List<FinancialStatementLineDTO> getLines() {
+        return lines;
+    }
+
+    public void setLines(List<FinancialStatementLineDTO> lines) {
+        this.lines = lines;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "FinancialStatementDTO{" +
+            "from='" + from + "'" +
+            ", to='" + to + "'" +
+            ", comparativeFrom='" + comparativeFrom + "'" +
+            ", comparativeTo='" + comparativeTo + "'" +
+            ", totals=" + totals +
+            ", comparativeTotals=" + comparativeTotals +
+            ", netIncome=" + netIncome +
+            ", comparativeNetIncome=" + comparativeNetIncome +
+            ", lines=" + lines.size() +
+            "}";
+    }
+}
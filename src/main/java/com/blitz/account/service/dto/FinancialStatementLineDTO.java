@@ -0,0 +1,123 @@
+package com.blitz.account.service.dto;
+
+import com.blitz.account.domain.enumeration.AccountType;
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * One account of a financial statement, its balances including those of the accounts nested under its code.
+ */
+public class FinancialStatementLineDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long accountId;
+    private Long parentAccountId;
+    private String code;
+    private String name;
+    private AccountType accountType;
+    private int level;
+    private BigDecimal balance;
+    private BigDecimal comparativeBalance;
+
+    public FinancialStatementLineDTO() {}
+
+    public FinancialStatementLineDTO(
+        Long accountId,
+        Long parentAccountId,
+        String code,
+        String name,
+        AccountType accountType,
+        int level,
+        BigDecimal balance,
+        BigDecimal comparativeBalance
+    ) {
+        this.accountId = accountId;
+        this.parentAccountId = parentAccountId;
+        this.code = code;
+        this.name = name;
+        this.accountType = accountType;
+        this.level = level;
+        this.balance = balance;
+        this.comparativeBalance = comparativeBalance;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(Long accountId) {
+        this.accountId = accountId;
+    }
+
+    public Long getParentAccountId() {
+        return parentAccountId;
+    }
+
+    public void setParentAccountId(Long parentAccountId) {
+        this.parentAccountId = parentAccountId;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public void setCode(String code) {
+        this.code = code;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public AccountType getAccountType() {
+        return accountType;
+    }
+
+    public void setAccountType(AccountType accountType) {
+        this.accountType = accountType;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public void setLevel(int level) {
+        this.level = level;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public void setBalance(BigDecimal balance) {
+        this.balance = balance;
+    }
+
+    public BigDecimal getComparativeBalance() {
+        return comparativeBalance;
+    }
+
+    public void setComparativeBalance(BigDecimal comparativeBalance) {
+        this.comparativeBalance = comparativeBalance;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "FinancialStatementLineDTO{" +
+            "accountId=" + accountId +
+            ", parentAccountId=" + parentAccountId +
+            ", code='" + code + "'" +
+            ", name='" + name + "'" +
+            ", accountType='" + accountType + "'" +
+            ", level=" + level +
+            ", balance=" + balance +
+            ", comparativeBalance=" + comparativeBalance +
+            "}";
+    }
+}
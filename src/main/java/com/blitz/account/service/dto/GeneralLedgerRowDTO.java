@@ -0,0 +1,120 @@
+package com.blitz.account.service.dto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public class GeneralLedgerRowDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long accountId;
+    private String accountCode;
+    private Long lineId;
+    private Long journalId;
+    private Instant journalDate;
+    private String reference;
+    private String description;
+    private BigDecimal debit;
+    private BigDecimal credit;
+    private BigDecimal runningBalance;
+
+    public GeneralLedgerRowDTO() {}
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(Long accountId) {
+        this.accountId = accountId;
+    }
+
+    public String getAccountCode() {
+        return accountCode;
+    }
+
+    public void setAccountCode(String accountCode) {
+        this.accountCode = accountCode;
+    }
+
+    public Long getLineId() {
+        return lineId;
+    }
+
+    public void setLineId(Long lineId) {
+        this.lineId = lineId;
+    }
+
+    public Long getJournalId() {
+        return journalId;
+    }
+
+    public void setJournalId(Long journalId) {
+        this.journalId = journalId;
+    }
+
+    public Instant getJournalDate() {
+        return journalDate;
+    }
+
+    public void setJournalDate(Instant journalDate) {
+        this.journalDate = journalDate;
+    }
+
+    public String getReference() {
+        return reference;
+    }
+
+    public void setReference(String reference) {
+        this.reference = reference;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public BigDecimal getDebit() {
+        return debit;
+    }
+
+    public void setDebit(BigDecimal debit) {
+        this.debit = debit;
+    }
+
+    public BigDecimal getCredit() {
+        return credit;
+    }
+
+    public void setCredit(BigDecimal credit) {
+        this.credit = credit;
+    }
+
+    public BigDecimal getRunningBalance() {
+        return runningBalance;
+    }
+
+    public void setRunningBalance(BigDecimal runningBalance) {
+        this.runningBalance = runningBalance;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "GeneralLedgerRowDTO{" +
+            "accountId=" + accountId +
+            ", accountCode='" + accountCode + "'" +
+            ", lineId=" + lineId +
+            ", journalId=" + journalId +
+            ", journalDate='" + journalDate + "'" +
+            ", reference='" + reference + "'" +
+            ", description='" + description + "'" +
+            ", debit=" + debit +
+            ", credit=" + credit +
+            ", runningBalance=" + runningBalance +
+            "}";
+    }
+}
@@ -0,0 +1,102 @@
+package com.blitz.account.service.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Progress of a recomputation of the invoice totals from their lines.
+ */
+public class InvoiceTotalsRecomputationDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Instant startedAt;
+    private Instant finishedAt;
+    private long invoices;
+    private long processed;
+    private long corrected;
+    private long failed;
+
+    public InvoiceTotalsRecomputationDTO() {}
+
+    public InvoiceTotalsRecomputationDTO(
+        Instant startedAt,
+        Instant finishedAt,
+        long invoices,
+        long processed,
+        long corrected,
+        long failed
+    ) {
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+        this.invoices = invoices;
+        this.processed = processed;
+        this.corrected = corrected;
+        this.failed = failed;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public long getInvoices() {
+        return invoices;
+    }
+
+    public void setInvoices(long invoices) {
+        this.invoices = invoices;
+    }
+
+    public long getProcessed() {
+        return processed;
+    }
+
+    public void setProcessed(long processed) {
+        this.processed = processed;
+    }
+
+    public long getCorrected() {
+        return corrected;
+    }
+
+    public void setCorrected(long corrected) {
+        this.corrected = corrected;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+
+    public boolean isRunning() {
+        return finishedAt == null;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "InvoiceTotalsRecomputationDTO{" +
+            "startedAt=" + startedAt +
+            ", finishedAt=" + finishedAt +
+            ", invoices=" + invoices +
+            ", processed=" + processed +
+            ", corrected=" + corrected +
+            ", failed=" + failed +
+            "}";
+    }
+}
@@ -0,0 +1,175 @@
+package com.blitz.account.service.dto;
+
+import com.blitz.account.domain.enumeration.DocumentStatus;
+import com.blitz.account.domain.enumeration.PaymentStatus;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An invoice with its lines.
+ */
+public class InvoiceWithLinesDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+    private String clientName;
+    private Instant issueDate;
+    private Instant dueDate;
+    private DocumentStatus status;
+    private Long currencyId;
+    private Long vatRateId;
+    private BigDecimal totalAmount;
+    private BigDecimal paidAmount;
+    private PaymentStatus paymentStatus;
+    private Long version;
+    private List<DocumentLineDTO> lines = new ArrayList<>();
+
+    public InvoiceWithLinesDTO() {}
+
+    public InvoiceWithLinesDTO(
+        Long id,
+        String clientName,
+        Instant issueDate,
+        Instant dueDate,
+        DocumentStatus status,
+        Long currencyId,
+        Long vatRateId,
+        BigDecimal totalAmount,
+        BigDecimal paidAmount,
+        PaymentStatus paymentStatus,
+        Long version,
+        List<DocumentLineDTO> lines
+    ) {
+        this.id = id;
+        this.clientName = clientName;
+        this.issueDate = issueDate;
+        this.dueDate = dueDate;
+        this.status = status;
+        this.currencyId = currencyId;
+        this.vatRateId = vatRateId;
+        this.totalAmount = totalAmount;
+        this.paidAmount = paidAmount;
+        this.paymentStatus = paymentStatus;
+        this.version = version;
+        this.lines = lines;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getClientName() {
+        return clientName;
+    }
+
+    public void setClientName(String clientName) {
+        this.clientName = clientName;
+    }
+
+    public Instant getIssueDate() {
+        return issueDate;
+    }
+
+    public void setIssueDate(Instant issueDate) {
+        this.issueDate = issueDate;
+    }
+
+    public Instant getDueDate() {
+        return dueDate;
+    }
+
+    public void setDueDate(Instant dueDate) {
+        this.dueDate = dueDate;
+    }
+
+    public DocumentStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(DocumentStatus status) {
+        this.status = status;
+    }
+
+    public Long getCurrencyId() {
+        return currencyId;
+    }
+
+    public void setCurrencyId(Long currencyId) {
+        this.currencyId = currencyId;
+    }
+
+    public Long getVatRateId() {
+        return vatRateId;
+    }
+
+    public void setVatRateId(Long vatRateId) {
+        this.vatRateId = vatRateId;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+
+    public BigDecimal getPaidAmount() {
+        return paidAmount;
+    }
+
+    public void setPaidAmount(BigDecimal paidAmount) {
+        this.paidAmount = paidAmount;
+    }
+
+    public PaymentStatus getPaymentStatus() {
+        return paymentStatus;
+    }
+
+    public void setPaymentStatus(PaymentStatus paymentStatus) {
+        this.paymentStatus = paymentStatus;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public List<DocumentLineDTO> getLines() {
+        return lines;
+    }
+
+    public void setLines(List<DocumentLineDTO> lines) {
+        this.lines = lines;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "InvoiceWithLinesDTO{" +
+            "id=" + id +
+            ", clientName='" + clientName + "'" +
+            ", issueDate=" + issueDate +
+            ", dueDate=" + dueDate +
+            ", status=" + status +
+            ", currencyId=" + currencyId +
+            ", vatRateId=" + vatRateId +
+            ", totalAmount=" + totalAmount +
+            ", paidAmount=" + paidAmount +
+            ", paymentStatus=" + paymentStatus +
+            ", version=" + version +
+            ", lines=" + lines.size() +
+            "}";
+    }
+}
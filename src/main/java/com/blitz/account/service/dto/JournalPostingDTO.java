@@ -0,0 +1,98 @@
+package com.blitz.account.service.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A journal posted together with its lines, see {@link com.blitz.account.service.JournalService#postAll(List)}.
+ */
+public class JournalPostingDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @NotNull
+    private Instant journalDate;
+
+    private String reference;
+
+    private String description;
+
+    @NotEmpty
+    @Valid
+    private List<JournalPostingLineDTO> lines = new ArrayList<>();
+
+    public JournalPostingDTO() {}
+
+    public JournalPostingDTO(Instant journalDate, String reference, String description, List<JournalPostingLineDTO> lines) {
+        this.journalDate = journalDate;
+        this.reference = reference;
+        this.description = description;
+        this.lines = lines;
+    }
+
+    public Instant getJournalDate() {
+        return journalDate;
+    }
+
+    public void setJournalDate(Instant journalDate) {
+        this.journalDate = journalDate;
+    }
+
+    public String getReference() {
+        return reference;
+    }
+
+    public void setReference(String reference) {
+        this.reference = reference;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public List<JournalPostingLineDTO> getLines() {
+        return lines;
+    }
+
+    public void setLines(List<JournalPostingLineDTO> lines) {
+        this.lines = lines;
+    }
+
+    /**
+     * @return whether the debits of the lines add up to their credits, missing amounts counting as zero.
+     */
+    public boolean isBalanced() {
+        BigDecimal netDebit = BigDecimal.ZERO;
+        for (JournalPostingLineDTO line : lines) {
+            netDebit = netDebit
+                .add(line.getDebit() != null ? line.getDebit() : BigDecimal.ZERO)
+                .subtract(line.getCredit() != null ? line.getCredit() : BigDecimal.ZERO);
+        }
+        return netDebit.signum() == 0;
+    }
+
+    @Override
+    public String toString() {
+        return (
+            "JournalPostingDTO [journalDate=" +
+            journalDate +
+            ", reference=" +
+            reference +
+            ", description=" +
+            description +
+            ", lines=" +
+            lines.size() +
+            "]"
+        );
+    }
+}
@@ -0,0 +1,60 @@
+package com.blitz.account.service.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * A line of a {@link JournalPostingDTO}.
+ */
+public class JournalPostingLineDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @NotNull
+    private Long accountId;
+
+    @DecimalMin(value = "0")
+    private BigDecimal debit;
+
+    @DecimalMin(value = "0")
+    private BigDecimal credit;
+
+    public JournalPostingLineDTO() {}
+
+    public JournalPostingLineDTO(Long accountId, BigDecimal debit, BigDecimal credit) {
+        this.accountId = accountId;
+        this.debit = debit;
+        this.credit = credit;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(Long accountId) {
+        this.accountId = accountId;
+    }
+
+    public BigDecimal getDebit() {
+        return debit;
+    }
+
+    public void setDebit(BigDecimal debit) {
+        this.debit = debit;
+    }
+
+    public BigDecimal getCredit() {
+        return credit;
+    }
+
+    public void setCredit(BigDecimal credit) {
+        this.credit = credit;
+    }
+
+    @Override
+    public String toString() {
+        return "JournalPostingLineDTO [accountId=" + accountId + ", debit=" + debit + ", credit=" + credit + "]";
+    }
+}
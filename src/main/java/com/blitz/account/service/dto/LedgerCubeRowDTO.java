@@ -0,0 +1,144 @@
+package com.blitz.account.service.dto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Sums of the ledger movements of one group of a ledger cube rollup, a {@code null} dimension meaning it was not grouped by.
+ */
+public class LedgerCubeRowDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long accountId;
+    private Long currencyId;
+    private LocalDate period;
+    private BigDecimal income;
+    private BigDecimal expense;
+    private BigDecimal debit;
+    private BigDecimal credit;
+    private long transactionCount;
+    private long journalLineCount;
+
+    public LedgerCubeRowDTO() {}
+
+    public LedgerCubeRowDTO(
+        Long accountId,
+        Long currencyId,
+        LocalDate period,
+        BigDecimal income,
+        BigDecimal expense,
+        BigDecimal debit,
+        BigDecimal credit,
+        long transactionCount,
+        long journalLineCount
+    ) {
+        this.accountId = accountId;
+        this.currencyId = currencyId;
+        this.period = period;
+        this.income = income;
+        this.expense = expense;
+        this.debit = debit;
+        this.credit = credit;
+        this.transactionCount = transactionCount;
+        this.journalLineCount = journalLineCount;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(Long accountId) {
+        this.accountId = accountId;
+    }
+
+    public Long getCurrencyId() {
+        return currencyId;
+    }
+
+    public void setCurrencyId(Long currencyId) {
+        this.currencyId = currencyId;
+    }
+
+    public LocalDate getPeriod() {
+        return period;
+    }
+
+    public void setPeriod(LocalDate period) {
+        this.period = period;
+    }
+
+    public BigDecimal getIncome() {
+        return income;
+    }
+
+    public void setIncome(BigDecimal income) {
+        this.income = income;
+    }
+
+    public BigDecimal getExpense() {
+        return expense;
+    }
+
+    public void setExpense(BigDecimal expense) {
+        this.expense = expense;
+    }
+
+    public BigDecimal getDebit() {
+        return debit;
+    }
+
+    public void setDebit(BigDecimal debit) {
+        this.debit = debit;
+    }
+
+    public BigDecimal getCredit() {
+        return credit;
+    }
+
+    public void setCredit(BigDecimal credit) {
+        this.credit = credit;
+    }
+
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+
+    public void setTransactionCount(long transactionCount) {
+        this.transactionCount = transactionCount;
+    }
+
+    public long getJournalLineCount() {
+        return journalLineCount;
+    }
+
+    public void setJournalLineCount(long journalLineCount) {
+        this.journalLineCount = journalLineCount;
+    }
+
+    @Override
+    public String toString() {
+        return (
+            "LedgerCubeRowDTO [accountId=" +
+            accountId +
+            ", currencyId=" +
+            currencyId +
+            ", period=" +
+            period +
+            ", income=" +
+            income +
+            ", expense=" +
+            expense +
+            ", debit=" +
+            debit +
+            ", credit=" +
+            credit +
+            ", transactionCount=" +
+            transactionCount +
+            ", journalLineCount=" +
+            journalLineCount +
+            "]"
+        );
+    }
+}
@@ -0,0 +1,103 @@
+package com.blitz.account.service.dto;
+
+import com.blitz.account.domain.enumeration.PaymentStatus;
+import java.io.Serializable;
+
+/**
+ * Outcome of one row of a payment import, see {@link com.blitz.account.service.PaymentService#importAll(java.util.List)}.
+ */
+public class PaymentImportResultDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * What became of an imported payment.
+     */
+    public enum Outcome {
+        /** The payment was recorded and applied to its invoice. */
+        APPLIED,
+        /** The payment was recorded, it has no invoice to apply to. */
+        RECORDED,
+        /** The payment was not recorded, see the error. */
+        REJECTED,
+    }
+
+    private int row;
+    private Outcome outcome;
+    private Long paymentId;
+    private Long invoiceId;
+    private PaymentStatus paymentStatus;
+    private String error;
+
+    public PaymentImportResultDTO() {}
+
+    public PaymentImportResultDTO(int row, Outcome outcome, Long paymentId, Long invoiceId, PaymentStatus paymentStatus, String error) {
+        this.row = row;
+        this.outcome = outcome;
+        this.paymentId = paymentId;
+        this.invoiceId = invoiceId;
+        this.paymentStatus = paymentStatus;
+        this.error = error;
+    }
+
+    public int getRow() {
+        return row;
+    }
+
+    public void setRow(int row) {
+        this.row = row;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public void setOutcome(Outcome outcome) {
+        this.outcome = outcome;
+    }
+
+    public Long getPaymentId() {
+        return paymentId;
+    }
+
+    public void setPaymentId(Long paymentId) {
+        this.paymentId = paymentId;
+    }
+
+    public Long getInvoiceId() {
+        return invoiceId;
+    }
+
+    public void setInvoiceId(Long invoiceId) {
+        this.invoiceId = invoiceId;
+    }
+
+    public PaymentStatus getPaymentStatus() {
+        return paymentStatus;
+    }
+
+    public void setPaymentStatus(PaymentStatus paymentStatus) {
+        this.paymentStatus = paymentStatus;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "PaymentImportResultDTO{" +
+            "row=" + row +
+            ", outcome=" + outcome +
+            ", paymentId=" + paymentId +
+            ", invoiceId=" + invoiceId +
+            ", paymentStatus=" + paymentStatus +
+            ", error='" + error + "'" +
+            "}";
+    }
+}
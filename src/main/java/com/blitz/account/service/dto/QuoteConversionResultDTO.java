@@ -0,0 +1,79 @@
+package com.blitz.account.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * Outcome of the conversion of one quote into an invoice, see
+ * {@link com.blitz.account.service.QuoteConversionService#convertAll(java.util.List)}.
+ */
+public class QuoteConversionResultDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * What became of a quote to convert.
+     */
+    public enum Outcome {
+        /** The quote was invoiced, see the invoice id. */
+        CONVERTED,
+        /** The quote was left as it was, see the error. */
+        REJECTED,
+    }
+
+    private Long quoteId;
+    private Outcome outcome;
+    private Long invoiceId;
+    private String error;
+
+    public QuoteConversionResultDTO() {}
+
+    public QuoteConversionResultDTO(Long quoteId, Outcome outcome, Long invoiceId, String error) {
+        this.quoteId = quoteId;
+        this.outcome = outcome;
+        this.invoiceId = invoiceId;
+        this.error = error;
+    }
+
+    public Long getQuoteId() {
+        return quoteId;
+    }
+
+    public void setQuoteId(Long quoteId) {
+        this.quoteId = quoteId;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public void setOutcome(Outcome outcome) {
+        this.outcome = outcome;
+    }
+
+    public Long getInvoiceId() {
+        return invoiceId;
+    }
+
+    public void setInvoiceId(Long invoiceId) {
+        this.invoiceId = invoiceId;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "QuoteConversionResultDTO{" +
+            "quoteId=" + quoteId +
+            ", outcome=" + outcome +
+            ", invoiceId=" + invoiceId +
+            ", error='" + error + "'" +
+            "}";
+    }
+}
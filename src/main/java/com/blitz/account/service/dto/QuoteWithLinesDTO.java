@@ -0,0 +1,126 @@
+package com.blitz.account.service.dto;
+
+import com.blitz.account.domain.enumeration.DocumentStatus;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A quote with its lines.
+ */
+public class QuoteWithLinesDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+    private String clientName;
+    private Instant issueDate;
+    private DocumentStatus status;
+    private Long currencyId;
+    private Long vatRateId;
+    private BigDecimal totalAmount;
+    private List<DocumentLineDTO> lines = new ArrayList<>();
+
+    public QuoteWithLinesDTO() {}
+
+    public QuoteWithLinesDTO(
+        Long id,
+        String clientName,
+        Instant issueDate,
+        DocumentStatus status,
+        Long currencyId,
+        Long vatRateId,
+        BigDecimal totalAmount,
+        List<DocumentLineDTO> lines
+    ) {
+        this.id = id;
+        this.clientName = clientName;
+        this.issueDate = issueDate;
+        this.status = status;
+        this.currencyId = currencyId;
+        this.vatRateId = vatRateId;
+        this.totalAmount = totalAmount;
+        this.lines = lines;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getClientName() {
+        return clientName;
+    }
+
+    public void setClientName(String clientName) {
+        this.clientName = clientName;
+    }
+
+    public Instant getIssueDate() {
+        return issueDate;
+    }
+
+    public void setIssueDate(Instant issueDate) {
+        this.issueDate = issueDate;
+    }
+
+    public DocumentStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(DocumentStatus status) {
+        this.status = status;
+    }
+
+    public Long getCurrencyId() {
+        return currencyId;
+    }
+
+    public void setCurrencyId(Long currencyId) {
+        this.currencyId = currencyId;
+    }
+
+    public Long getVatRateId() {
+        return vatRateId;
+    }
+
+    public void setVatRateId(Long vatRateId) {
+        this.vatRateId = vatRateId;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+
+    public List<DocumentLineDTO> getLines() {
+        return lines;
+    }
+
+    public void setLines(List<DocumentLineDTO> lines) {
+        this.lines = lines;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "QuoteWithLinesDTO{" +
+            "id=" + id +
+            ", clientName='" + clientName + "'" +
+            ", issueDate=" + issueDate +
+            ", status=" + status +
+            ", currencyId=" + currencyId +
+            ", vatRateId=" + vatRateId +
+            ", totalAmount=" + totalAmount +
+            ", lines=" + lines.size() +
+            "}";
+    }
+}
@@ -0,0 +1,134 @@
+package com.blitz.account.service.dto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * Amounts a client owes in one currency on the invoices not paid yet, bucketed by the days past their due date.
+ */
+public class ReceivablesAgingDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String clientName;
+    private Long currencyId;
+    private long invoices;
+    private BigDecimal current;
+    private BigDecimal days1To30;
+    private BigDecimal days31To60;
+    private BigDecimal days61To90;
+    private BigDecimal over90;
+    private BigDecimal total;
+
+    public ReceivablesAgingDTO() {}
+
+    public ReceivablesAgingDTO(
+        String clientName,
+        Long currencyId,
+        long invoices,
+        BigDecimal current,
+        BigDecimal days1To30,
+        BigDecimal days31To60,
+        BigDecimal days61To90,
+        BigDecimal over90,
+        BigDecimal total
+    ) {
+        this.clientName = clientName;
+        this.currencyId = currencyId;
+        this.invoices = invoices;
+        this.current = current;
+        this.days1To30 = days1To30;
+        this.days31To60 = days31To60;
+        this.days61To90 = days61To90;
+        this.over90 = over90;
+        this.total = total;
+    }
+
+    public String getClientName() {
+        return clientName;
+    }
+
+    public void setClientName(String clientName) {
+        this.clientName = clientName;
+    }
+
+    public Long getCurrencyId() {
+        return currencyId;
+    }
+
+    public void setCurrencyId(Long currencyId) {
+        this.currencyId = currencyId;
+    }
+
+    public long getInvoices() {
+        return invoices;
+    }
+
+    public void setInvoices(long invoices) {
+        this.invoices = invoices;
+    }
+
+    public BigDecimal getCurrent() {
+        return current;
+    }
+
+    public void setCurrent(BigDecimal current) {
+        this.current = current;
+    }
+
+    public BigDecimal getDays1To30() {
+        return days1To30;
+    }
+
+    public void setDays1To30(BigDecimal days1To30) {
+        this.days1To30 = days1To30;
+    }
+
+    public BigDecimal getDays31To60() {
+        return days31To60;
+    }
+
+    public void setDays31To60(BigDecimal days31To60) {
+        this.days31To60 = days31To60;
+    }
+
+    public BigDecimal getDays61To90() {
+        return days61To90;
+    }
+
+    public void setDays61To90(BigDecimal days61To90) {
+        this.days61To90 = days61To90;
+    }
+
+    public BigDecimal getOver90() {
+        return over90;
+    }
+
+    public void setOver90(BigDecimal over90) {
+        this.over90 = over90;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ReceivablesAgingDTO{" +
+            "clientName='" + getClientName() + "'" +
+            ", currencyId=" + getCurrencyId() +
+            ", invoices=" + getInvoices() +
+            ", current=" + getCurrent() +
+            ", days1To30=" + getDays1To30() +
+            ", days31To60=" + getDays31To60() +
+            ", days61To90=" + getDays61To90() +
+            ", over90=" + getOver90() +
+            ", total=" + getTotal() +
+            "}";
+    }
+}
@@ -0,0 +1,108 @@
+package com.blitz.account.service.dto;
+
+import com.blitz.account.domain.enumeration.AccountType;
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+public class TrialBalanceRowDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long accountId;
+    private String code;
+    private String name;
+    private AccountType accountType;
+    private BigDecimal debit;
+    private BigDecimal credit;
+    private BigDecimal balance;
+
+    public TrialBalanceRowDTO() {}
+
+    public TrialBalanceRowDTO(
+        Long accountId,
+        String code,
+        String name,
+        AccountType accountType,
+        BigDecimal debit,
+        BigDecimal credit,
+        BigDecimal balance
+    ) {
+        this.accountId = accountId;
+        this.code = code;
+        this.name = name;
+        this.accountType = accountType;
+        this.debit = debit;
+        this.credit = credit;
+        this.balance = balance;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(Long accountId) {
+        this.accountId = accountId;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public void setCode(String code) {
+        this.code = code;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public AccountType getAccountType() {
+        return accountType;
+    }
+
+    public void setAccountType(AccountType accountType) {
+        this.accountType = accountType;
+    }
+
+    public BigDecimal getDebit() {
+        return debit;
+    }
+
+    public void setDebit(BigDecimal debit) {
+        this.debit = debit;
+    }
+
+    public BigDecimal getCredit() {
+        return credit;
+    }
+
+    public void setCredit(BigDecimal credit) {
+        this.credit = credit;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public void setBalance(BigDecimal balance) {
+        this.balance = balance;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "TrialBalanceRowDTO{" +
+            "accountId=" + accountId +
+            ", code='" + code + "'" +
+            ", name='" + name + "'" +
+            ", accountType='" + accountType + "'" +
+            ", debit=" + debit +
+            ", credit=" + credit +
+            ", balance=" + balance +
+            "}";
+    }
+}
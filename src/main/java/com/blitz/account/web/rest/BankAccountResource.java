@@ -2,14 +2,18 @@ package com.blitz.account.web.rest;
 
 import com.blitz.account.domain.BankAccount;
 import com.blitz.account.repository.BankAccountRepository;
+import com.blitz.account.service.BankAccountBalanceService;
+import com.blitz.account.service.KeysetCursors;
 import com.blitz.account.service.BankAccountQueryService;
 import com.blitz.account.service.BankAccountService;
 import com.blitz.account.service.criteria.BankAccountCriteria;
+import com.blitz.account.service.dto.BankAccountBalanceDTO;
 import com.blitz.account.web.rest.errors.BadRequestAlertException;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.Instant;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -18,6 +22,9 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -46,14 +53,22 @@ public class BankAccountResource {
 
     private final BankAccountQueryService bankAccountQueryService;
 
+    private final KeysetCursors keysetCursors;
+
+    private final BankAccountBalanceService bankAccountBalanceService;
+
     public BankAccountResource(
         BankAccountService bankAccountService,
         BankAccountRepository bankAccountRepository,
-        BankAccountQueryService bankAccountQueryService
+        BankAccountQueryService bankAccountQueryService,
+        KeysetCursors keysetCursors,
+        BankAccountBalanceService bankAccountBalanceService
     ) {
         this.bankAccountService = bankAccountService;
         this.bankAccountRepository = bankAccountRepository;
         this.bankAccountQueryService = bankAccountQueryService;
+        this.keysetCursors = keysetCursors;
+        this.bankAccountBalanceService = bankAccountBalanceService;
     }
 
     /**
@@ -149,14 +164,40 @@ public class BankAccountResource {
      *
      * @param pageable the pagination information.
      * @param criteria the criteria which the requested entities should match.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of bankAccounts in body.
+     * @param after the cursor of the page to get with keyset pagination, empty for the first page; {@code null} for offset pagination.
+     * @param count whether to count the matching entities, or only to tell whether there is a next page.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of bankAccounts in body,
+     * or with status {@code 400 (Bad Request)} if the cursor is not valid.
      */
     @GetMapping("")
     public ResponseEntity<List<BankAccount>> getAllBankAccounts(
         BankAccountCriteria criteria,
-        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = "after", required = false) String after,
+        @RequestParam(name = "count", defaultValue = "true") boolean count
     ) {
         LOG.debug("REST request to get BankAccounts by criteria: {}", criteria);
+        if (after != null) {
+            ScrollPosition position = keysetCursors
+                .decode(after, BankAccount.class, pageable.getSort())
+                .orElseThrow(() -> new BadRequestAlertException("Invalid cursor", ENTITY_NAME, "cursorinvalid"));
+            Window<BankAccount> window = bankAccountQueryService.findByCriteria(
+                criteria,
+                pageable.getSort(),
+                pageable.getPageSize(),
+                position
+            );
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+                ServletUriComponentsBuilder.fromCurrentRequest(),
+                keysetCursors.encode(window)
+            );
+            return ResponseEntity.ok().headers(headers).body(window.getContent());
+        }
+        if (!count) {
+            Slice<BankAccount> slice = bankAccountQueryService.findSliceByCriteria(criteria, pageable);
+            HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
 
         Page<BankAccount> page = bankAccountQueryService.findByCriteria(criteria, pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
@@ -188,6 +229,22 @@ public class BankAccountResource {
         return ResponseUtil.wrapOrNotFound(bankAccount);
     }
 
+    /**
+     * {@code GET  /bank-accounts/:id/balance} : get the balance of the "id" bankAccount at a point in time.
+     *
+     * @param id the id of the bankAccount.
+     * @param asOf the date of the balance, inclusive, now if absent.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the balance, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/{id}/balance")
+    public ResponseEntity<BankAccountBalanceDTO> getBankAccountBalance(
+        @PathVariable("id") Long id,
+        @RequestParam(value = "asOf", required = false) Instant asOf
+    ) {
+        LOG.debug("REST request to get BankAccount balance : {} as of {}", id, asOf);
+        return ResponseUtil.wrapOrNotFound(bankAccountBalanceService.findBalanceAsOf(id, asOf != null ? asOf : Instant.now()));
+    }
+
     /**
      * {@code DELETE  /bank-accounts/:id} : delete the "id" bankAccount.
      *
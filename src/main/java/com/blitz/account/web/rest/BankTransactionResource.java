@@ -1,24 +1,38 @@
 package com.blitz.account.web.rest;
 
 import com.blitz.account.domain.BankTransaction;
+import com.blitz.account.repository.BankAccountRepository;
 import com.blitz.account.repository.BankTransactionRepository;
+import com.blitz.account.service.BankReconciliationScheduler;
+import com.blitz.account.service.BankReconciliationService;
+import com.blitz.account.service.BankStatementFormatException;
+import com.blitz.account.service.BankStatementImportService;
+import com.blitz.account.service.BankStatementReader;
 import com.blitz.account.service.BankTransactionService;
+import com.blitz.account.service.dto.BankReconciliationResultDTO;
+import com.blitz.account.service.dto.BankStatementImportResultDTO;
 import com.blitz.account.web.rest.errors.BadRequestAlertException;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
@@ -42,9 +56,28 @@ public class BankTransactionResource {
 
     private final BankTransactionRepository bankTransactionRepository;
 
-    public BankTransactionResource(BankTransactionService bankTransactionService, BankTransactionRepository bankTransactionRepository) {
+    private final BankStatementImportService bankStatementImportService;
+
+    private final BankAccountRepository bankAccountRepository;
+
+    private final BankReconciliationService bankReconciliationService;
+
+    private final BankReconciliationScheduler bankReconciliationScheduler;
+
+    public BankTransactionResource(
+        BankTransactionService bankTransactionService,
+        BankTransactionRepository bankTransactionRepository,
+        BankStatementImportService bankStatementImportService,
+        BankAccountRepository bankAccountRepository,
+        BankReconciliationService bankReconciliationService,
+        BankReconciliationScheduler bankReconciliationScheduler
+    ) {
         this.bankTransactionService = bankTransactionService;
         this.bankTransactionRepository = bankTransactionRepository;
+        this.bankStatementImportService = bankStatementImportService;
+        this.bankAccountRepository = bankAccountRepository;
+        this.bankReconciliationService = bankReconciliationService;
+        this.bankReconciliationScheduler = bankReconciliationScheduler;
     }
 
     /**
@@ -67,13 +100,90 @@ public class BankTransactionResource {
             .body(bankTransaction);
     }
 
+    /**
+     * {@code POST  /bank-transactions/import} : Import the transactions of a bank statement into a bank account.
+     * <p>
+     * The lines already imported into the account are skipped and counted as duplicates.
+     *
+     * @param bankAccountId the id of the bank account.
+     * @param format the format of the statement, by default the one of the extension of the file: {@code .csv},
+     * {@code .ofx} or {@code .qfx}, or {@code .xml} for CAMT.053.
+     * @param file the statement.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the summary of the import, or with
+     * status {@code 400 (Bad Request)} if the bank account does not exist or the statement cannot be read, nothing being
+     * imported.
+     * @throws IOException if the file cannot be read.
+     */
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<BankStatementImportResultDTO> importBankStatement(
+        @RequestParam(name = "bankAccountId") Long bankAccountId,
+        @RequestParam(name = "format", required = false) BankStatementReader.Format format,
+        @RequestParam(name = "file") MultipartFile file
+    ) throws IOException {
+        LOG.debug("REST request to import bank statement {} into BankAccount : {}", file.getOriginalFilename(), bankAccountId);
+        if (!bankAccountRepository.existsById(bankAccountId)) {
+            throw new BadRequestAlertException("Bank account not found", ENTITY_NAME, "bankaccountnotfound");
+        }
+        if (format == null) {
+            format = formatOf(file.getOriginalFilename());
+        }
+        try (BankStatementReader statement = BankStatementReader.open(format, file.getInputStream())) {
+            BankStatementImportResultDTO result = bankStatementImportService.importStatement(bankAccountId, statement);
+            return ResponseEntity.ok()
+                .headers(
+                    HeaderUtil.createAlert(
+                        applicationName,
+                        applicationName + "." + ENTITY_NAME + ".imported",
+                        String.valueOf(result.getImported())
+                    )
+                )
+                .body(result);
+        } catch (BankStatementFormatException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "statementinvalid");
+        }
+    }
+
+    /**
+     * {@code POST  /bank-transactions/reconcile} : Link the credits not linked yet to the payments they most likely are.
+     *
+     * @param bankAccountId the id of the bank account to reconcile, all of them if {@code null}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the summaries of the accounts
+     * reconciled, or with status {@code 400 (Bad Request)} if the bank account does not exist.
+     */
+    @PostMapping("/reconcile")
+    public ResponseEntity<List<BankReconciliationResultDTO>> reconcileBankTransactions(
+        @RequestParam(name = "bankAccountId", required = false) Long bankAccountId
+    ) {
+        LOG.debug("REST request to reconcile BankTransactions of BankAccount : {}", bankAccountId);
+        if (bankAccountId == null) {
+            return ResponseEntity.ok(bankReconciliationScheduler.reconcileAll());
+        }
+        if (!bankAccountRepository.existsById(bankAccountId)) {
+            throw new BadRequestAlertException("Bank account not found", ENTITY_NAME, "bankaccountnotfound");
+        }
+        return ResponseEntity.ok(List.of(bankReconciliationService.reconcile(bankAccountId)));
+    }
+
+    private static BankStatementReader.Format formatOf(String filename) {
+        String extension = filename != null && filename.contains(".")
+            ? filename.substring(filename.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT)
+            : "";
+        return switch (extension) {
+            case "csv" -> BankStatementReader.Format.CSV;
+            case "ofx", "qfx" -> BankStatementReader.Format.OFX;
+            case "xml" -> BankStatementReader.Format.CAMT053;
+            default -> throw new BadRequestAlertException("Unknown bank statement format", ENTITY_NAME, "formatunknown");
+        };
+    }
+
     /**
      * {@code PUT  /bank-transactions/:id} : Updates an existing bankTransaction.
      *
      * @param id the id of the bankTransaction to save.
      * @param bankTransaction the bankTransaction to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated bankTransaction,
-     * or with status {@code 400 (Bad Request)} if the bankTransaction is not valid,
+     * or with status {@code 400 (Bad Request)} if the bankTransaction is not valid or carries no version,
+     * or with status {@code 409 (Conflict)} and with body the current bankTransaction if it was modified concurrently,
      * or with status {@code 500 (Internal Server Error)} if the bankTransaction couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -89,12 +199,19 @@ public class BankTransactionResource {
         if (!Objects.equals(id, bankTransaction.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
+        if (bankTransaction.getVersion() == null) {
+            throw new BadRequestAlertException("Invalid version", ENTITY_NAME, "versionnull");
+        }
 
         if (!bankTransactionRepository.existsById(id)) {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        bankTransaction = bankTransactionService.update(bankTransaction);
+        try {
+            bankTransaction = bankTransactionService.update(bankTransaction);
+        } catch (OptimisticLockingFailureException e) {
+            return conflict(id);
+        }
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, bankTransaction.getId().toString()))
             .body(bankTransaction);
@@ -108,6 +225,7 @@ public class BankTransactionResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated bankTransaction,
      * or with status {@code 400 (Bad Request)} if the bankTransaction is not valid,
      * or with status {@code 404 (Not Found)} if the bankTransaction is not found,
+     * or with status {@code 409 (Conflict)} and with body the current bankTransaction if it was modified concurrently,
      * or with status {@code 500 (Internal Server Error)} if the bankTransaction couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -128,7 +246,12 @@ public class BankTransactionResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        Optional<BankTransaction> result = bankTransactionService.partialUpdate(bankTransaction);
+        Optional<BankTransaction> result;
+        try {
+            result = bankTransactionService.partialUpdate(bankTransaction);
+        } catch (OptimisticLockingFailureException e) {
+            return conflict(id);
+        }
 
         return ResponseUtil.wrapOrNotFound(
             result,
@@ -177,4 +300,19 @@ public class BankTransactionResource {
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    private ResponseEntity<BankTransaction> conflict(Long id) {
+        LOG.debug("BankTransaction {} was modified concurrently", id);
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+            .headers(
+                HeaderUtil.createFailureAlert(
+                    applicationName,
+                    true,
+                    ENTITY_NAME,
+                    "concurrencyFailure",
+                    "BankTransaction modified concurrently"
+                )
+            )
+            .body(bankTransactionService.findOne(id).orElse(null));
+    }
 }
@@ -3,11 +3,14 @@ package com.blitz.account.web.rest;
 import com.blitz.account.domain.Budget;
 import com.blitz.account.repository.BudgetRepository;
 import com.blitz.account.service.BudgetService;
+import com.blitz.account.service.BudgetVarianceService;
+import com.blitz.account.service.dto.BudgetVarianceDTO;
 import com.blitz.account.web.rest.errors.BadRequestAlertException;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.Instant;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -42,9 +45,12 @@ public class BudgetResource {
 
     private final BudgetRepository budgetRepository;
 
-    public BudgetResource(BudgetService budgetService, BudgetRepository budgetRepository) {
+    private final BudgetVarianceService budgetVarianceService;
+
+    public BudgetResource(BudgetService budgetService, BudgetRepository budgetRepository, BudgetVarianceService budgetVarianceService) {
         this.budgetService = budgetService;
         this.budgetRepository = budgetRepository;
+        this.budgetVarianceService = budgetVarianceService;
     }
 
     /**
@@ -149,6 +155,30 @@ public class BudgetResource {
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /budgets/variance} : get the budget versus actual variance of the active budgets.
+     *
+     * @param asOf the date the budgets are active at, now if absent.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of variances in body.
+     */
+    @GetMapping("/variance")
+    public List<BudgetVarianceDTO> getBudgetVariances(@RequestParam(value = "asOf", required = false) Instant asOf) {
+        LOG.debug("REST request to get the variance of Budgets active at {}", asOf);
+        return budgetVarianceService.findActive(asOf != null ? asOf : Instant.now());
+    }
+
+    /**
+     * {@code GET  /budgets/:id/variance} : get the budget versus actual variance of the "id" budget.
+     *
+     * @param id the id of the budget.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the variance, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/{id}/variance")
+    public ResponseEntity<BudgetVarianceDTO> getBudgetVariance(@PathVariable("id") Long id) {
+        LOG.debug("REST request to get the variance of Budget : {}", id);
+        return ResponseUtil.wrapOrNotFound(budgetVarianceService.findOne(id));
+    }
+
     /**
      * {@code GET  /budgets/:id} : get the "id" budget.
      *
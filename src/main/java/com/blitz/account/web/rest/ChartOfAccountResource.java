@@ -2,23 +2,34 @@ package com.blitz.account.web.rest;
 
 import com.blitz.account.domain.ChartOfAccount;
 import com.blitz.account.repository.ChartOfAccountRepository;
+import com.blitz.account.service.AccountBalanceSnapshotService;
+import com.blitz.account.service.ChartOfAccountHierarchyService;
+import com.blitz.account.service.KeysetCursors;
 import com.blitz.account.service.ChartOfAccountQueryService;
 import com.blitz.account.service.ChartOfAccountService;
 import com.blitz.account.service.criteria.ChartOfAccountCriteria;
+import com.blitz.account.service.dto.AccountBalanceDTO;
+import com.blitz.account.service.dto.AccountCodeNodeDTO;
 import com.blitz.account.web.rest.errors.BadRequestAlertException;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.Instant;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
@@ -46,14 +57,26 @@ public class ChartOfAccountResource {
 
     private final ChartOfAccountQueryService chartOfAccountQueryService;
 
+    private final KeysetCursors keysetCursors;
+
+    private final AccountBalanceSnapshotService accountBalanceSnapshotService;
+
+    private final ChartOfAccountHierarchyService chartOfAccountHierarchyService;
+
     public ChartOfAccountResource(
         ChartOfAccountService chartOfAccountService,
         ChartOfAccountRepository chartOfAccountRepository,
-        ChartOfAccountQueryService chartOfAccountQueryService
+        ChartOfAccountQueryService chartOfAccountQueryService,
+        AccountBalanceSnapshotService accountBalanceSnapshotService,
+        ChartOfAccountHierarchyService chartOfAccountHierarchyService,
+        KeysetCursors keysetCursors
     ) {
         this.chartOfAccountService = chartOfAccountService;
         this.chartOfAccountRepository = chartOfAccountRepository;
         this.chartOfAccountQueryService = chartOfAccountQueryService;
+        this.accountBalanceSnapshotService = accountBalanceSnapshotService;
+        this.chartOfAccountHierarchyService = chartOfAccountHierarchyService;
+        this.keysetCursors = keysetCursors;
     }
 
     /**
@@ -82,7 +105,8 @@ public class ChartOfAccountResource {
      * @param id the id of the chartOfAccount to save.
      * @param chartOfAccount the chartOfAccount to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated chartOfAccount,
-     * or with status {@code 400 (Bad Request)} if the chartOfAccount is not valid,
+     * or with status {@code 400 (Bad Request)} if the chartOfAccount is not valid or carries no version,
+     * or with status {@code 409 (Conflict)} and with body the current chartOfAccount if it was modified concurrently,
      * or with status {@code 500 (Internal Server Error)} if the chartOfAccount couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -98,12 +122,19 @@ public class ChartOfAccountResource {
         if (!Objects.equals(id, chartOfAccount.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
+        if (chartOfAccount.getVersion() == null) {
+            throw new BadRequestAlertException("Invalid version", ENTITY_NAME, "versionnull");
+        }
 
         if (!chartOfAccountRepository.existsById(id)) {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        chartOfAccount = chartOfAccountService.update(chartOfAccount);
+        try {
+            chartOfAccount = chartOfAccountService.update(chartOfAccount);
+        } catch (OptimisticLockingFailureException e) {
+            return conflict(id);
+        }
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, chartOfAccount.getId().toString()))
             .body(chartOfAccount);
@@ -116,6 +147,7 @@ public class ChartOfAccountResource {
      * @param chartOfAccount the chartOfAccount to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated chartOfAccount,
      * or with status {@code 400 (Bad Request)} if the chartOfAccount is not valid,
+     * or with status {@code 409 (Conflict)} and with body the current chartOfAccount if it was modified concurrently,
      * or with status {@code 404 (Not Found)} if the chartOfAccount is not found,
      * or with status {@code 500 (Internal Server Error)} if the chartOfAccount couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
@@ -137,7 +169,12 @@ public class ChartOfAccountResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        Optional<ChartOfAccount> result = chartOfAccountService.partialUpdate(chartOfAccount);
+        Optional<ChartOfAccount> result;
+        try {
+            result = chartOfAccountService.partialUpdate(chartOfAccount);
+        } catch (OptimisticLockingFailureException e) {
+            return conflict(id);
+        }
 
         return ResponseUtil.wrapOrNotFound(
             result,
@@ -150,14 +187,40 @@ public class ChartOfAccountResource {
      *
      * @param pageable the pagination information.
      * @param criteria the criteria which the requested entities should match.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of chartOfAccounts in body.
+     * @param after the cursor of the page to get with keyset pagination, empty for the first page; {@code null} for offset pagination.
+     * @param count whether to count the matching entities, or only to tell whether there is a next page.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of chartOfAccounts in body,
+     * or with status {@code 400 (Bad Request)} if the cursor is not valid.
      */
     @GetMapping("")
     public ResponseEntity<List<ChartOfAccount>> getAllChartOfAccounts(
         ChartOfAccountCriteria criteria,
-        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = "after", required = false) String after,
+        @RequestParam(name = "count", defaultValue = "true") boolean count
     ) {
         LOG.debug("REST request to get ChartOfAccounts by criteria: {}", criteria);
+        if (after != null) {
+            ScrollPosition position = keysetCursors
+                .decode(after, ChartOfAccount.class, pageable.getSort())
+                .orElseThrow(() -> new BadRequestAlertException("Invalid cursor", ENTITY_NAME, "cursorinvalid"));
+            Window<ChartOfAccount> window = chartOfAccountQueryService.findByCriteria(
+                criteria,
+                pageable.getSort(),
+                pageable.getPageSize(),
+                position
+            );
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+                ServletUriComponentsBuilder.fromCurrentRequest(),
+                keysetCursors.encode(window)
+            );
+            return ResponseEntity.ok().headers(headers).body(window.getContent());
+        }
+        if (!count) {
+            Slice<ChartOfAccount> slice = chartOfAccountQueryService.findSliceByCriteria(criteria, pageable);
+            HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
 
         Page<ChartOfAccount> page = chartOfAccountQueryService.findByCriteria(criteria, pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
@@ -176,6 +239,19 @@ public class ChartOfAccountResource {
         return ResponseEntity.ok().body(chartOfAccountQueryService.countByCriteria(criteria));
     }
 
+    /**
+     * {@code GET  /chart-of-accounts/hierarchy} : roll up the current balances of the chartOfAccounts whose code starts with a prefix.
+     *
+     * @param prefix the prefix of the codes, all chartOfAccounts if absent.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the roll-up and those of the prefixes one character longer,
+     * or with status {@code 404 (Not Found)} if no code starts with the prefix.
+     */
+    @GetMapping("/hierarchy")
+    public ResponseEntity<AccountCodeNodeDTO> getChartOfAccountHierarchy(@RequestParam(value = "prefix", defaultValue = "") String prefix) {
+        LOG.debug("REST request to get ChartOfAccount hierarchy : {}", prefix);
+        return ResponseUtil.wrapOrNotFound(chartOfAccountHierarchyService.findNode(prefix));
+    }
+
     /**
      * {@code GET  /chart-of-accounts/:id} : get the "id" chartOfAccount.
      *
@@ -189,6 +265,22 @@ public class ChartOfAccountResource {
         return ResponseUtil.wrapOrNotFound(chartOfAccount);
     }
 
+    /**
+     * {@code GET  /chart-of-accounts/:id/balance} : get the balance of the "id" chartOfAccount at a point in time.
+     *
+     * @param id the id of the chartOfAccount.
+     * @param asOf the date of the balance, inclusive, now if absent.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the balance, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/{id}/balance")
+    public ResponseEntity<AccountBalanceDTO> getChartOfAccountBalance(
+        @PathVariable("id") Long id,
+        @RequestParam(value = "asOf", required = false) Instant asOf
+    ) {
+        LOG.debug("REST request to get ChartOfAccount balance : {} as of {}", id, asOf);
+        return ResponseUtil.wrapOrNotFound(accountBalanceSnapshotService.findBalanceAsOf(id, asOf != null ? asOf : Instant.now()));
+    }
+
     /**
      * {@code DELETE  /chart-of-accounts/:id} : delete the "id" chartOfAccount.
      *
@@ -203,4 +295,11 @@ public class ChartOfAccountResource {
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    private ResponseEntity<ChartOfAccount> conflict(Long id) {
+        LOG.debug("ChartOfAccount {} was modified concurrently", id);
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+            .headers(HeaderUtil.createFailureAlert(applicationName, true, ENTITY_NAME, "concurrencyFailure", "ChartOfAccount modified concurrently"))
+            .body(chartOfAccountService.findOne(id).orElse(null));
+    }
 }
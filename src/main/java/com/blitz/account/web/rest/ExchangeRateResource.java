@@ -2,12 +2,16 @@ package com.blitz.account.web.rest;
 
 import com.blitz.account.domain.ExchangeRate;
 import com.blitz.account.repository.ExchangeRateRepository;
+import com.blitz.account.service.ExchangeRateIndexService;
 import com.blitz.account.service.ExchangeRateService;
+import com.blitz.account.service.dto.ExchangeRateConversionDTO;
 import com.blitz.account.web.rest.errors.BadRequestAlertException;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import java.math.BigDecimal;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.Instant;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -42,9 +46,16 @@ public class ExchangeRateResource {
 
     private final ExchangeRateRepository exchangeRateRepository;
 
-    public ExchangeRateResource(ExchangeRateService exchangeRateService, ExchangeRateRepository exchangeRateRepository) {
+    private final ExchangeRateIndexService exchangeRateIndexService;
+
+    public ExchangeRateResource(
+        ExchangeRateService exchangeRateService,
+        ExchangeRateRepository exchangeRateRepository,
+        ExchangeRateIndexService exchangeRateIndexService
+    ) {
         this.exchangeRateService = exchangeRateService;
         this.exchangeRateRepository = exchangeRateRepository;
+        this.exchangeRateIndexService = exchangeRateIndexService;
     }
 
     /**
@@ -149,6 +160,29 @@ public class ExchangeRateResource {
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /exchange-rates/convert} : convert an amount between currencies at the rate effective at a point in time.
+     *
+     * @param baseCurrencyId the id of the currency of the amount.
+     * @param targetCurrencyId the id of the currency to convert to.
+     * @param amount the amount.
+     * @param at the point in time of the rate, now if absent.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the conversion, or with status
+     * {@code 404 (Not Found)} if there is no rate between the currencies.
+     */
+    @GetMapping("/convert")
+    public ResponseEntity<ExchangeRateConversionDTO> convert(
+        @RequestParam("baseCurrencyId") Long baseCurrencyId,
+        @RequestParam("targetCurrencyId") Long targetCurrencyId,
+        @RequestParam("amount") BigDecimal amount,
+        @RequestParam(value = "at", required = false) Instant at
+    ) {
+        LOG.debug("REST request to convert {} from Currency {} to {} at {}", amount, baseCurrencyId, targetCurrencyId, at);
+        return ResponseUtil.wrapOrNotFound(
+            exchangeRateIndexService.convert(baseCurrencyId, targetCurrencyId, amount, at != null ? at : Instant.now())
+        );
+    }
+
     /**
      * {@code GET  /exchange-rates/:id} : get the "id" exchangeRate.
      *
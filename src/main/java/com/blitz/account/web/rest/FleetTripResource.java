@@ -2,6 +2,7 @@ package com.blitz.account.web.rest;
 
 import com.blitz.account.domain.FleetTrip;
 import com.blitz.account.repository.FleetTripRepository;
+import com.blitz.account.service.KeysetCursors;
 import com.blitz.account.service.FleetTripQueryService;
 import com.blitz.account.service.FleetTripService;
 import com.blitz.account.service.criteria.FleetTripCriteria;
@@ -19,6 +20,9 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -47,14 +51,18 @@ public class FleetTripResource {
 
     private final FleetTripQueryService fleetTripQueryService;
 
+    private final KeysetCursors keysetCursors;
+
     public FleetTripResource(
         FleetTripService fleetTripService,
         FleetTripRepository fleetTripRepository,
-        FleetTripQueryService fleetTripQueryService
+        FleetTripQueryService fleetTripQueryService,
+        KeysetCursors keysetCursors
     ) {
         this.fleetTripService = fleetTripService;
         this.fleetTripRepository = fleetTripRepository;
         this.fleetTripQueryService = fleetTripQueryService;
+        this.keysetCursors = keysetCursors;
     }
 
     /**
@@ -150,14 +158,35 @@ public class FleetTripResource {
      *
      * @param pageable the pagination information.
      * @param criteria the criteria which the requested entities should match.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of fleetTrips in body.
+     * @param after the cursor of the page to get with keyset pagination, empty for the first page; {@code null} for offset pagination.
+     * @param count whether to count the matching entities, or only to tell whether there is a next page.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of fleetTrips in body,
+     * or with status {@code 400 (Bad Request)} if the cursor is not valid.
      */
     @GetMapping("")
     public ResponseEntity<List<FleetTrip>> getAllFleetTrips(
         FleetTripCriteria criteria,
-        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = "after", required = false) String after,
+        @RequestParam(name = "count", defaultValue = "true") boolean count
     ) {
         LOG.debug("REST request to get FleetTrips by criteria: {}", criteria);
+        if (after != null) {
+            ScrollPosition position = keysetCursors
+                .decode(after, FleetTrip.class, pageable.getSort())
+                .orElseThrow(() -> new BadRequestAlertException("Invalid cursor", ENTITY_NAME, "cursorinvalid"));
+            Window<FleetTrip> window = fleetTripQueryService.findByCriteria(criteria, pageable.getSort(), pageable.getPageSize(), position);
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+                ServletUriComponentsBuilder.fromCurrentRequest(),
+                keysetCursors.encode(window)
+            );
+            return ResponseEntity.ok().headers(headers).body(window.getContent());
+        }
+        if (!count) {
+            Slice<FleetTrip> slice = fleetTripQueryService.findSliceByCriteria(criteria, pageable);
+            HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
 
         Page<FleetTrip> page = fleetTripQueryService.findByCriteria(criteria, pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
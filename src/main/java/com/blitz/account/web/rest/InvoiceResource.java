@@ -2,10 +2,16 @@ package com.blitz.account.web.rest;
 
 import com.blitz.account.domain.Invoice;
 import com.blitz.account.repository.InvoiceRepository;
+import com.blitz.account.security.AuthoritiesConstants;
+import com.blitz.account.service.KeysetCursors;
 import com.blitz.account.service.InvoiceQueryService;
 import com.blitz.account.service.InvoiceService;
+import com.blitz.account.service.InvoiceStatsService;
+import com.blitz.account.service.InvoiceTotalsRecomputer;
 import com.blitz.account.service.criteria.InvoiceCriteria;
 import com.blitz.account.service.dto.InvoiceStatsDTO;
+import com.blitz.account.service.dto.InvoiceTotalsRecomputationDTO;
+import com.blitz.account.service.dto.InvoiceWithLinesDTO;
 import com.blitz.account.web.rest.errors.BadRequestAlertException;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
@@ -17,10 +23,16 @@ import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
@@ -47,10 +59,26 @@ public class InvoiceResource {
 
     private final InvoiceQueryService invoiceQueryService;
 
-    public InvoiceResource(InvoiceService invoiceService, InvoiceRepository invoiceRepository, InvoiceQueryService invoiceQueryService) {
+    private final KeysetCursors keysetCursors;
+
+    private final InvoiceStatsService invoiceStatsService;
+
+    private final InvoiceTotalsRecomputer invoiceTotalsRecomputer;
+
+    public InvoiceResource(
+        InvoiceService invoiceService,
+        InvoiceRepository invoiceRepository,
+        InvoiceQueryService invoiceQueryService,
+        InvoiceStatsService invoiceStatsService,
+        InvoiceTotalsRecomputer invoiceTotalsRecomputer,
+        KeysetCursors keysetCursors
+    ) {
         this.invoiceService = invoiceService;
         this.invoiceRepository = invoiceRepository;
         this.invoiceQueryService = invoiceQueryService;
+        this.invoiceStatsService = invoiceStatsService;
+        this.invoiceTotalsRecomputer = invoiceTotalsRecomputer;
+        this.keysetCursors = keysetCursors;
     }
 
     /**
@@ -78,7 +106,8 @@ public class InvoiceResource {
      * @param id the id of the invoice to save.
      * @param invoice the invoice to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated invoice,
-     * or with status {@code 400 (Bad Request)} if the invoice is not valid,
+     * or with status {@code 400 (Bad Request)} if the invoice is not valid or carries no version,
+     * or with status {@code 409 (Conflict)} and with body the current invoice if it was modified concurrently,
      * or with status {@code 500 (Internal Server Error)} if the invoice couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -94,12 +123,19 @@ public class InvoiceResource {
         if (!Objects.equals(id, invoice.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
+        if (invoice.getVersion() == null) {
+            throw new BadRequestAlertException("Invalid version", ENTITY_NAME, "versionnull");
+        }
 
         if (!invoiceRepository.existsById(id)) {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        invoice = invoiceService.update(invoice);
+        try {
+            invoice = invoiceService.update(invoice);
+        } catch (OptimisticLockingFailureException e) {
+            return conflict(id);
+        }
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, invoice.getId().toString()))
             .body(invoice);
@@ -112,6 +148,7 @@ public class InvoiceResource {
      * @param invoice the invoice to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated invoice,
      * or with status {@code 400 (Bad Request)} if the invoice is not valid,
+     * or with status {@code 409 (Conflict)} and with body the current invoice if it was modified concurrently,
      * or with status {@code 404 (Not Found)} if the invoice is not found,
      * or with status {@code 500 (Internal Server Error)} if the invoice couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
@@ -133,7 +170,12 @@ public class InvoiceResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        Optional<Invoice> result = invoiceService.partialUpdate(invoice);
+        Optional<Invoice> result;
+        try {
+            result = invoiceService.partialUpdate(invoice);
+        } catch (OptimisticLockingFailureException e) {
+            return conflict(id);
+        }
 
         return ResponseUtil.wrapOrNotFound(
             result,
@@ -146,20 +188,69 @@ public class InvoiceResource {
      *
      * @param pageable the pagination information.
      * @param criteria the criteria which the requested entities should match.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of invoices in body.
+     * @param after the cursor of the page to get with keyset pagination, empty for the first page; {@code null} for offset pagination.
+     * @param count whether to count the matching entities, or only to tell whether there is a next page.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of invoices in body,
+     * or with status {@code 400 (Bad Request)} if the cursor is not valid.
      */
     @GetMapping("")
     public ResponseEntity<List<Invoice>> getAllInvoices(
         InvoiceCriteria criteria,
-        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = "after", required = false) String after,
+        @RequestParam(name = "count", defaultValue = "true") boolean count
     ) {
         LOG.debug("REST request to get Invoices by criteria: {}", criteria);
+        if (after != null) {
+            ScrollPosition position = keysetCursors
+                .decode(after, Invoice.class, pageable.getSort())
+                .orElseThrow(() -> new BadRequestAlertException("Invalid cursor", ENTITY_NAME, "cursorinvalid"));
+            Window<Invoice> window = invoiceQueryService.findByCriteria(criteria, pageable.getSort(), pageable.getPageSize(), position);
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+                ServletUriComponentsBuilder.fromCurrentRequest(),
+                keysetCursors.encode(window)
+            );
+            return ResponseEntity.ok().headers(headers).body(window.getContent());
+        }
+        if (!count) {
+            Slice<Invoice> slice = invoiceQueryService.findSliceByCriteria(criteria, pageable);
+            HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
 
         Page<Invoice> page = invoiceQueryService.findByCriteria(criteria, pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /invoices/with-lines} : get all the invoices with their lines.
+     * <p>
+     * Unless asked to count the matching invoices, the invoices then their lines are read in two queries.
+     *
+     * @param pageable the pagination information.
+     * @param criteria the criteria which the requested entities should match.
+     * @param count whether to count the matching entities, or only to tell whether there is a next page.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of invoices with their lines in body.
+     */
+    @GetMapping("/with-lines")
+    public ResponseEntity<List<InvoiceWithLinesDTO>> getAllInvoicesWithLines(
+        InvoiceCriteria criteria,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = "count", defaultValue = "false") boolean count
+    ) {
+        LOG.debug("REST request to get Invoices with their lines by criteria: {}", criteria);
+        if (!count) {
+            Slice<InvoiceWithLinesDTO> slice = invoiceService.withLines(invoiceQueryService.findSliceByCriteria(criteria, pageable));
+            HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
+
+        Page<InvoiceWithLinesDTO> page = invoiceService.withLines(invoiceQueryService.findByCriteria(criteria, pageable));
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
     /**
      * {@code GET  /invoices/count} : count all the invoices.
      *
@@ -190,18 +281,63 @@ public class InvoiceResource {
      *
      * @param id the id of the invoice to delete.
      * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}.
+     * @throws BadRequestAlertException {@code 400 (Bad Request)} if the invoice has a number, which must stay without gaps.
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteInvoice(@PathVariable("id") Long id) {
         LOG.debug("REST request to delete Invoice : {}", id);
+        if (invoiceService.findOne(id).map(Invoice::getInvoiceNumber).isPresent()) {
+            throw new BadRequestAlertException("A numbered invoice cannot be deleted", ENTITY_NAME, "numbered");
+        }
         invoiceService.delete(id);
         return ResponseEntity.noContent()
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
     }
 
+    /**
+     * {@code GET  /invoices/invoice-stats} : get the statistics of the invoices.
+     *
+     * @return the statistics.
+     */
     @GetMapping("/invoice-stats")
     public InvoiceStatsDTO getInvoiceStats() {
-        return invoiceService.getInvoiceStats();
+        LOG.debug("REST request to get Invoice statistics");
+        return invoiceStatsService.getInvoiceStats();
+    }
+
+    /**
+     * {@code POST  /invoices/recompute-totals} : start recomputing the totals of all the invoices from their lines.
+     *
+     * @return the {@link ResponseEntity} with status {@code 202 (Accepted)} and the progress of the recomputation in body,
+     * or with status {@code 409 (Conflict)} and the progress of the running recomputation in body if one is already running.
+     */
+    @PostMapping("/recompute-totals")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<InvoiceTotalsRecomputationDTO> recomputeTotals() {
+        LOG.debug("REST request to recompute the totals of the Invoices");
+        return invoiceTotalsRecomputer
+            .start()
+            .map(progress -> ResponseEntity.status(HttpStatus.ACCEPTED).body(progress))
+            .orElseGet(() -> ResponseEntity.status(HttpStatus.CONFLICT).body(invoiceTotalsRecomputer.progress().orElse(null)));
+    }
+
+    /**
+     * {@code GET  /invoices/recompute-totals} : get the progress of the latest recomputation of the invoice totals.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the progress in body,
+     * or with status {@code 404 (Not Found)} if none was started.
+     */
+    @GetMapping("/recompute-totals")
+    public ResponseEntity<InvoiceTotalsRecomputationDTO> getRecomputeTotalsProgress() {
+        LOG.debug("REST request to get the progress of the Invoice totals recomputation");
+        return ResponseUtil.wrapOrNotFound(invoiceTotalsRecomputer.progress());
+    }
+
+    private ResponseEntity<Invoice> conflict(Long id) {
+        LOG.debug("Invoice {} was modified concurrently", id);
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+            .headers(HeaderUtil.createFailureAlert(applicationName, true, ENTITY_NAME, "concurrencyFailure", "Invoice modified concurrently"))
+            .body(invoiceService.findOne(id).orElse(null));
     }
 }
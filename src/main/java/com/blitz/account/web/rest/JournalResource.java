@@ -1,10 +1,14 @@
 package com.blitz.account.web.rest;
 
 import com.blitz.account.domain.Journal;
+import com.blitz.account.repository.ChartOfAccountRepository;
 import com.blitz.account.repository.JournalRepository;
 import com.blitz.account.service.JournalService;
+import com.blitz.account.service.dto.JournalPostingDTO;
+import com.blitz.account.service.dto.JournalPostingLineDTO;
 import com.blitz.account.web.rest.errors.BadRequestAlertException;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -17,6 +21,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
@@ -42,9 +47,16 @@ public class JournalResource {
 
     private final JournalRepository journalRepository;
 
-    public JournalResource(JournalService journalService, JournalRepository journalRepository) {
+    private final ChartOfAccountRepository chartOfAccountRepository;
+
+    public JournalResource(
+        JournalService journalService,
+        JournalRepository journalRepository,
+        ChartOfAccountRepository chartOfAccountRepository
+    ) {
         this.journalService = journalService;
         this.journalRepository = journalRepository;
+        this.chartOfAccountRepository = chartOfAccountRepository;
     }
 
     /**
@@ -66,6 +78,34 @@ public class JournalResource {
             .body(journal);
     }
 
+    /**
+     * {@code POST  /journals/batch} : Post new journals together with their lines.
+     *
+     * @param postings the journals to post.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new journals,
+     * or with status {@code 400 (Bad Request)} if a journal is not balanced or a line refers to an unknown account.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<Journal>> createJournals(@NotEmpty @RequestBody List<@Valid JournalPostingDTO> postings) {
+        LOG.debug("REST request to post {} Journals", postings.size());
+        if (!postings.stream().allMatch(JournalPostingDTO::isBalanced)) {
+            throw new BadRequestAlertException("Debits and credits of a journal must be equal", ENTITY_NAME, "unbalanced");
+        }
+        List<Long> accountIds = postings
+            .stream()
+            .flatMap(posting -> posting.getLines().stream())
+            .map(JournalPostingLineDTO::getAccountId)
+            .distinct()
+            .toList();
+        if (chartOfAccountRepository.countByIdIn(accountIds) != accountIds.size()) {
+            throw new BadRequestAlertException("Entity not found", "chartOfAccount", "idnotfound");
+        }
+        List<Journal> journals = journalService.postAll(postings);
+        return ResponseEntity.status(HttpStatus.CREATED)
+            .headers(HeaderUtil.createAlert(applicationName, applicationName + "." + ENTITY_NAME + ".posted", String.valueOf(journals.size())))
+            .body(journals);
+    }
+
     /**
      * {@code PUT  /journals/:id} : Updates an existing journal.
      *
@@ -0,0 +1,32 @@
+package com.blitz.account.web.rest;
+
+import java.util.Optional;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for handling keyset pagination, where the next page is designated by an opaque cursor passed as the
+ * {@code after} parameter instead of by its number, and no total count is returned.
+ */
+final class KeysetPaginationUtil {
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private KeysetPaginationUtil() {}
+
+    /**
+     * Generate the pagination headers of a keyset page.
+     *
+     * @param uriBuilder the builder of the URI of the current request.
+     * @param nextCursor the cursor of the next page, empty if the page is the last one.
+     * @return the {@code X-Next-Cursor} header and a {@code next} link, or no header on the last page.
+     */
+    static HttpHeaders generateKeysetPaginationHttpHeaders(UriComponentsBuilder uriBuilder, Optional<String> nextCursor) {
+        HttpHeaders headers = new HttpHeaders();
+        nextCursor.ifPresent(cursor -> {
+            headers.add(NEXT_CURSOR_HEADER, cursor);
+            headers.add(HttpHeaders.LINK, "<" + uriBuilder.replaceQueryParam("after", cursor).toUriString() + ">; rel=\"next\"");
+        });
+        return headers;
+    }
+}
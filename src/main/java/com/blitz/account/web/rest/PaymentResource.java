@@ -3,8 +3,11 @@ package com.blitz.account.web.rest;
 import com.blitz.account.domain.Payment;
 import com.blitz.account.repository.PaymentRepository;
 import com.blitz.account.service.PaymentService;
+import com.blitz.account.service.dto.PaymentImportResultDTO;
+import com.blitz.account.service.dto.PaymentImportResultDTO.Outcome;
 import com.blitz.account.web.rest.errors.BadRequestAlertException;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -66,6 +69,23 @@ public class PaymentResource {
             .body(payment);
     }
 
+    /**
+     * {@code POST  /payments/import} : Import new payments, applying each one to its invoice.
+     *
+     * @param payments the payments to import.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the outcome of each payment, in the
+     * order of the payments.
+     */
+    @PostMapping("/import")
+    public ResponseEntity<List<PaymentImportResultDTO>> importPayments(@NotEmpty @RequestBody List<@Valid Payment> payments) {
+        LOG.debug("REST request to import {} Payments", payments.size());
+        List<PaymentImportResultDTO> results = paymentService.importAll(payments);
+        long imported = results.stream().filter(result -> result.getOutcome() != Outcome.REJECTED).count();
+        return ResponseEntity.ok()
+            .headers(HeaderUtil.createAlert(applicationName, applicationName + "." + ENTITY_NAME + ".imported", String.valueOf(imported)))
+            .body(results);
+    }
+
     /**
      * {@code PUT  /payments/:id} : Updates an existing payment.
      *
@@ -2,6 +2,7 @@ package com.blitz.account.web.rest;
 
 import com.blitz.account.domain.Product;
 import com.blitz.account.repository.ProductRepository;
+import com.blitz.account.service.KeysetCursors;
 import com.blitz.account.service.ProductQueryService;
 import com.blitz.account.service.ProductService;
 import com.blitz.account.service.criteria.ProductCriteria;
@@ -16,9 +17,14 @@ import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
@@ -46,10 +52,18 @@ public class ProductResource {
 
     private final ProductQueryService productQueryService;
 
-    public ProductResource(ProductService productService, ProductRepository productRepository, ProductQueryService productQueryService) {
+    private final KeysetCursors keysetCursors;
+
+    public ProductResource(
+        ProductService productService,
+        ProductRepository productRepository,
+        ProductQueryService productQueryService,
+        KeysetCursors keysetCursors
+    ) {
         this.productService = productService;
         this.productRepository = productRepository;
         this.productQueryService = productQueryService;
+        this.keysetCursors = keysetCursors;
     }
 
     /**
@@ -77,7 +91,8 @@ public class ProductResource {
      * @param id the id of the product to save.
      * @param product the product to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated product,
-     * or with status {@code 400 (Bad Request)} if the product is not valid,
+     * or with status {@code 400 (Bad Request)} if the product is not valid or carries no version,
+     * or with status {@code 409 (Conflict)} and with body the current product if it was modified concurrently,
      * or with status {@code 500 (Internal Server Error)} if the product couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -93,12 +108,19 @@ public class ProductResource {
         if (!Objects.equals(id, product.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
+        if (product.getVersion() == null) {
+            throw new BadRequestAlertException("Invalid version", ENTITY_NAME, "versionnull");
+        }
 
         if (!productRepository.existsById(id)) {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        product = productService.update(product);
+        try {
+            product = productService.update(product);
+        } catch (OptimisticLockingFailureException e) {
+            return conflict(id);
+        }
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, product.getId().toString()))
             .body(product);
@@ -111,6 +133,7 @@ public class ProductResource {
      * @param product the product to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated product,
      * or with status {@code 400 (Bad Request)} if the product is not valid,
+     * or with status {@code 409 (Conflict)} and with body the current product if it was modified concurrently,
      * or with status {@code 404 (Not Found)} if the product is not found,
      * or with status {@code 500 (Internal Server Error)} if the product couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
@@ -132,7 +155,12 @@ public class ProductResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        Optional<Product> result = productService.partialUpdate(product);
+        Optional<Product> result;
+        try {
+            result = productService.partialUpdate(product);
+        } catch (OptimisticLockingFailureException e) {
+            return conflict(id);
+        }
 
         return ResponseUtil.wrapOrNotFound(
             result,
@@ -140,19 +168,58 @@ public class ProductResource {
         );
     }
 
+    /**
+     * {@code POST  /products/:id/adjust-stock} : Add units to, or remove units from, the stock of the "id" product.
+     *
+     * @param id the id of the product.
+     * @param delta the number of units added, negative for units removed.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated product,
+     * or with status {@code 404 (Not Found)} if the product is not found,
+     * or with status {@code 409 (Conflict)} if the product was too busy to be updated.
+     */
+    @PostMapping("/{id}/adjust-stock")
+    public ResponseEntity<Product> adjustProductStock(@PathVariable("id") Long id, @RequestParam("delta") int delta) {
+        LOG.debug("REST request to adjust the stock of Product : {} by {}", id, delta);
+        return ResponseUtil.wrapOrNotFound(
+            productService.adjustStock(id, delta),
+            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, id.toString())
+        );
+    }
+
     /**
      * {@code GET  /products} : get all the products.
      *
      * @param pageable the pagination information.
      * @param criteria the criteria which the requested entities should match.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of products in body.
+     * @param after the cursor of the page to get with keyset pagination, empty for the first page; {@code null} for offset pagination.
+     * @param count whether to count the matching entities, or only to tell whether there is a next page.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of products in body,
+     * or with status {@code 400 (Bad Request)} if the cursor is not valid.
      */
     @GetMapping("")
     public ResponseEntity<List<Product>> getAllProducts(
         ProductCriteria criteria,
-        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = "after", required = false) String after,
+        @RequestParam(name = "count", defaultValue = "true") boolean count
     ) {
         LOG.debug("REST request to get Products by criteria: {}", criteria);
+        if (after != null) {
+            ScrollPosition position = keysetCursors
+                .decode(after, Product.class, pageable.getSort())
+                .orElseThrow(() -> new BadRequestAlertException("Invalid cursor", ENTITY_NAME, "cursorinvalid"));
+            Window<Product> window = productQueryService.findByCriteria(criteria, pageable.getSort(), pageable.getPageSize(), position);
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+                ServletUriComponentsBuilder.fromCurrentRequest(),
+                keysetCursors.encode(window)
+            );
+            return ResponseEntity.ok().headers(headers).body(window.getContent());
+        }
+        if (!count) {
+            Slice<Product> slice = productQueryService.findSliceByCriteria(criteria, pageable);
+            HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
 
         Page<Product> page = productQueryService.findByCriteria(criteria, pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
@@ -198,4 +265,11 @@ public class ProductResource {
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    private ResponseEntity<Product> conflict(Long id) {
+        LOG.debug("Product {} was modified concurrently", id);
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+            .headers(HeaderUtil.createFailureAlert(applicationName, true, ENTITY_NAME, "concurrencyFailure", "Product modified concurrently"))
+            .body(productService.findOne(id).orElse(null));
+    }
 }
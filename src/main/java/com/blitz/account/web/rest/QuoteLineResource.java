@@ -2,6 +2,7 @@ package com.blitz.account.web.rest;
 
 import com.blitz.account.domain.QuoteLine;
 import com.blitz.account.repository.QuoteLineRepository;
+import com.blitz.account.service.QuoteInvoicedException;
 import com.blitz.account.service.QuoteLineService;
 import com.blitz.account.web.rest.errors.BadRequestAlertException;
 import jakarta.validation.Valid;
@@ -60,7 +61,11 @@ public class QuoteLineResource {
         if (quoteLine.getId() != null) {
             throw new BadRequestAlertException("A new quoteLine cannot already have an ID", ENTITY_NAME, "idexists");
         }
-        quoteLine = quoteLineService.save(quoteLine);
+        try {
+            quoteLine = quoteLineService.save(quoteLine);
+        } catch (QuoteInvoicedException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "quoteinvoiced");
+        }
         return ResponseEntity.created(new URI("/api/quote-lines/" + quoteLine.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, quoteLine.getId().toString()))
             .body(quoteLine);
@@ -93,7 +98,11 @@ public class QuoteLineResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        quoteLine = quoteLineService.update(quoteLine);
+        try {
+            quoteLine = quoteLineService.update(quoteLine);
+        } catch (QuoteInvoicedException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "quoteinvoiced");
+        }
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, quoteLine.getId().toString()))
             .body(quoteLine);
@@ -127,7 +136,12 @@ public class QuoteLineResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        Optional<QuoteLine> result = quoteLineService.partialUpdate(quoteLine);
+        Optional<QuoteLine> result;
+        try {
+            result = quoteLineService.partialUpdate(quoteLine);
+        } catch (QuoteInvoicedException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "quoteinvoiced");
+        }
 
         return ResponseUtil.wrapOrNotFound(
             result,
@@ -171,7 +185,11 @@ public class QuoteLineResource {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteQuoteLine(@PathVariable("id") Long id) {
         LOG.debug("REST request to delete QuoteLine : {}", id);
-        quoteLineService.delete(id);
+        try {
+            quoteLineService.delete(id);
+        } catch (QuoteInvoicedException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "quoteinvoiced");
+        }
         return ResponseEntity.noContent()
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
@@ -2,9 +2,15 @@ package com.blitz.account.web.rest;
 
 import com.blitz.account.domain.Quote;
 import com.blitz.account.repository.QuoteRepository;
+import com.blitz.account.service.QuoteConversionService;
+import com.blitz.account.service.QuoteInvoicedException;
 import com.blitz.account.service.QuoteService;
+import com.blitz.account.service.dto.QuoteConversionResultDTO;
+import com.blitz.account.service.dto.QuoteConversionResultDTO.Outcome;
+import com.blitz.account.service.dto.QuoteWithLinesDTO;
 import com.blitz.account.web.rest.errors.BadRequestAlertException;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -16,6 +22,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -42,9 +49,12 @@ public class QuoteResource {
 
     private final QuoteRepository quoteRepository;
 
-    public QuoteResource(QuoteService quoteService, QuoteRepository quoteRepository) {
+    private final QuoteConversionService quoteConversionService;
+
+    public QuoteResource(QuoteService quoteService, QuoteRepository quoteRepository, QuoteConversionService quoteConversionService) {
         this.quoteService = quoteService;
         this.quoteRepository = quoteRepository;
+        this.quoteConversionService = quoteConversionService;
     }
 
     /**
@@ -60,12 +70,32 @@ public class QuoteResource {
         if (quote.getId() != null) {
             throw new BadRequestAlertException("A new quote cannot already have an ID", ENTITY_NAME, "idexists");
         }
-        quote = quoteService.save(quote);
+        try {
+            quote = quoteService.save(quote);
+        } catch (QuoteInvoicedException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "quoteinvoiced");
+        }
         return ResponseEntity.created(new URI("/api/quotes/" + quote.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, quote.getId().toString()))
             .body(quote);
     }
 
+    /**
+     * {@code POST  /quotes/convert} : Convert approved quotes into invoices.
+     *
+     * @param ids the ids of the quotes to convert.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the outcome of each quote.
+     */
+    @PostMapping("/convert")
+    public ResponseEntity<List<QuoteConversionResultDTO>> convertQuotes(@NotEmpty @RequestBody List<@NotNull Long> ids) {
+        LOG.debug("REST request to convert {} Quotes", ids.size());
+        List<QuoteConversionResultDTO> results = quoteConversionService.convertAll(ids);
+        long converted = results.stream().filter(result -> result.getOutcome() == Outcome.CONVERTED).count();
+        return ResponseEntity.ok()
+            .headers(HeaderUtil.createAlert(applicationName, applicationName + "." + ENTITY_NAME + ".converted", String.valueOf(converted)))
+            .body(results);
+    }
+
     /**
      * {@code PUT  /quotes/:id} : Updates an existing quote.
      *
@@ -91,7 +121,11 @@ public class QuoteResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        quote = quoteService.update(quote);
+        try {
+            quote = quoteService.update(quote);
+        } catch (QuoteInvoicedException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "quoteinvoiced");
+        }
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, quote.getId().toString()))
             .body(quote);
@@ -125,7 +159,12 @@ public class QuoteResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        Optional<Quote> result = quoteService.partialUpdate(quote);
+        Optional<Quote> result;
+        try {
+            result = quoteService.partialUpdate(quote);
+        } catch (QuoteInvoicedException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "quoteinvoiced");
+        }
 
         return ResponseUtil.wrapOrNotFound(
             result,
@@ -147,6 +186,31 @@ public class QuoteResource {
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /quotes/with-lines} : get all the quotes with their lines.
+     * <p>
+     * Unless asked to count the quotes, the quotes then their lines are read in two queries.
+     *
+     * @param pageable the pagination information.
+     * @param count whether to count the quotes, or only to tell whether there is a next page.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of quotes with their lines in body.
+     */
+    @GetMapping("/with-lines")
+    public ResponseEntity<List<QuoteWithLinesDTO>> getAllQuotesWithLines(
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = "count", defaultValue = "false") boolean count
+    ) {
+        LOG.debug("REST request to get a page of Quotes with their lines");
+        if (!count) {
+            Slice<QuoteWithLinesDTO> slice = quoteService.findSliceWithLines(pageable);
+            HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
+        Page<QuoteWithLinesDTO> page = quoteService.findAllWithLines(pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
     /**
      * {@code GET  /quotes/:id} : get the "id" quote.
      *
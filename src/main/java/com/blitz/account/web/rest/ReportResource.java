@@ -0,0 +1,251 @@
+package com.blitz.account.web.rest;
+
+import com.blitz.account.domain.Invoice;
+import com.blitz.account.repository.ChartOfAccountRepository;
+import com.blitz.account.service.FinancialStatementService;
+import com.blitz.account.service.LedgerCubeService;
+import com.blitz.account.service.LedgerReportService;
+import com.blitz.account.service.ReceivablesAgingService;
+import com.blitz.account.service.dto.FinancialStatementDTO;
+import com.blitz.account.service.dto.LedgerCubeRowDTO;
+import com.blitz.account.service.dto.ReceivablesAgingDTO;
+import com.blitz.account.web.rest.errors.BadRequestAlertException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * REST controller for the ledger reports.
+ * <p>
+ * Reports are written as a JSON array while their rows are produced, the response is never built in memory. The
+ * ledger cube sums and the financial statements are already aggregated, they are returned as plain bodies.
+ */
+@RestController
+@RequestMapping("/api/reports")
+public class ReportResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReportResource.class);
+
+    private static final String ENTITY_NAME = "report";
+
+    private static final int MAX_AGING_PAGE_SIZE = 1000;
+
+    private final LedgerReportService ledgerReportService;
+
+    private final LedgerCubeService ledgerCubeService;
+
+    private final FinancialStatementService financialStatementService;
+
+    private final ReceivablesAgingService receivablesAgingService;
+
+    private final ChartOfAccountRepository chartOfAccountRepository;
+
+    private final ObjectMapper objectMapper;
+
+    public ReportResource(
+        LedgerReportService ledgerReportService,
+        LedgerCubeService ledgerCubeService,
+        FinancialStatementService financialStatementService,
+        ReceivablesAgingService receivablesAgingService,
+        ChartOfAccountRepository chartOfAccountRepository,
+        ObjectMapper objectMapper
+    ) {
+        this.ledgerReportService = ledgerReportService;
+        this.ledgerCubeService = ledgerCubeService;
+        this.financialStatementService = financialStatementService;
+        this.receivablesAgingService = receivablesAgingService;
+        this.chartOfAccountRepository = chartOfAccountRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * {@code GET  /reports/trial-balance} : get the trial balance.
+     *
+     * @param asOf the date of the balances, inclusive, now if absent.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the rows of the trial balance in body.
+     */
+    @GetMapping("/trial-balance")
+    public ResponseEntity<StreamingResponseBody> getTrialBalance(@RequestParam(value = "asOf", required = false) Instant asOf) {
+        LOG.debug("REST request to get the trial balance as of {}", asOf);
+        Instant date = asOf != null ? asOf : Instant.now();
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(jsonArray(sink -> ledgerReportService.trialBalance(date, sink)));
+    }
+
+    /**
+     * {@code GET  /reports/general-ledger} : get the general ledger of an account, or of all accounts.
+     *
+     * @param accountId the id of the account, all accounts if absent.
+     * @param from the first date of the ledger, inclusive.
+     * @param to the last date of the ledger, inclusive.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the lines of the ledger with their running balance in body,
+     * or with status {@code 400 (Bad Request)} if the account does not exist or the period is not valid.
+     */
+    @GetMapping("/general-ledger")
+    public ResponseEntity<StreamingResponseBody> getGeneralLedger(
+        @RequestParam(value = "accountId", required = false) Long accountId,
+        @RequestParam("from") Instant from,
+        @RequestParam("to") Instant to
+    ) {
+        LOG.debug("REST request to get the general ledger of {} from {} to {}", accountId, from, to);
+        if (from.isAfter(to)) {
+            throw new BadRequestAlertException("Invalid period", ENTITY_NAME, "periodinvalid");
+        }
+        if (accountId != null && !chartOfAccountRepository.existsById(accountId)) {
+            throw new BadRequestAlertException("Entity not found", "chartOfAccount", "idnotfound");
+        }
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(jsonArray(sink -> ledgerReportService.generalLedger(accountId, from, to, sink)));
+    }
+
+    /**
+     * {@code GET  /reports/ledger-cube} : get the sums of the transactions and journal lines of a period, from memory.
+     *
+     * @param from the first day of the period, inclusive.
+     * @param to the last day of the period, inclusive.
+     * @param accountId the id of the only account to sum, all accounts if absent.
+     * @param currencyId the id of the only currency to sum, all currencies if absent.
+     * @param groupBy the dimensions to group the sums by, a single total if absent.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the sums in body,
+     * or with status {@code 400 (Bad Request)} if the period is not valid,
+     * or with status {@code 503 (Service Unavailable)} if the sums are not loaded yet.
+     */
+    @GetMapping("/ledger-cube")
+    public ResponseEntity<List<LedgerCubeRowDTO>> getLedgerCube(
+        @RequestParam("from") LocalDate from,
+        @RequestParam("to") LocalDate to,
+        @RequestParam(value = "accountId", required = false) Long accountId,
+        @RequestParam(value = "currencyId", required = false) Long currencyId,
+        @RequestParam(value = "groupBy", required = false) Set<LedgerCubeService.Dimension> groupBy
+    ) {
+        LOG.debug("REST request to get the ledger cube from {} to {} by {}", from, to, groupBy);
+        if (from.isAfter(to)) {
+            throw new BadRequestAlertException("Invalid period", ENTITY_NAME, "periodinvalid");
+        }
+        return ledgerCubeService
+            .rollup(from, to, accountId, currencyId, groupBy != null ? groupBy : Set.of())
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+    }
+
+    /**
+     * {@code GET  /reports/profit-and-loss} : get the profit and loss statement of a period.
+     *
+     * @param from the first day of the period, inclusive.
+     * @param to the last day of the period, inclusive.
+     * @param compareFrom the first day of the period to compare with, inclusive, no comparison if absent.
+     * @param compareTo the last day of the period to compare with, inclusive, no comparison if absent.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the statement in body,
+     * or with status {@code 400 (Bad Request)} if a period is not valid.
+     */
+    @GetMapping("/profit-and-loss")
+    public ResponseEntity<FinancialStatementDTO> getProfitAndLoss(
+        @RequestParam("from") LocalDate from,
+        @RequestParam("to") LocalDate to,
+        @RequestParam(value = "compareFrom", required = false) LocalDate compareFrom,
+        @RequestParam(value = "compareTo", required = false) LocalDate compareTo
+    ) {
+        LOG.debug("REST request to get the profit and loss from {} to {} compared with {} to {}", from, to, compareFrom, compareTo);
+        if (from.isAfter(to) || (compareFrom == null) != (compareTo == null) || (compareFrom != null && compareFrom.isAfter(compareTo))) {
+            throw new BadRequestAlertException("Invalid period", ENTITY_NAME, "periodinvalid");
+        }
+        return ResponseEntity.ok(financialStatementService.profitAndLoss(from, to, compareFrom, compareTo));
+    }
+
+    /**
+     * {@code GET  /reports/balance-sheet} : get the balance sheet at the end of a day.
+     *
+     * @param asOf the day, inclusive, today if absent.
+     * @param compareAsOf the day to compare with, inclusive, no comparison if absent.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the statement in body.
+     */
+    @GetMapping("/balance-sheet")
+    public ResponseEntity<FinancialStatementDTO> getBalanceSheet(
+        @RequestParam(value = "asOf", required = false) LocalDate asOf,
+        @RequestParam(value = "compareAsOf", required = false) LocalDate compareAsOf
+    ) {
+        LOG.debug("REST request to get the balance sheet as of {} compared with {}", asOf, compareAsOf);
+        LocalDate day = asOf != null ? asOf : LocalDate.now(ZoneOffset.UTC);
+        return ResponseEntity.ok(financialStatementService.balanceSheet(day, compareAsOf));
+    }
+
+    /**
+     * {@code GET  /reports/receivables-aging} : get the aging of the receivables of a page of clients, as of today.
+     * <p>
+     * Clients are paged in name order: the next page starts after the client name of the last row of the previous one.
+     *
+     * @param after the name of the last client of the previous page, the first page if absent.
+     * @param size the number of clients of the page.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the aging of the clients by currency in body,
+     * or with status {@code 400 (Bad Request)} if the size is not valid.
+     */
+    @GetMapping("/receivables-aging")
+    public ResponseEntity<List<ReceivablesAgingDTO>> getReceivablesAging(
+        @RequestParam(value = "after", required = false) String after,
+        @RequestParam(value = "size", defaultValue = "20") int size
+    ) {
+        LOG.debug("REST request to get the receivables aging after client {}", after);
+        if (size < 1 || size > MAX_AGING_PAGE_SIZE) {
+            throw new BadRequestAlertException("Invalid page size", ENTITY_NAME, "sizeinvalid");
+        }
+        return ResponseEntity.ok(receivablesAgingService.findAging(after, size));
+    }
+
+    /**
+     * {@code GET  /reports/receivables-aging/invoices} : get a page of the invoices of a client not paid yet.
+     *
+     * @param clientName the name of the client.
+     * @param page the number of the page, from 0.
+     * @param size the number of invoices of the page.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the invoices by due date in body,
+     * or with status {@code 400 (Bad Request)} if the page or the size is not valid.
+     */
+    @GetMapping("/receivables-aging/invoices")
+    public ResponseEntity<List<Invoice>> getReceivablesAgingInvoices(
+        @RequestParam("clientName") String clientName,
+        @RequestParam(value = "page", defaultValue = "0") int page,
+        @RequestParam(value = "size", defaultValue = "20") int size
+    ) {
+        LOG.debug("REST request to get page {} of the open invoices of client {}", page, clientName);
+        if (page < 0) {
+            throw new BadRequestAlertException("Invalid page", ENTITY_NAME, "pageinvalid");
+        }
+        if (size < 1 || size > MAX_AGING_PAGE_SIZE) {
+            throw new BadRequestAlertException("Invalid page size", ENTITY_NAME, "sizeinvalid");
+        }
+        return ResponseEntity.ok(receivablesAgingService.findOpenInvoices(clientName, page, size));
+    }
+
+    private StreamingResponseBody jsonArray(Consumer<Consumer<Object>> rows) {
+        return outputStream -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.writeStartArray();
+                rows.accept(row -> {
+                    try {
+                        generator.writeObject(row);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+    }
+}
@@ -0,0 +1,43 @@
+package com.blitz.account.web.rest;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for handling pagination without counting: the pages are linked to their neighbours, but neither the total
+ * count nor the last page are known.
+ */
+final class SlicePaginationUtil {
+
+    private SlicePaginationUtil() {}
+
+    /**
+     * Generate the pagination headers of a slice.
+     *
+     * @param uriBuilder the builder of the URI of the current request.
+     * @param slice the slice.
+     * @return the {@code next}, {@code prev} and {@code first} links the slice has.
+     */
+    static HttpHeaders generateSliceHttpHeaders(UriComponentsBuilder uriBuilder, Slice<?> slice) {
+        List<String> links = new ArrayList<>();
+        if (slice.hasNext()) {
+            links.add(link(uriBuilder, slice.getNumber() + 1, slice.getSize(), "next"));
+        }
+        if (slice.hasPrevious()) {
+            links.add(link(uriBuilder, slice.getNumber() - 1, slice.getSize(), "prev"));
+        }
+        links.add(link(uriBuilder, 0, slice.getSize(), "first"));
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.LINK, String.join(",", links));
+        return headers;
+    }
+
+    private static String link(UriComponentsBuilder uriBuilder, int page, int size, String relation) {
+        return (
+            "<" + uriBuilder.replaceQueryParam("page", page).replaceQueryParam("size", size).toUriString() + ">; rel=\"" + relation + "\""
+        );
+    }
+}
@@ -2,6 +2,7 @@ package com.blitz.account.web.rest;
 
 import com.blitz.account.domain.Supplier;
 import com.blitz.account.repository.SupplierRepository;
+import com.blitz.account.service.KeysetCursors;
 import com.blitz.account.service.SupplierQueryService;
 import com.blitz.account.service.SupplierService;
 import com.blitz.account.service.criteria.SupplierCriteria;
@@ -18,6 +19,9 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -46,14 +50,18 @@ public class SupplierResource {
 
     private final SupplierQueryService supplierQueryService;
 
+    private final KeysetCursors keysetCursors;
+
     public SupplierResource(
         SupplierService supplierService,
         SupplierRepository supplierRepository,
-        SupplierQueryService supplierQueryService
+        SupplierQueryService supplierQueryService,
+        KeysetCursors keysetCursors
     ) {
         this.supplierService = supplierService;
         this.supplierRepository = supplierRepository;
         this.supplierQueryService = supplierQueryService;
+        this.keysetCursors = keysetCursors;
     }
 
     /**
@@ -149,14 +157,35 @@ public class SupplierResource {
      *
      * @param pageable the pagination information.
      * @param criteria the criteria which the requested entities should match.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of suppliers in body.
+     * @param after the cursor of the page to get with keyset pagination, empty for the first page; {@code null} for offset pagination.
+     * @param count whether to count the matching entities, or only to tell whether there is a next page.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of suppliers in body,
+     * or with status {@code 400 (Bad Request)} if the cursor is not valid.
      */
     @GetMapping("")
     public ResponseEntity<List<Supplier>> getAllSuppliers(
         SupplierCriteria criteria,
-        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = "after", required = false) String after,
+        @RequestParam(name = "count", defaultValue = "true") boolean count
     ) {
         LOG.debug("REST request to get Suppliers by criteria: {}", criteria);
+        if (after != null) {
+            ScrollPosition position = keysetCursors
+                .decode(after, Supplier.class, pageable.getSort())
+                .orElseThrow(() -> new BadRequestAlertException("Invalid cursor", ENTITY_NAME, "cursorinvalid"));
+            Window<Supplier> window = supplierQueryService.findByCriteria(criteria, pageable.getSort(), pageable.getPageSize(), position);
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+                ServletUriComponentsBuilder.fromCurrentRequest(),
+                keysetCursors.encode(window)
+            );
+            return ResponseEntity.ok().headers(headers).body(window.getContent());
+        }
+        if (!count) {
+            Slice<Supplier> slice = supplierQueryService.findSliceByCriteria(criteria, pageable);
+            HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
 
         Page<Supplier> page = supplierQueryService.findByCriteria(criteria, pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
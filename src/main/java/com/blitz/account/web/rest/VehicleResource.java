@@ -2,6 +2,7 @@ package com.blitz.account.web.rest;
 
 import com.blitz.account.domain.Vehicle;
 import com.blitz.account.repository.VehicleRepository;
+import com.blitz.account.service.KeysetCursors;
 import com.blitz.account.service.VehicleQueryService;
 import com.blitz.account.service.VehicleService;
 import com.blitz.account.service.criteria.VehicleCriteria;
@@ -19,6 +20,9 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -47,10 +51,18 @@ public class VehicleResource {
 
     private final VehicleQueryService vehicleQueryService;
 
-    public VehicleResource(VehicleService vehicleService, VehicleRepository vehicleRepository, VehicleQueryService vehicleQueryService) {
+    private final KeysetCursors keysetCursors;
+
+    public VehicleResource(
+        VehicleService vehicleService,
+        VehicleRepository vehicleRepository,
+        VehicleQueryService vehicleQueryService,
+        KeysetCursors keysetCursors
+    ) {
         this.vehicleService = vehicleService;
         this.vehicleRepository = vehicleRepository;
         this.vehicleQueryService = vehicleQueryService;
+        this.keysetCursors = keysetCursors;
     }
 
     /**
@@ -146,14 +158,35 @@ public class VehicleResource {
      *
      * @param pageable the pagination information.
      * @param criteria the criteria which the requested entities should match.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of vehicles in body.
+     * @param after the cursor of the page to get with keyset pagination, empty for the first page; {@code null} for offset pagination.
+     * @param count whether to count the matching entities, or only to tell whether there is a next page.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of vehicles in body,
+     * or with status {@code 400 (Bad Request)} if the cursor is not valid.
      */
     @GetMapping("")
     public ResponseEntity<List<Vehicle>> getAllVehicles(
         VehicleCriteria criteria,
-        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = "after", required = false) String after,
+        @RequestParam(name = "count", defaultValue = "true") boolean count
     ) {
         LOG.debug("REST request to get Vehicles by criteria: {}", criteria);
+        if (after != null) {
+            ScrollPosition position = keysetCursors
+                .decode(after, Vehicle.class, pageable.getSort())
+                .orElseThrow(() -> new BadRequestAlertException("Invalid cursor", ENTITY_NAME, "cursorinvalid"));
+            Window<Vehicle> window = vehicleQueryService.findByCriteria(criteria, pageable.getSort(), pageable.getPageSize(), position);
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+                ServletUriComponentsBuilder.fromCurrentRequest(),
+                keysetCursors.encode(window)
+            );
+            return ResponseEntity.ok().headers(headers).body(window.getContent());
+        }
+        if (!count) {
+            Slice<Vehicle> slice = vehicleQueryService.findSliceByCriteria(criteria, pageable);
+            HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
 
         Page<Vehicle> page = vehicleQueryService.findByCriteria(criteria, pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
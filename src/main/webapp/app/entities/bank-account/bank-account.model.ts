@@ -3,6 +3,7 @@ export interface IBankAccount {
   name?: string | null;
   accountNumber?: string | null;
   bankName?: string | null;
+  currentBalance?: number | null;
 }
 
 export type NewBankAccount = Omit<IBankAccount, 'id'> & { id: null };
@@ -10,6 +10,8 @@ export interface IBankTransaction {
   direction?: keyof typeof TransactionDirection | null;
   relatedPaymentId?: number | null;
   description?: string | null;
+  runningBalance?: number | null;
+  version?: number | null;
 }
 
 export type NewBankTransaction = Omit<IBankTransaction, 'id'> & { id: null };
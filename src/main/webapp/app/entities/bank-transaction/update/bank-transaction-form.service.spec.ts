@@ -27,6 +27,7 @@ describe('BankTransaction Form Service', () => {
             direction: expect.any(Object),
             relatedPaymentId: expect.any(Object),
             description: expect.any(Object),
+            version: expect.any(Object),
           }),
         );
       });
@@ -44,6 +45,7 @@ describe('BankTransaction Form Service', () => {
             direction: expect.any(Object),
             relatedPaymentId: expect.any(Object),
             description: expect.any(Object),
+            version: expect.any(Object),
           }),
         );
       });
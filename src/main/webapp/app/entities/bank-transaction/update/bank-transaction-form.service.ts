@@ -38,6 +38,7 @@ type BankTransactionFormGroupContent = {
   direction: FormControl<BankTransactionFormRawValue['direction']>;
   relatedPaymentId: FormControl<BankTransactionFormRawValue['relatedPaymentId']>;
   description: FormControl<BankTransactionFormRawValue['description']>;
+  version: FormControl<BankTransactionFormRawValue['version']>;
 };
 
 export type BankTransactionFormGroup = FormGroup<BankTransactionFormGroupContent>;
@@ -72,6 +73,7 @@ export class BankTransactionFormService {
       }),
       relatedPaymentId: new FormControl(bankTransactionRawValue.relatedPaymentId),
       description: new FormControl(bankTransactionRawValue.description),
+      version: new FormControl(bankTransactionRawValue.version),
     });
   }
 
@@ -7,6 +7,7 @@ export interface IChartOfAccount {
   code?: string | null;
   initialBalance?: number | null;
   currentBalance?: number | null;
+  version?: number | null;
 }
 
 export type NewChartOfAccount = Omit<IChartOfAccount, 'id'> & { id: null };
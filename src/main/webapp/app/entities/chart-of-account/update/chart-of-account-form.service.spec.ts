@@ -25,6 +25,7 @@ describe('ChartOfAccount Form Service', () => {
             code: expect.any(Object),
             initialBalance: expect.any(Object),
             currentBalance: expect.any(Object),
+            version: expect.any(Object),
           }),
         );
       });
@@ -40,6 +41,7 @@ describe('ChartOfAccount Form Service', () => {
             code: expect.any(Object),
             initialBalance: expect.any(Object),
             currentBalance: expect.any(Object),
+            version: expect.any(Object),
           }),
         );
       });
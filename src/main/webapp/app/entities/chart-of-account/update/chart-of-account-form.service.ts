@@ -23,6 +23,7 @@ type ChartOfAccountFormGroupContent = {
   code: FormControl<IChartOfAccount['code']>;
   initialBalance: FormControl<IChartOfAccount['initialBalance']>;
   currentBalance: FormControl<IChartOfAccount['currentBalance']>;
+  version: FormControl<IChartOfAccount['version']>;
 };
 
 export type ChartOfAccountFormGroup = FormGroup<ChartOfAccountFormGroupContent>;
@@ -53,6 +54,7 @@ export class ChartOfAccountFormService {
       }),
       initialBalance: new FormControl(chartOfAccountRawValue.initialBalance),
       currentBalance: new FormControl(chartOfAccountRawValue.currentBalance),
+      version: new FormControl(chartOfAccountRawValue.version),
     });
   }
 
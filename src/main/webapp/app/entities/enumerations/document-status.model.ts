@@ -8,4 +8,6 @@ export enum DocumentStatus {
   REJECTED = 'REJECTED',
 
   PAID = 'PAID',
+
+  INVOICED = 'INVOICED',
 }
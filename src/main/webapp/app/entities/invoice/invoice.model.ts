@@ -4,6 +4,7 @@ import { PaymentStatus } from 'app/entities/enumerations/payment-status.model';
 
 export interface IInvoice {
   id: number;
+  invoiceNumber?: string | null;
   clientName?: string | null;
   issueDate?: dayjs.Dayjs | null;
   dueDate?: dayjs.Dayjs | null;
@@ -13,6 +14,7 @@ export interface IInvoice {
   totalAmount?: number | null;
   paidAmount?: number | null;
   paymentStatus?: keyof typeof PaymentStatus | null;
+  version?: number | null;
 }
 
 export type NewInvoice = Omit<IInvoice, 'id'> & { id: null };
@@ -29,6 +29,7 @@ describe('Invoice Form Service', () => {
             totalAmount: expect.any(Object),
             paidAmount: expect.any(Object),
             paymentStatus: expect.any(Object),
+            version: expect.any(Object),
           }),
         );
       });
@@ -48,6 +49,7 @@ describe('Invoice Form Service', () => {
             totalAmount: expect.any(Object),
             paidAmount: expect.any(Object),
             paymentStatus: expect.any(Object),
+            version: expect.any(Object),
           }),
         );
       });
@@ -41,6 +41,7 @@ type InvoiceFormGroupContent = {
   totalAmount: FormControl<InvoiceFormRawValue['totalAmount']>;
   paidAmount: FormControl<InvoiceFormRawValue['paidAmount']>;
   paymentStatus: FormControl<InvoiceFormRawValue['paymentStatus']>;
+  version: FormControl<InvoiceFormRawValue['version']>;
 };
 
 export type InvoiceFormGroup = FormGroup<InvoiceFormGroupContent>;
@@ -77,6 +78,7 @@ export class InvoiceFormService {
       paymentStatus: new FormControl(invoiceRawValue.paymentStatus, {
         validators: [Validators.required],
       }),
+      version: new FormControl(invoiceRawValue.version),
     });
   }
 
@@ -6,6 +6,7 @@ export interface IProduct {
   unitCost?: number | null;
   unitPrice?: number | null;
   stockQty?: number | null;
+  version?: number | null;
 }
 
 export type NewProduct = Omit<IProduct, 'id'> & { id: null };
@@ -26,6 +26,7 @@ describe('Product Form Service', () => {
             unitCost: expect.any(Object),
             unitPrice: expect.any(Object),
             stockQty: expect.any(Object),
+            version: expect.any(Object),
           }),
         );
       });
@@ -42,6 +43,7 @@ describe('Product Form Service', () => {
             unitCost: expect.any(Object),
             unitPrice: expect.any(Object),
             stockQty: expect.any(Object),
+            version: expect.any(Object),
           }),
         );
       });
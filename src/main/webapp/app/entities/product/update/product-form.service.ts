@@ -24,6 +24,7 @@ type ProductFormGroupContent = {
   unitCost: FormControl<IProduct['unitCost']>;
   unitPrice: FormControl<IProduct['unitPrice']>;
   stockQty: FormControl<IProduct['stockQty']>;
+  version: FormControl<IProduct['version']>;
 };
 
 export type ProductFormGroup = FormGroup<ProductFormGroupContent>;
@@ -51,6 +52,7 @@ export class ProductFormService {
       unitCost: new FormControl(productRawValue.unitCost),
       unitPrice: new FormControl(productRawValue.unitPrice),
       stockQty: new FormControl(productRawValue.stockQty),
+      version: new FormControl(productRawValue.version),
     });
   }
 
@@ -0,0 +1,40 @@
+package com.blitz.account.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+
+class RecurringTransactionNextDueDateChangeTest {
+
+    private static final Instant START = Instant.parse("2024-01-31T09:00:00Z");
+
+    private static final Instant MIGRATION = Instant.parse("2026-10-17T12:00:00Z");
+
+    @Test
+    void resumesExistingSchedulesAtTheMigration() {
+        assertThat(RecurringTransactionNextDueDateChange.nextDueDate("MONTHLY", START, null, MIGRATION, false)).isEqualTo(
+            Instant.parse("2026-10-31T09:00:00Z")
+        );
+        assertThat(RecurringTransactionNextDueDateChange.nextDueDate("DAILY", START, null, Instant.parse("2026-10-17T09:00:00Z"), false))
+            .isEqualTo(Instant.parse("2026-10-17T09:00:00Z"));
+    }
+
+    @Test
+    void leavesExhaustedSchedulesUnscheduled() {
+        Instant end = Instant.parse("2026-10-01T00:00:00Z");
+        assertThat(RecurringTransactionNextDueDateChange.nextDueDate("MONTHLY", START, end, MIGRATION, false)).isNull();
+    }
+
+    @Test
+    void startsFutureSchedulesAndUnknownFrequenciesAtTheirStartDate() {
+        Instant future = Instant.parse("2027-01-01T00:00:00Z");
+        assertThat(RecurringTransactionNextDueDateChange.nextDueDate("MONTHLY", future, null, MIGRATION, false)).isEqualTo(future);
+        assertThat(RecurringTransactionNextDueDateChange.nextDueDate("AAAAAAAAAA", START, null, MIGRATION, false)).isEqualTo(START);
+    }
+
+    @Test
+    void backfillsFromTheStartDateOnlyOnRequest() {
+        assertThat(RecurringTransactionNextDueDateChange.nextDueDate("MONTHLY", START, null, MIGRATION, true)).isEqualTo(START);
+    }
+}
@@ -0,0 +1,149 @@
+package com.blitz.account.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+import com.blitz.account.domain.Journal;
+import com.blitz.account.domain.JournalLine;
+import com.blitz.account.repository.AccountBalanceSnapshotRepository;
+import com.blitz.account.repository.ChartOfAccountRepository;
+import com.blitz.account.repository.ChartOfAccountRepository.AccountVersion;
+import com.blitz.account.repository.JournalLineRepository;
+import com.blitz.account.repository.JournalRepository;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.context.ApplicationEventPublisher;
+
+class AccountBalanceServiceTest {
+
+    private ChartOfAccountRepository chartOfAccountRepository;
+
+    private AccountBalanceSnapshotRepository accountBalanceSnapshotRepository;
+
+    private JournalRepository journalRepository;
+
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    private AccountBalanceService accountBalanceService;
+
+    @BeforeEach
+    void setup() {
+        chartOfAccountRepository = mock(ChartOfAccountRepository.class);
+        when(chartOfAccountRepository.applyNetDebit(anyLong(), any())).thenReturn(1);
+        accountBalanceSnapshotRepository = mock(AccountBalanceSnapshotRepository.class);
+        journalRepository = mock(JournalRepository.class);
+        applicationEventPublisher = mock(ApplicationEventPublisher.class);
+        accountBalanceService = new AccountBalanceService(
+            chartOfAccountRepository,
+            accountBalanceSnapshotRepository,
+            journalRepository,
+            mock(JournalLineRepository.class),
+            mock(BudgetVarianceService.class),
+            applicationEventPublisher
+        );
+    }
+
+    @Test
+    void postCoalescesLinesPerAccountInIdOrder() {
+        accountBalanceService.post(
+            List.of(
+                line(20L, "100.00", null),
+                line(10L, null, "40.00"),
+                line(20L, "5.00", null),
+                line(10L, null, "65.00")
+            )
+        );
+
+        InOrder inOrder = inOrder(chartOfAccountRepository);
+        inOrder.verify(chartOfAccountRepository).applyNetDebit(10L, new BigDecimal("-105.00"));
+        inOrder.verify(chartOfAccountRepository).applyNetDebit(20L, new BigDecimal("105.00"));
+        inOrder.verify(chartOfAccountRepository).findVersionsByIdIn(List.of(10L, 20L));
+        verifyNoMoreInteractions(chartOfAccountRepository);
+    }
+
+    @Test
+    void repostOnlyAppliesTheDifference() {
+        accountBalanceService.repost(List.of(line(10L, "100.00", null)), List.of(line(10L, "120.00", null)));
+
+        verify(chartOfAccountRepository).applyNetDebit(10L, new BigDecimal("20.00"));
+        verify(chartOfAccountRepository).findVersionsByIdIn(List.of(10L));
+        verifyNoMoreInteractions(chartOfAccountRepository);
+    }
+
+    @Test
+    void repostSkipsUnchangedAccounts() {
+        accountBalanceService.repost(List.of(line(10L, "100.00", null)), List.of(line(10L, "100.00", null)));
+
+        verifyNoInteractions(chartOfAccountRepository);
+    }
+
+    @Test
+    void reverseNegatesLines() {
+        accountBalanceService.reverse(List.of(line(10L, "30.00", "10.00")));
+
+        verify(chartOfAccountRepository).applyNetDebit(10L, new BigDecimal("-20.00"));
+    }
+
+    @Test
+    void postIntoClosedPeriodShiftsLaterSnapshots() {
+        Instant periodEnd = Instant.parse("2026-02-01T00:00:00Z");
+        Instant journalDate = Instant.parse("2026-01-15T10:00:00Z");
+        when(accountBalanceSnapshotRepository.findLatestPeriodEnd()).thenReturn(periodEnd);
+        when(journalRepository.findAllById(List.of(1L, 2L))).thenReturn(
+            List.of(new Journal().id(1L).journalDate(journalDate), new Journal().id(2L).journalDate(periodEnd))
+        );
+
+        accountBalanceService.post(List.of(line(10L, "30.00", null).journalId(1L), line(10L, "50.00", null).journalId(2L)));
+
+        verify(chartOfAccountRepository).applyNetDebit(10L, new BigDecimal("80.00"));
+        verify(accountBalanceSnapshotRepository).shiftNetDebitAfter(10L, journalDate, new BigDecimal("30.00"));
+        verify(accountBalanceSnapshotRepository).findLatestPeriodEnd();
+        verifyNoMoreInteractions(accountBalanceSnapshotRepository);
+    }
+
+    @Test
+    void publishesTheVersionsTheAccountsAreMovedTo() {
+        when(journalRepository.findAllById(List.of(1L))).thenReturn(List.of(new Journal().id(1L).journalDate(Instant.now())));
+        when(chartOfAccountRepository.findVersionsByIdIn(List.of(10L, 20L))).thenReturn(List.of(version(10L, 4L), version(20L, 7L)));
+
+        accountBalanceService.post(List.of(line(10L, "30.00", null).journalId(1L), line(20L, null, "30.00").journalId(1L)));
+
+        verify(applicationEventPublisher).publishEvent(
+            argThat((Object event) -> ((LedgerMovementEvent) event).accountVersions().equals(Map.of(10L, 4L, 20L, 7L)))
+        );
+    }
+
+    @Test
+    void netDebitTreatsMissingAmountsAsZero() {
+        assertThat(AccountBalanceService.netDebit(new JournalLine())).isEqualByComparingTo(BigDecimal.ZERO);
+    }
+
+    private static AccountVersion version(Long id, Long version) {
+        return new AccountVersion() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getVersion() {
+                return version;
+            }
+        };
+    }
+
+    private static JournalLine line(Long accountId, String debit, String credit) {
+        return new JournalLine()
+            .accountId(accountId)
+            .debit(debit != null ? new BigDecimal(debit) : null)
+            .credit(credit != null ? new BigDecimal(credit) : null);
+    }
+}
@@ -0,0 +1,102 @@
+package com.blitz.account.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+import com.blitz.account.config.ApplicationProperties;
+import com.blitz.account.domain.BankTransaction;
+import com.blitz.account.domain.enumeration.TransactionDirection;
+import com.blitz.account.repository.BankAccountRepository;
+import com.blitz.account.repository.BankTransactionRepository;
+import com.blitz.account.service.BankAccountBalanceService.Posting;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+class BankAccountBalanceServiceTest {
+
+    private static final Instant DAY = Instant.parse("2026-03-10T00:00:00Z");
+
+    private BankAccountRepository bankAccountRepository;
+
+    private BankTransactionRepository bankTransactionRepository;
+
+    private BankAccountBalanceService bankAccountBalanceService;
+
+    @BeforeEach
+    void setup() {
+        bankAccountRepository = mock(BankAccountRepository.class);
+        when(bankAccountRepository.addToCurrentBalance(anyLong(), any())).thenReturn(1);
+        bankTransactionRepository = mock(BankTransactionRepository.class);
+        when(bankTransactionRepository.findRunningBalancesBefore(anyLong(), any(), anyLong(), any())).thenReturn(
+            List.of(new BigDecimal("500.00"))
+        );
+        bankAccountBalanceService = new BankAccountBalanceService(
+            bankAccountRepository,
+            bankTransactionRepository,
+            mock(EntityManager.class),
+            new ApplicationProperties()
+        );
+    }
+
+    @Test
+    void postLocksTheAccountThenShiftsTheLaterTransactions() {
+        BankTransaction transaction = transaction(3L, 10L, "40.00", TransactionDirection.DEBIT);
+
+        bankAccountBalanceService.post(transaction);
+
+        InOrder inOrder = inOrder(bankAccountRepository, bankTransactionRepository);
+        inOrder.verify(bankAccountRepository).addToCurrentBalance(10L, new BigDecimal("-40.00"));
+        inOrder.verify(bankTransactionRepository).addToRunningBalancesAfter(10L, DAY, 3L, new BigDecimal("-40.00"));
+        assertThat(transaction.getRunningBalance()).isEqualByComparingTo("460.00");
+    }
+
+    @Test
+    void repostMovesTheTransactionBetweenAccountsInIdOrder() {
+        Posting before = Posting.of(transaction(3L, 20L, "40.00", TransactionDirection.CREDIT));
+        BankTransaction transaction = transaction(3L, 10L, "40.00", TransactionDirection.CREDIT);
+
+        bankAccountBalanceService.repost(before, transaction);
+
+        InOrder inOrder = inOrder(bankAccountRepository);
+        inOrder.verify(bankAccountRepository).addToCurrentBalance(10L, new BigDecimal("40.00"));
+        inOrder.verify(bankAccountRepository).addToCurrentBalance(20L, new BigDecimal("-40.00"));
+        verify(bankTransactionRepository).addToRunningBalancesAfter(20L, DAY, 3L, new BigDecimal("-40.00"));
+        verify(bankTransactionRepository).addToRunningBalancesAfter(10L, DAY, 3L, new BigDecimal("40.00"));
+        assertThat(transaction.getRunningBalance()).isEqualByComparingTo("540.00");
+    }
+
+    @Test
+    void repostOfAnUnchangedPostingOnlyReadsTheRunningBalanceAgain() {
+        BankTransaction transaction = transaction(3L, 10L, "40.00", TransactionDirection.CREDIT).runningBalance(BigDecimal.TEN);
+
+        bankAccountBalanceService.repost(Posting.of(transaction), transaction);
+
+        verify(bankAccountRepository).addToCurrentBalance(10L, new BigDecimal("0.00"));
+        verify(bankTransactionRepository, never()).addToRunningBalancesAfter(anyLong(), any(), anyLong(), any());
+        assertThat(transaction.getRunningBalance()).isEqualByComparingTo("540.00");
+    }
+
+    @Test
+    void unpostRemovesTheAmountFromTheAccountAndLaterTransactions() {
+        bankAccountBalanceService.unpost(Posting.of(transaction(3L, 10L, "40.00", TransactionDirection.CREDIT)));
+
+        verify(bankAccountRepository).addToCurrentBalance(10L, new BigDecimal("-40.00"));
+        verify(bankTransactionRepository).addToRunningBalancesAfter(10L, DAY, 3L, new BigDecimal("-40.00"));
+    }
+
+    private static BankTransaction transaction(Long id, Long bankAccountId, String amount, TransactionDirection direction) {
+        return new BankTransaction()
+            .id(id)
+            .bankAccountId(bankAccountId)
+            .transactionDate(DAY)
+            .amount(new BigDecimal(amount))
+            .direction(direction);
+    }
+}
@@ -0,0 +1,135 @@
+package com.blitz.account.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.blitz.account.repository.BankTransactionRepository.UnmatchedTransaction;
+import com.blitz.account.repository.PaymentRepository.UnmatchedPayment;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class BankReconciliationMatcherTest {
+
+    private static final Instant DAY = Instant.parse("2024-05-10T00:00:00Z");
+
+    @Test
+    void matchesSameAmountWithinTheDateWindow() {
+        BankReconciliationMatcher matcher = matcher(payment(1L, "100.00", 0, null, null), payment(2L, "100.00", 20, null, null));
+
+        Map<Long, Long> links = matcher.match(List.of(transaction(10L, "100", 1, null, null)));
+
+        assertThat(links).containsExactly(Map.entry(10L, 1L));
+    }
+
+    @Test
+    void doesNotMatchSameAmountFarFromThePaymentDate() {
+        BankReconciliationMatcher matcher = matcher(payment(1L, "100.00", 0, null, null));
+
+        assertThat(matcher.match(List.of(transaction(10L, "100.00", 4, null, null)))).isEmpty();
+    }
+
+    @Test
+    void matchesTheInvoiceNumberWhateverTheAmount() {
+        BankReconciliationMatcher matcher = matcher(
+            payment(1L, "100.00", 0, "INV-2024-000042", "Acme Corporation"),
+            payment(2L, "60.00", 0, "INV-2024-000043", "Acme Corporation")
+        );
+
+        Map<Long, Long> links = matcher.match(List.of(transaction(10L, "60.00", 1, "SEPA", "Acme inv2024000042 partial")));
+
+        assertThat(links).containsExactly(Map.entry(10L, 1L));
+    }
+
+    @Test
+    void linksEachPaymentOnceBestScoreFirst() {
+        BankReconciliationMatcher matcher = matcher(payment(1L, "250.00", 0, "INV-2024-000007", "Globex"));
+
+        Map<Long, Long> links = matcher.match(
+            List.of(transaction(10L, "250.00", 0, null, "Transfer"), transaction(11L, "250.00", 2, "INV-2024-000007", "Globex"))
+        );
+
+        assertThat(links).containsExactly(Map.entry(11L, 1L));
+    }
+
+    @Test
+    void pairsIdenticalPaymentsAndCreditsOneToOne() {
+        List<UnmatchedPayment> payments = new ArrayList<>();
+        List<UnmatchedTransaction> transactions = new ArrayList<>();
+        for (long i = 0; i < 1000; i++) {
+            payments.add(payment(i, "19.99", (int) (i % 30), null, null));
+            transactions.add(transaction(10_000 + i, "19.99", (int) (i % 30), null, null));
+        }
+
+        Map<Long, Long> links = new BankReconciliationMatcher(payments, Duration.ofDays(5), 60).match(transactions);
+
+        assertThat(links).hasSize(1000);
+        assertThat(links.values()).doesNotHaveDuplicates();
+    }
+
+    private static BankReconciliationMatcher matcher(UnmatchedPayment... payments) {
+        return new BankReconciliationMatcher(List.of(payments), Duration.ofDays(3), 50);
+    }
+
+    private static UnmatchedPayment payment(Long id, String amount, int day, String invoiceNumber, String clientName) {
+        return new UnmatchedPayment() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Instant getPaymentDate() {
+                return DAY.plus(day, ChronoUnit.DAYS);
+            }
+
+            @Override
+            public BigDecimal getAmount() {
+                return new BigDecimal(amount);
+            }
+
+            @Override
+            public String getInvoiceNumber() {
+                return invoiceNumber;
+            }
+
+            @Override
+            public String getClientName() {
+                return clientName;
+            }
+        };
+    }
+
+    private static UnmatchedTransaction transaction(Long id, String amount, int day, String reference, String description) {
+        return new UnmatchedTransaction() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Instant getTransactionDate() {
+                return DAY.plus(day, ChronoUnit.DAYS).plus(9, ChronoUnit.HOURS);
+            }
+
+            @Override
+            public BigDecimal getAmount() {
+                return new BigDecimal(amount);
+            }
+
+            @Override
+            public String getReference() {
+                return reference;
+            }
+
+            @Override
+            public String getDescription() {
+                return description;
+            }
+        };
+    }
+}
@@ -0,0 +1,207 @@
+package com.blitz.account.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.blitz.account.domain.BankTransaction;
+import com.blitz.account.domain.enumeration.TransactionDirection;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class BankStatementReaderTest {
+
+    @Test
+    void readsCsvWithSignedAmounts() throws IOException {
+        List<BankTransaction> transactions = readAll(
+            BankStatementReader.Format.CSV,
+            """
+            Date;Amount;Reference;Description
+            2024-01-15;-12,50;REF-1;"Coffee; with ""friends""\"
+
+            2024-01-16T08:30:00Z;1000;REF-2;Salary
+            """
+        );
+
+        assertThat(transactions).hasSize(2);
+        assertThat(transactions.get(0).getTransactionDate()).isEqualTo(Instant.parse("2024-01-15T00:00:00Z"));
+        assertThat(transactions.get(0).getAmount()).isEqualByComparingTo("12.50");
+        assertThat(transactions.get(0).getDirection()).isEqualTo(TransactionDirection.DEBIT);
+        assertThat(transactions.get(0).getReference()).isEqualTo("REF-1");
+        assertThat(transactions.get(0).getDescription()).isEqualTo("Coffee; with \"friends\"");
+        assertThat(transactions.get(1).getTransactionDate()).isEqualTo(Instant.parse("2024-01-16T08:30:00Z"));
+        assertThat(transactions.get(1).getAmount()).isEqualByComparingTo("1000.00");
+        assertThat(transactions.get(1).getDirection()).isEqualTo(TransactionDirection.CREDIT);
+    }
+
+    @Test
+    void readsCsvWithDirections() throws IOException {
+        List<BankTransaction> transactions = readAll(
+            BankStatementReader.Format.CSV,
+            """
+            amount,direction,transactionDate
+            42.10,D,2024-02-01
+            """
+        );
+
+        assertThat(transactions).singleElement().satisfies(transaction -> {
+            assertThat(transaction.getAmount()).isEqualByComparingTo("42.10");
+            assertThat(transaction.getDirection()).isEqualTo(TransactionDirection.DEBIT);
+            assertThat(transaction.getReference()).isNull();
+        });
+    }
+
+    @Test
+    void reportsTheInvalidCsvLine() {
+        assertThatThrownBy(() ->
+            readAll(
+                BankStatementReader.Format.CSV,
+                """
+                date,amount
+                2024-01-15,10
+                2024-01-16,ten
+                """
+            )
+        )
+            .isInstanceOf(BankStatementFormatException.class)
+            .hasMessage("Invalid amount ten at line 3");
+    }
+
+    @Test
+    void readsSgmlOfx() throws IOException {
+        List<BankTransaction> transactions = readAll(
+            BankStatementReader.Format.OFX,
+            """
+            OFXHEADER:100
+            DATA:OFXSGML
+            VERSION:102
+
+            <OFX>
+            <BANKMSGSRSV1><STMTTRNRS><STMTRS><BANKTRANLIST>
+            <STMTTRN>
+            <TRNTYPE>DEBIT
+            <DTPOSTED>20240115120000.000[-5:EST]
+            <TRNAMT>-25.00
+            <FITID>2024011501
+            <NAME>GROCERY STORE
+            <MEMO>Card 1234
+            </STMTTRN>
+            <STMTTRN>
+            <TRNTYPE>CREDIT
+            <DTPOSTED>20240116
+            <TRNAMT>150.75
+            <FITID>2024011602
+            <NAME>REFUND
+            </STMTTRN>
+            </BANKTRANLIST></STMTRS></STMTTRNRS></BANKMSGSRSV1>
+            </OFX>
+            """
+        );
+
+        assertThat(transactions).hasSize(2);
+        assertThat(transactions.get(0).getTransactionDate()).isEqualTo(Instant.parse("2024-01-15T17:00:00Z"));
+        assertThat(transactions.get(0).getAmount()).isEqualByComparingTo("25.00");
+        assertThat(transactions.get(0).getDirection()).isEqualTo(TransactionDirection.DEBIT);
+        assertThat(transactions.get(0).getReference()).isEqualTo("2024011501");
+        assertThat(transactions.get(0).getDescription()).isEqualTo("GROCERY STORE Card 1234");
+        assertThat(transactions.get(1).getTransactionDate()).isEqualTo(Instant.parse("2024-01-16T00:00:00Z"));
+        assertThat(transactions.get(1).getDirection()).isEqualTo(TransactionDirection.CREDIT);
+        assertThat(transactions.get(1).getDescription()).isEqualTo("REFUND");
+    }
+
+    @Test
+    void readsXmlOfxOnOneLine() throws IOException {
+        List<BankTransaction> transactions = readAll(
+            BankStatementReader.Format.OFX,
+            "<?xml version=\"1.0\"?><?OFX OFXHEADER=\"200\"?><OFX><STMTTRN><DTPOSTED>20240301093000</DTPOSTED>" +
+            "<TRNAMT>9.99</TRNAMT><FITID>X1</FITID><NAME>A &amp; B</NAME></STMTTRN></OFX>"
+        );
+
+        assertThat(transactions).singleElement().satisfies(transaction -> {
+            assertThat(transaction.getTransactionDate()).isEqualTo(Instant.parse("2024-03-01T09:30:00Z"));
+            assertThat(transaction.getAmount()).isEqualByComparingTo("9.99");
+            assertThat(transaction.getDescription()).isEqualTo("A & B");
+        });
+    }
+
+    @Test
+    void readsCamt053() throws IOException {
+        List<BankTransaction> transactions = readAll(
+            BankStatementReader.Format.CAMT053,
+            """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <Document xmlns="urn:iso:std:iso:20022:tech:xsd:camt.053.001.02">
+              <BkToCstmrStmt>
+                <Stmt>
+                  <Bal><Amt Ccy="EUR">1000.00</Amt><CdtDbtInd>CRDT</CdtDbtInd></Bal>
+                  <Ntry>
+                    <NtryRef>E-1</NtryRef>
+                    <Amt Ccy="EUR">120.00</Amt>
+                    <CdtDbtInd>DBIT</CdtDbtInd>
+                    <BookgDt><Dt>2024-04-02</Dt></BookgDt>
+                    <ValDt><Dt>2024-04-03</Dt></ValDt>
+                    <AcctSvcrRef>BANK-REF-1</AcctSvcrRef>
+                    <NtryDtls><TxDtls>
+                      <Refs><EndToEndId>NOTPROVIDED</EndToEndId></Refs>
+                      <AmtDtls><TxAmt><Amt Ccy="EUR">120.00</Amt></TxAmt></AmtDtls>
+                      <RmtInf><Ustrd>Invoice 42</Ustrd></RmtInf>
+                    </TxDtls></NtryDtls>
+                  </Ntry>
+                  <Ntry>
+                    <Amt Ccy="EUR">35.50</Amt>
+                    <CdtDbtInd>DBIT</CdtDbtInd>
+                    <RvslInd>true</RvslInd>
+                    <ValDt><DtTm>2024-04-05T10:15:00+02:00</DtTm></ValDt>
+                    <NtryDtls><TxDtls><Refs><EndToEndId>E2E-7</EndToEndId></Refs></TxDtls></NtryDtls>
+                    <AddtlNtryInf>Reversal</AddtlNtryInf>
+                  </Ntry>
+                </Stmt>
+              </BkToCstmrStmt>
+            </Document>
+            """
+        );
+
+        assertThat(transactions).hasSize(2);
+        assertThat(transactions.get(0).getTransactionDate()).isEqualTo(Instant.parse("2024-04-02T00:00:00Z"));
+        assertThat(transactions.get(0).getAmount()).isEqualByComparingTo("120.00");
+        assertThat(transactions.get(0).getDirection()).isEqualTo(TransactionDirection.DEBIT);
+        assertThat(transactions.get(0).getReference()).isEqualTo("BANK-REF-1");
+        assertThat(transactions.get(0).getDescription()).isEqualTo("Invoice 42");
+        assertThat(transactions.get(1).getTransactionDate()).isEqualTo(Instant.parse("2024-04-05T08:15:00Z"));
+        assertThat(transactions.get(1).getDirection()).isEqualTo(TransactionDirection.CREDIT);
+        assertThat(transactions.get(1).getReference()).isEqualTo("E2E-7");
+        assertThat(transactions.get(1).getDescription()).isEqualTo("Reversal");
+    }
+
+    @Test
+    void reportsTheInvalidCamt053Entry() {
+        assertThatThrownBy(() ->
+            readAll(
+                BankStatementReader.Format.CAMT053,
+                "<Document><Stmt><Ntry><Amt>1.00</Amt><CdtDbtInd>CRDT</CdtDbtInd></Ntry></Stmt></Document>"
+            )
+        )
+            .isInstanceOf(BankStatementFormatException.class)
+            .hasMessage("Missing date in entry 1");
+    }
+
+    private static List<BankTransaction> readAll(BankStatementReader.Format format, String statement) throws IOException {
+        List<BankTransaction> transactions = new ArrayList<>();
+        try (
+            BankStatementReader reader = BankStatementReader.open(
+                format,
+                new ByteArrayInputStream(statement.getBytes(StandardCharsets.UTF_8))
+            )
+        ) {
+            BankTransaction transaction;
+            while ((transaction = reader.read()) != null) {
+                transactions.add(transaction);
+            }
+        }
+        return transactions;
+    }
+}
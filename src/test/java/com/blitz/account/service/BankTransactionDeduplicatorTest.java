@@ -0,0 +1,167 @@
+package com.blitz.account.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+import com.blitz.account.domain.BankTransaction;
+import com.blitz.account.domain.enumeration.TransactionDirection;
+import com.blitz.account.repository.BankAccountRepository;
+import com.blitz.account.repository.BankTransactionRepository;
+import com.blitz.account.repository.BankTransactionRepository.TransactionFingerprint;
+import com.blitz.account.service.BankTransactionDeduplicator.StatementDeduplication;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BankTransactionDeduplicatorTest {
+
+    private static final Instant DAY = Instant.parse("2026-03-10T00:00:00Z");
+
+    private BankTransactionRepository bankTransactionRepository;
+
+    private BankAccountRepository bankAccountRepository;
+
+    private BankTransactionDeduplicator bankTransactionDeduplicator;
+
+    @BeforeEach
+    void setup() {
+        bankTransactionRepository = mock(BankTransactionRepository.class);
+        when(bankTransactionRepository.findFingerprintsAfter(anyLong(), any(), anyLong(), any())).thenReturn(
+            List.of(existing(1L, transaction(0, "12.50", "REF-1")), existing(2L, transaction(0, "4.00", null)))
+        );
+        bankAccountRepository = mock(BankAccountRepository.class);
+        when(bankAccountRepository.findTransactionChangesForUpdate(10L)).thenReturn(Optional.of(0L));
+        bankTransactionDeduplicator = new BankTransactionDeduplicator(bankTransactionRepository, bankAccountRepository);
+    }
+
+    @Test
+    void newLinesAreNotLookedUp() {
+        StatementDeduplication deduplication = bankTransactionDeduplicator.begin(10L);
+
+        for (int day = 1; day <= 100; day++) {
+            assertThat(deduplication.isDuplicate(transaction(day, "12.50", "REF-" + day))).isFalse();
+        }
+
+        verify(bankTransactionRepository, atMost(5)).countByFingerprint(anyLong(), any(), any(), any(), any());
+    }
+
+    @Test
+    void linesAlreadyImportedAreDuplicates() {
+        givenCount(0, "12.50", "REF-1", 1L);
+        StatementDeduplication deduplication = bankTransactionDeduplicator.begin(10L);
+
+        assertThat(deduplication.isDuplicate(transaction(0, "12.5", "REF-1"))).isTrue();
+    }
+
+    @Test
+    void identicalLinesAreOnlyDuplicatesOfAsManyTransactions() {
+        givenCount(0, "4.00", null, 1L);
+        StatementDeduplication deduplication = bankTransactionDeduplicator.begin(10L);
+
+        assertThat(deduplication.isDuplicate(transaction(0, "4", null))).isTrue();
+        assertThat(deduplication.isDuplicate(transaction(0, "4", null))).isFalse();
+        verify(bankTransactionRepository).countByFingerprint(10L, DAY, new BigDecimal("4.00"), TransactionDirection.CREDIT, null);
+    }
+
+    @Test
+    void finishedStatementsAreKnownToTheNextOne() {
+        when(bankAccountRepository.findTransactionChangesForUpdate(10L)).thenReturn(Optional.of(0L), Optional.of(1L));
+        StatementDeduplication deduplication = bankTransactionDeduplicator.begin(10L);
+        assertThat(deduplication.isDuplicate(transaction(1, "7.00", "X"))).isFalse();
+        deduplication.finish();
+        givenCount(1, "7.00", "X", 1L);
+
+        assertThat(bankTransactionDeduplicator.begin(10L).isDuplicate(transaction(1, "7.00", "X"))).isTrue();
+        verify(bankTransactionRepository).findFingerprintsAfter(anyLong(), any(), anyLong(), any());
+    }
+
+    @Test
+    void fingerprintsAreLoadedAgainOnceTheTransactionsChangedOtherwise() {
+        bankTransactionDeduplicator.begin(10L).finish();
+        when(bankAccountRepository.findTransactionChangesForUpdate(10L)).thenReturn(Optional.of(1L));
+        when(bankTransactionRepository.findFingerprintsAfter(anyLong(), any(), anyLong(), any())).thenReturn(
+            List.of(existing(3L, transaction(5, "9.00", "ELSEWHERE")))
+        );
+        givenCount(5, "9.00", "ELSEWHERE", 1L);
+
+        assertThat(bankTransactionDeduplicator.begin(10L).isDuplicate(transaction(5, "9.00", "ELSEWHERE"))).isTrue();
+        verify(bankTransactionRepository, times(2)).findFingerprintsAfter(anyLong(), any(), anyLong(), any());
+    }
+
+    @Test
+    void bloomFilterHasNoFalseNegativesAndFewFalsePositives() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (long i = 0; i < 20_000; i += 2) {
+            filter.add(BankTransactionDeduplicator.fingerprint(DAY, BigDecimal.valueOf(i), TransactionDirection.DEBIT, null));
+        }
+
+        int falsePositives = 0;
+        for (long i = 0; i < 20_000; i++) {
+            boolean found = filter.mightContain(
+                BankTransactionDeduplicator.fingerprint(DAY, BigDecimal.valueOf(i), TransactionDirection.DEBIT, null)
+            );
+            if (i % 2 == 0) {
+                assertThat(found).isTrue();
+            } else if (found) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives).isLessThan(200);
+    }
+
+    private void givenCount(int day, String amount, String reference, long count) {
+        when(
+            bankTransactionRepository.countByFingerprint(
+                10L,
+                DAY.plus(day, ChronoUnit.DAYS),
+                new BigDecimal(amount),
+                TransactionDirection.CREDIT,
+                reference
+            )
+        ).thenReturn(count);
+    }
+
+    private static BankTransaction transaction(int day, String amount, String reference) {
+        return new BankTransaction()
+            .bankAccountId(10L)
+            .transactionDate(DAY.plus(day, ChronoUnit.DAYS))
+            .amount(new BigDecimal(amount))
+            .direction(TransactionDirection.CREDIT)
+            .reference(reference);
+    }
+
+    private static TransactionFingerprint existing(Long id, BankTransaction transaction) {
+        return new TransactionFingerprint() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Instant getTransactionDate() {
+                return transaction.getTransactionDate();
+            }
+
+            @Override
+            public BigDecimal getAmount() {
+                return transaction.getAmount();
+            }
+
+            @Override
+            public TransactionDirection getDirection() {
+                return transaction.getDirection();
+            }
+
+            @Override
+            public String getReference() {
+                return transaction.getReference();
+            }
+        };
+    }
+}
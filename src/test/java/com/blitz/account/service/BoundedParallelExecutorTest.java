@@ -0,0 +1,52 @@
+package com.blitz.account.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class BoundedParallelExecutorTest {
+
+    @Test
+    void runsNoMoreTasksAtOnceThanTheParallelism() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        try (BoundedParallelExecutor workers = new BoundedParallelExecutor(3)) {
+            for (int i = 0; i < 20; i++) {
+                workers.submit(() -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(5);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return running.decrementAndGet();
+                });
+                assertThat(running.get()).isLessThanOrEqualTo(3);
+            }
+            workers.join();
+
+            assertThat(workers.submitted()).isEqualTo(20);
+        }
+        assertThat(maxRunning.get()).isBetween(1, 3);
+        assertThat(running.get()).isZero();
+    }
+
+    @Test
+    void joinFailsWithTheFirstFailedTaskOnceAllComplete() {
+        AtomicInteger completed = new AtomicInteger();
+        try (BoundedParallelExecutor workers = new BoundedParallelExecutor(2)) {
+            workers.submit(() -> {
+                throw new IllegalStateException("failed");
+            });
+            for (int i = 0; i < 5; i++) {
+                workers.submit(completed::incrementAndGet);
+            }
+
+            assertThatThrownBy(workers::join).isInstanceOf(CompletionException.class).hasCauseInstanceOf(IllegalStateException.class);
+            assertThat(completed.get()).isEqualTo(5);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.blitz.account.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+import com.blitz.account.domain.Budget;
+import com.blitz.account.repository.BudgetRepository;
+import com.blitz.account.repository.BudgetRepository.BudgetActual;
+import com.blitz.account.service.dto.BudgetVarianceDTO;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BudgetVarianceServiceTest {
+
+    private static final Instant AS_OF = Instant.parse("2025-06-15T00:00:00Z");
+
+    private BudgetRepository budgetRepository;
+
+    private BudgetVarianceService budgetVarianceService;
+
+    private final Budget rent = budget(1L, 10L, "1200.00");
+
+    private final Budget travel = budget(2L, 20L, "500.00");
+
+    @BeforeEach
+    void setup() {
+        budgetRepository = mock(BudgetRepository.class);
+        when(budgetRepository.findActive(AS_OF)).thenReturn(List.of(rent, travel));
+        when(budgetRepository.sumJournalActuals(anyCollection())).thenReturn(List.of(actual(1L, "300.00")));
+        when(budgetRepository.sumTransactionActuals(anyCollection())).thenReturn(List.of(actual(1L, "100.00"), actual(2L, "50.00")));
+        budgetVarianceService = new BudgetVarianceService(budgetRepository);
+    }
+
+    @Test
+    void computesAllActualsWithOneQueryPerSource() {
+        List<BudgetVarianceDTO> variances = budgetVarianceService.findActive(AS_OF);
+
+        assertThat(variances).extracting(BudgetVarianceDTO::getActual).containsExactly(new BigDecimal("400.00"), new BigDecimal("50.00"));
+        assertThat(variances.get(0).getVariance()).isEqualByComparingTo("800.00");
+        assertThat(variances.get(0).getConsumedPercent()).isEqualByComparingTo("33.33");
+        verify(budgetRepository).sumJournalActuals(List.of(1L, 2L));
+        verify(budgetRepository).sumTransactionActuals(List.of(1L, 2L));
+    }
+
+    @Test
+    void servesCachedVariances() {
+        budgetVarianceService.findActive(AS_OF);
+        budgetVarianceService.findActive(AS_OF);
+
+        verify(budgetRepository, times(1)).sumJournalActuals(anyCollection());
+    }
+
+    @Test
+    void refreshesOnlyBudgetsOfPostedAccounts() {
+        budgetVarianceService.findActive(AS_OF);
+
+        budgetVarianceService.invalidateAccounts(List.of(20L));
+        budgetVarianceService.findActive(AS_OF);
+
+        verify(budgetRepository).sumJournalActuals(List.of(2L));
+        verify(budgetRepository).sumTransactionActuals(List.of(2L));
+    }
+
+    @Test
+    void refreshesChangedBudgets() {
+        budgetVarianceService.findActive(AS_OF);
+
+        budgetVarianceService.invalidateBudget(1L);
+        budgetVarianceService.findActive(AS_OF);
+
+        verify(budgetRepository).sumJournalActuals(List.of(1L));
+    }
+
+    @Test
+    void doesNotCacheVariancesOfAccountsPostedWhileComputing() {
+        when(budgetRepository.sumJournalActuals(anyCollection()))
+            .thenAnswer(invocation -> {
+                // a posting commits, then a concurrent refresh computes and caches the new actual
+                budgetVarianceService.invalidateAccounts(List.of(10L));
+                budgetVarianceService.findActive(AS_OF);
+                return List.of(actual(1L, "300.00"));
+            })
+            .thenReturn(List.of(actual(1L, "350.00")));
+
+        budgetVarianceService.findActive(AS_OF);
+
+        assertThat(budgetVarianceService.findActive(AS_OF).get(0).getActual()).isEqualByComparingTo("450.00");
+        verify(budgetRepository, times(2)).sumJournalActuals(anyCollection());
+    }
+
+    @Test
+    void doesNotCacheBudgetsChangedWhileComputing() {
+        when(budgetRepository.sumJournalActuals(anyCollection()))
+            .thenAnswer(invocation -> {
+                budgetVarianceService.invalidateBudget(2L);
+                return List.of(actual(1L, "300.00"));
+            })
+            .thenReturn(List.of());
+
+        budgetVarianceService.findActive(AS_OF);
+        budgetVarianceService.findActive(AS_OF);
+
+        verify(budgetRepository).sumJournalActuals(List.of(2L));
+    }
+
+    private static Budget budget(Long id, Long accountId, String amount) {
+        return new Budget()
+            .id(id)
+            .name("Budget " + id)
+            .accountId(accountId)
+            .startDate(Instant.parse("2025-01-01T00:00:00Z"))
+            .endDate(Instant.parse("2025-12-31T00:00:00Z"))
+            .amount(new BigDecimal(amount));
+    }
+
+    private static BudgetActual actual(Long budgetId, String actual) {
+        return new BudgetActual() {
+            @Override
+            public Long getBudgetId() {
+                return budgetId;
+            }
+
+            @Override
+            public BigDecimal getActual() {
+                return new BigDecimal(actual);
+            }
+        };
+    }
+}
@@ -0,0 +1,131 @@
+package com.blitz.account.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import com.blitz.account.domain.ChartOfAccount;
+import com.blitz.account.domain.enumeration.AccountType;
+import com.blitz.account.repository.ChartOfAccountRepository;
+import com.blitz.account.service.LedgerMovementEvent.Movement;
+import com.blitz.account.service.dto.AccountCodeNodeDTO;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ChartOfAccountHierarchyServiceTest {
+
+    private ChartOfAccountRepository chartOfAccountRepository;
+
+    private ChartOfAccountHierarchyService chartOfAccountHierarchyService;
+
+    @BeforeEach
+    void setup() {
+        chartOfAccountRepository = mock(ChartOfAccountRepository.class);
+        when(chartOfAccountRepository.findAll()).thenReturn(
+            List.of(
+                account(1L, "4000", AccountType.INCOME, "10.00"),
+                account(2L, "4100", AccountType.INCOME, "20.00"),
+                account(3L, "4110", AccountType.INCOME, "30.00"),
+                account(4L, "4200", AccountType.INCOME, "40.00"),
+                account(5L, "5000", AccountType.EXPENSE, "5.00")
+            )
+        );
+        chartOfAccountHierarchyService = new ChartOfAccountHierarchyService(chartOfAccountRepository);
+    }
+
+    @Test
+    void rollsUpTheAccountsOfAPrefix() {
+        AccountCodeNodeDTO node = chartOfAccountHierarchyService.findNode("41").orElseThrow();
+
+        assertThat(node.getBalance()).isEqualByComparingTo("50.00");
+        assertThat(node.getAccountCount()).isEqualTo(2);
+        assertThat(node.getAccountIds()).isEmpty();
+        assertThat(node.getChildren()).extracting(AccountCodeNodeDTO::getPrefix).containsExactly("410", "411");
+
+        AccountCodeNodeDTO root = chartOfAccountHierarchyService.findNode("").orElseThrow();
+        assertThat(root.getBalance()).isEqualByComparingTo("105.00");
+        assertThat(root.getChildren()).extracting(AccountCodeNodeDTO::getPrefix).containsExactly("4", "5");
+        assertThat(chartOfAccountHierarchyService.findNode("4110").orElseThrow().getAccountIds()).containsExactly(3L);
+        assertThat(chartOfAccountHierarchyService.findNode("43")).isEmpty();
+    }
+
+    @Test
+    void addsMovesAndRemovesAccountsIncrementally() {
+        chartOfAccountHierarchyService.findNode("");
+
+        chartOfAccountHierarchyService.put(account(6L, "4120", AccountType.INCOME, "1.00"));
+        chartOfAccountHierarchyService.put(account(2L, "4300", AccountType.INCOME, "20.00"));
+        chartOfAccountHierarchyService.remove(4L);
+
+        assertThat(chartOfAccountHierarchyService.findNode("41").orElseThrow().getBalance()).isEqualByComparingTo("31.00");
+        assertThat(chartOfAccountHierarchyService.findNode("4300").orElseThrow().getAccountIds()).containsExactly(2L);
+        assertThat(chartOfAccountHierarchyService.findNode("42")).isEmpty();
+        assertThat(chartOfAccountHierarchyService.findNode("4").orElseThrow().getAccountCount()).isEqualTo(4);
+        verify(chartOfAccountRepository, times(1)).findAll();
+    }
+
+    @Test
+    void movesBalancesWithCommittedPostings() {
+        chartOfAccountHierarchyService.findNode("");
+
+        chartOfAccountHierarchyService.onLedgerMovement(
+            new LedgerMovementEvent(
+                List.of(
+                    Movement.journalLine(3L, Instant.parse("2025-01-10T00:00:00Z"), null, new BigDecimal("7.00")),
+                    Movement.journalLine(5L, Instant.parse("2025-01-10T00:00:00Z"), new BigDecimal("7.00"), null),
+                    Movement.transaction(4L, 1L, Instant.parse("2025-01-10T00:00:00Z"), null, new BigDecimal("99.00"))
+                )
+            )
+        );
+
+        assertThat(chartOfAccountHierarchyService.findNode("411").orElseThrow().getBalance()).isEqualByComparingTo("37.00");
+        assertThat(chartOfAccountHierarchyService.findNode("4").orElseThrow().getBalance()).isEqualByComparingTo("107.00");
+        assertThat(chartOfAccountHierarchyService.findNode("5").orElseThrow().getBalance()).isEqualByComparingTo("12.00");
+    }
+
+    @Test
+    void countsPostingsCommittedWhileLoadingOnce() throws InterruptedException {
+        Instant date = Instant.parse("2025-01-10T00:00:00Z");
+        LedgerMovementEvent loaded = new LedgerMovementEvent(
+            List.of(Movement.journalLine(3L, date, null, new BigDecimal("7.00"))),
+            Map.of(3L, 2L)
+        );
+        LedgerMovementEvent committedAfter = new LedgerMovementEvent(
+            List.of(Movement.journalLine(3L, date, null, new BigDecimal("1.00"))),
+            Map.of(3L, 3L)
+        );
+        Thread[] listener = new Thread[1];
+        when(chartOfAccountRepository.findAll()).thenAnswer(invocation -> {
+            // the posting committed before the balances are read, its listener waits for the load
+            listener[0] = new Thread(() -> chartOfAccountHierarchyService.onLedgerMovement(loaded));
+            listener[0].start();
+            while (listener[0].getState() != Thread.State.WAITING) {
+                Thread.onSpinWait();
+            }
+            return List.of(account(3L, "4110", AccountType.INCOME, "37.00").version(2L));
+        });
+
+        chartOfAccountHierarchyService.findNode("");
+        listener[0].join();
+        chartOfAccountHierarchyService.onLedgerMovement(committedAfter);
+
+        assertThat(chartOfAccountHierarchyService.findNode("4110").orElseThrow().getBalance()).isEqualByComparingTo("38.00");
+    }
+
+    @Test
+    void reloadsOnceInvalidated() {
+        chartOfAccountHierarchyService.findNode("");
+
+        chartOfAccountHierarchyService.invalidate();
+        chartOfAccountHierarchyService.findNode("");
+
+        verify(chartOfAccountRepository, times(2)).findAll();
+    }
+
+    private static ChartOfAccount account(Long id, String code, AccountType accountType, String currentBalance) {
+        return new ChartOfAccount().id(id).code(code).name("Account " + code).accountType(accountType).currentBalance(new BigDecimal(currentBalance));
+    }
+}
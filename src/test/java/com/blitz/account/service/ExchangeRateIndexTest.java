@@ -0,0 +1,86 @@
+package com.blitz.account.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import org.junit.jupiter.api.Test;
+
+class ExchangeRateIndexTest {
+
+    private static final long EUR = 1L;
+
+    private static final long USD = 2L;
+
+    private static final long GBP = 3L;
+
+    private static final long JPY = 4L;
+
+    private static final Instant DAY = Instant.parse("2026-03-10T00:00:00Z");
+
+    private final ExchangeRateIndex index = new ExchangeRateIndex(USD);
+
+    @Test
+    void findsTheRateEffectiveAtAnInstant() {
+        index.put(1L, EUR, USD, day(0), new BigDecimal("1.10"));
+        index.put(3L, EUR, USD, day(2), new BigDecimal("1.30"));
+        index.put(2L, EUR, USD, day(1), new BigDecimal("1.20"));
+
+        assertThat(index.rate(EUR, USD, day(0).minusSeconds(1))).isNull();
+        assertThat(index.rate(EUR, USD, day(0)).rate()).isEqualByComparingTo("1.10");
+        assertThat(index.rate(EUR, USD, day(1).minusSeconds(1)).rate()).isEqualByComparingTo("1.10");
+        assertThat(index.rate(EUR, USD, day(1).plusSeconds(1)).rate()).isEqualByComparingTo("1.20");
+        assertThat(index.rate(EUR, USD, day(30)).rate()).isEqualByComparingTo("1.30");
+    }
+
+    @Test
+    void theLatestRateOfADateWins() {
+        index.put(2L, EUR, USD, day(0), new BigDecimal("1.20"));
+        index.put(1L, EUR, USD, day(0), new BigDecimal("1.10"));
+
+        assertThat(index.rate(EUR, USD, day(0)).rate()).isEqualByComparingTo("1.20");
+    }
+
+    @Test
+    void movesAndRemovesRates() {
+        index.put(1L, EUR, USD, day(0), new BigDecimal("1.10"));
+        index.put(2L, EUR, USD, day(1), new BigDecimal("1.20"));
+
+        index.put(2L, EUR, USD, day(5), new BigDecimal("1.25"));
+        assertThat(index.rate(EUR, USD, day(3)).rate()).isEqualByComparingTo("1.10");
+        assertThat(index.rate(EUR, USD, day(5)).rate()).isEqualByComparingTo("1.25");
+
+        index.remove(1L);
+        assertThat(index.rate(EUR, USD, day(3))).isNull();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void invertsTheReversePair() {
+        index.put(1L, USD, EUR, day(0), new BigDecimal("0.80"));
+
+        ExchangeRateIndex.Rate rate = index.rate(EUR, USD, day(0));
+
+        assertThat(rate.rate()).isEqualByComparingTo("1.25");
+        assertThat(rate.pivotCurrencyId()).isNull();
+    }
+
+    @Test
+    void triangulatesThroughThePivotCurrency() {
+        index.put(1L, EUR, USD, day(0), new BigDecimal("1.10"));
+        index.put(2L, GBP, USD, day(0), new BigDecimal("1.25"));
+        index.put(3L, EUR, USD, day(1), new BigDecimal("1.20"));
+
+        ExchangeRateIndex.Rate rate = index.rate(EUR, GBP, day(1));
+
+        assertThat(rate.rate()).isEqualByComparingTo("0.96");
+        assertThat(rate.pivotCurrencyId()).isEqualTo(USD);
+        assertThat(index.rate(EUR, JPY, day(1))).isNull();
+        assertThat(index.rate(EUR, EUR, day(1)).rate()).isEqualByComparingTo(BigDecimal.ONE);
+    }
+
+    private static Instant day(int day) {
+        return DAY.plus(day, ChronoUnit.DAYS);
+    }
+}
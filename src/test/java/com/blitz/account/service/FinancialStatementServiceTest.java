@@ -0,0 +1,189 @@
+package com.blitz.account.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.blitz.account.domain.ChartOfAccount;
+import com.blitz.account.domain.enumeration.AccountType;
+import com.blitz.account.repository.ChartOfAccountRepository;
+import com.blitz.account.service.LedgerMovementEvent.Movement;
+import com.blitz.account.service.dto.FinancialStatementDTO;
+import com.blitz.account.service.dto.FinancialStatementLineDTO;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.cache.Caching;
+import javax.cache.configuration.MutableConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.jcache.JCacheCacheManager;
+import org.springframework.data.domain.Sort;
+
+class FinancialStatementServiceTest {
+
+    private static final Instant JANUARY = Instant.parse("2025-01-01T00:00:00Z");
+
+    private static final Instant FEBRUARY = Instant.parse("2025-02-01T00:00:00Z");
+
+    private javax.cache.CacheManager jcacheManager;
+
+    private AccountBalanceSnapshotService accountBalanceSnapshotService;
+
+    private FinancialStatementService financialStatementService;
+
+    @BeforeEach
+    void setup() {
+        jcacheManager = Caching.getCachingProvider().getCacheManager();
+        jcacheManager.createCache(FinancialStatementService.NET_DEBIT_BY_ACCOUNT_CACHE, new MutableConfiguration<>());
+        JCacheCacheManager cacheManager = new JCacheCacheManager(jcacheManager);
+        cacheManager.afterPropertiesSet();
+
+        ChartOfAccountRepository chartOfAccountRepository = mock(ChartOfAccountRepository.class);
+        when(chartOfAccountRepository.findAll(any(Sort.class))).thenReturn(
+            List.of(
+                account(1L, "1000", AccountType.ASSET, null),
+                account(2L, "1100", AccountType.ASSET, "100.00"),
+                account(3L, "2000", AccountType.LIABILITY, null),
+                account(4L, "3000", AccountType.EQUITY, "100.00"),
+                account(5L, "4000", AccountType.INCOME, null),
+                account(6L, "4100", AccountType.INCOME, null),
+                account(7L, "5000", AccountType.EXPENSE, null)
+            )
+        );
+        accountBalanceSnapshotService = mock(AccountBalanceSnapshotService.class);
+        when(accountBalanceSnapshotService.findNetDebitByAccountBefore(any())).thenReturn(new HashMap<>());
+        when(accountBalanceSnapshotService.findNetDebitByAccountBefore(FEBRUARY)).thenReturn(
+            new HashMap<>(Map.of(2L, new BigDecimal("80.00"), 6L, new BigDecimal("-100.00"), 7L, new BigDecimal("20.00")))
+        );
+        financialStatementService = new FinancialStatementService(chartOfAccountRepository, accountBalanceSnapshotService, cacheManager);
+    }
+
+    @AfterEach
+    void cleanup() {
+        jcacheManager.destroyCache(FinancialStatementService.NET_DEBIT_BY_ACCOUNT_CACHE);
+    }
+
+    @Test
+    void rollsTheProfitAndLossUpTheCodeHierarchy() {
+        FinancialStatementDTO statement = financialStatementService.profitAndLoss(
+            LocalDate.parse("2025-01-01"),
+            LocalDate.parse("2025-01-31"),
+            null,
+            null
+        );
+
+        assertThat(statement.getLines())
+            .extracting(
+                FinancialStatementLineDTO::getCode,
+                FinancialStatementLineDTO::getParentAccountId,
+                FinancialStatementLineDTO::getLevel,
+                FinancialStatementLineDTO::getBalance
+            )
+            .containsExactly(
+                tuple("4000", null, 0, new BigDecimal("100.00")),
+                tuple("4100", 5L, 1, new BigDecimal("100.00")),
+                tuple("5000", null, 0, new BigDecimal("20.00"))
+            );
+        assertThat(statement.getTotals()).containsEntry(AccountType.INCOME, new BigDecimal("100.00"));
+        assertThat(statement.getNetIncome()).isEqualByComparingTo("80.00");
+        assertThat(statement.getComparativeTotals()).isNull();
+    }
+
+    @Test
+    void balancesTheBalanceSheetWithTheNetIncome() {
+        FinancialStatementDTO statement = financialStatementService.balanceSheet(LocalDate.parse("2025-01-31"), null);
+
+        assertThat(statement.getLines())
+            .extracting(FinancialStatementLineDTO::getCode, FinancialStatementLineDTO::getBalance)
+            .containsExactly(
+                tuple("1000", new BigDecimal("180.00")),
+                tuple("1100", new BigDecimal("180.00")),
+                tuple("2000", BigDecimal.ZERO),
+                tuple("3000", new BigDecimal("100.00"))
+            );
+        assertThat(statement.getTotals().get(AccountType.ASSET)).isEqualByComparingTo("180.00");
+        assertThat(statement.getTotals().get(AccountType.EQUITY)).isEqualByComparingTo("100.00");
+        assertThat(statement.getNetIncome()).isEqualByComparingTo("80.00");
+    }
+
+    @Test
+    void comparesWithAnotherPeriod() {
+        FinancialStatementDTO statement = financialStatementService.profitAndLoss(
+            LocalDate.parse("2025-01-01"),
+            LocalDate.parse("2025-01-31"),
+            LocalDate.parse("2024-12-01"),
+            LocalDate.parse("2024-12-31")
+        );
+
+        assertThat(statement.getComparativeFrom()).isEqualTo(LocalDate.parse("2024-12-01"));
+        assertThat(statement.getLines().get(0).getComparativeBalance()).isEqualByComparingTo("0");
+        assertThat(statement.getComparativeTotals()).containsEntry(AccountType.INCOME, BigDecimal.ZERO);
+        assertThat(statement.getComparativeNetIncome()).isEqualByComparingTo("0");
+    }
+
+    @Test
+    void sharesCachedNetDebitsBetweenStatements() {
+        financialStatementService.profitAndLoss(LocalDate.parse("2025-01-01"), LocalDate.parse("2025-01-31"), null, null);
+        financialStatementService.balanceSheet(LocalDate.parse("2025-01-31"), LocalDate.parse("2024-12-31"));
+
+        verify(accountBalanceSnapshotService, times(1)).findNetDebitByAccountBefore(JANUARY);
+        verify(accountBalanceSnapshotService, times(1)).findNetDebitByAccountBefore(FEBRUARY);
+    }
+
+    @Test
+    void dropsOnlyTheDaysAfterAPosting() {
+        financialStatementService.profitAndLoss(LocalDate.parse("2025-01-01"), LocalDate.parse("2025-01-31"), null, null);
+
+        financialStatementService.onLedgerMovement(
+            new LedgerMovementEvent(List.of(Movement.journalLine(2L, Instant.parse("2025-01-15T10:00:00Z"), BigDecimal.TEN, null)))
+        );
+        financialStatementService.onLedgerMovement(
+            new LedgerMovementEvent(List.of(Movement.transaction(2L, 1L, Instant.parse("2024-06-01T10:00:00Z"), null, BigDecimal.TEN)))
+        );
+        financialStatementService.profitAndLoss(LocalDate.parse("2025-01-01"), LocalDate.parse("2025-01-31"), null, null);
+
+        verify(accountBalanceSnapshotService, times(1)).findNetDebitByAccountBefore(JANUARY);
+        verify(accountBalanceSnapshotService, times(2)).findNetDebitByAccountBefore(FEBRUARY);
+    }
+
+    @Test
+    void doesNotCacheNetDebitsReadBeforeAPostingCommitted() {
+        Map<Long, BigDecimal> stale = Map.of(7L, new BigDecimal("20.00"));
+        when(accountBalanceSnapshotService.findNetDebitByAccountBefore(FEBRUARY))
+            .thenAnswer(invocation -> {
+                // a posting of mid January commits while the net debits are read
+                financialStatementService.onLedgerMovement(
+                    new LedgerMovementEvent(List.of(Movement.journalLine(7L, Instant.parse("2025-01-15T10:00:00Z"), BigDecimal.TEN, null)))
+                );
+                return new HashMap<>(stale);
+            })
+            .thenReturn(new HashMap<>(Map.of(7L, new BigDecimal("30.00"))));
+
+        financialStatementService.profitAndLoss(LocalDate.parse("2025-01-01"), LocalDate.parse("2025-01-31"), null, null);
+        FinancialStatementDTO statement = financialStatementService.profitAndLoss(
+            LocalDate.parse("2025-01-01"),
+            LocalDate.parse("2025-01-31"),
+            null,
+            null
+        );
+
+        assertThat(statement.getTotals().get(AccountType.EXPENSE)).isEqualByComparingTo("30.00");
+        verify(accountBalanceSnapshotService, times(1)).findNetDebitByAccountBefore(JANUARY);
+        verify(accountBalanceSnapshotService, times(2)).findNetDebitByAccountBefore(FEBRUARY);
+    }
+
+    private static ChartOfAccount account(Long id, String code, AccountType accountType, String initialBalance) {
+        return new ChartOfAccount()
+            .id(id)
+            .code(code)
+            .name("Account " + code)
+            .accountType(accountType)
+            .initialBalance(initialBalance != null ? new BigDecimal(initialBalance) : null);
+    }
+}
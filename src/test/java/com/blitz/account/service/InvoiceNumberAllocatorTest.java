@@ -0,0 +1,178 @@
+package com.blitz.account.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.blitz.account.config.ApplicationProperties;
+import com.blitz.account.domain.InvoiceNumberBlock;
+import com.blitz.account.repository.InvoiceNumberBlockRepository;
+import com.blitz.account.repository.InvoiceNumberSeriesRepository;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class InvoiceNumberAllocatorTest {
+
+    private static final Instant ISSUE_DATE = Instant.parse("2026-03-15T10:00:00Z");
+
+    private final AtomicLong nextNumber = new AtomicLong(1);
+
+    private InvoiceNumberSeriesRepository invoiceNumberSeriesRepository;
+
+    private InvoiceNumberBlockRepository invoiceNumberBlockRepository;
+
+    private InvoiceNumberAllocator invoiceNumberAllocator;
+
+    @BeforeEach
+    void setup() {
+        invoiceNumberSeriesRepository = mock(InvoiceNumberSeriesRepository.class);
+        when(invoiceNumberSeriesRepository.reserve(eq("INV"), eq(2026), anyLong())).thenAnswer(invocation -> {
+            nextNumber.addAndGet(invocation.<Long>getArgument(2));
+            return 1;
+        });
+        when(invoiceNumberSeriesRepository.findNextNumber("INV", 2026)).thenAnswer(invocation -> Optional.of(nextNumber.get()));
+        invoiceNumberBlockRepository = mock(InvoiceNumberBlockRepository.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getInvoice().setNumberBlockSize(50);
+        invoiceNumberAllocator = new InvoiceNumberAllocator(
+            invoiceNumberSeriesRepository,
+            invoiceNumberBlockRepository,
+            applicationProperties,
+            transactionManager
+        );
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void allocatesConsecutiveNumbersConcurrently() {
+        ExecutorService workers = Executors.newFixedThreadPool(8);
+        ConcurrentLinkedQueue<Long> numbers = new ConcurrentLinkedQueue<>();
+        try {
+            List<CompletableFuture<Void>> allocations = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                allocations.add(
+                    CompletableFuture.runAsync(
+                        () -> {
+                            for (int j = 0; j < 1250; j++) {
+                                numbers.add(invoiceNumberAllocator.allocate("INV", 2026));
+                            }
+                        },
+                        workers
+                    )
+                );
+            }
+            CompletableFuture.allOf(allocations.toArray(CompletableFuture[]::new)).join();
+        } finally {
+            workers.shutdown();
+        }
+
+        assertThat(numbers).containsExactlyInAnyOrderElementsOf(LongStream.rangeClosed(1, 10_000).boxed().toList());
+        verify(invoiceNumberSeriesRepository, times(200)).reserve("INV", 2026, 50L);
+    }
+
+    @Test
+    void formatsTheNumberWithTheSeriesAndYear() {
+        assertThat(invoiceNumberAllocator.allocate(ISSUE_DATE)).isEqualTo("INV-2026-000001");
+        assertThat(invoiceNumberAllocator.allocate(ISSUE_DATE)).isEqualTo("INV-2026-000002");
+    }
+
+    @Test
+    void handsOutAgainTheNumbersOfRolledBackTransactions() {
+        TransactionSynchronizationManager.initSynchronization();
+        assertThat(invoiceNumberAllocator.allocate(ISSUE_DATE)).isEqualTo("INV-2026-000001");
+        TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK)
+        );
+        TransactionSynchronizationManager.clearSynchronization();
+
+        assertThat(invoiceNumberAllocator.allocate(ISSUE_DATE)).isEqualTo("INV-2026-000001");
+        assertThat(invoiceNumberAllocator.allocate(ISSUE_DATE)).isEqualTo("INV-2026-000002");
+    }
+
+    @Test
+    void givesTheUnusedNumbersBackToTheCounterOnShutdown() {
+        when(invoiceNumberSeriesRepository.release("INV", 2026, 4L, 51L)).thenReturn(1);
+        for (int i = 0; i < 3; i++) {
+            invoiceNumberAllocator.allocate("INV", 2026);
+        }
+
+        invoiceNumberAllocator.release();
+
+        verify(invoiceNumberSeriesRepository).release("INV", 2026, 4L, 51L);
+        verify(invoiceNumberBlockRepository, never()).save(any());
+    }
+
+    @Test
+    void savesTheUnusedNumbersAsABlockWhenTheCounterMovedOn() {
+        for (int i = 0; i < 3; i++) {
+            invoiceNumberAllocator.allocate("INV", 2026);
+        }
+        invoiceNumberAllocator.giveBack("INV", 2026, 2L);
+
+        invoiceNumberAllocator.release();
+
+        verify(invoiceNumberBlockRepository).save(
+            argThat(block -> block.getFirstNumber() == 4L && block.getEndNumber() == 51L && block.getYear() == 2026)
+        );
+        verify(invoiceNumberBlockRepository).save(
+            argThat(block -> block.getFirstNumber() == 2L && block.getEndNumber() == 3L && "INV".equals(block.getSeries()))
+        );
+    }
+
+    @Test
+    void allocatesNoMoreNumbersOnceReleased() {
+        when(invoiceNumberSeriesRepository.release("INV", 2026, 2L, 51L)).thenReturn(1);
+        when(invoiceNumberSeriesRepository.release("INV", 2026, 1L, 2L)).thenReturn(1);
+        invoiceNumberAllocator.allocate("INV", 2026);
+
+        invoiceNumberAllocator.release();
+        invoiceNumberAllocator.giveBack("INV", 2026, 1L);
+
+        assertThatThrownBy(() -> invoiceNumberAllocator.allocate("INV", 2026)).isInstanceOf(IllegalStateException.class);
+        verify(invoiceNumberSeriesRepository).release("INV", 2026, 2L, 51L);
+        verify(invoiceNumberSeriesRepository).release("INV", 2026, 1L, 2L);
+        verify(invoiceNumberSeriesRepository, times(1)).reserve(anyString(), anyInt(), anyLong());
+    }
+
+    @Test
+    void handsOutReleasedBlocksFirst() {
+        when(invoiceNumberBlockRepository.findFirstBySeriesAndYearOrderByFirstNumberAsc("INV", 2026)).thenReturn(
+            Optional.of(new InvoiceNumberBlock().id(7L).series("INV").year(2026).firstNumber(20L).endNumber(22L)),
+            Optional.empty()
+        );
+        when(invoiceNumberBlockRepository.claim(7L)).thenReturn(1);
+
+        assertThat(invoiceNumberAllocator.allocate("INV", 2026)).isEqualTo(20L);
+        assertThat(invoiceNumberAllocator.allocate("INV", 2026)).isEqualTo(21L);
+        assertThat(invoiceNumberAllocator.allocate("INV", 2026)).isEqualTo(1L);
+        verify(invoiceNumberSeriesRepository, times(1)).reserve(anyString(), anyInt(), anyLong());
+    }
+}
@@ -0,0 +1,123 @@
+package com.blitz.account.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.blitz.account.IntegrationTest;
+import com.blitz.account.config.ApplicationProperties;
+import com.blitz.account.repository.InvoiceNumberBlockRepository;
+import com.blitz.account.repository.InvoiceNumberSeriesRepository;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Compares the throughput of allocating invoice numbers from a counter locked for every number with
+ * {@link InvoiceNumberAllocator} blocks, on two allocators standing for two nodes. The rates are logged, the assertions
+ * only check that both modes allocate the numbers without gaps nor duplicates, including after a shutdown.
+ */
+@IntegrationTest
+class InvoiceNumberAllocatorThroughputIT {
+
+    private static final Logger LOG = LoggerFactory.getLogger(InvoiceNumberAllocatorThroughputIT.class);
+
+    private static final int THREADS = 8;
+
+    private static final int NUMBERS_PER_THREAD = 249;
+
+    private static final Instant ISSUE_DATE = Instant.parse("2024-03-15T10:00:00Z");
+
+    @Autowired
+    private InvoiceNumberSeriesRepository invoiceNumberSeriesRepository;
+
+    @Autowired
+    private InvoiceNumberBlockRepository invoiceNumberBlockRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void cleanup() {
+        invoiceNumberBlockRepository.deleteAll(
+            invoiceNumberBlockRepository.findAll().stream().filter(block -> block.getSeries().startsWith("THROUGHPUT")).toList()
+        );
+        invoiceNumberSeriesRepository.deleteAll(
+            invoiceNumberSeriesRepository.findAll().stream().filter(series -> series.getSeries().startsWith("THROUGHPUT")).toList()
+        );
+    }
+
+    @Test
+    void allocateNumbersOneByOne() {
+        allocateNumbers("THROUGHPUT-ONE", 1);
+    }
+
+    @Test
+    void allocateNumbersInBlocks() {
+        allocateNumbers("THROUGHPUT-BLOCK", 50);
+    }
+
+    private void allocateNumbers(String series, int blockSize) {
+        List<InvoiceNumberAllocator> nodes = List.of(allocator(series, blockSize), allocator(series, blockSize));
+        ConcurrentLinkedQueue<String> numbers = new ConcurrentLinkedQueue<>();
+        ExecutorService workers = Executors.newFixedThreadPool(THREADS);
+        long start = System.nanoTime();
+        try {
+            List<CompletableFuture<Void>> allocations = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                InvoiceNumberAllocator node = nodes.get(i % nodes.size());
+                allocations.add(
+                    CompletableFuture.runAsync(
+                        () -> {
+                            for (int j = 0; j < NUMBERS_PER_THREAD; j++) {
+                                numbers.add(node.allocate(ISSUE_DATE));
+                            }
+                        },
+                        workers
+                    )
+                );
+            }
+            CompletableFuture.allOf(allocations.toArray(CompletableFuture[]::new)).join();
+        } finally {
+            workers.shutdown();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        LOG.info(
+            "Allocated {} invoice numbers in blocks of {}: {} numbers/s",
+            numbers.size(),
+            blockSize,
+            Math.round(numbers.size() / seconds)
+        );
+
+        nodes.forEach(InvoiceNumberAllocator::release);
+        InvoiceNumberAllocator restarted = allocator(series, blockSize);
+        for (int i = 0; i < 10; i++) {
+            numbers.add(restarted.allocate(ISSUE_DATE));
+        }
+        restarted.release();
+
+        assertThat(numbers.stream().map(number -> Long.parseLong(number.substring(number.lastIndexOf('-') + 1))).sorted())
+            .containsExactlyElementsOf(LongStream.rangeClosed(1, THREADS * NUMBERS_PER_THREAD + 10L).boxed().toList());
+    }
+
+    private InvoiceNumberAllocator allocator(String series, int blockSize) {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getInvoice().setNumberSeries(series);
+        applicationProperties.getInvoice().setNumberBlockSize(blockSize);
+        return new InvoiceNumberAllocator(
+            invoiceNumberSeriesRepository,
+            invoiceNumberBlockRepository,
+            applicationProperties,
+            transactionManager
+        );
+    }
+}
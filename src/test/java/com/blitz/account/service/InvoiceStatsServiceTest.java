@@ -0,0 +1,177 @@
+package com.blitz.account.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.blitz.account.domain.enumeration.PaymentStatus;
+import com.blitz.account.repository.InvoiceRepository;
+import com.blitz.account.repository.InvoiceRepository.AmountDue;
+import com.blitz.account.repository.InvoiceRepository.InvoiceTotals;
+import com.blitz.account.repository.InvoiceRepository.InvoiceVersion;
+import com.blitz.account.service.InvoiceChangedEvent.State;
+import com.blitz.account.service.dto.InvoiceStatsDTO;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+class InvoiceStatsServiceTest {
+
+    private static final Instant PAST = Instant.now().minus(10, ChronoUnit.DAYS);
+
+    private static final Instant SOON = Instant.now().plus(10, ChronoUnit.DAYS);
+
+    private InvoiceRepository invoiceRepository;
+
+    private InvoiceStatsService invoiceStatsService;
+
+    @BeforeEach
+    void setup() {
+        invoiceRepository = mock(InvoiceRepository.class);
+        InvoiceTotals totals = totals(3, 1, "300.00", "100.00");
+        List<AmountDue> upcoming = List.of(due(SOON, 2, "150.00"));
+        when(invoiceRepository.summarize(any())).thenReturn(totals);
+        when(invoiceRepository.sumUpcomingByDueDate(any())).thenReturn(upcoming);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        invoiceStatsService = new InvoiceStatsService(invoiceRepository, transactionManager);
+    }
+
+    @Test
+    void loadsTheStatisticsOnce() {
+        invoiceStatsService.getInvoiceStats();
+        InvoiceStatsDTO stats = invoiceStatsService.getInvoiceStats();
+
+        assertThat(stats.getOutstanding()).isEqualTo(3);
+        assertThat(stats.getOverdue()).isEqualTo(1);
+        assertThat(stats.getTotalAmount()).isEqualByComparingTo("300.00");
+        assertThat(stats.getOverdueAmount()).isEqualByComparingTo("100.00");
+        verify(invoiceRepository, times(1)).summarize(any());
+    }
+
+    @Test
+    void movesTheStatisticsWithCommittedChanges() {
+        invoiceStatsService.getInvoiceStats();
+
+        invoiceStatsService.onInvoiceChanged(new InvoiceChangedEvent(11L, 0L, null, state(PaymentStatus.UNPAID, PAST, "50.00", null)));
+        invoiceStatsService.onInvoiceChanged(
+            new InvoiceChangedEvent(
+                11L,
+                1L,
+                state(PaymentStatus.UNPAID, PAST, "50.00", null),
+                state(PaymentStatus.PARTIALLY_PAID, PAST, "50.00", "20.00")
+            )
+        );
+        invoiceStatsService.onInvoiceChanged(new InvoiceChangedEvent(12L, 0L, null, state(PaymentStatus.PAID, SOON, "40.00", "40.00")));
+        InvoiceStatsDTO stats = invoiceStatsService.getInvoiceStats();
+
+        assertThat(stats.getOutstanding()).isEqualTo(4);
+        assertThat(stats.getOverdue()).isEqualTo(2);
+        assertThat(stats.getTotalAmount()).isEqualByComparingTo("390.00");
+        assertThat(stats.getOverdueAmount()).isEqualByComparingTo("130.00");
+
+        invoiceStatsService.onInvoiceChanged(
+            new InvoiceChangedEvent(11L, 2L, state(PaymentStatus.PARTIALLY_PAID, PAST, "50.00", "20.00"), null)
+        );
+        stats = invoiceStatsService.getInvoiceStats();
+
+        assertThat(stats.getOutstanding()).isEqualTo(3);
+        assertThat(stats.getOverdue()).isEqualTo(1);
+        assertThat(stats.getOverdueAmount()).isEqualByComparingTo("100.00");
+    }
+
+    @Test
+    void countsInvoicesOverdueOnceTheirDueDatePasses() {
+        InvoiceStatsAccumulator accumulator = new InvoiceStatsAccumulator(PAST, 2, new BigDecimal("80.00"), 0, BigDecimal.ZERO);
+        accumulator.addUpcoming(PAST.plus(1, ChronoUnit.DAYS), 1, new BigDecimal("30.00"));
+        accumulator.addUpcoming(SOON, 1, new BigDecimal("50.00"));
+
+        InvoiceStatsDTO stats = accumulator.stats(Instant.now());
+
+        assertThat(stats.getOverdue()).isEqualTo(1);
+        assertThat(stats.getOverdueAmount()).isEqualByComparingTo("30.00");
+
+        accumulator.apply(state(PaymentStatus.UNPAID, SOON, "50.00", null), -1);
+        stats = accumulator.stats(SOON.plus(1, ChronoUnit.DAYS));
+
+        assertThat(stats.getOverdue()).isEqualTo(1);
+        assertThat(stats.getOverdueAmount()).isEqualByComparingTo("30.00");
+    }
+
+    @Test
+    void replacesTheRunningStatisticsWhenReconciled() {
+        invoiceStatsService.getInvoiceStats();
+        invoiceStatsService.onInvoiceChanged(new InvoiceChangedEvent(13L, 0L, null, state(PaymentStatus.UNPAID, SOON, "10.00", null)));
+
+        invoiceStatsService.reconcile();
+
+        assertThat(invoiceStatsService.getInvoiceStats().getOutstanding()).isEqualTo(3);
+        verify(invoiceRepository, times(2)).summarize(any());
+    }
+
+    @Test
+    void appliesOnlyTheChangesTheStatisticsWereNotComputedWith() {
+        InvoiceChangedEvent read = new InvoiceChangedEvent(21L, 4L, null, state(PaymentStatus.UNPAID, SOON, "10.00", null));
+        InvoiceChangedEvent committingRead = new InvoiceChangedEvent(22L, 7L, null, state(PaymentStatus.UNPAID, SOON, "20.00", null));
+        InvoiceChangedEvent committingNotRead = new InvoiceChangedEvent(
+            23L,
+            3L,
+            state(PaymentStatus.UNPAID, SOON, "30.00", null),
+            state(PaymentStatus.PAID, SOON, "30.00", "30.00")
+        );
+        InvoiceChangedEvent deletedBefore = new InvoiceChangedEvent(24L, 2L, state(PaymentStatus.UNPAID, PAST, "40.00", null), null);
+        when(invoiceRepository.summarize(any())).thenAnswer(invocation -> {
+            // changes committed around the time the statistics are read
+            invoiceStatsService.onInvoiceChanged(read);
+            invoiceStatsService.onInvoiceCommitting(committingRead);
+            invoiceStatsService.onInvoiceCommitting(committingNotRead);
+            invoiceStatsService.onInvoiceChanged(deletedBefore);
+            return totals(3, 1, "300.00", "100.00");
+        });
+        List<InvoiceVersion> versions = List.of(version(21L, 4L), version(22L, 7L), version(23L, 2L));
+        when(invoiceRepository.findVersionsByIdIn(any())).thenReturn(versions);
+
+        invoiceStatsService.getInvoiceStats();
+        invoiceStatsService.onInvoiceChanged(committingRead);
+        invoiceStatsService.onInvoiceChanged(committingNotRead);
+        InvoiceStatsDTO stats = invoiceStatsService.getInvoiceStats();
+
+        assertThat(stats.getOutstanding()).isEqualTo(2);
+        assertThat(stats.getOverdue()).isEqualTo(1);
+        assertThat(stats.getTotalAmount()).isEqualByComparingTo("300.00");
+        assertThat(stats.getOverdueAmount()).isEqualByComparingTo("100.00");
+    }
+
+    private static InvoiceVersion version(Long id, Long version) {
+        InvoiceVersion invoiceVersion = mock(InvoiceVersion.class);
+        when(invoiceVersion.getId()).thenReturn(id);
+        when(invoiceVersion.getVersion()).thenReturn(version);
+        return invoiceVersion;
+    }
+
+    private static State state(PaymentStatus paymentStatus, Instant dueDate, String totalAmount, String paidAmount) {
+        return new State(paymentStatus, dueDate, new BigDecimal(totalAmount), paidAmount != null ? new BigDecimal(paidAmount) : null);
+    }
+
+    private static InvoiceTotals totals(long outstanding, long overdue, String totalAmount, String overdueAmount) {
+        InvoiceTotals totals = mock(InvoiceTotals.class);
+        when(totals.getOutstanding()).thenReturn(outstanding);
+        when(totals.getOverdue()).thenReturn(overdue);
+        when(totals.getTotalAmount()).thenReturn(new BigDecimal(totalAmount));
+        when(totals.getOverdueAmount()).thenReturn(new BigDecimal(overdueAmount));
+        return totals;
+    }
+
+    private static AmountDue due(Instant dueDate, long invoices, String amount) {
+        AmountDue due = mock(AmountDue.class);
+        when(due.getDueDate()).thenReturn(dueDate);
+        when(due.getInvoices()).thenReturn(invoices);
+        when(due.getAmount()).thenReturn(new BigDecimal(amount));
+        return due;
+    }
+}
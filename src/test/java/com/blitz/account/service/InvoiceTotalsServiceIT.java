@@ -0,0 +1,164 @@
+package com.blitz.account.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.blitz.account.IntegrationTest;
+import com.blitz.account.domain.Invoice;
+import com.blitz.account.domain.InvoiceLine;
+import com.blitz.account.domain.VATRate;
+import com.blitz.account.domain.enumeration.PaymentStatus;
+import com.blitz.account.repository.InvoiceLineRepository;
+import com.blitz.account.repository.InvoiceRepository;
+import com.blitz.account.repository.VATRateRepository;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Checks the totals of invoices as their lines change in committed transactions, the differences of the lines being
+ * added to the invoices in one update per invoice just before the commit.
+ * <p>
+ * The transactions are committed, so the rows are cleaned up explicitly.
+ */
+@IntegrationTest
+class InvoiceTotalsServiceIT {
+
+    @Autowired
+    private InvoiceLineService invoiceLineService;
+
+    @Autowired
+    private VATRateService vatRateService;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private InvoiceLineRepository invoiceLineRepository;
+
+    @Autowired
+    private VATRateRepository vatRateRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    private VATRate standard;
+
+    private VATRate reduced;
+
+    private final List<Invoice> invoices = new ArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        standard = vatRateRepository.saveAndFlush(new VATRate().name("Standard").percentage(new BigDecimal("20")));
+        reduced = vatRateRepository.saveAndFlush(new VATRate().name("Reduced").percentage(new BigDecimal("5.5")));
+    }
+
+    @AfterEach
+    void cleanup() {
+        for (Invoice invoice : invoices) {
+            invoiceLineRepository.deleteAll(invoiceLineRepository.findByInvoiceId(invoice.getId()));
+            invoiceRepository.deleteById(invoice.getId());
+        }
+        vatRateRepository.findById(standard.getId()).ifPresent(vatRateRepository::delete);
+        vatRateRepository.findById(reduced.getId()).ifPresent(vatRateRepository::delete);
+    }
+
+    @Test
+    void addsTheLineChangesOfATransactionToTheTotalOnCommit() {
+        Invoice invoice = invoice(standard.getId());
+
+        List<BigDecimal> totalsBeforeCommit = transactionTemplate.execute(status -> {
+            List<BigDecimal> totals = new ArrayList<>();
+            InvoiceLine first = invoiceLineService.save(line(invoice, 2, "10.00", null));
+            InvoiceLine second = invoiceLineService.save(line(invoice, 1, "100.00", reduced.getId()));
+            invoiceLineService.save(line(invoice, 3, "1.00", null));
+            totals.add(totalAmount(invoice));
+            invoiceLineService.update(line(invoice, 3, "10.00", null).id(first.getId()));
+            invoiceLineService.delete(second.getId());
+            totals.add(totalAmount(invoice));
+            return totals;
+        });
+
+        // 3 x 10.00 + 3 x 1.00, plus 20 %
+        assertThat(totalsBeforeCommit).allSatisfy(total -> assertThat(total).isEqualByComparingTo("0.00"));
+        assertThat(totalAmount(invoice)).isEqualByComparingTo("39.60");
+        assertThat(invoiceRepository.findById(invoice.getId()).orElseThrow().getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    void addsTheLineChangesOfSeveralInvoicesAndIgnoresThoseThatCancelOut() {
+        Invoice invoice = invoice(standard.getId());
+        Invoice other = invoice(null);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            invoiceLineService.save(line(invoice, 1, "50.00", null));
+            InvoiceLine cancelled = invoiceLineService.save(line(other, 1, "8.00", reduced.getId()));
+            invoiceLineService.delete(cancelled.getId());
+            invoiceLineService.save(line(other, 4, "2.50", null));
+        });
+
+        assertThat(totalAmount(invoice)).isEqualByComparingTo("60.00");
+        assertThat(totalAmount(other)).isEqualByComparingTo("10.00");
+    }
+
+    @Test
+    void changingTheVatPercentageComputesTheTotalsAgain() {
+        Invoice invoice = invoice(standard.getId());
+        transactionTemplate.executeWithoutResult(status -> {
+            invoiceLineService.save(line(invoice, 1, "100.00", null));
+            invoiceLineService.save(line(invoice, 1, "100.00", reduced.getId()));
+        });
+        assertThat(totalAmount(invoice)).isEqualByComparingTo("225.50");
+
+        vatRateService.partialUpdate(new VATRate().id(standard.getId()).percentage(new BigDecimal("10")));
+        assertThat(totalAmount(invoice)).isEqualByComparingTo("215.50");
+
+        // The line is taken off at the new percentage it is now counted at, without drift
+        transactionTemplate.executeWithoutResult(status ->
+            invoiceLineService.delete(
+                invoiceLineRepository
+                    .findByInvoiceId(invoice.getId())
+                    .stream()
+                    .filter(line -> line.getVatRateId() == null)
+                    .findFirst()
+                    .orElseThrow()
+                    .getId()
+            )
+        );
+        assertThat(totalAmount(invoice)).isEqualByComparingTo("105.50");
+
+        vatRateService.delete(reduced.getId());
+        assertThat(totalAmount(invoice)).isEqualByComparingTo("100.00");
+    }
+
+    private Invoice invoice(Long vatRateId) {
+        Invoice invoice = invoiceRepository.saveAndFlush(
+            new Invoice()
+                .clientName("Totals")
+                .issueDate(Instant.parse("2026-03-01T00:00:00Z"))
+                .vatRateId(vatRateId)
+                .totalAmount(BigDecimal.ZERO)
+                .paymentStatus(PaymentStatus.UNPAID)
+        );
+        invoices.add(invoice);
+        return invoice;
+    }
+
+    private static InvoiceLine line(Invoice invoice, int quantity, String unitPrice, Long vatRateId) {
+        return new InvoiceLine().invoiceId(invoice.getId()).quantity(quantity).unitPrice(new BigDecimal(unitPrice)).vatRateId(vatRateId);
+    }
+
+    private BigDecimal totalAmount(Invoice invoice) {
+        return invoiceRepository.findById(invoice.getId()).orElseThrow().getTotalAmount();
+    }
+}
@@ -0,0 +1,110 @@
+package com.blitz.account.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+import com.blitz.account.domain.Invoice;
+import com.blitz.account.domain.InvoiceLine;
+import com.blitz.account.domain.VATRate;
+import com.blitz.account.repository.InvoiceLineRepository;
+import com.blitz.account.repository.InvoiceRepository;
+import com.blitz.account.repository.VATRateRepository;
+import com.blitz.account.service.InvoiceTotalsService.Line;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+class InvoiceTotalsServiceTest {
+
+    private InvoiceRepository invoiceRepository;
+
+    private InvoiceLineRepository invoiceLineRepository;
+
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    private InvoiceTotalsService invoiceTotalsService;
+
+    @BeforeEach
+    void setup() {
+        invoiceRepository = mock(InvoiceRepository.class);
+        invoiceLineRepository = mock(InvoiceLineRepository.class);
+        VATRateRepository vatRateRepository = mock(VATRateRepository.class);
+        applicationEventPublisher = mock(ApplicationEventPublisher.class);
+        VATRate standard = new VATRate().percentage(new BigDecimal("20"));
+        standard.setId(1L);
+        VATRate reduced = new VATRate().percentage(new BigDecimal("5.5"));
+        reduced.setId(2L);
+        when(vatRateRepository.findById(1L)).thenReturn(Optional.of(standard));
+        when(vatRateRepository.findById(2L)).thenReturn(Optional.of(reduced));
+        when(vatRateRepository.findAll()).thenReturn(List.of(standard, reduced));
+        when(invoiceRepository.addToTotalAmount(anyLong(), any())).thenReturn(1);
+        invoiceTotalsService = new InvoiceTotalsService(
+            invoiceRepository,
+            invoiceLineRepository,
+            vatRateRepository,
+            applicationEventPublisher
+        );
+    }
+
+    @Test
+    void roundsEachLineToTheCent() {
+        assertThat(InvoiceTotalsService.amount(3, new BigDecimal("0.333"), new BigDecimal("5.5"))).isEqualByComparingTo("1.05");
+        assertThat(InvoiceTotalsService.amount(null, new BigDecimal("10"), BigDecimal.ZERO)).isEqualByComparingTo("0");
+    }
+
+    @Test
+    void movesTheTotalByTheDifferenceOfTheLine() {
+        Invoice invoice = invoice(7L, 1L, "240.00");
+        when(invoiceRepository.findById(7L)).thenReturn(Optional.of(invoice));
+
+        invoiceTotalsService.lineChanged(new Line(7L, 1, new BigDecimal("100"), null), new Line(7L, 2, new BigDecimal("100"), 2L));
+
+        verify(invoiceRepository).addToTotalAmount(7L, new BigDecimal("91.00"));
+        verify(applicationEventPublisher).publishEvent(any(InvoiceChangedEvent.class));
+    }
+
+    @Test
+    void leavesTheTotalOfAnUnchangedAmount() {
+        invoiceTotalsService.lineChanged(new Line(7L, 1, new BigDecimal("100"), 1L), new Line(7L, 1, new BigDecimal("100.00"), 1L));
+
+        verify(invoiceRepository, never()).addToTotalAmount(anyLong(), any());
+    }
+
+    @Test
+    void computesTheTotalWithTheRateOfTheInvoiceForLinesWithoutOne() {
+        when(invoiceLineRepository.findByInvoiceId(7L)).thenReturn(List.of(line(7L, 1, "100", null), line(7L, 2, "10", 2L)));
+
+        assertThat(invoiceTotalsService.totalOf(7L, 1L)).hasValueSatisfying(total -> assertThat(total).isEqualByComparingTo("141.10"));
+        assertThat(invoiceTotalsService.totalOf(8L, 1L)).isEmpty();
+    }
+
+    @Test
+    void correctsTheTotalsThatDiffer() {
+        Invoice right = invoice(7L, 1L, "120.00");
+        Invoice wrong = invoice(8L, 1L, "0");
+        when(invoiceLineRepository.findByInvoiceIdInOrderByInvoiceIdAscIdAsc(List.of(7L, 8L))).thenReturn(
+            List.of(line(7L, 1, "100", null), line(8L, 1, "50", 2L))
+        );
+        when(invoiceRepository.findAllById(List.of(7L, 8L))).thenReturn(List.of(right, wrong));
+
+        assertThat(invoiceTotalsService.recompute(List.of(7L, 8L))).isEqualTo(1);
+        assertThat(right.getTotalAmount()).isEqualByComparingTo("120.00");
+        assertThat(wrong.getTotalAmount()).isEqualByComparingTo("52.75");
+        verify(applicationEventPublisher, times(1)).publishEvent(any(InvoiceChangedEvent.class));
+    }
+
+    private static Invoice invoice(Long id, Long vatRateId, String totalAmount) {
+        Invoice invoice = new Invoice().vatRateId(vatRateId).totalAmount(new BigDecimal(totalAmount));
+        invoice.setId(id);
+        return invoice;
+    }
+
+    private static InvoiceLine line(Long invoiceId, int quantity, String unitPrice, Long vatRateId) {
+        return new InvoiceLine().invoiceId(invoiceId).quantity(quantity).unitPrice(new BigDecimal(unitPrice)).vatRateId(vatRateId);
+    }
+}
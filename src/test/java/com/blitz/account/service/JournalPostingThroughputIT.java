@@ -0,0 +1,111 @@
+package com.blitz.account.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.blitz.account.IntegrationTest;
+import com.blitz.account.domain.ChartOfAccount;
+import com.blitz.account.domain.Journal;
+import com.blitz.account.domain.JournalLine;
+import com.blitz.account.domain.enumeration.AccountType;
+import com.blitz.account.repository.JournalLineRepository;
+import com.blitz.account.service.dto.JournalPostingDTO;
+import com.blitz.account.service.dto.JournalPostingLineDTO;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Compares the throughput of posting journals one entity at a time, as the per-entity REST endpoints do, with
+ * {@link JournalService#postAll(List)}. The rates are logged, the assertions only check that both paths write the
+ * same rows.
+ */
+@IntegrationTest
+@Transactional
+class JournalPostingThroughputIT {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JournalPostingThroughputIT.class);
+
+    private static final int JOURNALS = 1000;
+
+    private static final Instant JOURNAL_DATE = Instant.parse("2024-03-15T10:00:00Z");
+
+    @Autowired
+    private JournalService journalService;
+
+    @Autowired
+    private JournalLineService journalLineService;
+
+    @Autowired
+    private JournalLineRepository journalLineRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    private ChartOfAccount cash;
+
+    private ChartOfAccount sales;
+
+    @BeforeEach
+    void initTest() {
+        cash = new ChartOfAccount().name("Cash").code("THROUGHPUT-1000").accountType(AccountType.ASSET).initialBalance(BigDecimal.ZERO);
+        sales = new ChartOfAccount().name("Sales").code("THROUGHPUT-4000").accountType(AccountType.INCOME).initialBalance(BigDecimal.ZERO);
+        em.persist(cash);
+        em.persist(sales);
+        em.flush();
+    }
+
+    @Test
+    void postJournalsOneByOne() {
+        long lineCountBefore = journalLineRepository.count();
+        long start = System.nanoTime();
+        for (int i = 0; i < JOURNALS; i++) {
+            Journal journal = journalService.save(new Journal().journalDate(JOURNAL_DATE).reference("ONE-" + i));
+            journalLineService.save(new JournalLine().journalId(journal.getId()).accountId(cash.getId()).debit(BigDecimal.ONE));
+            journalLineService.save(new JournalLine().journalId(journal.getId()).accountId(sales.getId()).credit(BigDecimal.ONE));
+            em.flush();
+        }
+        logRate("one by one", start);
+
+        assertThat(journalLineRepository.count()).isEqualTo(lineCountBefore + 2L * JOURNALS);
+    }
+
+    @Test
+    void postJournalsInBatch() {
+        List<JournalPostingDTO> postings = new ArrayList<>();
+        for (int i = 0; i < JOURNALS; i++) {
+            postings.add(
+                new JournalPostingDTO(
+                    JOURNAL_DATE,
+                    "BATCH-" + i,
+                    null,
+                    List.of(
+                        new JournalPostingLineDTO(cash.getId(), BigDecimal.ONE, null),
+                        new JournalPostingLineDTO(sales.getId(), null, BigDecimal.ONE)
+                    )
+                )
+            );
+        }
+        long lineCountBefore = journalLineRepository.count();
+        long start = System.nanoTime();
+        journalService.postAll(postings);
+        em.flush();
+        logRate("in batch", start);
+
+        assertThat(journalLineRepository.count()).isEqualTo(lineCountBefore + 2L * JOURNALS);
+        em.refresh(cash);
+        assertThat(cash.getCurrentBalance()).isEqualByComparingTo(BigDecimal.valueOf(JOURNALS));
+    }
+
+    private static void logRate(String mode, long start) {
+        double seconds = (System.nanoTime() - start) / 1e9;
+        LOG.info("Posted {} journal rows {}: {} rows/s", 3 * JOURNALS, mode, Math.round(3 * JOURNALS / seconds));
+    }
+}
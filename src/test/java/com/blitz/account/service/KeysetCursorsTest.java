@@ -0,0 +1,64 @@
+package com.blitz.account.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.blitz.account.domain.Invoice;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+class KeysetCursorsTest {
+
+    private static final Sort SORT = Sort.by(Sort.Order.desc("issueDate"), Sort.Order.asc("clientName"));
+
+    private final KeysetCursors keysetCursors = new KeysetCursors(new ObjectMapper().registerModule(new JavaTimeModule()));
+
+    @Test
+    void decodesTheCursorOfTheNextWindow() {
+        Instant issueDate = Instant.parse("2026-10-17T09:00:00Z");
+        Window<String> window = Window.from(
+            List.of("a", "b"),
+            index -> ScrollPosition.forward(Map.of("issueDate", issueDate, "clientName", "Acme", "id", 42L + index)),
+            true
+        );
+
+        String cursor = keysetCursors.encode(window).orElseThrow();
+
+        assertThat(keysetCursors.decode(cursor, Invoice.class, SORT)).hasValueSatisfying(position ->
+            assertThat(((KeysetScrollPosition) position).getKeys()).containsOnly(
+                Map.entry("issueDate", issueDate),
+                Map.entry("clientName", "Acme"),
+                Map.entry("id", 43L)
+            )
+        );
+    }
+
+    @Test
+    void startsFromAnEmptyCursor() {
+        assertThat(keysetCursors.decode("", Invoice.class, SORT)).contains(ScrollPosition.keyset());
+    }
+
+    @Test
+    void hasNoCursorAfterTheLastWindow() {
+        Window<String> window = Window.from(List.of("a"), index -> ScrollPosition.forward(Map.of("id", 1L)), false);
+
+        assertThat(keysetCursors.encode(window)).isEmpty();
+    }
+
+    @Test
+    void rejectsCursorsOfAnotherOrder() {
+        String cursor = keysetCursors
+            .encode(Window.from(List.of("a"), index -> ScrollPosition.forward(Map.of("dueDate", Instant.EPOCH, "id", 1L)), true))
+            .orElseThrow();
+
+        assertThat(keysetCursors.decode(cursor, Invoice.class, SORT)).isEmpty();
+        assertThat(keysetCursors.decode("not a cursor", Invoice.class, SORT)).isEmpty();
+    }
+}
@@ -0,0 +1,191 @@
+package com.blitz.account.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+import com.blitz.account.domain.JournalLine;
+import com.blitz.account.domain.Transaction;
+import com.blitz.account.domain.enumeration.TransactionType;
+import com.blitz.account.repository.JournalLineRepository;
+import com.blitz.account.repository.JournalLineRepository.JournalLineMovement;
+import com.blitz.account.repository.TransactionRepository;
+import com.blitz.account.repository.TransactionRepository.TransactionMovement;
+import com.blitz.account.service.LedgerCubeService.Dimension;
+import com.blitz.account.service.LedgerMovementEvent.Movement;
+import com.blitz.account.service.dto.LedgerCubeRowDTO;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class LedgerCubeServiceTest {
+
+    private static final LocalDate FROM = LocalDate.parse("2025-01-01");
+
+    private static final LocalDate TO = LocalDate.parse("2025-12-31");
+
+    private TransactionRepository transactionRepository;
+
+    private JournalLineRepository journalLineRepository;
+
+    private LedgerCubeService ledgerCubeService;
+
+    @BeforeEach
+    void setup() {
+        transactionRepository = mock(TransactionRepository.class);
+        journalLineRepository = mock(JournalLineRepository.class);
+        when(transactionRepository.findMovementsAfter(anyLong(), anyLong(), any())).thenReturn(List.of());
+        when(journalLineRepository.findMovementsAfter(anyLong(), anyLong(), any())).thenReturn(List.of());
+        List<TransactionMovement> transactions = List.of(
+            transaction(1L, TransactionType.INCOME, "100.00", "2025-01-10T09:00:00Z", 10L, 1L),
+            transaction(2L, TransactionType.EXPENSE, "40.00", "2025-01-10T18:00:00Z", 10L, 1L),
+            transaction(3L, TransactionType.INCOME, "25.50", "2025-02-03T12:00:00Z", 20L, 2L)
+        );
+        List<JournalLineMovement> lines = List.of(
+            line(1L, 10L, "2025-01-10T00:00:00Z", "60.00", null),
+            line(2L, 20L, "2025-03-01T00:00:00Z", null, "60.00")
+        );
+        when(transactionRepository.findMaxId()).thenReturn(3L);
+        when(journalLineRepository.findMaxId()).thenReturn(2L);
+        when(transactionRepository.findMovementsAfter(eq(0L), eq(3L), any())).thenReturn(transactions);
+        when(journalLineRepository.findMovementsAfter(eq(0L), eq(2L), any())).thenReturn(lines);
+        ledgerCubeService = new LedgerCubeService(transactionRepository, journalLineRepository);
+    }
+
+    @Test
+    void isEmptyUntilLoaded() {
+        assertThat(ledgerCubeService.rollup(FROM, TO, null, null, Set.of())).isEmpty();
+    }
+
+    @Test
+    void totalsAllMovementsOfThePeriod() {
+        ledgerCubeService.rebuild();
+
+        List<LedgerCubeRowDTO> rows = ledgerCubeService.rollup(FROM, TO, null, null, Set.of()).orElseThrow();
+
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0).getIncome()).isEqualByComparingTo("125.50");
+        assertThat(rows.get(0).getExpense()).isEqualByComparingTo("40.00");
+        assertThat(rows.get(0).getDebit()).isEqualByComparingTo("60.00");
+        assertThat(rows.get(0).getCredit()).isEqualByComparingTo("60.00");
+        assertThat(rows.get(0).getTransactionCount()).isEqualTo(3);
+        assertThat(rows.get(0).getJournalLineCount()).isEqualTo(2);
+    }
+
+    @Test
+    void groupsByAccountAndMonth() {
+        ledgerCubeService.rebuild();
+
+        List<LedgerCubeRowDTO> rows = ledgerCubeService.rollup(FROM, TO, null, null, Set.of(Dimension.ACCOUNT, Dimension.MONTH)).orElseThrow();
+
+        assertThat(rows)
+            .extracting(LedgerCubeRowDTO::getAccountId, LedgerCubeRowDTO::getPeriod)
+            .containsExactly(
+                tuple(10L, LocalDate.parse("2025-01-01")),
+                tuple(20L, LocalDate.parse("2025-02-01")),
+                tuple(20L, LocalDate.parse("2025-03-01"))
+            );
+        assertThat(rows.get(0).getIncome()).isEqualByComparingTo("100.00");
+        assertThat(rows.get(0).getDebit()).isEqualByComparingTo("60.00");
+    }
+
+    @Test
+    void filtersByAccountCurrencyAndDay() {
+        ledgerCubeService.rebuild();
+
+        assertThat(ledgerCubeService.rollup(FROM, TO, 20L, 2L, Set.of()).orElseThrow())
+            .singleElement()
+            .satisfies(row -> assertThat(row.getIncome()).isEqualByComparingTo("25.50"));
+        assertThat(ledgerCubeService.rollup(FROM, LocalDate.parse("2025-01-09"), null, null, Set.of()).orElseThrow()).isEmpty();
+        assertThat(ledgerCubeService.rollup(FROM, TO, 99L, null, Set.of()).orElseThrow()).isEmpty();
+    }
+
+    @Test
+    void appliesCommittedMovements() {
+        ledgerCubeService.rebuild();
+        Transaction transaction = new Transaction()
+            .type(TransactionType.EXPENSE)
+            .amount(new BigDecimal("40.00"))
+            .transactionDate(Instant.parse("2025-01-10T18:00:00Z"))
+            .accountId(10L)
+            .currencyId(1L);
+        JournalLine line = new JournalLine().accountId(30L).debit(new BigDecimal("5.00"));
+
+        ledgerCubeService.onLedgerMovement(
+            new LedgerMovementEvent(List.of(Movement.of(transaction).negate(), Movement.of(line, Instant.parse("2025-04-01T00:00:00Z"))))
+        );
+
+        List<LedgerCubeRowDTO> rows = ledgerCubeService.rollup(FROM, TO, null, null, Set.of(Dimension.ACCOUNT, Dimension.DAY)).orElseThrow();
+        assertThat(rows.get(0).getAccountId()).isEqualTo(10L);
+        assertThat(rows.get(0).getExpense()).isEqualByComparingTo("0.00");
+        assertThat(rows.get(0).getTransactionCount()).isEqualTo(1);
+        assertThat(rows).extracting(LedgerCubeRowDTO::getAccountId).contains(30L);
+    }
+
+    @Test
+    void appliesTheMovementsCommittedDuringTheLoadOfRowsItDidNotRead() {
+        when(journalLineRepository.findMovementsAfter(eq(0L), eq(2L), any())).thenAnswer(invocation -> {
+            ledgerCubeService.onLedgerMovement(
+                new LedgerMovementEvent(
+                    List.of(
+                        Movement.journalLine(2L, 20L, Instant.parse("2025-03-01T00:00:00Z"), null, new BigDecimal("60.00")),
+                        Movement.journalLine(3L, 20L, Instant.parse("2025-03-02T00:00:00Z"), null, new BigDecimal("7.00")),
+                        Movement.transaction(4L, 20L, 2L, Instant.parse("2025-03-02T00:00:00Z"), TransactionType.INCOME, BigDecimal.ONE)
+                    )
+                )
+            );
+            return List.of(line(1L, 10L, "2025-01-10T00:00:00Z", "60.00", null), line(2L, 20L, "2025-03-01T00:00:00Z", null, "60.00"));
+        });
+
+        ledgerCubeService.rebuild();
+
+        List<LedgerCubeRowDTO> rows = ledgerCubeService.rollup(FROM, TO, 20L, null, Set.of()).orElseThrow();
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0).getCredit()).isEqualByComparingTo("67.00");
+        assertThat(rows.get(0).getIncome()).isEqualByComparingTo("26.50");
+        assertThat(rows.get(0).getJournalLineCount()).isEqualTo(2);
+        assertThat(rows.get(0).getTransactionCount()).isEqualTo(2);
+    }
+
+    @Test
+    void dropsGroupsWhoseMovementsWereAllReversed() {
+        ledgerCubeService.rebuild();
+
+        ledgerCubeService.onLedgerMovement(
+            new LedgerMovementEvent(
+                List.of(Movement.of(new JournalLine().accountId(20L).credit(new BigDecimal("60.00")), Instant.parse("2025-03-01T00:00:00Z")).negate())
+            )
+        );
+
+        assertThat(ledgerCubeService.rollup(FROM, TO, 20L, null, Set.of(Dimension.MONTH)).orElseThrow())
+            .extracting(LedgerCubeRowDTO::getPeriod)
+            .containsExactly(LocalDate.parse("2025-02-01"));
+    }
+
+    private static TransactionMovement transaction(Long id, TransactionType type, String amount, String date, Long accountId, Long currencyId) {
+        TransactionMovement transaction = mock(TransactionMovement.class);
+        when(transaction.getId()).thenReturn(id);
+        when(transaction.getType()).thenReturn(type);
+        when(transaction.getAmount()).thenReturn(new BigDecimal(amount));
+        when(transaction.getTransactionDate()).thenReturn(Instant.parse(date));
+        when(transaction.getAccountId()).thenReturn(accountId);
+        when(transaction.getCurrencyId()).thenReturn(currencyId);
+        return transaction;
+    }
+
+    private static JournalLineMovement line(Long id, Long accountId, String date, String debit, String credit) {
+        JournalLineMovement line = mock(JournalLineMovement.class);
+        when(line.getId()).thenReturn(id);
+        when(line.getAccountId()).thenReturn(accountId);
+        when(line.getJournalDate()).thenReturn(Instant.parse(date));
+        when(line.getDebit()).thenReturn(debit != null ? new BigDecimal(debit) : null);
+        when(line.getCredit()).thenReturn(credit != null ? new BigDecimal(credit) : null);
+        return line;
+    }
+}
@@ -6,6 +6,7 @@ import static org.mockito.Mockito.*;
 
 import com.blitz.account.IntegrationTest;
 import com.blitz.account.config.Constants;
+import com.blitz.account.domain.Invoice;
 import com.blitz.account.domain.User;
 import jakarta.mail.Multipart;
 import jakarta.mail.Session;
@@ -14,10 +15,13 @@ import jakarta.mail.internet.MimeMessage;
 import jakarta.mail.internet.MimeMultipart;
 import java.io.ByteArrayOutputStream;
 import java.io.InputStreamReader;
+import java.math.BigDecimal;
 import java.net.URL;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
 import java.util.Properties;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -183,6 +187,36 @@ class MailServiceIT {
         assertThat(message.getDataHandler().getContentType()).isEqualTo("text/html;charset=UTF-8");
     }
 
+    @Test
+    void testSendOverdueInvoicesReminder() throws Exception {
+        Invoice invoice = new Invoice()
+            .id(42L)
+            .clientName("Acme")
+            .dueDate(Instant.parse("2026-10-01T00:00:00Z"))
+            .totalAmount(new BigDecimal("100.00"))
+            .paidAmount(new BigDecimal("30.00"));
+        Invoice other = new Invoice()
+            .id(43L)
+            .clientName("Globex")
+            .dueDate(Instant.parse("2026-10-02T00:00:00Z"))
+            .totalAmount(new BigDecimal("12.00"));
+        mailService.sendOverdueInvoicesReminder("receivables@example.com", List.of(invoice, other));
+        verify(javaMailSender).send(messageCaptor.capture());
+        MimeMessage message = messageCaptor.getValue();
+        assertThat(message.getSubject()).isEqualTo("blitzAccount: 2 invoices became overdue");
+        assertThat(message.getAllRecipients()[0]).hasToString("receivables@example.com");
+        assertThat(message.getContent().toString()).contains(
+            "2026-10-01",
+            "70.00",
+            "/invoice/42/view",
+            "Globex",
+            "2026-10-02",
+            "12.00",
+            "/invoice/43/view"
+        );
+        assertThat(message.getDataHandler().getContentType()).isEqualTo("text/html;charset=UTF-8");
+    }
+
     @Test
     void testSendEmailWithException() {
         doThrow(MailSendException.class).when(javaMailSender).send(any(MimeMessage.class));
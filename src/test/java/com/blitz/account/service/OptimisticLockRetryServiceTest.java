@@ -0,0 +1,88 @@
+package com.blitz.account.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.blitz.account.config.ApplicationProperties;
+import com.blitz.account.domain.Product;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class OptimisticLockRetryServiceTest {
+
+    private PlatformTransactionManager transactionManager;
+
+    private OptimisticLockRetryService optimisticLockRetryService;
+
+    @BeforeEach
+    void setup() {
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getOptimisticLock().setMaxAttempts(3);
+        applicationProperties.getOptimisticLock().setBackoff(Duration.ofMillis(1));
+        optimisticLockRetryService = new OptimisticLockRetryService(transactionManager, applicationProperties);
+    }
+
+    @Test
+    void retriesConflictsInNewTransactions() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = optimisticLockRetryService.execute(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new ObjectOptimisticLockingFailureException(Product.class, 1L);
+            }
+            return "done";
+        });
+
+        assertThat(result).isEqualTo("done");
+        verify(transactionManager, times(3)).getTransaction(any());
+        verify(transactionManager, times(2)).rollback(any());
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    void givesUpAfterMaxAttempts() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() ->
+            optimisticLockRetryService.execute(() -> {
+                attempts.incrementAndGet();
+                throw new ObjectOptimisticLockingFailureException(Product.class, 1L);
+            })
+        ).isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(attempts).hasValue(3);
+    }
+
+    @Test
+    void doesNotRetryOtherFailures() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() ->
+            optimisticLockRetryService.execute(() -> {
+                attempts.incrementAndGet();
+                throw new IllegalArgumentException("invalid");
+            })
+        ).isInstanceOf(IllegalArgumentException.class);
+        assertThat(attempts).hasValue(1);
+    }
+
+    @Test
+    void refusesToRunWithinATransaction() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            assertThatThrownBy(() -> optimisticLockRetryService.execute(() -> "done")).isInstanceOf(IllegalStateException.class);
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+        verifyNoInteractions(transactionManager);
+    }
+}
@@ -0,0 +1,134 @@
+package com.blitz.account.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.blitz.account.IntegrationTest;
+import com.blitz.account.domain.ChartOfAccount;
+import com.blitz.account.domain.Product;
+import com.blitz.account.domain.enumeration.AccountType;
+import com.blitz.account.repository.ChartOfAccountRepository;
+import com.blitz.account.repository.ProductRepository;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Hammers the same rows from many threads, and checks that every committed update is reflected in the final state.
+ * <p>
+ * Writers run in their own committed transactions, so the rows are cleaned up explicitly.
+ */
+@IntegrationTest
+class OptimisticLockingConcurrencyIT {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OptimisticLockingConcurrencyIT.class);
+
+    private static final int THREADS = 16;
+
+    private static final int UPDATES_PER_THREAD = 50;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ChartOfAccountService chartOfAccountService;
+
+    @Autowired
+    private ChartOfAccountRepository chartOfAccountRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Product product;
+
+    private ChartOfAccount account;
+
+    @AfterEach
+    void cleanup() {
+        if (product != null) {
+            productRepository.deleteById(product.getId());
+        }
+        if (account != null) {
+            chartOfAccountRepository.deleteById(account.getId());
+        }
+    }
+
+    @Test
+    void concurrentStockAdjustmentsAreNotLost() throws Exception {
+        product = productRepository.saveAndFlush(new Product().name("Concurrency").stockQty(0));
+
+        int committed = runConcurrently(() -> {
+            int adjusted = 0;
+            for (int i = 0; i < UPDATES_PER_THREAD; i++) {
+                try {
+                    productService.adjustStock(product.getId(), 1);
+                    adjusted++;
+                } catch (OptimisticLockingFailureException e) {
+                    // retries exhausted, this adjustment was not applied
+                }
+            }
+            return adjusted;
+        });
+
+        Product result = productRepository.findById(product.getId()).orElseThrow();
+        LOG.info("Committed {} of {} concurrent stock adjustments", committed, THREADS * UPDATES_PER_THREAD);
+        assertThat(committed).isPositive();
+        assertThat(result.getStockQty()).isEqualTo(committed);
+        assertThat(result.getVersion()).isEqualTo((long) committed);
+    }
+
+    @Test
+    void concurrentPostingsRejectStaleClientEdits() throws Exception {
+        account = chartOfAccountService.save(
+            new ChartOfAccount().name("Concurrency").code("CONCURRENCY-1000").accountType(AccountType.ASSET).initialBalance(BigDecimal.ZERO)
+        );
+        ChartOfAccount edited = chartOfAccountRepository.findById(account.getId()).orElseThrow();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        int posted = runConcurrently(() -> {
+            for (int i = 0; i < UPDATES_PER_THREAD; i++) {
+                transactionTemplate.executeWithoutResult(status -> chartOfAccountRepository.applyNetDebit(account.getId(), BigDecimal.ONE));
+            }
+            return UPDATES_PER_THREAD;
+        });
+
+        assertThatThrownBy(() -> chartOfAccountService.update(edited.name("Edited").currentBalance(BigDecimal.ZERO))).isInstanceOf(
+            OptimisticLockingFailureException.class
+        );
+        ChartOfAccount result = chartOfAccountRepository.findById(account.getId()).orElseThrow();
+        assertThat(result.getName()).isEqualTo("Concurrency");
+        assertThat(result.getCurrentBalance()).isEqualByComparingTo(BigDecimal.valueOf(posted));
+    }
+
+    private static int runConcurrently(Callable<Integer> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(task));
+            }
+            int total = 0;
+            for (Future<Integer> future : futures) {
+                total += future.get();
+            }
+            return total;
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.blitz.account.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.blitz.account.config.ApplicationProperties;
+import com.blitz.account.domain.Invoice;
+import com.blitz.account.management.OverdueInvoiceMetersService;
+import com.blitz.account.repository.InvoiceRepository;
+import com.blitz.account.repository.InvoiceRepository.OverdueBacklog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+class OverdueInvoiceSchedulerTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-17T09:00:00Z");
+
+    private InvoiceRepository invoiceRepository;
+
+    private OverdueInvoiceService overdueInvoiceService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private OverdueInvoiceScheduler overdueInvoiceScheduler;
+
+    @BeforeEach
+    void setup() {
+        invoiceRepository = mock(InvoiceRepository.class);
+        overdueInvoiceService = mock(OverdueInvoiceService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        OverdueBacklog backlog = mock(OverdueBacklog.class);
+        when(backlog.getOldestDueDate()).thenReturn(NOW.minusSeconds(60));
+        when(invoiceRepository.findOverdueBacklog(NOW)).thenReturn(backlog);
+        when(overdueInvoiceService.markOverdue(anyList(), eq(NOW))).thenAnswer(invocation ->
+            invocation.<List<Long>>getArgument(0).stream().map(id -> new Invoice().id(id)).toList()
+        );
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getInvoice().setOverdueChunkSize(2);
+        applicationProperties.getInvoice().setOverdueParallelism(2);
+        overdueInvoiceScheduler = new OverdueInvoiceScheduler(
+            invoiceRepository,
+            overdueInvoiceService,
+            new OverdueInvoiceMetersService(meterRegistry),
+            applicationProperties
+        );
+    }
+
+    @Test
+    void marksTheCandidatesChunkByChunk() {
+        candidates(0L, 1L, 2L);
+        candidates(2L, 3L, 4L);
+        candidates(4L, 5L);
+
+        assertThat(overdueInvoiceScheduler.markOverdue(NOW)).isEqualTo(5);
+
+        verify(overdueInvoiceService).clearOverdue(NOW);
+        verify(overdueInvoiceService).markOverdue(List.of(1L, 2L), NOW);
+        verify(overdueInvoiceService).markOverdue(List.of(3L, 4L), NOW);
+        verify(overdueInvoiceService).markOverdue(List.of(5L), NOW);
+        assertThat(meterRegistry.get(OverdueInvoiceMetersService.MARKED_METER_NAME).counter().count()).isEqualTo(5);
+        assertThat(meterRegistry.get(OverdueInvoiceMetersService.LAG_METER_NAME).gauge().value()).isEqualTo(60);
+    }
+
+    @Test
+    void goesOnAfterAFailedChunk() {
+        candidates(0L, 1L, 2L);
+        candidates(2L, 3L);
+        when(overdueInvoiceService.markOverdue(List.of(1L, 2L), NOW)).thenThrow(new IllegalStateException("deadlock"));
+
+        assertThat(overdueInvoiceScheduler.markOverdue(NOW)).isEqualTo(1);
+
+        assertThat(meterRegistry.get(OverdueInvoiceMetersService.FAILED_METER_NAME).counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void doesNothingWithoutCandidates() {
+        when(invoiceRepository.findOverdueIdsAfter(any(), any(), any())).thenReturn(List.of());
+
+        assertThat(overdueInvoiceScheduler.markOverdue(NOW)).isZero();
+
+        verify(overdueInvoiceService, never()).markOverdue(anyList(), any());
+    }
+
+    private void candidates(Long afterId, Long... ids) {
+        when(invoiceRepository.findOverdueIdsAfter(NOW, afterId, Limit.of(2))).thenReturn(List.of(ids));
+    }
+}
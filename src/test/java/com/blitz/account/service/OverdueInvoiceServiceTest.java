@@ -0,0 +1,76 @@
+package com.blitz.account.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.blitz.account.config.ApplicationProperties;
+import com.blitz.account.domain.Invoice;
+import com.blitz.account.repository.InvoiceRepository;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class OverdueInvoiceServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-17T09:00:00Z");
+
+    private static final List<Long> IDS = List.of(1L, 2L, 3L);
+
+    private InvoiceRepository invoiceRepository;
+
+    private MailService mailService;
+
+    private OverdueInvoiceService overdueInvoiceService;
+
+    @BeforeEach
+    void setup() {
+        invoiceRepository = mock(InvoiceRepository.class);
+        when(invoiceRepository.markOverdue(IDS, NOW)).thenReturn(3);
+        when(invoiceRepository.findByIdInAndOverdueSince(IDS, NOW)).thenReturn(IDS.stream().map(id -> new Invoice().id(id)).toList());
+        mailService = mock(MailService.class);
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getInvoice().setOverdueReminderTo("receivables@example.com");
+        overdueInvoiceService = new OverdueInvoiceService(invoiceRepository, mailService, applicationProperties);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void sendsOneReminderPerChunkOnceCommitted() {
+        assertThat(overdueInvoiceService.markOverdue(IDS, NOW)).hasSize(3);
+        verifyNoInteractions(mailService);
+
+        commit();
+
+        verify(mailService).sendOverdueInvoicesReminder(
+            eq("receivables@example.com"),
+            argThat(invoices -> invoices.stream().map(Invoice::getId).toList().equals(IDS))
+        );
+    }
+
+    @Test
+    void aRejectedReminderDoesNotFailTheCommittedChunk() {
+        doThrow(new TaskRejectedException("queue full")).when(mailService).sendOverdueInvoicesReminder(any(), anyList());
+        overdueInvoiceService.markOverdue(IDS, NOW);
+
+        commit();
+
+        verify(mailService).sendOverdueInvoicesReminder(any(), anyList());
+    }
+
+    private static void commit() {
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+    }
+}
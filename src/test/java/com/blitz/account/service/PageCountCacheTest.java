@@ -0,0 +1,87 @@
+package com.blitz.account.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.blitz.account.domain.Invoice;
+import com.blitz.account.service.criteria.InvoiceCriteria;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Window;
+
+class PageCountCacheTest {
+
+    private final PageCountCache pageCountCache = new PageCountCache(
+        new ConcurrentMapCacheManager(PageCountCache.cacheName(Invoice.class))
+    );
+
+    private final AtomicInteger counts = new AtomicInteger();
+
+    @Test
+    void readsTheSliceAfterTheEntitiesOfThePreviousPages() {
+        List<ScrollPosition> positions = new ArrayList<>();
+
+        Slice<String> first = PageCountCache.slice(PageRequest.of(0, 2), position -> {
+            positions.add(position);
+            return Window.from(List.of("a", "b"), ScrollPosition::offset, true);
+        });
+        Slice<String> third = PageCountCache.slice(PageRequest.of(2, 2), position -> {
+            positions.add(position);
+            return Window.from(List.of("e"), ScrollPosition::offset, false);
+        });
+
+        assertThat(positions).containsExactly(ScrollPosition.offset(), ScrollPosition.offset(3));
+        assertThat(first.hasNext()).isTrue();
+        assertThat(third.hasNext()).isFalse();
+        assertThat(third.getContent()).containsExactly("e");
+    }
+
+    @Test
+    void countsTheSameCriteriaOnce() {
+        InvoiceCriteria criteria = new InvoiceCriteria();
+        criteria.clientName().setEquals("Acme");
+        InvoiceCriteria sameCriteria = new InvoiceCriteria();
+        sameCriteria.clientName().setEquals("Acme");
+
+        assertThat(page(criteria, 0).getTotalElements()).isEqualTo(42);
+        assertThat(page(sameCriteria, 1).getTotalElements()).isEqualTo(42);
+        assertThat(page(null, 0).getTotalElements()).isEqualTo(42);
+        assertThat(counts).hasValue(2);
+    }
+
+    @Test
+    void countsAgainOnceEvicted() {
+        page(null, 0);
+        pageCountCache.evict(Invoice.class);
+        page(null, 0);
+        pageCountCache.onInvoiceChanged(null);
+        page(null, 0);
+
+        assertThat(counts).hasValue(3);
+    }
+
+    @Test
+    void doesNotCountALastPartialPage() {
+        Slice<Invoice> slice = new SliceImpl<>(List.of(new Invoice()), PageRequest.of(0, 20), false);
+
+        Page<Invoice> page = pageCountCache.page(Invoice.class, null, slice, () -> counts.incrementAndGet());
+
+        assertThat(page.getTotalElements()).isEqualTo(1);
+        assertThat(counts).hasValue(0);
+    }
+
+    private Page<Invoice> page(InvoiceCriteria criteria, int page) {
+        Slice<Invoice> slice = new SliceImpl<>(List.of(new Invoice(), new Invoice()), PageRequest.of(page, 2), true);
+        return pageCountCache.page(Invoice.class, criteria, slice, () -> {
+            counts.incrementAndGet();
+            return 42;
+        });
+    }
+}
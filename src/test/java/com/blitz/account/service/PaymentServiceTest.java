@@ -0,0 +1,106 @@
+package com.blitz.account.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+import com.blitz.account.domain.Invoice;
+import com.blitz.account.domain.Payment;
+import com.blitz.account.domain.enumeration.PaymentStatus;
+import com.blitz.account.repository.InvoiceRepository;
+import com.blitz.account.repository.PaymentRepository;
+import com.blitz.account.service.dto.PaymentImportResultDTO;
+import com.blitz.account.service.dto.PaymentImportResultDTO.Outcome;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+class PaymentServiceTest {
+
+    private PaymentRepository paymentRepository;
+
+    private InvoiceRepository invoiceRepository;
+
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    private PaymentService paymentService;
+
+    @BeforeEach
+    void setup() {
+        paymentRepository = mock(PaymentRepository.class);
+        invoiceRepository = mock(InvoiceRepository.class);
+        applicationEventPublisher = mock(ApplicationEventPublisher.class);
+        AtomicLong ids = new AtomicLong(100);
+        when(paymentRepository.save(any())).thenAnswer(invocation -> invocation.<Payment>getArgument(0).id(ids.incrementAndGet()));
+        when(paymentRepository.saveAll(anyCollection())).thenAnswer(invocation -> {
+            invocation.<Iterable<Payment>>getArgument(0).forEach(payment -> payment.setId(ids.incrementAndGet()));
+            return List.of();
+        });
+        Invoice invoice = new Invoice().totalAmount(new BigDecimal("100")).paymentStatus(PaymentStatus.PARTIALLY_PAID);
+        invoice.setId(7L);
+        when(invoiceRepository.findAllByIdForUpdate(anyCollection())).thenReturn(List.of(invoice));
+        when(invoiceRepository.findAllById(any())).thenReturn(List.of(invoice));
+        when(invoiceRepository.findExistingIds(anyCollection())).thenReturn(List.of(7L));
+        when(invoiceRepository.applyPayment(anyLong(), any())).thenReturn(1);
+        paymentService = new PaymentService(paymentRepository, invoiceRepository, applicationEventPublisher);
+    }
+
+    @Test
+    void appliesANewPaymentToItsInvoice() {
+        paymentService.save(payment(7L, "30"));
+
+        verify(invoiceRepository).applyPayment(7L, new BigDecimal("30"));
+        verify(applicationEventPublisher).publishEvent(any(InvoiceChangedEvent.class));
+    }
+
+    @Test
+    void movesAnUpdatedPaymentBetweenInvoices() {
+        Invoice other = new Invoice().totalAmount(new BigDecimal("50"));
+        other.setId(8L);
+        when(invoiceRepository.findAllByIdForUpdate(anyCollection())).thenReturn(List.of(new Invoice().id(7L), other));
+        when(invoiceRepository.findAllById(any())).thenReturn(List.of(new Invoice().id(7L), other));
+        when(paymentRepository.findById(1L)).thenReturn(Optional.of(payment(7L, "30").id(1L)));
+
+        paymentService.update(payment(8L, "40").id(1L));
+
+        verify(invoiceRepository).applyPayment(7L, new BigDecimal("-30"));
+        verify(invoiceRepository).applyPayment(8L, new BigDecimal("40"));
+    }
+
+    @Test
+    void leavesTheInvoiceOfAnUnchangedAmount() {
+        when(paymentRepository.findById(1L)).thenReturn(Optional.of(payment(7L, "30").id(1L)));
+
+        paymentService.update(payment(7L, "30.00").id(1L));
+
+        verify(invoiceRepository, never()).applyPayment(anyLong(), any());
+    }
+
+    @Test
+    void importsPaymentsWithAnOutcomePerRow() {
+        List<PaymentImportResultDTO> results = paymentService.importAll(
+            List.of(payment(7L, "20"), payment(9L, "5"), payment(null, "3"), payment(7L, "0"), payment(7L, "10"), payment(7L, "1").id(3L))
+        );
+
+        assertThat(results)
+            .extracting(PaymentImportResultDTO::getOutcome)
+            .containsExactly(Outcome.APPLIED, Outcome.REJECTED, Outcome.RECORDED, Outcome.REJECTED, Outcome.APPLIED, Outcome.REJECTED);
+        assertThat(results)
+            .extracting(PaymentImportResultDTO::getError)
+            .containsExactly(null, "invoicenotfound", null, "amountinvalid", null, "idexists");
+        assertThat(results.get(0).getPaymentId()).isNotNull();
+        assertThat(results.get(0).getPaymentStatus()).isEqualTo(PaymentStatus.PARTIALLY_PAID);
+        verify(invoiceRepository, times(1)).applyPayment(7L, new BigDecimal("30"));
+        verify(invoiceRepository, times(1)).applyPayment(anyLong(), any());
+    }
+
+    private static Payment payment(Long invoiceId, String amount) {
+        return new Payment().invoiceId(invoiceId).amount(new BigDecimal(amount));
+    }
+}
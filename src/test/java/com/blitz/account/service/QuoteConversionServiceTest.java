@@ -0,0 +1,133 @@
+package com.blitz.account.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+import com.blitz.account.config.ApplicationProperties;
+import com.blitz.account.domain.Invoice;
+import com.blitz.account.domain.InvoiceLine;
+import com.blitz.account.domain.Quote;
+import com.blitz.account.domain.QuoteLine;
+import com.blitz.account.domain.enumeration.DocumentStatus;
+import com.blitz.account.domain.enumeration.PaymentStatus;
+import com.blitz.account.repository.InvoiceLineRepository;
+import com.blitz.account.repository.InvoiceRepository;
+import com.blitz.account.repository.QuoteLineRepository;
+import com.blitz.account.repository.QuoteRepository;
+import com.blitz.account.repository.VATRateRepository;
+import com.blitz.account.service.dto.QuoteConversionResultDTO;
+import com.blitz.account.service.dto.QuoteConversionResultDTO.Outcome;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+class QuoteConversionServiceTest {
+
+    private QuoteRepository quoteRepository;
+
+    private QuoteLineRepository quoteLineRepository;
+
+    private InvoiceRepository invoiceRepository;
+
+    private InvoiceLineRepository invoiceLineRepository;
+
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Invoice> savedInvoices = new ArrayList<>();
+
+    private final List<InvoiceLine> savedLines = new ArrayList<>();
+
+    private QuoteConversionService quoteConversionService;
+
+    @BeforeEach
+    void setup() {
+        quoteRepository = mock(QuoteRepository.class);
+        quoteLineRepository = mock(QuoteLineRepository.class);
+        invoiceRepository = mock(InvoiceRepository.class);
+        invoiceLineRepository = mock(InvoiceLineRepository.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(quoteRepository.findAllByIdForUpdate(any())).thenReturn(
+            List.of(
+                quote(1L, DocumentStatus.APPROVED),
+                quote(2L, DocumentStatus.DRAFT),
+                quote(3L, DocumentStatus.INVOICED),
+                quote(4L, DocumentStatus.APPROVED)
+            )
+        );
+        when(quoteLineRepository.findByQuoteIdInOrderByQuoteIdAscIdAsc(any())).thenReturn(
+            List.of(new QuoteLine().quoteId(1L).quantity(2).unitPrice(new BigDecimal("10.00")))
+        );
+        when(quoteRepository.markInvoiced(anyCollection())).thenAnswer(invocation -> invocation.<List<Long>>getArgument(0).size());
+        AtomicLong ids = new AtomicLong(100);
+        when(invoiceRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            invocation.<List<Invoice>>getArgument(0).forEach(invoice -> savedInvoices.add(invoice.id(ids.incrementAndGet())));
+            return List.of();
+        });
+        when(invoiceLineRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            savedLines.addAll(invocation.getArgument(0));
+            return List.of();
+        });
+        VATRateRepository vatRateRepository = mock(VATRateRepository.class);
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getQuote().setConversionChunkSize(2);
+        quoteConversionService = new QuoteConversionService(
+            quoteRepository,
+            quoteLineRepository,
+            invoiceRepository,
+            invoiceLineRepository,
+            new InvoiceTotalsService(invoiceRepository, invoiceLineRepository, vatRateRepository, mock(ApplicationEventPublisher.class)),
+            mock(InvoiceNumberAllocator.class),
+            mock(ApplicationEventPublisher.class),
+            applicationProperties,
+            transactionManager
+        );
+    }
+
+    @Test
+    void convertsTheApprovedQuotesWithTheirLines() {
+        List<QuoteConversionResultDTO> results = quoteConversionService.convertAll(List.of(1L, 2L, 3L, 1L, 4L, 5L));
+
+        assertThat(results).extracting(QuoteConversionResultDTO::getQuoteId).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(results)
+            .extracting(QuoteConversionResultDTO::getOutcome)
+            .containsExactly(Outcome.CONVERTED, Outcome.REJECTED, Outcome.REJECTED, Outcome.CONVERTED, Outcome.REJECTED);
+        assertThat(results)
+            .extracting(QuoteConversionResultDTO::getError)
+            .containsExactly(null, "quotenotapproved", "quoteinvoiced", null, "quotenotfound");
+        assertThat(savedInvoices).extracting(Invoice::getQuoteId).containsExactly(1L, 4L);
+        assertThat(savedInvoices.get(0).getTotalAmount()).isEqualByComparingTo("20.00");
+        assertThat(savedInvoices.get(0).getPaymentStatus()).isEqualTo(PaymentStatus.UNPAID);
+        assertThat(savedInvoices.get(1).getTotalAmount()).isEqualByComparingTo("7.00");
+        assertThat(savedLines).singleElement().satisfies(line -> assertThat(line.getInvoiceId()).isEqualTo(results.get(0).getInvoiceId()));
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    @Test
+    void rejectsAChunkConvertedConcurrently() {
+        when(quoteRepository.markInvoiced(List.of(1L))).thenReturn(0);
+
+        List<QuoteConversionResultDTO> results = quoteConversionService.convertAll(List.of(1L, 2L, 4L));
+
+        assertThat(results)
+            .extracting(QuoteConversionResultDTO::getOutcome)
+            .containsExactly(Outcome.REJECTED, Outcome.REJECTED, Outcome.CONVERTED);
+        assertThat(results.get(0).getError()).isEqualTo("conversionfailed");
+        assertThat(results.get(1).getError()).isEqualTo("conversionfailed");
+        assertThat(savedInvoices).extracting(Invoice::getQuoteId).containsExactly(4L);
+        verify(transactionManager).rollback(any());
+    }
+
+    private static Quote quote(Long id, DocumentStatus status) {
+        return new Quote().id(id).clientName("Acme").status(status).totalAmount(new BigDecimal("7.00"));
+    }
+}
@@ -0,0 +1,101 @@
+package com.blitz.account.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.blitz.account.repository.InvoiceRepository;
+import com.blitz.account.repository.InvoiceRepository.ClientAging;
+import com.blitz.account.service.dto.ReceivablesAgingDTO;
+import java.math.BigDecimal;
+import java.util.List;
+import javax.cache.Caching;
+import javax.cache.configuration.MutableConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.jcache.JCacheCacheManager;
+import org.springframework.data.domain.Limit;
+
+class ReceivablesAgingServiceTest {
+
+    private javax.cache.CacheManager jcacheManager;
+
+    private InvoiceRepository invoiceRepository;
+
+    private ReceivablesAgingService receivablesAgingService;
+
+    @BeforeEach
+    void setup() {
+        jcacheManager = Caching.getCachingProvider().getCacheManager();
+        jcacheManager.createCache(ReceivablesAgingService.RECEIVABLES_AGING_CACHE, new MutableConfiguration<>());
+        JCacheCacheManager cacheManager = new JCacheCacheManager(jcacheManager);
+        cacheManager.afterPropertiesSet();
+
+        invoiceRepository = mock(InvoiceRepository.class);
+        when(invoiceRepository.findOpenClientNamesAfter(null, Limit.of(2))).thenReturn(List.of("Acme", "Globex"));
+        when(invoiceRepository.findOpenClientNamesAfter("Globex", Limit.of(2))).thenReturn(List.of());
+        ClientAging acme = aging("Acme", 1L, 2, "10.00", "20.00", "0", "0", "5.00");
+        ClientAging globex = aging("Globex", 1L, 1, "0", "0", "7.00", "0", "0");
+        when(invoiceRepository.sumAgingByClientAndCurrency(anyCollection(), any(), any(), any(), any())).thenReturn(List.of(acme, globex));
+        receivablesAgingService = new ReceivablesAgingService(invoiceRepository, cacheManager);
+    }
+
+    @AfterEach
+    void cleanup() {
+        jcacheManager.destroyCache(ReceivablesAgingService.RECEIVABLES_AGING_CACHE);
+    }
+
+    @Test
+    void agesAPageOfClients() {
+        List<ReceivablesAgingDTO> page = receivablesAgingService.findAging(null, 2);
+
+        assertThat(page).extracting(ReceivablesAgingDTO::getClientName).containsExactly("Acme", "Globex");
+        assertThat(page.get(0).getTotal()).isEqualByComparingTo("35.00");
+        assertThat(page.get(1).getDays31To60()).isEqualByComparingTo("7.00");
+        verify(invoiceRepository).sumAgingByClientAndCurrency(eq(List.of("Acme", "Globex")), any(), any(), any(), any());
+    }
+
+    @Test
+    void stopsAfterTheLastClient() {
+        assertThat(receivablesAgingService.findAging("Globex", 2)).isEmpty();
+        verify(invoiceRepository, never()).sumAgingByClientAndCurrency(anyCollection(), any(), any(), any(), any());
+    }
+
+    @Test
+    void cachesPagesUntilAnInvoiceChanges() {
+        receivablesAgingService.findAging(null, 2);
+        receivablesAgingService.findAging(null, 2);
+
+        verify(invoiceRepository, times(1)).sumAgingByClientAndCurrency(anyCollection(), any(), any(), any(), any());
+
+        receivablesAgingService.onInvoiceChanged(new InvoiceChangedEvent(1L, 0L, null, null));
+        receivablesAgingService.findAging(null, 2);
+
+        verify(invoiceRepository, times(2)).sumAgingByClientAndCurrency(anyCollection(), any(), any(), any(), any());
+    }
+
+    private static ClientAging aging(
+        String clientName,
+        Long currencyId,
+        long invoices,
+        String notDue,
+        String days1To30,
+        String days31To60,
+        String days61To90,
+        String over90
+    ) {
+        ClientAging aging = mock(ClientAging.class);
+        when(aging.getClientName()).thenReturn(clientName);
+        when(aging.getCurrencyId()).thenReturn(currencyId);
+        when(aging.getInvoices()).thenReturn(invoices);
+        when(aging.getNotDue()).thenReturn(new BigDecimal(notDue));
+        when(aging.getDays1To30()).thenReturn(new BigDecimal(days1To30));
+        when(aging.getDays31To60()).thenReturn(new BigDecimal(days31To60));
+        when(aging.getDays61To90()).thenReturn(new BigDecimal(days61To90));
+        when(aging.getOver90()).thenReturn(new BigDecimal(over90));
+        return aging;
+    }
+}
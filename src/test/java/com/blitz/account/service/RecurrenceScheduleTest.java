@@ -0,0 +1,49 @@
+package com.blitz.account.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import org.junit.jupiter.api.Test;
+
+class RecurrenceScheduleTest {
+
+    private static final Instant JANUARY_31 = Instant.parse("2025-01-31T09:00:00Z");
+
+    @Test
+    void parsesAdverbsPhrasesAndPeriods() {
+        assertThat(RecurrenceSchedule.parse("monthly")).contains(RecurrenceSchedule.parse("P1M").orElseThrow());
+        assertThat(RecurrenceSchedule.parse(" Bi-Weekly ").orElseThrow().getAmount()).isEqualTo(2);
+        assertThat(RecurrenceSchedule.parse("every 3 months").orElseThrow().getUnit()).isEqualTo(ChronoUnit.MONTHS);
+        assertThat(RecurrenceSchedule.parse("every day").orElseThrow().getUnit()).isEqualTo(ChronoUnit.DAYS);
+        assertThat(RecurrenceSchedule.parse("P2W").orElseThrow().getAmount()).isEqualTo(2);
+    }
+
+    @Test
+    void rejectsUnknownFrequencies() {
+        assertThat(RecurrenceSchedule.parse("AAAAAAAAAA")).isEmpty();
+        assertThat(RecurrenceSchedule.parse("every 0 days")).isEmpty();
+        assertThat(RecurrenceSchedule.parse("P1M2D")).isEmpty();
+        assertThat(RecurrenceSchedule.parse(null)).isEmpty();
+    }
+
+    @Test
+    void monthlyOccurrencesDoNotDriftFromEndOfMonth() {
+        RecurrenceSchedule monthly = RecurrenceSchedule.parse("MONTHLY").orElseThrow();
+
+        Instant february = monthly.nextAfter(JANUARY_31, JANUARY_31);
+        Instant march = monthly.nextAfter(JANUARY_31, february);
+
+        assertThat(february).isEqualTo(Instant.parse("2025-02-28T09:00:00Z"));
+        assertThat(march).isEqualTo(Instant.parse("2025-03-31T09:00:00Z"));
+    }
+
+    @Test
+    void nextAfterSkipsToTheFirstLaterOccurrence() {
+        RecurrenceSchedule weekly = RecurrenceSchedule.parse("WEEKLY").orElseThrow();
+
+        assertThat(weekly.nextAfter(JANUARY_31, Instant.parse("2025-01-01T00:00:00Z"))).isEqualTo(JANUARY_31);
+        assertThat(weekly.nextAfter(JANUARY_31, Instant.parse("2025-02-10T00:00:00Z"))).isEqualTo(Instant.parse("2025-02-14T09:00:00Z"));
+        assertThat(weekly.nextAfter(JANUARY_31, Instant.parse("2025-02-14T09:00:00Z"))).isEqualTo(Instant.parse("2025-02-21T09:00:00Z"));
+    }
+}
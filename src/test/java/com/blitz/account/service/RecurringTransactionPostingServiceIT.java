@@ -0,0 +1,175 @@
+package com.blitz.account.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.blitz.account.IntegrationTest;
+import com.blitz.account.domain.RecurringTransaction;
+import com.blitz.account.domain.Transaction;
+import com.blitz.account.repository.RecurringTransactionRepository;
+import com.blitz.account.repository.TransactionRepository;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Checks that {@link RecurringTransactionPostingService} generates every occurrence of a schedule exactly once, when run
+ * again, when catching up, after a crash and from concurrent nodes.
+ * <p>
+ * Each run commits its own transaction, so the rows are cleaned up explicitly.
+ */
+@IntegrationTest
+class RecurringTransactionPostingServiceIT {
+
+    private static final Instant START = Instant.parse("2025-01-01T00:00:00Z");
+
+    @Autowired
+    private RecurringTransactionPostingService recurringTransactionPostingService;
+
+    @Autowired
+    private RecurringTransactionRepository recurringTransactionRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private RecurringTransaction recurringTransaction;
+
+    @AfterEach
+    void cleanup() {
+        if (recurringTransaction != null) {
+            transactionRepository.deleteAll(generated());
+            recurringTransactionRepository.deleteById(recurringTransaction.getId());
+        }
+    }
+
+    @Test
+    void materialisingAgainPostsNothingNew() {
+        recurringTransaction = schedule("MONTHLY");
+        Instant now = Instant.parse("2025-03-15T00:00:00Z");
+
+        assertThat(materialise(now)).isEqualTo(Instant.parse("2025-04-01T00:00:00Z"));
+        assertThat(materialise(now)).isEqualTo(Instant.parse("2025-04-01T00:00:00Z"));
+
+        assertThat(generatedDates()).containsExactly(
+            Instant.parse("2025-01-01T00:00:00Z"),
+            Instant.parse("2025-02-01T00:00:00Z"),
+            Instant.parse("2025-03-01T00:00:00Z")
+        );
+    }
+
+    @Test
+    void catchesUpMissedOccurrencesOverSeveralRuns() {
+        recurringTransaction = schedule("DAILY");
+        int days = 2 * RecurringTransactionPostingService.MAX_OCCURRENCES + 50;
+        Instant now = START.plus(days - 1, ChronoUnit.DAYS);
+
+        List<Instant> nextDueDates = new ArrayList<>();
+        do {
+            nextDueDates.add(materialise(now));
+        } while (!nextDueDates.get(nextDueDates.size() - 1).isAfter(now));
+
+        assertThat(nextDueDates).containsExactly(
+            START.plus(RecurringTransactionPostingService.MAX_OCCURRENCES, ChronoUnit.DAYS),
+            START.plus(2 * RecurringTransactionPostingService.MAX_OCCURRENCES, ChronoUnit.DAYS),
+            START.plus(days, ChronoUnit.DAYS)
+        );
+        assertThat(generatedDates()).containsExactlyElementsOf(
+            IntStream.range(0, days).mapToObj(day -> START.plus(day, ChronoUnit.DAYS)).toList()
+        );
+    }
+
+    @Test
+    void resumesOnceAfterACrash() {
+        recurringTransaction = schedule("WEEKLY");
+        Instant now = Instant.parse("2025-01-20T00:00:00Z");
+
+        TransactionTemplate crashing = new TransactionTemplate(transactionManager);
+        crashing.executeWithoutResult(status -> {
+            recurringTransactionPostingService.materialise(List.of(recurringTransaction.getId()), now);
+            // The node dies before the transaction commits
+            status.setRollbackOnly();
+        });
+        assertThat(generated()).isEmpty();
+        assertThat(recurringTransactionRepository.findById(recurringTransaction.getId()).orElseThrow().getNextDueDate()).isEqualTo(START);
+
+        materialise(now);
+        materialise(now);
+
+        assertThat(generatedDates()).containsExactly(
+            Instant.parse("2025-01-01T00:00:00Z"),
+            Instant.parse("2025-01-08T00:00:00Z"),
+            Instant.parse("2025-01-15T00:00:00Z")
+        );
+    }
+
+    @Test
+    void concurrentNodesPostEachOccurrenceOnce() throws Exception {
+        recurringTransaction = schedule("DAILY");
+        Instant now = START.plus(59, ChronoUnit.DAYS);
+
+        ExecutorService nodes = Executors.newFixedThreadPool(4);
+        try {
+            List<Callable<Instant>> runs = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                runs.add(() -> materialise(now));
+            }
+            for (Future<Instant> run : nodes.invokeAll(runs)) {
+                run.get();
+            }
+        } finally {
+            nodes.shutdown();
+        }
+
+        List<Instant> dates = generatedDates();
+        assertThat(dates).hasSize(60).doesNotHaveDuplicates();
+        assertThat(Set.copyOf(dates)).containsAll(IntStream.range(0, 60).mapToObj(day -> START.plus(day, ChronoUnit.DAYS)).toList());
+    }
+
+    private RecurringTransaction schedule(String frequency) {
+        return recurringTransactionRepository.saveAndFlush(
+            new RecurringTransaction()
+                .name("Posting")
+                .amount(new BigDecimal("12.50"))
+                .frequency(frequency)
+                .startDate(START)
+                .nextDueDate(START)
+        );
+    }
+
+    /**
+     * Run one materialisation in its own committed transaction.
+     *
+     * @return the next due date once done.
+     */
+    private Instant materialise(Instant now) {
+        recurringTransactionPostingService.materialise(List.of(recurringTransaction.getId()), now);
+        return recurringTransactionRepository.findById(recurringTransaction.getId()).orElseThrow().getNextDueDate();
+    }
+
+    private List<Transaction> generated() {
+        return transactionRepository
+            .findAll()
+            .stream()
+            .filter(transaction -> recurringTransaction.getId().equals(transaction.getRecurringTransactionId()))
+            .toList();
+    }
+
+    private List<Instant> generatedDates() {
+        return generated().stream().map(Transaction::getTransactionDate).sorted().toList();
+    }
+}
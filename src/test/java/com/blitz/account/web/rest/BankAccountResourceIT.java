@@ -2,6 +2,7 @@ package com.blitz.account.web.rest;
 
 import static com.blitz.account.domain.BankAccountAsserts.*;
 import static com.blitz.account.web.rest.TestUtil.createUpdateProxyForBean;
+import static com.blitz.account.web.rest.TestUtil.sameNumber;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasItem;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -9,20 +10,33 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import com.blitz.account.IntegrationTest;
 import com.blitz.account.domain.BankAccount;
+import com.blitz.account.domain.BankTransaction;
+import com.blitz.account.domain.enumeration.TransactionDirection;
 import com.blitz.account.repository.BankAccountRepository;
+import com.blitz.account.repository.BankTransactionRepository;
+import com.blitz.account.service.BankTransactionService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
+import javax.xml.parsers.DocumentBuilderFactory;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
 
 /**
  * Integration tests for the {@link BankAccountResource} REST controller.
@@ -44,6 +58,9 @@ class BankAccountResourceIT {
     private static final String ENTITY_API_URL = "/api/bank-accounts";
     private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
 
+    private static final String RUNNING_BALANCE_CHANGELOG =
+        "config/liquibase/changelog/20261017091400_added_running_balance_BankAccount.xml";
+
     private static Random random = new Random();
     private static AtomicLong longCount = new AtomicLong(random.nextInt() + (2 * Integer.MAX_VALUE));
 
@@ -53,6 +70,15 @@ class BankAccountResourceIT {
     @Autowired
     private BankAccountRepository bankAccountRepository;
 
+    @Autowired
+    private BankTransactionService bankTransactionService;
+
+    @Autowired
+    private BankTransactionRepository bankTransactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Autowired
     private EntityManager em;
 
@@ -616,6 +642,53 @@ class BankAccountResourceIT {
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
     }
 
+    @Test
+    @Transactional
+    void postBalancesOfBankTransactions() throws Exception {
+        // Initialize the database
+        insertedBankAccount = bankAccountRepository.saveAndFlush(bankAccount);
+        BankAccount otherBankAccount = bankAccountRepository.saveAndFlush(createUpdatedEntity());
+
+        BankTransaction first = bankTransactionService.save(transaction(bankAccount, 10, "100.00", TransactionDirection.CREDIT));
+        BankTransaction second = bankTransactionService.save(transaction(bankAccount, 20, "30.00", TransactionDirection.DEBIT));
+        // A back-dated transaction shifts the running balances after it
+        BankTransaction backDated = bankTransactionService.save(transaction(bankAccount, 5, "50.00", TransactionDirection.CREDIT));
+        em.flush();
+        em.clear();
+        assertBalances(bankAccount, "120.00", backDated, "50.00", first, "150.00", second, "120.00");
+
+        // Moving a transaction to another account takes it out of the running balances of the first one
+        bankTransactionService.partialUpdate(new BankTransaction().id(first.getId()).bankAccountId(otherBankAccount.getId()));
+        em.flush();
+        em.clear();
+        assertBalances(bankAccount, "20.00", backDated, "50.00", second, "20.00");
+        assertBalances(otherBankAccount, "100.00", first, "100.00");
+
+        restBankAccountMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/balance", bankAccount.getId()).param("asOf", day(15).toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.bankAccountId").value(bankAccount.getId().intValue()))
+            .andExpect(jsonPath("$.balance").value(sameNumber(new BigDecimal("50.00"))));
+        restBankAccountMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/balance", bankAccount.getId()).param("asOf", day(4).toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.balance").value(sameNumber(BigDecimal.ZERO)));
+        restBankAccountMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/balance", bankAccount.getId()).param("asOf", day(20).toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.balance").value(sameNumber(new BigDecimal("20.00"))));
+        restBankAccountMockMvc.perform(get(ENTITY_API_URL_ID + "/balance", Long.MAX_VALUE)).andExpect(status().isNotFound());
+
+        // The changelog backfill computes the same balances from scratch
+        jdbcTemplate.update("UPDATE bank_transaction SET running_balance = NULL");
+        jdbcTemplate.update("UPDATE bank_account SET current_balance = NULL");
+        runChangeSet("20261017091400-2");
+        runChangeSet("20261017091400-4");
+        em.clear();
+        assertBalances(bankAccount, "20.00", backDated, "50.00", second, "20.00");
+        assertBalances(otherBankAccount, "100.00", first, "100.00");
+    }
+
     @Test
     @Transactional
     void deleteBankAccount() throws Exception {
@@ -633,6 +706,41 @@ class BankAccountResourceIT {
         assertDecrementedRepositoryCount(databaseSizeBeforeDelete);
     }
 
+    private void assertBalances(BankAccount account, String currentBalance, Object... transactionsAndRunningBalances) {
+        assertThat(bankAccountRepository.findById(account.getId()).orElseThrow().getCurrentBalance()).isEqualByComparingTo(currentBalance);
+        for (int i = 0; i < transactionsAndRunningBalances.length; i += 2) {
+            BankTransaction transaction = (BankTransaction) transactionsAndRunningBalances[i];
+            assertThat(bankTransactionRepository.findById(transaction.getId()).orElseThrow().getRunningBalance())
+                .as("running balance of %s", transaction.getId())
+                .isEqualByComparingTo((String) transactionsAndRunningBalances[i + 1]);
+        }
+    }
+
+    private void runChangeSet(String id) throws Exception {
+        Document changelog = DocumentBuilderFactory.newInstance()
+            .newDocumentBuilder()
+            .parse(new ClassPathResource(RUNNING_BALANCE_CHANGELOG).getInputStream());
+        NodeList changeSets = changelog.getElementsByTagName("changeSet");
+        for (int i = 0; i < changeSets.getLength(); i++) {
+            Element changeSet = (Element) changeSets.item(i);
+            if (changeSet.getAttribute("id").equals(id)) {
+                jdbcTemplate.update(changeSet.getElementsByTagName("sql").item(0).getTextContent());
+            }
+        }
+    }
+
+    private static BankTransaction transaction(BankAccount account, int day, String amount, TransactionDirection direction) {
+        return new BankTransaction()
+            .bankAccountId(account.getId())
+            .transactionDate(day(day))
+            .amount(new BigDecimal(amount))
+            .direction(direction);
+    }
+
+    private static Instant day(int day) {
+        return Instant.parse("2026-01-01T00:00:00Z").plus(day, ChronoUnit.DAYS);
+    }
+
     protected long getRepositoryCount() {
         return bankAccountRepository.count();
     }
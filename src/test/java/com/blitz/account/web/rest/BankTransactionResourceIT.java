@@ -4,17 +4,23 @@ import static com.blitz.account.domain.BankTransactionAsserts.*;
 import static com.blitz.account.web.rest.TestUtil.createUpdateProxyForBean;
 import static com.blitz.account.web.rest.TestUtil.sameNumber;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.hamcrest.Matchers.hasItem;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.blitz.account.IntegrationTest;
+import com.blitz.account.domain.BankAccount;
 import com.blitz.account.domain.BankTransaction;
+import com.blitz.account.domain.Payment;
 import com.blitz.account.domain.enumeration.TransactionDirection;
+import com.blitz.account.repository.BankAccountRepository;
 import com.blitz.account.repository.BankTransactionRepository;
+import com.blitz.account.repository.PaymentRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityManager;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Random;
@@ -24,7 +30,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
@@ -70,6 +78,12 @@ class BankTransactionResourceIT {
     @Autowired
     private BankTransactionRepository bankTransactionRepository;
 
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
     @Autowired
     private EntityManager em;
 
@@ -509,6 +523,90 @@ class BankTransactionResourceIT {
         assertDecrementedRepositoryCount(databaseSizeBeforeDelete);
     }
 
+    @Test
+    @Transactional
+    void importBankStatement() throws Exception {
+        BankAccount bankAccount = bankAccountRepository.saveAndFlush(BankAccountResourceIT.createEntity());
+        long databaseSizeBeforeImport = getRepositoryCount();
+        MockMultipartFile statement = new MockMultipartFile(
+            "file",
+            "statement.csv",
+            "text/csv",
+            "date;amount;reference\n2024-01-15;-12,50;REF-1\n2024-01-16;100;REF-2\n".getBytes(StandardCharsets.UTF_8)
+        );
+
+        restBankTransactionMockMvc
+            .perform(multipart(ENTITY_API_URL + "/import").file(statement).param("bankAccountId", bankAccount.getId().toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.imported").value(2))
+            .andExpect(jsonPath("$.totalCredit").value(sameNumber(new BigDecimal("100.00"))))
+            .andExpect(jsonPath("$.totalDebit").value(sameNumber(new BigDecimal("12.50"))));
+
+        assertThat(getRepositoryCount()).isEqualTo(databaseSizeBeforeImport + 2);
+
+        // Importing the statement again skips all its lines
+        restBankTransactionMockMvc
+            .perform(multipart(ENTITY_API_URL + "/import").file(statement).param("bankAccountId", bankAccount.getId().toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.imported").value(0))
+            .andExpect(jsonPath("$.duplicates").value(2));
+
+        assertThat(getRepositoryCount()).isEqualTo(databaseSizeBeforeImport + 2);
+    }
+
+    @Test
+    @Transactional
+    void importInvalidBankStatement() throws Exception {
+        BankAccount bankAccount = bankAccountRepository.saveAndFlush(BankAccountResourceIT.createEntity());
+        long databaseSizeBeforeImport = getRepositoryCount();
+        MockMultipartFile statement = new MockMultipartFile(
+            "file",
+            "statement.csv",
+            "text/csv",
+            "date;amount\n2024-01-15;10\n2024-01-16;ten\n".getBytes(StandardCharsets.UTF_8)
+        );
+
+        restBankTransactionMockMvc
+            .perform(multipart(ENTITY_API_URL + "/import").file(statement).param("bankAccountId", bankAccount.getId().toString()))
+            .andExpect(status().isBadRequest());
+
+        assertSameRepositoryCount(databaseSizeBeforeImport);
+    }
+
+    @Test
+    @Transactional
+    void reconcileBankTransactions() throws Exception {
+        BankAccount bankAccount = bankAccountRepository.saveAndFlush(BankAccountResourceIT.createEntity());
+        Payment payment = paymentRepository.saveAndFlush(
+            PaymentResourceIT.createEntity().bankAccountId(bankAccount.getId()).invoiceId(null)
+        );
+        bankTransaction
+            .bankAccountId(bankAccount.getId())
+            .transactionDate(payment.getPaymentDate())
+            .amount(payment.getAmount())
+            .direction(TransactionDirection.CREDIT)
+            .relatedPaymentId(null);
+        insertedBankTransaction = bankTransactionRepository.saveAndFlush(bankTransaction);
+
+        restBankTransactionMockMvc
+            .perform(post(ENTITY_API_URL + "/reconcile").param("bankAccountId", bankAccount.getId().toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].matched").value(1))
+            .andExpect(jsonPath("$.[0].unmatchedPayments").value(0));
+
+        assertThat(getPersistedBankTransaction(bankTransaction).getRelatedPaymentId()).isEqualTo(payment.getId());
+    }
+
+    @Test
+    @Transactional
+    void linkingAPaymentToTwoBankTransactionsFails() {
+        // The test transaction is rolled back, the failed flush leaving the session unusable for the cleanup
+        bankTransactionRepository.saveAndFlush(bankTransaction);
+        BankTransaction other = createUpdatedEntity().relatedPaymentId(bankTransaction.getRelatedPaymentId());
+
+        assertThatThrownBy(() -> bankTransactionRepository.saveAndFlush(other)).isInstanceOf(DataIntegrityViolationException.class);
+    }
+
     protected long getRepositoryCount() {
         return bankTransactionRepository.count();
     }
@@ -10,7 +10,13 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import com.blitz.account.IntegrationTest;
 import com.blitz.account.domain.Budget;
+import com.blitz.account.domain.ChartOfAccount;
+import com.blitz.account.domain.Transaction;
+import com.blitz.account.domain.enumeration.AccountType;
+import com.blitz.account.domain.enumeration.TransactionType;
 import com.blitz.account.repository.BudgetRepository;
+import com.blitz.account.repository.ChartOfAccountRepository;
+import com.blitz.account.repository.TransactionRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityManager;
 import java.math.BigDecimal;
@@ -63,6 +69,12 @@ class BudgetResourceIT {
     @Autowired
     private BudgetRepository budgetRepository;
 
+    @Autowired
+    private ChartOfAccountRepository chartOfAccountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
     @Autowired
     private EntityManager em;
 
@@ -264,6 +276,42 @@ class BudgetResourceIT {
         restBudgetMockMvc.perform(get(ENTITY_API_URL_ID, Long.MAX_VALUE)).andExpect(status().isNotFound());
     }
 
+    @Test
+    @Transactional
+    void getBudgetVarianceSignsTransactionsByType() throws Exception {
+        ChartOfAccount account = chartOfAccountRepository.saveAndFlush(
+            ChartOfAccountResourceIT.createEntity().accountType(AccountType.EXPENSE)
+        );
+        budget
+            .accountId(account.getId())
+            .startDate(UPDATED_START_DATE)
+            .endDate(UPDATED_START_DATE.plus(1, ChronoUnit.DAYS))
+            .amount(new BigDecimal("1000"));
+        insertedBudget = budgetRepository.saveAndFlush(budget);
+        Instant within = UPDATED_START_DATE.plus(1, ChronoUnit.HOURS);
+        transactionRepository.saveAndFlush(
+            TransactionResourceIT.createEntity()
+                .accountId(account.getId())
+                .transactionDate(within)
+                .type(TransactionType.EXPENSE)
+                .amount(new BigDecimal("300"))
+        );
+        transactionRepository.saveAndFlush(
+            TransactionResourceIT.createEntity()
+                .accountId(account.getId())
+                .transactionDate(within)
+                .type(TransactionType.INCOME)
+                .amount(new BigDecimal("50"))
+        );
+
+        // The refund reduces the consumption of the expense budget
+        restBudgetMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/variance", budget.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.actual").value(sameNumber(new BigDecimal("250"))))
+            .andExpect(jsonPath("$.variance").value(sameNumber(new BigDecimal("750"))));
+    }
+
     @Test
     @Transactional
     void putExistingBudget() throws Exception {
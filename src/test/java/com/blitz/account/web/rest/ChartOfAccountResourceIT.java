@@ -613,6 +613,53 @@ class ChartOfAccountResourceIT {
             .andExpect(content().string("0"));
     }
 
+    @Test
+    void getChartOfAccountHierarchy() throws Exception {
+        // Accounts are created and deleted through the API, so that the hierarchy follows their commits
+        ChartOfAccount heading = om.readValue(
+            restChartOfAccountMockMvc
+                .perform(
+                    post(ENTITY_API_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsBytes(createEntity().code("HIER-4100").initialBalance(new BigDecimal("20.00"))))
+                )
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            ChartOfAccount.class
+        );
+        ChartOfAccount leaf = om.readValue(
+            restChartOfAccountMockMvc
+                .perform(
+                    post(ENTITY_API_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsBytes(createEntity().code("HIER-4110").initialBalance(new BigDecimal("30.00"))))
+                )
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            ChartOfAccount.class
+        );
+
+        try {
+            restChartOfAccountMockMvc
+                .perform(get(ENTITY_API_URL + "/hierarchy").param("prefix", "HIER-41"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(jsonPath("$.balance").value(50.0))
+                .andExpect(jsonPath("$.accountCount").value(2))
+                .andExpect(jsonPath("$.children.[*].prefix").value(hasItem("HIER-410")))
+                .andExpect(jsonPath("$.children.[*].prefix").value(hasItem("HIER-411")));
+        } finally {
+            restChartOfAccountMockMvc.perform(delete(ENTITY_API_URL_ID, heading.getId())).andExpect(status().isNoContent());
+            restChartOfAccountMockMvc.perform(delete(ENTITY_API_URL_ID, leaf.getId())).andExpect(status().isNoContent());
+        }
+
+        restChartOfAccountMockMvc.perform(get(ENTITY_API_URL + "/hierarchy").param("prefix", "HIER-41")).andExpect(status().isNotFound());
+    }
+
     @Test
     @Transactional
     void getNonExistingChartOfAccount() throws Exception {
@@ -647,9 +694,49 @@ class ChartOfAccountResourceIT {
             )
             .andExpect(status().isOk());
 
-        // Validate the ChartOfAccount in the database
+        // Validate the ChartOfAccount in the database, the current balance being only moved by journal postings
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
-        assertPersistedChartOfAccountToMatchAllProperties(updatedChartOfAccount);
+        assertPersistedChartOfAccountToMatchAllProperties(updatedChartOfAccount.currentBalance(DEFAULT_CURRENT_BALANCE));
+    }
+
+    @Test
+    @Transactional
+    void putStaleChartOfAccount() throws Exception {
+        // Initialize the database
+        insertedChartOfAccount = chartOfAccountRepository.saveAndFlush(chartOfAccount);
+        ChartOfAccount staleChartOfAccount = createUpdatedEntity().id(chartOfAccount.getId()).version(chartOfAccount.getVersion());
+
+        // A journal posting moves the balance in the meantime
+        chartOfAccountRepository.applyNetDebit(chartOfAccount.getId(), BigDecimal.TEN);
+
+        restChartOfAccountMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, staleChartOfAccount.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(staleChartOfAccount))
+            )
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.version").value(chartOfAccount.getVersion().intValue() + 1))
+            .andExpect(jsonPath("$.name").value(DEFAULT_NAME));
+    }
+
+    @Test
+    @Transactional
+    void putChartOfAccountWithoutVersion() throws Exception {
+        // Initialize the database
+        insertedChartOfAccount = chartOfAccountRepository.saveAndFlush(chartOfAccount);
+        ChartOfAccount updatedChartOfAccount = createUpdatedEntity().id(chartOfAccount.getId());
+
+        restChartOfAccountMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, updatedChartOfAccount.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(updatedChartOfAccount))
+            )
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.versionnull"));
+
+        assertPersistedChartOfAccountToMatchAllProperties(chartOfAccount);
     }
 
     @Test
@@ -766,7 +853,10 @@ class ChartOfAccountResourceIT {
         // Validate the ChartOfAccount in the database
 
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
-        assertChartOfAccountUpdatableFieldsEquals(partialUpdatedChartOfAccount, getPersistedChartOfAccount(partialUpdatedChartOfAccount));
+        assertChartOfAccountUpdatableFieldsEquals(
+            partialUpdatedChartOfAccount.currentBalance(DEFAULT_CURRENT_BALANCE),
+            getPersistedChartOfAccount(partialUpdatedChartOfAccount)
+        );
     }
 
     @Test
@@ -11,6 +11,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import com.blitz.account.IntegrationTest;
 import com.blitz.account.domain.ExchangeRate;
 import com.blitz.account.repository.ExchangeRateRepository;
+import com.blitz.account.service.ExchangeRateService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityManager;
 import java.math.BigDecimal;
@@ -60,6 +61,9 @@ class ExchangeRateResourceIT {
     @Autowired
     private ExchangeRateRepository exchangeRateRepository;
 
+    @Autowired
+    private ExchangeRateService exchangeRateService;
+
     @Autowired
     private EntityManager em;
 
@@ -250,6 +254,39 @@ class ExchangeRateResourceIT {
             .andExpect(jsonPath("$.rateDate").value(DEFAULT_RATE_DATE.toString()));
     }
 
+    @Test
+    void convertAtTheReverseRate() throws Exception {
+        // Not transactional: the rates are indexed once they commit
+        ExchangeRate created = exchangeRateService.save(
+            new ExchangeRate().baseCurrencyId(9_001L).targetCurrencyId(9_002L).rate(new BigDecimal("1.25")).rateDate(DEFAULT_RATE_DATE)
+        );
+        try {
+            restExchangeRateMockMvc
+                .perform(
+                    get(ENTITY_API_URL + "/convert")
+                        .param("baseCurrencyId", "9002")
+                        .param("targetCurrencyId", "9001")
+                        .param("amount", "100")
+                        .param("at", UPDATED_RATE_DATE.toString())
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rate").value(sameNumber(new BigDecimal("0.8"))))
+                .andExpect(jsonPath("$.convertedAmount").value(sameNumber(new BigDecimal("80.00"))));
+
+            restExchangeRateMockMvc
+                .perform(
+                    get(ENTITY_API_URL + "/convert")
+                        .param("baseCurrencyId", "9001")
+                        .param("targetCurrencyId", "9002")
+                        .param("amount", "100")
+                        .param("at", DEFAULT_RATE_DATE.minusSeconds(1).toString())
+                )
+                .andExpect(status().isNotFound());
+        } finally {
+            exchangeRateService.delete(created.getId());
+        }
+    }
+
     @Test
     @Transactional
     void getNonExistingExchangeRate() throws Exception {
@@ -4,14 +4,20 @@ import static com.blitz.account.domain.InvoiceAsserts.*;
 import static com.blitz.account.web.rest.TestUtil.createUpdateProxyForBean;
 import static com.blitz.account.web.rest.TestUtil.sameNumber;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.blitz.account.IntegrationTest;
 import com.blitz.account.domain.Invoice;
+import com.blitz.account.domain.InvoiceLine;
 import com.blitz.account.domain.enumeration.DocumentStatus;
 import com.blitz.account.domain.enumeration.PaymentStatus;
+import com.blitz.account.repository.InvoiceLineRepository;
 import com.blitz.account.repository.InvoiceRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityManager;
@@ -20,11 +26,14 @@ import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -81,6 +90,9 @@ class InvoiceResourceIT {
     @Autowired
     private InvoiceRepository invoiceRepository;
 
+    @Autowired
+    private InvoiceLineRepository invoiceLineRepository;
+
     @Autowired
     private EntityManager em;
 
@@ -160,6 +172,8 @@ class InvoiceResourceIT {
         // Validate the Invoice in the database
         assertIncrementedRepositoryCount(databaseSizeBeforeCreate);
         assertInvoiceUpdatableFieldsEquals(returnedInvoice, getPersistedInvoice(returnedInvoice));
+        assertThat(returnedInvoice.getInvoiceNumber()).matches("INV-\\d{4}-\\d{6}");
+        assertThat(getPersistedInvoice(returnedInvoice).getInvoiceNumber()).isEqualTo(returnedInvoice.getInvoiceNumber());
 
         insertedInvoice = returnedInvoice;
     }
@@ -268,6 +282,92 @@ class InvoiceResourceIT {
             .andExpect(jsonPath("$.[*].paymentStatus").value(hasItem(DEFAULT_PAYMENT_STATUS.toString())));
     }
 
+    @Test
+    @Transactional
+    void getAllInvoicesWithoutCount() throws Exception {
+        // Initialize the database
+        insertedInvoice = invoiceRepository.saveAndFlush(invoice);
+
+        restInvoiceMockMvc
+            .perform(get(ENTITY_API_URL + "?id.equals=" + invoice.getId() + "&count=false"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().string(HttpHeaders.LINK, not(containsString("rel=\"next\""))))
+            .andExpect(jsonPath("$.[*].id").value(contains(invoice.getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    void getAllInvoicesByKeyset() throws Exception {
+        // Initialize the database
+        Invoice first = invoiceRepository.saveAndFlush(createEntity());
+        Invoice second = invoiceRepository.saveAndFlush(createEntity());
+        String criteria = "?clientName.equals=" + DEFAULT_CLIENT_NAME + "&id.in=" + first.getId() + "," + second.getId();
+
+        String after = restInvoiceMockMvc
+            .perform(get(ENTITY_API_URL + criteria + "&sort=issueDate,desc&size=1&after="))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(jsonPath("$.[*].id").value(contains(first.getId().intValue())))
+            .andReturn()
+            .getResponse()
+            .getHeader("X-Next-Cursor");
+        restInvoiceMockMvc
+            .perform(get(ENTITY_API_URL + criteria + "&sort=issueDate,desc&size=1&after=" + after))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Next-Cursor"))
+            .andExpect(jsonPath("$.[*].id").value(contains(second.getId().intValue())));
+
+        restInvoiceMockMvc
+            .perform(get(ENTITY_API_URL + criteria + "&sort=dueDate,desc&size=1&after=" + after))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getAllInvoicesWithLines() throws Exception {
+        // Initialize the database
+        insertedInvoice = invoiceRepository.saveAndFlush(invoice);
+        InvoiceLine first = invoiceLineRepository.saveAndFlush(
+            new InvoiceLine().invoiceId(invoice.getId()).quantity(2).unitPrice(new BigDecimal("10.00"))
+        );
+        InvoiceLine second = invoiceLineRepository.saveAndFlush(
+            new InvoiceLine().invoiceId(invoice.getId()).quantity(1).unitPrice(new BigDecimal("5.00"))
+        );
+
+        restInvoiceMockMvc
+            .perform(get(ENTITY_API_URL + "/with-lines?id.equals=" + invoice.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[0].id").value(invoice.getId().intValue()))
+            .andExpect(jsonPath("$.[0].clientName").value(DEFAULT_CLIENT_NAME))
+            .andExpect(jsonPath("$.[0].lines.[*].id").value(contains(first.getId().intValue(), second.getId().intValue())))
+            .andExpect(jsonPath("$.[0].lines.[0].quantity").value(2));
+    }
+
+    @Test
+    @Transactional
+    void getAllInvoicesWithLinesInTwoQueries() throws Exception {
+        // Initialize the database
+        insertedInvoice = invoiceRepository.saveAndFlush(invoice);
+        invoiceLineRepository.saveAndFlush(new InvoiceLine().invoiceId(invoice.getId()).quantity(2).unitPrice(new BigDecimal("10.00")));
+
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        statistics.setStatisticsEnabled(true);
+        try {
+            restInvoiceMockMvc
+                .perform(get(ENTITY_API_URL + "/with-lines?id.equals=" + invoice.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[0].lines", hasSize(1)));
+
+            // the invoices then their lines, without counting the invoices
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
     @Test
     @Transactional
     void getInvoice() throws Exception {
@@ -1057,6 +1157,23 @@ class InvoiceResourceIT {
         assertDecrementedRepositoryCount(databaseSizeBeforeDelete);
     }
 
+    @Test
+    @Transactional
+    void deleteNumberedInvoiceFails() throws Exception {
+        // Initialize the database
+        insertedInvoice = invoiceRepository.saveAndFlush(invoice.invoiceNumber("INV-2026-999999"));
+
+        long databaseSizeBeforeDelete = getRepositoryCount();
+
+        // The numbers of the invoices have no gaps
+        restInvoiceMockMvc
+            .perform(delete(ENTITY_API_URL_ID, invoice.getId()).accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.numbered"));
+
+        assertSameRepositoryCount(databaseSizeBeforeDelete);
+    }
+
     protected long getRepositoryCount() {
         return invoiceRepository.count();
     }
@@ -8,12 +8,18 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.blitz.account.IntegrationTest;
+import com.blitz.account.domain.ChartOfAccount;
 import com.blitz.account.domain.Journal;
+import com.blitz.account.repository.JournalLineRepository;
 import com.blitz.account.repository.JournalRepository;
+import com.blitz.account.service.dto.JournalPostingDTO;
+import com.blitz.account.service.dto.JournalPostingLineDTO;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.AfterEach;
@@ -45,6 +51,7 @@ class JournalResourceIT {
 
     private static final String ENTITY_API_URL = "/api/journals";
     private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
+    private static final String ENTITY_API_URL_BATCH = ENTITY_API_URL + "/batch";
 
     private static Random random = new Random();
     private static AtomicLong longCount = new AtomicLong(random.nextInt() + (2 * Integer.MAX_VALUE));
@@ -55,6 +62,9 @@ class JournalResourceIT {
     @Autowired
     private JournalRepository journalRepository;
 
+    @Autowired
+    private JournalLineRepository journalLineRepository;
+
     @Autowired
     private EntityManager em;
 
@@ -153,6 +163,78 @@ class JournalResourceIT {
         assertSameRepositoryCount(databaseSizeBeforeTest);
     }
 
+    @Test
+    @Transactional
+    void createJournalsInBatch() throws Exception {
+        ChartOfAccount cash = ChartOfAccountResourceIT.createEntity();
+        ChartOfAccount sales = ChartOfAccountResourceIT.createEntity().code("BATCH-4000");
+        em.persist(cash);
+        em.persist(sales);
+        BigDecimal cashBalanceBeforeCreate = cash.getCurrentBalance();
+        long databaseSizeBeforeCreate = getRepositoryCount();
+        long lineCountBeforeCreate = journalLineRepository.count();
+
+        List<JournalPostingDTO> postings = List.of(
+            posting(cash, sales, new BigDecimal("10.00")),
+            posting(cash, sales, new BigDecimal("20.00")),
+            posting(sales, cash, new BigDecimal("5.00"))
+        );
+        restJournalMockMvc
+            .perform(post(ENTITY_API_URL_BATCH).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(postings)))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.length()").value(3))
+            .andExpect(jsonPath("$.[0].id").isNumber());
+
+        assertThat(getRepositoryCount()).isEqualTo(databaseSizeBeforeCreate + 3);
+        assertThat(journalLineRepository.count()).isEqualTo(lineCountBeforeCreate + 6);
+        em.refresh(cash);
+        assertThat(cash.getCurrentBalance()).isEqualByComparingTo(cashBalanceBeforeCreate.add(new BigDecimal("25.00")));
+    }
+
+    @Test
+    @Transactional
+    void createJournalsInBatchMustBeBalanced() throws Exception {
+        ChartOfAccount cash = ChartOfAccountResourceIT.createEntity();
+        em.persist(cash);
+        long databaseSizeBeforeCreate = getRepositoryCount();
+
+        JournalPostingDTO posting = new JournalPostingDTO(
+            DEFAULT_JOURNAL_DATE,
+            DEFAULT_REFERENCE,
+            DEFAULT_DESCRIPTION,
+            List.of(new JournalPostingLineDTO(cash.getId(), new BigDecimal("10.00"), null))
+        );
+        restJournalMockMvc
+            .perform(post(ENTITY_API_URL_BATCH).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(List.of(posting))))
+            .andExpect(status().isBadRequest());
+
+        assertSameRepositoryCount(databaseSizeBeforeCreate);
+    }
+
+    @Test
+    @Transactional
+    void createJournalsInBatchWithUnknownAccount() throws Exception {
+        ChartOfAccount cash = ChartOfAccountResourceIT.createEntity();
+        em.persist(cash);
+        long databaseSizeBeforeCreate = getRepositoryCount();
+
+        JournalPostingDTO posting = posting(cash, new ChartOfAccount().id(Long.MAX_VALUE), new BigDecimal("10.00"));
+        restJournalMockMvc
+            .perform(post(ENTITY_API_URL_BATCH).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(List.of(posting))))
+            .andExpect(status().isBadRequest());
+
+        assertSameRepositoryCount(databaseSizeBeforeCreate);
+    }
+
+    private static JournalPostingDTO posting(ChartOfAccount debited, ChartOfAccount credited, BigDecimal amount) {
+        return new JournalPostingDTO(
+            DEFAULT_JOURNAL_DATE,
+            DEFAULT_REFERENCE,
+            DEFAULT_DESCRIPTION,
+            List.of(new JournalPostingLineDTO(debited.getId(), amount, null), new JournalPostingLineDTO(credited.getId(), null, amount))
+        );
+    }
+
     @Test
     @Transactional
     void getAllJournals() throws Exception {
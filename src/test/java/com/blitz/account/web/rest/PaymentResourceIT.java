@@ -4,19 +4,24 @@ import static com.blitz.account.domain.PaymentAsserts.*;
 import static com.blitz.account.web.rest.TestUtil.createUpdateProxyForBean;
 import static com.blitz.account.web.rest.TestUtil.sameNumber;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasItem;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.blitz.account.IntegrationTest;
+import com.blitz.account.domain.Invoice;
 import com.blitz.account.domain.Payment;
 import com.blitz.account.domain.enumeration.PaymentMethod;
+import com.blitz.account.domain.enumeration.PaymentStatus;
+import com.blitz.account.repository.InvoiceRepository;
 import com.blitz.account.repository.PaymentRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityManager;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.AfterEach;
@@ -56,6 +61,7 @@ class PaymentResourceIT {
     private static final Long UPDATED_INVOICE_ID = 2L;
 
     private static final String ENTITY_API_URL = "/api/payments";
+    private static final String ENTITY_API_URL_IMPORT = ENTITY_API_URL + "/import";
     private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
 
     private static Random random = new Random();
@@ -67,6 +73,9 @@ class PaymentResourceIT {
     @Autowired
     private PaymentRepository paymentRepository;
 
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
     @Autowired
     private EntityManager em;
 
@@ -161,6 +170,34 @@ class PaymentResourceIT {
         assertSameRepositoryCount(databaseSizeBeforeCreate);
     }
 
+    @Test
+    @Transactional
+    void importPayments() throws Exception {
+        Invoice invoice = InvoiceResourceIT.createEntity()
+            .totalAmount(new BigDecimal("100.00"))
+            .paidAmount(null)
+            .paymentStatus(PaymentStatus.UNPAID);
+        em.persist(invoice);
+        long databaseSizeBeforeImport = getRepositoryCount();
+
+        List<Payment> payments = List.of(
+            createEntity().invoiceId(invoice.getId()).amount(new BigDecimal("40.00")),
+            createEntity().invoiceId(Long.MAX_VALUE),
+            createEntity().invoiceId(invoice.getId()).amount(new BigDecimal("60.00"))
+        );
+        restPaymentMockMvc
+            .perform(post(ENTITY_API_URL_IMPORT).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(payments)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].outcome").value(contains("APPLIED", "REJECTED", "APPLIED")))
+            .andExpect(jsonPath("$.[1].error").value("invoicenotfound"))
+            .andExpect(jsonPath("$.[2].paymentStatus").value("PAID"));
+
+        assertThat(getRepositoryCount()).isEqualTo(databaseSizeBeforeImport + 2);
+        Invoice paidInvoice = invoiceRepository.findById(invoice.getId()).orElseThrow();
+        assertThat(paidInvoice.getPaidAmount()).isEqualByComparingTo("100.00");
+        assertThat(paidInvoice.getPaymentStatus()).isEqualTo(PaymentStatus.PAID);
+    }
+
     @Test
     @Transactional
     void checkAmountIsRequired() throws Exception {
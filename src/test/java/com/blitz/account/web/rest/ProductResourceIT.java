@@ -728,6 +728,45 @@ class ProductResourceIT {
         assertPersistedProductToMatchAllProperties(updatedProduct);
     }
 
+    @Test
+    @Transactional
+    void putStaleProduct() throws Exception {
+        // Initialize the database
+        insertedProduct = productRepository.saveAndFlush(product);
+        Product staleProduct = createUpdatedEntity().id(product.getId()).version(product.getVersion());
+
+        // Another client updates the product in the meantime
+        productRepository.saveAndFlush(product.name(UPDATED_NAME).stockQty(UPDATED_STOCK_QTY + 1));
+
+        restProductMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, staleProduct.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(staleProduct))
+            )
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.version").value(product.getVersion().intValue()))
+            .andExpect(jsonPath("$.stockQty").value(UPDATED_STOCK_QTY + 1));
+    }
+
+    @Test
+    @Transactional
+    void putProductWithoutVersion() throws Exception {
+        // Initialize the database
+        insertedProduct = productRepository.saveAndFlush(product);
+        Product updatedProduct = createUpdatedEntity().id(product.getId());
+
+        restProductMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, updatedProduct.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(updatedProduct))
+            )
+            .andExpect(status().isBadRequest());
+
+        assertPersistedProductToMatchAllProperties(product);
+    }
+
     @Test
     @Transactional
     void putNonExistingProduct() throws Exception {
@@ -9,8 +9,11 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.blitz.account.IntegrationTest;
+import com.blitz.account.domain.Quote;
 import com.blitz.account.domain.QuoteLine;
+import com.blitz.account.domain.enumeration.DocumentStatus;
 import com.blitz.account.repository.QuoteLineRepository;
+import com.blitz.account.repository.QuoteRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityManager;
 import java.math.BigDecimal;
@@ -61,6 +64,9 @@ class QuoteLineResourceIT {
     @Autowired
     private QuoteLineRepository quoteLineRepository;
 
+    @Autowired
+    private QuoteRepository quoteRepository;
+
     @Autowired
     private EntityManager em;
 
@@ -71,6 +77,8 @@ class QuoteLineResourceIT {
 
     private QuoteLine insertedQuoteLine;
 
+    private Quote insertedQuote;
+
     /**
      * Create an entity for this test.
      *
@@ -112,6 +120,10 @@ class QuoteLineResourceIT {
             quoteLineRepository.delete(insertedQuoteLine);
             insertedQuoteLine = null;
         }
+        if (insertedQuote != null) {
+            quoteRepository.delete(insertedQuote);
+            insertedQuote = null;
+        }
     }
 
     @Test
@@ -435,6 +447,52 @@ class QuoteLineResourceIT {
         assertDecrementedRepositoryCount(databaseSizeBeforeDelete);
     }
 
+    @Test
+    @Transactional
+    void putLineOfInvoicedQuoteFails() throws Exception {
+        insertedQuote = quoteRepository.saveAndFlush(QuoteResourceIT.createEntity().status(DocumentStatus.INVOICED));
+        insertedQuoteLine = quoteLineRepository.saveAndFlush(quoteLine.quoteId(insertedQuote.getId()));
+
+        QuoteLine updatedQuoteLine = quoteLineRepository.findById(quoteLine.getId()).orElseThrow();
+        em.detach(updatedQuoteLine);
+        updatedQuoteLine.quantity(UPDATED_QUANTITY);
+
+        restQuoteLineMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, updatedQuoteLine.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(updatedQuoteLine))
+            )
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.quoteinvoiced"));
+
+        assertThat(quoteLineRepository.findById(quoteLine.getId()).orElseThrow().getQuantity()).isEqualTo(DEFAULT_QUANTITY);
+    }
+
+    @Test
+    @Transactional
+    void addAndDeleteLinesOfInvoicedQuoteFails() throws Exception {
+        insertedQuote = quoteRepository.saveAndFlush(QuoteResourceIT.createEntity().status(DocumentStatus.INVOICED));
+        insertedQuoteLine = quoteLineRepository.saveAndFlush(createEntity().quoteId(insertedQuote.getId()));
+
+        long databaseSizeBefore = getRepositoryCount();
+
+        restQuoteLineMockMvc
+            .perform(
+                post(ENTITY_API_URL)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(quoteLine.quoteId(insertedQuote.getId())))
+            )
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.quoteinvoiced"));
+        restQuoteLineMockMvc
+            .perform(delete(ENTITY_API_URL_ID, insertedQuoteLine.getId()).accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.quoteinvoiced"));
+
+        assertSameRepositoryCount(databaseSizeBefore);
+    }
+
     protected long getRepositoryCount() {
         return quoteLineRepository.count();
     }
@@ -4,21 +4,31 @@ import static com.blitz.account.domain.QuoteAsserts.*;
 import static com.blitz.account.web.rest.TestUtil.createUpdateProxyForBean;
 import static com.blitz.account.web.rest.TestUtil.sameNumber;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.blitz.account.IntegrationTest;
+import com.blitz.account.domain.InvoiceLine;
 import com.blitz.account.domain.Quote;
+import com.blitz.account.domain.QuoteLine;
 import com.blitz.account.domain.enumeration.DocumentStatus;
+import com.blitz.account.repository.InvoiceLineRepository;
+import com.blitz.account.repository.InvoiceRepository;
+import com.blitz.account.repository.QuoteLineRepository;
 import com.blitz.account.repository.QuoteRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityManager;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -67,6 +77,15 @@ class QuoteResourceIT {
     @Autowired
     private QuoteRepository quoteRepository;
 
+    @Autowired
+    private QuoteLineRepository quoteLineRepository;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private InvoiceLineRepository invoiceLineRepository;
+
     @Autowired
     private EntityManager em;
 
@@ -229,6 +248,88 @@ class QuoteResourceIT {
             .andExpect(jsonPath("$.[*].totalAmount").value(hasItem(sameNumber(DEFAULT_TOTAL_AMOUNT))));
     }
 
+    @Test
+    void convertQuotes() throws Exception {
+        // Initialize the database
+        insertedQuote = quoteRepository.saveAndFlush(quote.status(DocumentStatus.APPROVED).vatRateId(null));
+        QuoteLine line = quoteLineRepository.saveAndFlush(
+            new QuoteLine().quoteId(quote.getId()).quantity(3).unitPrice(new BigDecimal("4.00"))
+        );
+
+        try {
+            restQuoteMockMvc
+                .perform(
+                    post(ENTITY_API_URL + "/convert")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsBytes(List.of(quote.getId(), quote.getId(), longCount.incrementAndGet())))
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[*].outcome").value(contains("CONVERTED", "REJECTED")))
+                .andExpect(jsonPath("$.[1].error").value("quotenotfound"));
+
+            assertThat(quoteRepository.findById(quote.getId())).hasValueSatisfying(converted ->
+                assertThat(converted.getStatus()).isEqualTo(DocumentStatus.INVOICED)
+            );
+            assertThat(invoiceRepository.findAll())
+                .filteredOn(invoice -> quote.getId().equals(invoice.getQuoteId()))
+                .singleElement()
+                .satisfies(invoice -> {
+                    assertThat(invoice.getTotalAmount()).isEqualByComparingTo("12.00");
+                    assertThat(invoiceLineRepository.findByInvoiceId(invoice.getId()))
+                        .extracting(InvoiceLine::getQuantity)
+                        .containsExactly(3);
+                });
+        } finally {
+            invoiceRepository
+                .findAll()
+                .stream()
+                .filter(invoice -> quote.getId().equals(invoice.getQuoteId()))
+                .forEach(invoice -> {
+                    invoiceLineRepository.deleteAll(invoiceLineRepository.findByInvoiceId(invoice.getId()));
+                    invoiceRepository.delete(invoice);
+                });
+            quoteLineRepository.delete(line);
+        }
+    }
+
+    @Test
+    @Transactional
+    void getAllQuotesWithLines() throws Exception {
+        // Initialize the database
+        insertedQuote = quoteRepository.saveAndFlush(quote);
+        QuoteLine line = quoteLineRepository.saveAndFlush(new QuoteLine().quoteId(quote.getId()).quantity(3).unitPrice(new BigDecimal("4.00")));
+
+        restQuoteMockMvc
+            .perform(get(ENTITY_API_URL + "/with-lines?sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[?(@.id == " + quote.getId() + ")].clientName").value(hasItem(DEFAULT_CLIENT_NAME)))
+            .andExpect(jsonPath("$.[?(@.id == " + quote.getId() + ")].lines[*].id").value(hasItem(line.getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    void getAllQuotesWithLinesInTwoQueries() throws Exception {
+        // Initialize the database
+        insertedQuote = quoteRepository.saveAndFlush(quote);
+        quoteLineRepository.saveAndFlush(new QuoteLine().quoteId(quote.getId()).quantity(3).unitPrice(new BigDecimal("4.00")));
+
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        statistics.setStatisticsEnabled(true);
+        try {
+            restQuoteMockMvc
+                .perform(get(ENTITY_API_URL + "/with-lines?sort=id,desc&size=5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[0].lines", hasSize(1)));
+
+            // the quotes then their lines, without counting the quotes
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
     @Test
     @Transactional
     void getQuote() throws Exception {
@@ -289,6 +390,46 @@ class QuoteResourceIT {
         assertPersistedQuoteToMatchAllProperties(updatedQuote);
     }
 
+    @Test
+    @Transactional
+    void putInvoicedQuoteStatusFails() throws Exception {
+        insertedQuote = quoteRepository.saveAndFlush(quote.status(DocumentStatus.INVOICED));
+
+        Quote updatedQuote = quoteRepository.findById(quote.getId()).orElseThrow();
+        em.detach(updatedQuote);
+        updatedQuote.status(DocumentStatus.APPROVED);
+
+        restQuoteMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, updatedQuote.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(updatedQuote))
+            )
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.quoteinvoiced"));
+
+        assertThat(quoteRepository.findById(quote.getId()).orElseThrow().getStatus()).isEqualTo(DocumentStatus.INVOICED);
+    }
+
+    @Test
+    @Transactional
+    void patchQuoteToInvoicedFails() throws Exception {
+        insertedQuote = quoteRepository.saveAndFlush(quote.status(DocumentStatus.APPROVED));
+
+        Quote partialUpdatedQuote = new Quote().id(quote.getId()).status(DocumentStatus.INVOICED);
+
+        restQuoteMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, partialUpdatedQuote.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(om.writeValueAsBytes(partialUpdatedQuote))
+            )
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.quoteinvoiced"));
+
+        assertThat(quoteRepository.findById(quote.getId()).orElseThrow().getStatus()).isEqualTo(DocumentStatus.APPROVED);
+    }
+
     @Test
     @Transactional
     void putNonExistingQuote() throws Exception {
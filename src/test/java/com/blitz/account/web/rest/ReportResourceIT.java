@@ -0,0 +1,294 @@
+package com.blitz.account.web.rest;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.blitz.account.IntegrationTest;
+import com.blitz.account.domain.ChartOfAccount;
+import com.blitz.account.domain.Invoice;
+import com.blitz.account.domain.Journal;
+import com.blitz.account.domain.JournalLine;
+import com.blitz.account.domain.enumeration.AccountType;
+import com.blitz.account.domain.enumeration.PaymentStatus;
+import com.blitz.account.repository.ChartOfAccountRepository;
+import com.blitz.account.repository.InvoiceRepository;
+import com.blitz.account.repository.JournalLineRepository;
+import com.blitz.account.repository.JournalRepository;
+import com.blitz.account.service.FinancialStatementService;
+import com.blitz.account.service.LedgerCubeService;
+import com.blitz.account.service.ReceivablesAgingService;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+/**
+ * Integration tests for the {@link ReportResource} REST controller.
+ * <p>
+ * Reports are streamed outside of the request thread, so the ledger is committed rather than written in a test
+ * transaction.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class ReportResourceIT {
+
+    private static final Instant FIRST_DATE = Instant.parse("2024-01-10T10:00:00Z");
+    private static final Instant SECOND_DATE = Instant.parse("2024-02-10T10:00:00Z");
+
+    private static final String AGING_CLIENT_NAME = "REPORT-AGING-CLIENT";
+
+    @Autowired
+    private ChartOfAccountRepository chartOfAccountRepository;
+
+    @Autowired
+    private JournalRepository journalRepository;
+
+    @Autowired
+    private JournalLineRepository journalLineRepository;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private LedgerCubeService ledgerCubeService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MockMvc restReportMockMvc;
+
+    private ChartOfAccount cash;
+
+    private final List<Journal> insertedJournals = new ArrayList<>();
+
+    private final List<JournalLine> insertedJournalLines = new ArrayList<>();
+
+    private final List<Invoice> insertedInvoices = new ArrayList<>();
+
+    @BeforeEach
+    void initTest() {
+        cash = chartOfAccountRepository.saveAndFlush(
+            new ChartOfAccount().name("Cash").code("REPORT-1000").accountType(AccountType.ASSET).initialBalance(new BigDecimal("100.00"))
+        );
+        post(FIRST_DATE, new BigDecimal("50.00"), null);
+        post(SECOND_DATE, null, new BigDecimal("20.00"));
+        // the ledger is written through the repositories, which publish no posting events
+        cacheManager.getCache(FinancialStatementService.NET_DEBIT_BY_ACCOUNT_CACHE).clear();
+    }
+
+    @AfterEach
+    void cleanup() {
+        journalLineRepository.deleteAll(insertedJournalLines);
+        journalRepository.deleteAll(insertedJournals);
+        chartOfAccountRepository.delete(cash);
+        invoiceRepository.deleteAll(insertedInvoices);
+        insertedJournalLines.clear();
+        insertedJournals.clear();
+        insertedInvoices.clear();
+    }
+
+    @Test
+    void getGeneralLedger() throws Exception {
+        MvcResult result = restReportMockMvc
+            .perform(
+                get("/api/reports/general-ledger")
+                    .param("accountId", cash.getId().toString())
+                    .param("from", "2024-01-01T00:00:00Z")
+                    .param("to", "2024-12-31T00:00:00Z")
+            )
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        restReportMockMvc
+            .perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andExpect(jsonPath("$", hasSize(2)))
+            .andExpect(jsonPath("$.[0].runningBalance").value(150.0))
+            .andExpect(jsonPath("$.[1].runningBalance").value(130.0));
+    }
+
+    @Test
+    void getGeneralLedgerStartsFromOpeningBalance() throws Exception {
+        MvcResult result = restReportMockMvc
+            .perform(
+                get("/api/reports/general-ledger")
+                    .param("accountId", cash.getId().toString())
+                    .param("from", "2024-02-01T00:00:00Z")
+                    .param("to", "2024-12-31T00:00:00Z")
+            )
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        restReportMockMvc
+            .perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$.[0].runningBalance").value(130.0));
+    }
+
+    @Test
+    void getGeneralLedgerWithInvalidPeriod() throws Exception {
+        restReportMockMvc
+            .perform(
+                get("/api/reports/general-ledger")
+                    .param("accountId", cash.getId().toString())
+                    .param("from", "2024-12-31T00:00:00Z")
+                    .param("to", "2024-01-01T00:00:00Z")
+            )
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getTrialBalance() throws Exception {
+        MvcResult result = restReportMockMvc
+            .perform(get("/api/reports/trial-balance").param("asOf", "2024-01-31T00:00:00Z"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        restReportMockMvc
+            .perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[?(@.accountId == " + cash.getId() + ")].debit").value(hasItem(150.0)))
+            .andExpect(jsonPath("$.[?(@.accountId == " + cash.getId() + ")].credit").value(hasItem(0)));
+    }
+
+    @Test
+    void getLedgerCube() throws Exception {
+        ledgerCubeService.rebuild();
+
+        restReportMockMvc
+            .perform(
+                get("/api/reports/ledger-cube")
+                    .param("from", "2024-01-01")
+                    .param("to", "2024-12-31")
+                    .param("accountId", cash.getId().toString())
+                    .param("groupBy", "MONTH")
+            )
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andExpect(jsonPath("$", hasSize(2)))
+            .andExpect(jsonPath("$.[0].period").value("2024-01-01"))
+            .andExpect(jsonPath("$.[0].debit").value(50.0))
+            .andExpect(jsonPath("$.[0].journalLineCount").value(1))
+            .andExpect(jsonPath("$.[1].period").value("2024-02-01"))
+            .andExpect(jsonPath("$.[1].credit").value(20.0));
+    }
+
+    @Test
+    void getLedgerCubeWithInvalidPeriod() throws Exception {
+        restReportMockMvc
+            .perform(get("/api/reports/ledger-cube").param("from", "2024-12-31").param("to", "2024-01-01"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getBalanceSheet() throws Exception {
+        restReportMockMvc
+            .perform(get("/api/reports/balance-sheet").param("asOf", "2024-01-31").param("compareAsOf", "2024-02-29"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andExpect(jsonPath("$.to").value("2024-01-31"))
+            .andExpect(jsonPath("$.comparativeTo").value("2024-02-29"))
+            .andExpect(jsonPath("$.lines.[?(@.accountId == " + cash.getId() + ")].balance").value(hasItem(150.0)))
+            .andExpect(jsonPath("$.lines.[?(@.accountId == " + cash.getId() + ")].comparativeBalance").value(hasItem(130.0)));
+    }
+
+    @Test
+    void getProfitAndLossWithInvalidPeriod() throws Exception {
+        restReportMockMvc
+            .perform(get("/api/reports/profit-and-loss").param("from", "2024-01-01").param("to", "2024-12-31").param("compareFrom", "2023-01-01"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getReceivablesAgingWithInvalidSize() throws Exception {
+        restReportMockMvc.perform(get("/api/reports/receivables-aging").param("size", "0")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getReceivablesAgingBucketsOnDayBoundaries() throws Exception {
+        Instant today = LocalDate.now(ZoneOffset.UTC).atStartOfDay(ZoneOffset.UTC).toInstant();
+        // each bucket gets the invoice due at its most recent instant and the one due just before the next bucket starts
+        invoice(today, "1.00");
+        invoice(today.minusSeconds(1), "2.00");
+        invoice(today.minus(30, ChronoUnit.DAYS), "4.00");
+        invoice(today.minus(30, ChronoUnit.DAYS).minusSeconds(1), "8.00");
+        invoice(today.minus(60, ChronoUnit.DAYS), "16.00");
+        invoice(today.minus(60, ChronoUnit.DAYS).minusSeconds(1), "32.00");
+        invoice(today.minus(90, ChronoUnit.DAYS), "64.00");
+        invoice(today.minus(90, ChronoUnit.DAYS).minusSeconds(1), "128.00");
+        cacheManager.getCache(ReceivablesAgingService.RECEIVABLES_AGING_CACHE).clear();
+
+        restReportMockMvc
+            .perform(get("/api/reports/receivables-aging").param("after", "REPORT-AGING").param("size", "1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$.[0].clientName").value(AGING_CLIENT_NAME))
+            .andExpect(jsonPath("$.[0].invoices").value(8))
+            .andExpect(jsonPath("$.[0].current").value(1.0))
+            .andExpect(jsonPath("$.[0].days1To30").value(6.0))
+            .andExpect(jsonPath("$.[0].days31To60").value(24.0))
+            .andExpect(jsonPath("$.[0].days61To90").value(96.0))
+            .andExpect(jsonPath("$.[0].over90").value(128.0))
+            .andExpect(jsonPath("$.[0].total").value(255.0));
+    }
+
+    @Test
+    void getReceivablesAgingInvoicesByPage() throws Exception {
+        Instant today = LocalDate.now(ZoneOffset.UTC).atStartOfDay(ZoneOffset.UTC).toInstant();
+        for (int day = 0; day < 5; day++) {
+            invoice(today.minus(day, ChronoUnit.DAYS), day + ".00");
+        }
+
+        restReportMockMvc
+            .perform(
+                get("/api/reports/receivables-aging/invoices").param("clientName", AGING_CLIENT_NAME).param("page", "1").param("size", "2")
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(2)))
+            .andExpect(jsonPath("$.[0].totalAmount").value(2.0))
+            .andExpect(jsonPath("$.[1].totalAmount").value(1.0));
+        restReportMockMvc
+            .perform(get("/api/reports/receivables-aging/invoices").param("clientName", AGING_CLIENT_NAME).param("size", "1001"))
+            .andExpect(status().isBadRequest());
+    }
+
+    private void invoice(Instant dueDate, String totalAmount) {
+        insertedInvoices.add(
+            invoiceRepository.saveAndFlush(
+                new Invoice()
+                    .clientName(AGING_CLIENT_NAME)
+                    .issueDate(dueDate)
+                    .dueDate(dueDate)
+                    .totalAmount(new BigDecimal(totalAmount))
+                    .paymentStatus(PaymentStatus.UNPAID)
+            )
+        );
+    }
+
+    private void post(Instant journalDate, BigDecimal debit, BigDecimal credit) {
+        Journal journal = journalRepository.saveAndFlush(new Journal().journalDate(journalDate));
+        insertedJournals.add(journal);
+        insertedJournalLines.add(
+            journalLineRepository.saveAndFlush(new JournalLine().journalId(journal.getId()).accountId(cash.getId()).debit(debit).credit(credit))
+        );
+    }
+}